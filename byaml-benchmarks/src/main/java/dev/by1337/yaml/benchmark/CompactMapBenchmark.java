@@ -0,0 +1,68 @@
+package dev.by1337.yaml.benchmark;
+
+import dev.by1337.yaml.util.CompactMap;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link CompactMap} against {@link LinkedHashMap} for section-sized maps: filling one, which with
+ * {@code -prof gc} also shows the bytes each map keeps alive, and looking up every key.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompactMapBenchmark {
+
+    @Param({"4", "32"})
+    private int size;
+
+    private String[] keys;
+    private String[] lookups;
+    private Map<String, Object> linked;
+    private Map<String, Object> compact;
+
+    @Setup
+    public void setup() {
+        keys = new String[size];
+        lookups = new String[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = "key-" + i;
+            // equal but not identical, as with keys parsed from a file and looked up with literals
+            lookups[i] = new String(keys[i]);
+        }
+        linked = fill(new LinkedHashMap<>());
+        compact = fill(new CompactMap<>());
+    }
+
+    private Map<String, Object> fill(Map<String, Object> map) {
+        for (String key : keys) map.put(key, key);
+        return map;
+    }
+
+    @Benchmark
+    public Map<String, Object> buildLinked() {
+        return fill(new LinkedHashMap<>());
+    }
+
+    @Benchmark
+    public Map<String, Object> buildCompact() {
+        return fill(new CompactMap<>());
+    }
+
+    @Benchmark
+    public void getLinked(Blackhole bh) {
+        for (String key : lookups) bh.consume(linked.get(key));
+    }
+
+    @Benchmark
+    public void getCompact(Blackhole bh) {
+        for (String key : lookups) bh.consume(compact.get(key));
+    }
+}
@@ -0,0 +1,83 @@
+package dev.by1337.yaml.benchmark;
+
+import dev.by1337.yaml.YamlValue;
+import dev.by1337.yaml.codec.YamlCodec;
+import dev.by1337.yaml.codec.k2v.LookupCodec;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code contains} checks on the sets {@code asSet()} and {@code asEnumSet()} decode, for an enum and for a
+ * registry of 1000 non-enum keys whose {@code hashCode} and {@code equals} are not free, as with
+ * {@code NamespacedKey}: every value of the universe is looked up, half of them are in the set.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EnumSetBenchmark {
+    record Key(String namespace, String key) {
+    }
+
+    private static final LookupCodec<ChronoUnit> UNIT = LookupCodec.fromEnum(ChronoUnit.values());
+
+    private ChronoUnit[] units;
+    private Set<ChronoUnit> hashUnits;
+    private Set<ChronoUnit> enumUnits;
+    private Key[] keys;
+    private Set<Key> hashKeys;
+    private Set<Key> registryKeys;
+
+    @Setup
+    public void setup() {
+        units = ChronoUnit.values();
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < units.length; i += 2) names.add(units[i].name());
+        hashUnits = YamlValue.wrap(names).decode(UNIT.listOf().asSet()).result();
+        enumUnits = YamlValue.wrap(names).decode(UNIT.asEnumSet()).result();
+
+        keys = new Key[1000];
+        for (int i = 0; i < keys.length; i++) keys[i] = new Key("minecraft", "block.note_block.pling_" + i);
+        LookupCodec<Key> registry = new LookupCodec<>(List.of(keys), Key::key);
+        List<String> keyNames = new ArrayList<>();
+        for (int i = 0; i < keys.length; i += 2) keyNames.add(keys[i].key());
+        YamlCodec<Set<Key>> hashSet = registry.listOf().asSet();
+        hashKeys = YamlValue.wrap(keyNames).decode(hashSet).result();
+        registryKeys = YamlValue.wrap(keyNames).decode(registry.asEnumSet()).result();
+    }
+
+    @Benchmark
+    public int enumHashSet() {
+        return count(hashUnits, units);
+    }
+
+    @Benchmark
+    public int enumEnumSet() {
+        return count(enumUnits, units);
+    }
+
+    @Benchmark
+    public int registryHashSet() {
+        return count(hashKeys, keys);
+    }
+
+    @Benchmark
+    public int registryBitSet() {
+        return count(registryKeys, keys);
+    }
+
+    private static <T> int count(Set<T> set, T[] values) {
+        int n = 0;
+        for (T value : values) {
+            if (set.contains(value)) n++;
+        }
+        return n;
+    }
+}
@@ -0,0 +1,55 @@
+package dev.by1337.yaml.benchmark;
+
+import dev.by1337.yaml.YamlValue;
+import dev.by1337.yaml.codec.InlineYamlCodecBuilder;
+import dev.by1337.yaml.codec.YamlCodec;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decodes {@code "<x> <y> <z>"} vectors the way {@code BukkitYamlCodecs.VECTOR} does, plus an int variant.
+ * <p>
+ * Run with {@code -prof gc}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InlineDecodeBenchmark {
+
+    public record Vec3d(double x, double y, double z) {
+        public static final YamlCodec<Vec3d> CODEC = InlineYamlCodecBuilder.inline(
+                " ", "<x> <y> <z>",
+                Vec3d::new,
+                YamlCodec.DOUBLE.withGetter(Vec3d::x),
+                YamlCodec.DOUBLE.withGetter(Vec3d::y),
+                YamlCodec.DOUBLE.withGetter(Vec3d::z)
+        );
+    }
+
+    public record Vec3i(int x, int y, int z) {
+        public static final YamlCodec<Vec3i> CODEC = InlineYamlCodecBuilder.inline(
+                " ", "<x> <y> <z>",
+                Vec3i::new,
+                YamlCodec.INT.withGetter(Vec3i::x),
+                YamlCodec.INT.withGetter(Vec3i::y),
+                YamlCodec.INT.withGetter(Vec3i::z)
+        );
+    }
+
+    private final YamlValue doubles = YamlValue.wrap("-1250.5 64.0 380.25");
+    private final YamlValue ints = YamlValue.wrap("-1250 64 380");
+
+    @Benchmark
+    public Object decodeDoubles() {
+        return doubles.decode(Vec3d.CODEC).result();
+    }
+
+    @Benchmark
+    public Object decodeInts() {
+        return ints.decode(Vec3i.CODEC).result();
+    }
+}
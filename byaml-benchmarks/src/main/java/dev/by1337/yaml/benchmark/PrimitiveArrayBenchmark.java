@@ -0,0 +1,65 @@
+package dev.by1337.yaml.benchmark;
+
+import dev.by1337.yaml.YamlValue;
+import dev.by1337.yaml.codec.YamlCodec;
+import dev.by1337.yaml.util.ArrayCodecUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link YamlCodec#INT_ARRAY} and {@link YamlCodec#DOUBLE_ARRAY}, which fill the array straight from the raw
+ * list, against the {@link ArrayCodecUtil} codecs that decode a boxed {@code List} first and copy it with
+ * reflection. Run with {@code -prof gc}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrimitiveArrayBenchmark {
+    private static final YamlCodec<int[]> BOXED_INT_ARRAY = ArrayCodecUtil.createCodec(YamlCodec.INT, int[]::new, Integer.class);
+    private static final YamlCodec<double[]> BOXED_DOUBLE_ARRAY = ArrayCodecUtil.createCodec(YamlCodec.DOUBLE, double[]::new, Double.class);
+
+    @Param({"8", "256"})
+    private int size;
+
+    private YamlValue ints;
+    private YamlValue doubles;
+
+    @Setup
+    public void setup() {
+        List<Object> i = new ArrayList<>(size);
+        List<Object> d = new ArrayList<>(size);
+        for (int n = 0; n < size; n++) {
+            // the loader keeps numbers as parsed, so large ones are never cached boxes
+            i.add(n * 1000);
+            d.add(n * 0.5);
+        }
+        ints = YamlValue.wrap(i);
+        doubles = YamlValue.wrap(d);
+    }
+
+    @Benchmark
+    public int[] intsDirect() {
+        return YamlCodec.INT_ARRAY.decode(ints).result();
+    }
+
+    @Benchmark
+    public int[] intsBoxed() {
+        return BOXED_INT_ARRAY.decode(ints).result();
+    }
+
+    @Benchmark
+    public double[] doublesDirect() {
+        return YamlCodec.DOUBLE_ARRAY.decode(doubles).result();
+    }
+
+    @Benchmark
+    public double[] doublesBoxed() {
+        return BOXED_DOUBLE_ARRAY.decode(doubles).result();
+    }
+}
@@ -0,0 +1,147 @@
+package dev.by1337.yaml.benchmark;
+
+import dev.by1337.yaml.YamlValue;
+import dev.by1337.yaml.codec.YamlCodec;
+import dev.by1337.yaml.util.CompactMap;
+import dev.by1337.yaml.util.Int2ObjectMap;
+import dev.by1337.yaml.util.Object2IntMap;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.ref.Reference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Object2IntMap} and {@link Int2ObjectMap} against the boxed maps {@code mapOf} decodes, for a
+ * {@code key → price} and a {@code slot → item} section: decoding one (with {@code -prof gc}), looking up every
+ * key, and the heap kept alive by 1000 decoded maps ({@code retainedBytes}, used heap after a full GC).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xmx1g", "-XX:+UseSerialGC"})
+public class PrimitiveMapBenchmark {
+    private static final YamlCodec<Map<String, Integer>> BOXED_PRICES = YamlCodec.STRING_TO_INT;
+    private static final YamlCodec<Object2IntMap<String>> PRICES = YamlCodec.object2IntMapOf(YamlCodec.STRING);
+    private static final YamlCodec<Map<Integer, String>> BOXED_SLOTS = YamlCodec.mapOf(YamlCodec.INT, YamlCodec.STRING);
+    private static final YamlCodec<Int2ObjectMap<String>> SLOTS = YamlCodec.int2ObjectMapOf(YamlCodec.STRING);
+
+    @Param({"54"})
+    private int size;
+
+    private YamlValue prices;
+    private YamlValue slots;
+    private String[] keys;
+    private Map<String, Integer> boxedPrices;
+    private Object2IntMap<String> primitivePrices;
+    private Map<Integer, String> boxedSlots;
+    private Int2ObjectMap<String> primitiveSlots;
+
+    @Setup
+    public void setup() {
+        Map<Object, Object> p = new CompactMap<>();
+        Map<Object, Object> s = new CompactMap<>();
+        keys = new String[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = "item-" + i;
+            // outside the Integer cache, as prices and rewards usually are
+            p.put(keys[i], 1000 + i * 25);
+            s.put(i, "item-" + i);
+        }
+        prices = YamlValue.wrap(p);
+        slots = YamlValue.wrap(s);
+        boxedPrices = prices.decode(BOXED_PRICES).result();
+        primitivePrices = prices.decode(PRICES).result();
+        boxedSlots = slots.decode(BOXED_SLOTS).result();
+        primitiveSlots = slots.decode(SLOTS).result();
+    }
+
+    @Benchmark
+    public Object decodePricesBoxed() {
+        return prices.decode(BOXED_PRICES).result();
+    }
+
+    @Benchmark
+    public Object decodePrices() {
+        return prices.decode(PRICES).result();
+    }
+
+    @Benchmark
+    public Object decodeSlotsBoxed() {
+        return slots.decode(BOXED_SLOTS).result();
+    }
+
+    @Benchmark
+    public Object decodeSlots() {
+        return slots.decode(SLOTS).result();
+    }
+
+    @Benchmark
+    public long lookupPricesBoxed() {
+        long sum = 0;
+        for (String key : keys) sum += boxedPrices.get(key);
+        return sum;
+    }
+
+    @Benchmark
+    public long lookupPrices() {
+        long sum = 0;
+        for (String key : keys) sum += primitivePrices.getInt(key);
+        return sum;
+    }
+
+    @Benchmark
+    public int lookupSlotsBoxed() {
+        int sum = 0;
+        for (int i = 0; i < size; i++) sum += boxedSlots.get(i).length();
+        return sum;
+    }
+
+    @Benchmark
+    public int lookupSlots() {
+        int sum = 0;
+        for (int i = 0; i < size; i++) sum += primitiveSlots.get(i).length();
+        return sum;
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint {
+        public long retainedBytes;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Object retainedBoxed(Footprint footprint) {
+        return retain(footprint, BOXED_PRICES, BOXED_SLOTS);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Object retained(Footprint footprint) {
+        return retain(footprint, PRICES, SLOTS);
+    }
+
+    private Object retain(Footprint footprint, YamlCodec<?> prices, YamlCodec<?> slots) {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        long before = memory.getHeapMemoryUsage().getUsed();
+        List<Object> kept = new ArrayList<>(2000);
+        for (int i = 0; i < 1000; i++) {
+            kept.add(this.prices.decode(prices).result());
+            kept.add(this.slots.decode(slots).result());
+        }
+        System.gc();
+        footprint.retainedBytes = memory.getHeapMemoryUsage().getUsed() - before;
+        Reference.reachabilityFence(kept);
+        return kept;
+    }
+}
@@ -0,0 +1,87 @@
+package dev.by1337.yaml.benchmark;
+
+import dev.by1337.yaml.YamlValue;
+import dev.by1337.yaml.codec.RecordYamlCodecBuilder;
+import dev.by1337.yaml.codec.YamlCodec;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decodes a 10-field record section.
+ * <p>
+ * {@code sectionCopy} is the per-decode overhead the record codecs used to pay before reading any field:
+ * copying the section through {@code asMap(STRING, identity())}. {@code forRecord} decodes the same fields with
+ * the codec {@link RecordYamlCodecBuilder#forRecord} derives, to compare with the hand-written one. Run with
+ * {@code -prof gc}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RecordDecodeBenchmark {
+
+    public record Item(String material, int amount, String name, List<String> lore, int slot,
+                       double price, boolean glow, String permission, int priority, String sound) {
+        public static final YamlCodec<Item> CODEC = RecordYamlCodecBuilder.mapOf(
+                Item::new,
+                YamlCodec.STRING.fieldOf("material", Item::material),
+                YamlCodec.INT.fieldOf("amount", Item::amount, 1),
+                YamlCodec.STRING.fieldOf("display-name", Item::name),
+                YamlCodec.STRINGS.fieldOf("lore", Item::lore, List.of()),
+                YamlCodec.INT.fieldOf("slot", Item::slot),
+                YamlCodec.DOUBLE.fieldOf("price", Item::price, 0D),
+                YamlCodec.BOOL.fieldOf("glow", Item::glow, false),
+                YamlCodec.STRING.fieldOf("permission", Item::permission),
+                YamlCodec.INT.fieldOf("priority", Item::priority, 0),
+                YamlCodec.STRING.fieldOf("sound", Item::sound)
+        );
+    }
+
+    public record Reflected(String material, int amount, String name, List<String> lore, int slot,
+                            double price, boolean glow, String permission, int priority, String sound) {
+        public static final YamlCodec<Reflected> CODEC = RecordYamlCodecBuilder.forRecord(Reflected.class);
+    }
+
+    private YamlValue section;
+    private YamlValue reflectedSection;
+
+    @Setup
+    public void setup() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("material", "diamond_sword");
+        map.put("amount", 1);
+        map.put("display-name", "<aqua>Sword");
+        map.put("lore", List.of("line 1", "line 2"));
+        map.put("slot", 13);
+        map.put("price", 250.5D);
+        map.put("glow", true);
+        map.put("permission", "shop.sword");
+        map.put("priority", 5);
+        map.put("sound", "entity.player.levelup");
+        section = YamlValue.wrap(map);
+        Map<String, Object> reflected = new LinkedHashMap<>(map);
+        reflected.put("name", reflected.remove("display-name"));
+        reflectedSection = YamlValue.wrap(reflected);
+    }
+
+    @Benchmark
+    public Object decode() {
+        return section.decode(Item.CODEC).result();
+    }
+
+    @Benchmark
+    public Object forRecord() {
+        return reflectedSection.decode(Reflected.CODEC).result();
+    }
+
+    @Benchmark
+    public Object sectionCopy() {
+        return section.asMap(YamlCodec.STRING, YamlCodec.identity()).result();
+    }
+}
@@ -0,0 +1,77 @@
+package dev.by1337.yaml.benchmark;
+
+import dev.by1337.yaml.YamlMap;
+import dev.by1337.yaml.util.StringInterner;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.ref.Reference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Heap kept alive by 100 loaded menu configs, with and without a {@link StringInterner}. The
+ * {@code retainedBytes} counter is the used heap after a full GC with the trees loaded, minus the same before;
+ * the time is the loading itself.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgs = {"-Xmx1g", "-XX:+UseSerialGC"})
+public class StringInternerBenchmark {
+    private static final String[] MATERIALS = {"STONE", "DIAMOND_SWORD", "GOLDEN_APPLE", "BOOK", "PAPER", "CHEST"};
+
+    @Param({"false", "true"})
+    private boolean intern;
+
+    private final List<String> menus = new ArrayList<>();
+
+    @Setup
+    public void setup() {
+        YamlMap.setStringInterner(intern ? new StringInterner() : null);
+        for (int m = 0; m < 100; m++) {
+            StringBuilder sb = new StringBuilder("title: '&8Menu " + m + "'\nsize: 54\nitems:\n");
+            for (int i = 0; i < 54; i++) {
+                sb.append("  slot-").append(i).append(":\n")
+                        .append("    material: ").append(MATERIALS[i % MATERIALS.length]).append('\n')
+                        .append("    amount: ").append(i % 4 + 1).append('\n')
+                        .append("    display-name: '&aItem ").append(i % 10).append("'\n")
+                        .append("    lore:\n")
+                        .append("    - '&7Click to buy'\n")
+                        .append("    - '&7Price: &e").append(i % 5 * 100).append("'\n")
+                        .append("    slot: ").append(i).append('\n');
+            }
+            menus.add(sb.toString());
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        YamlMap.setStringInterner(null);
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint {
+        public long retainedBytes;
+    }
+
+    @Benchmark
+    public List<YamlMap> load(Footprint footprint) {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        long before = memory.getHeapMemoryUsage().getUsed();
+        List<YamlMap> loaded = new ArrayList<>(menus.size());
+        for (String menu : menus) {
+            loaded.add(YamlMap.loadFromString(menu));
+        }
+        System.gc();
+        footprint.retainedBytes = memory.getHeapMemoryUsage().getUsed() - before;
+        Reference.reachabilityFence(loaded);
+        return loaded;
+    }
+}
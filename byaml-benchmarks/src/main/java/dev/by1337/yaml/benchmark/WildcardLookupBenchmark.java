@@ -0,0 +1,85 @@
+package dev.by1337.yaml.benchmark;
+
+import dev.by1337.yaml.YamlValue;
+import dev.by1337.yaml.codec.k2v.WildcardLookupCodec;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Expanding one pattern such as {@code *_ore} or {@code oak_*} against a registry of ~1000 Material-like keys: the
+ * per-key regex scan {@code WildcardLookupCodec} used to do, a pattern the codec has not seen yet, and a pattern it
+ * has expanded before.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WildcardLookupBenchmark {
+    private static final String[] MATERIALS = {"stone", "granite", "diorite", "andesite", "oak", "spruce", "birch",
+            "jungle", "acacia", "dark_oak", "mangrove", "cherry", "crimson", "warped", "deepslate", "blackstone"};
+    private static final String[] FORMS = {"", "_ore", "_log", "_planks", "_slab", "_stairs", "_wall", "_fence",
+            "_door", "_button", "_sign", "_wool", "_carpet", "_bed", "_banner", "_candle", "_sword", "_pickaxe",
+            "_axe", "_shovel", "_hoe", "_helmet", "_chestplate", "_leggings", "_boots", "_block", "_bricks",
+            "_pressure_plate", "_trapdoor", "_sapling", "_leaves", "_wood", "_stem", "_nylium", "_boat", "_hanging_sign",
+            "_fence_gate", "_tiles", "_pillar", "_dust", "_ingot", "_nugget", "_shulker_box", "_dye", "_terracotta",
+            "_glass", "_glass_pane", "_concrete", "_concrete_powder", "_glazed_terracotta", "_spawn_egg", "_head",
+            "_horse_armor", "_smithing_template", "_pottery_sherd", "_banner_pattern", "_minecart", "_chest_boat",
+            "_item_frame", "_music_disc", "_hanging_roots", "_moss"};
+
+    private Map<String, String> registry;
+    private WildcardLookupCodec<String> codec;
+    // more distinct patterns than the codec caches, so cycling through them always misses
+    private String[] patterns;
+    private int next;
+
+    @Setup
+    public void setup() {
+        registry = new HashMap<>();
+        List<String> pool = new ArrayList<>();
+        for (String material : MATERIALS) {
+            for (String form : FORMS) {
+                registry.put(material + form, material + form);
+                pool.add(material.substring(0, 3) + "*" + form);
+            }
+            pool.add(material + "_*");
+            pool.add("*" + material + "*");
+        }
+        for (String form : FORMS) pool.add("*" + form);
+        patterns = pool.toArray(new String[0]);
+        codec = new WildcardLookupCodec<>(registry);
+        codec.decode(YamlValue.wrap("*_ore"));
+    }
+
+    private String nextPattern() {
+        String pattern = patterns[next];
+        next = (next + 1) % patterns.length;
+        return pattern;
+    }
+
+    @Benchmark
+    public List<String> regexScan() {
+        String regex = nextPattern().replace("*", ".*");
+        List<String> result = new ArrayList<>();
+        registry.forEach((k, v) -> {
+            if (k.matches(regex)) result.add(v);
+        });
+        return result;
+    }
+
+    @Benchmark
+    public List<String> uncached() {
+        return codec.decode(YamlValue.wrap(nextPattern())).result();
+    }
+
+    @Benchmark
+    public List<String> cached() {
+        return codec.decode(YamlValue.wrap("*_ore")).result();
+    }
+}
@@ -0,0 +1,75 @@
+package dev.by1337.yaml.benchmark;
+
+import dev.by1337.yaml.YamlBatchLoader;
+import dev.by1337.yaml.YamlMap;
+import dev.by1337.yaml.codec.DataResult;
+import dev.by1337.yaml.codec.YamlCodec;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Startup-style loading of a directory of 2000 small per-player files: one at a time through
+ * {@link YamlMap#load(File)}, and through {@link YamlBatchLoader} at several parallelism levels.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class YamlBatchLoadBenchmark {
+    private static final int FILES = 2000;
+    private static final YamlCodec<YamlMap> CODEC = YamlCodec.YAML_MAP;
+
+    @Param({"1", "4", "8"})
+    private int parallelism;
+
+    private Path dir;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        dir = Files.createTempDirectory("byaml-batch");
+        for (int i = 0; i < FILES; i++) {
+            StringBuilder sb = new StringBuilder();
+            sb.append("name: player").append(i).append('\n');
+            sb.append("balance: ").append(i * 3.5).append('\n');
+            for (int j = 0; j < 20; j++) {
+                sb.append("home-").append(j).append(":\n");
+                sb.append("  world: world\n  position: [").append(j).append(", 64, ").append(-j).append("]\n");
+            }
+            Files.writeString(dir.resolve("player-" + i + ".yml"), sb);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> stream = Files.walk(dir)) {
+            for (Path path : stream.sorted(Comparator.reverseOrder()).toList()) Files.delete(path);
+        }
+    }
+
+    @Benchmark
+    public Object sequentialFileLoad() throws IOException {
+        List<DataResult<YamlMap>> results = new ArrayList<>();
+        try (Stream<Path> stream = Files.list(dir)) {
+            for (Path path : stream.sorted().toList()) {
+                results.add(YamlMap.load(path.toFile()).get().decode(CODEC));
+            }
+        }
+        return results;
+    }
+
+    @Benchmark
+    public Object batchLoader() throws IOException {
+        return new YamlBatchLoader(parallelism).load(dir, CODEC);
+    }
+}
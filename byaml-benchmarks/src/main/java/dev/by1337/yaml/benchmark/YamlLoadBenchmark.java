@@ -0,0 +1,71 @@
+package dev.by1337.yaml.benchmark;
+
+import dev.by1337.yaml.YamlMap;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loads generated data files of 1 to 50 MB through {@link YamlMap#load(Path)}, and through the old
+ * {@code readString} + {@code StringReader} + line-by-line copy path for comparison.
+ * <p>
+ * No {@code YamlReader} is registered here, so both parse with {@code YamlEventReader}. Run with {@code -prof gc}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class YamlLoadBenchmark {
+
+    @Param({"1", "10", "50"})
+    private int megabytes;
+
+    private Path file;
+
+    @Setup
+    public void setup() throws IOException {
+        file = Files.createTempFile("byaml-load", ".yml");
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            long target = megabytes * 1024L * 1024L;
+            long written = 0;
+            for (int i = 0; written < target; i++) {
+                String entry = "player-" + i + ":\n" +
+                        "  name: Игрок_" + i + "\n" +
+                        "  balance: " + (i * 10.25) + "\n" +
+                        "  online: " + (i % 3 == 0) + "\n" +
+                        "  homes: [" + i % 100 + ", 64, " + -i + "]\n" +
+                        "  tags:\n  - vip\n  - '&aBuilder'\n";
+                writer.write(entry);
+                written += entry.length();
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public YamlMap loadPath() {
+        return YamlMap.load(file);
+    }
+
+    @Benchmark
+    public YamlMap loadLegacy() throws IOException {
+        BufferedReader input = new BufferedReader(new StringReader(Files.readString(file)));
+        StringBuilder builder = new StringBuilder();
+        String line;
+        while ((line = input.readLine()) != null) {
+            builder.append(line);
+            builder.append('\n');
+        }
+        return YamlMap.loadFromString(builder.toString());
+    }
+}
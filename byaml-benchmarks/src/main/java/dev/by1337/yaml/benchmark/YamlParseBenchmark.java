@@ -0,0 +1,75 @@
+package dev.by1337.yaml.benchmark;
+
+import dev.by1337.yaml.YamlEventReader;
+import org.openjdk.jmh.annotations.*;
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.Yaml;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parses a generated plugin-style config (block mappings and lists, flow lists, quoted and
+ * multi-line strings, numbers and booleans) into {@code LinkedHashMap}/{@code ArrayList} trees,
+ * with {@link YamlEventReader} and with SnakeYAML, plus a pure event pass that builds nothing.
+ * <p>
+ * Run with {@code -prof gc}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class YamlParseBenchmark {
+
+    @Param({"10", "200"})
+    private int sections;
+
+    private String text;
+
+    @Setup
+    public void setup() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("# generated config\n");
+        sb.append("settings:\n  enabled: true\n  prefix: \"&7[&aShop&7] \"\n  ratio: 0.75\n  locale: en_US\n");
+        sb.append("items:\n");
+        for (int i = 0; i < sections; i++) {
+            sb.append("  item-").append(i).append(":\n");
+            sb.append("    material: DIAMOND_SWORD\n");
+            sb.append("    amount: ").append(i % 64 + 1).append('\n');
+            sb.append("    price: ").append(i * 12.5).append('\n');
+            sb.append("    glow: ").append(i % 2 == 0 ? "yes" : "no").append('\n');
+            sb.append("    name: '&bItem #").append(i).append("'\n");
+            sb.append("    position: ").append(-i).append(' ').append(64).append(' ').append(i * 3).append('\n');
+            sb.append("    slots: [").append(i % 9).append(", ").append(i % 9 + 9).append(", ").append(i % 9 + 18).append("]\n");
+            sb.append("    lore:\n");
+            sb.append("      - '&7First line of lore'\n");
+            sb.append("      - '&7Second line with price: ").append(i).append("'\n");
+            sb.append("    description: >\n");
+            sb.append("      A folded description\n");
+            sb.append("      over two lines.\n");
+            sb.append("    enchantments:\n");
+            sb.append("      sharpness: ").append(i % 5 + 1).append('\n');
+            sb.append("      unbreaking: 3\n");
+        }
+        text = sb.toString();
+    }
+
+    @Benchmark
+    public Object eventReader() {
+        return YamlEventReader.load(text);
+    }
+
+    @Benchmark
+    public int eventReaderEventsOnly() {
+        YamlEventReader reader = new YamlEventReader(text);
+        int count = 0;
+        while (reader.next() != YamlEventReader.Event.END) count++;
+        return count;
+    }
+
+    @Benchmark
+    public Object snakeYaml() {
+        return new Yaml(new LoaderOptions()).load(text);
+    }
+}
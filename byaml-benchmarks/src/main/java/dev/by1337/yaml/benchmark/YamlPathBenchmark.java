@@ -0,0 +1,57 @@
+package dev.by1337.yaml.benchmark;
+
+import dev.by1337.yaml.YamlMap;
+import dev.by1337.yaml.YamlPath;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares nested lookups through a raw string, the cached string overload and a precompiled {@link YamlPath}.
+ * <p>
+ * Run with {@code -prof gc} to see the per-lookup allocation of each variant.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class YamlPathBenchmark {
+    private static final String PATH = "menu.items.diamond.display-name";
+    private static final YamlPath COMPILED = YamlPath.of(PATH);
+
+    private YamlMap map;
+
+    @Setup
+    public void setup() {
+        map = new YamlMap();
+        map.set(PATH, "<aqua>Diamond");
+        map.set("menu.items.diamond.amount", 1);
+        map.set("menu.title", "Shop");
+    }
+
+    @Benchmark
+    public Object regexSplit() {
+        Object last = map.getRaw();
+        for (String s : PATH.split("\\.")) {
+            last = ((java.util.Map<?, ?>) last).get(s);
+        }
+        return last;
+    }
+
+    @Benchmark
+    public Object stringPath() {
+        return map.getRaw(PATH);
+    }
+
+    @Benchmark
+    public Object compiledPath() {
+        return map.getRaw(COMPILED);
+    }
+
+    @Benchmark
+    public void compiledSet() {
+        map.set(COMPILED, "<aqua>Diamond");
+    }
+}
@@ -0,0 +1,83 @@
+package dev.by1337.yaml.benchmark;
+
+import dev.by1337.yaml.YamlMap;
+import dev.by1337.yaml.YamlSnapshot;
+import dev.by1337.yaml.YamlSnapshotCache;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Cold start: loads an unchanged data file by parsing it with {@link YamlMap#load(Path)}, and through a
+ * {@link YamlSnapshotCache} whose snapshot is up to date, which still reads and hashes the file.
+ * {@code decodeSnapshot} is the snapshot decoding alone, without any file access.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class YamlSnapshotBenchmark {
+
+    @Param({"1", "10"})
+    private int megabytes;
+
+    private Path dir;
+    private Path file;
+    private YamlSnapshotCache cache;
+    private byte[] snapshot;
+
+    @Setup
+    public void setup() throws IOException {
+        dir = Files.createTempDirectory("byaml-snapshot");
+        file = dir.resolve("data.yml");
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            long target = megabytes * 1024L * 1024L;
+            long written = 0;
+            for (int i = 0; written < target; i++) {
+                String entry = "player-" + i + ":\n" +
+                        "  name: Игрок_" + i + "\n" +
+                        "  balance: " + (i * 10.25) + "\n" +
+                        "  online: " + (i % 3 == 0) + "\n" +
+                        "  homes: [" + i % 100 + ", 64, " + -i + "]\n" +
+                        "  tags:\n  - vip\n  - '&aBuilder'\n";
+                writer.write(entry);
+                written += entry.length();
+            }
+        }
+        cache = new YamlSnapshotCache(dir.resolve("cache"));
+        snapshot = YamlSnapshot.write(cache.load(file));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public YamlMap parse() {
+        return YamlMap.load(file);
+    }
+
+    @Benchmark
+    public YamlMap cached() {
+        return YamlMap.load(file, cache);
+    }
+
+    @Benchmark
+    public YamlMap decodeSnapshot() {
+        return YamlSnapshot.read(snapshot);
+    }
+}
@@ -1,72 +1,177 @@
 package dev.by1337.yaml;
 
+import dev.by1337.yaml.util.CompactMap;
+import dev.by1337.yaml.util.StringInterner;
 import dev.by1337.yaml.util.YamlReader;
 import org.bukkit.Color;
-import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.InvalidConfigurationException;
 import org.bukkit.configuration.MemorySection;
 import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.configuration.file.YamlConstructor;
+import org.bukkit.configuration.file.YamlRepresenter;
 import org.jetbrains.annotations.ApiStatus;
-import org.jetbrains.annotations.NotNull;
-
+import org.yaml.snakeyaml.DumperOptions;
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.error.YAMLException;
+import org.yaml.snakeyaml.nodes.Node;
+import org.yaml.snakeyaml.nodes.Tag;
+
+import java.io.IOException;
+import java.io.Writer;
 import java.util.*;
-
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Reads configs with the SnakeYAML that ships with the server, turning its tree into sections directly
+ * instead of loading a {@link YamlConfiguration} and copying every {@link MemorySection} back out.
+ * <p>
+ * The result is what {@code YamlConfiguration} would have held: keys are strings, dotted keys
+ * such as {@code a.b: 1} become nested sections, {@code null} values are dropped, and
+ * {@code ConfigurationSerializable}s are deserialized by Bukkit's {@link YamlConstructor}.
+ * SnakeYAML builds every mapping as a {@link CompactMap}, and maps without any of that are reused as they come out.
+ * String keys and values go through the {@link YamlMap#setStringInterner string interner} as they are constructed.
+ */
 @ApiStatus.Internal
 class BukkitYamlReader implements YamlReader {
+    // Yaml instances are not thread-safe but are costly to create. They are pooled instead of kept per thread,
+    // since async loads run on a new virtual thread each on Java 21, which would never reuse a thread-local one
+    private static final BlockingQueue<Yaml> POOL = new ArrayBlockingQueue<>(Math.max(2, Runtime.getRuntime().availableProcessors()));
+
+    private static Yaml borrow() {
+        Yaml yaml = POOL.poll();
+        return yaml == null ? create() : yaml;
+    }
+
+    private static void release(Yaml yaml) {
+        // dropped when the pool is full
+        POOL.offer(yaml);
+    }
+
+    private static Yaml create() {
+        LoaderOptions loaderOptions = new LoaderOptions();
+        loaderOptions.setMaxAliasesForCollections(Integer.MAX_VALUE);
+        DumperOptions dumperOptions = new DumperOptions();
+        dumperOptions.setDefaultFlowStyle(DumperOptions.FlowStyle.BLOCK);
+        YamlConstructor constructor = new YamlConstructor() {
+            {
+                yamlConstructors.put(Tag.STR, new ConstructYamlStr() {
+                    @Override
+                    public Object construct(Node node) {
+                        Object value = super.construct(node);
+                        StringInterner interner = YamlMap.getStringInterner();
+                        return interner == null ? value : interner.internValue(value);
+                    }
+                });
+            }
+
+            @Override
+            protected Map<Object, Object> createDefaultMap(int initSize) {
+                return new CompactMap<>(initSize);
+            }
+        };
+        return new Yaml(constructor, new YamlRepresenter(), dumperOptions, loaderOptions);
+    }
 
     @Override
     public YamlMap read(String data) {
+        Object root;
+        Yaml yaml = borrow();
         try {
-            YamlConfiguration configuration = new YamlConfiguration();
-            configuration.loadFromString(data);
-
-            return new YamlMap(toMap(configuration));
-        } catch (InvalidConfigurationException e) {
-            throw new RuntimeException(e);
+            root = yaml.load(data);
+        } catch (YAMLException e) {
+            throw new RuntimeException(new InvalidConfigurationException(e));
+        } finally {
+            release(yaml);
+        }
+        if (root == null) return new YamlMap();
+        if (!(root instanceof Map<?, ?> map)) {
+            throw new RuntimeException(new InvalidConfigurationException("Top level is not a Map."));
         }
+        return new YamlMap(toSection(map));
     }
 
-    public static LinkedHashMap<String, Object> toMap(MemorySection memorySection) {
-        LinkedHashMap<String, Object> result = new LinkedHashMap<>();
-        for (String key : memorySection.getKeys(false)) {
-            Object value = memorySection.get(key);
-            if (value instanceof MemorySection mem) {
-                result.put(key, toMap(mem));
-            } else if (value instanceof Collection<?> list) {
-                List<Object> listToAdd = new ArrayList<>();
-                for (Object o : list) {
-                    if (o instanceof MemorySection mem) {
-                        listToAdd.add(toMap(mem));
-                    } else {
-                        listToAdd.add(o);
-                    }
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> toSection(Map<?, ?> map) {
+        if (map instanceof CompactMap<?, ?> && isPlainSection(map)) {
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                if (entry.getValue() instanceof Map<?, ?> sub) {
+                    ((Map.Entry<Object, Object>) entry).setValue(toSection(sub));
                 }
-                result.put(key, listToAdd);
-            } else {
-                result.put(key, value);
             }
+            return (Map<String, Object>) map;
         }
-        return result;
+        Map<String, Object> section = new CompactMap<>(map.size());
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            Object value = entry.getValue();
+            set(section, String.valueOf(entry.getKey()), value instanceof Map<?, ?> sub ? toSection(sub) : value);
+        }
+        return section;
+    }
+
+    private static boolean isPlainSection(Map<?, ?> map) {
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            if (!(entry.getKey() instanceof String key) || key.indexOf('.') != -1 || entry.getValue() == null) {
+                return false;
+            }
+        }
+        return true;
     }
 
+    /**
+     * Same as {@link MemorySection#set(String, Object)}: a dotted path creates or replaces the sections
+     * along it, and {@code null} removes the value.
+     */
+    @SuppressWarnings("unchecked")
+    private static void set(Map<String, Object> section, String path, Object value) {
+        int start = 0;
+        int dot;
+        while ((dot = path.indexOf('.', start)) != -1) {
+            String node = path.substring(start, dot);
+            Object sub = section.get(node);
+            if (!(sub instanceof CompactMap<?, ?>)) {
+                if (value == null) return;
+                sub = new CompactMap<String, Object>();
+                section.put(node, sub);
+            }
+            section = (Map<String, Object>) sub;
+            start = dot + 1;
+        }
+        String key = path.substring(start);
+        if (value == null) {
+            section.remove(key);
+        } else {
+            section.put(key, value);
+        }
+    }
+
+    /**
+     * Same output as {@code YamlConfiguration.saveToString()}, but dumped straight from the map tree
+     * instead of a copy of it made of {@code ConfigurationSection}s.
+     */
     @Override
     public String saveToString(Map<String, Object> map) {
-        YamlConfiguration root = new YamlConfiguration();
-        convertMapsToSections(map, root);
-        return root.saveToString();
+        if (map.isEmpty()) return "";
+        Yaml yaml = borrow();
+        try {
+            return yaml.dump(map);
+        } finally {
+            release(yaml);
+        }
     }
 
-    private static void convertMapsToSections(@NotNull Map<?, ?> input, @NotNull ConfigurationSection section) {
-        for (Map.Entry<?, ?> entry : input.entrySet()) {
-            String key = entry.getKey().toString();
-            Object value = entry.getValue();
-
-            if (value instanceof Map) {
-                convertMapsToSections((Map<?, ?>) value, section.createSection(key));
-            } else {
-                section.set(key, value);
+    @Override
+    public void save(Map<String, Object> map, Writer writer) throws IOException {
+        if (!map.isEmpty()) {
+            Yaml yaml = borrow();
+            try {
+                yaml.dump(map, writer);
+            } finally {
+                release(yaml);
             }
         }
+        writer.flush();
     }
 
     static {
@@ -0,0 +1,410 @@
+package dev.by1337.yaml.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.WildcardType;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Generates a {@code YamlCodec} class for every record annotated with {@code @YamlRecord}.
+ * <p>
+ * The generated codec is a {@code DirectYamlCodec}: it decodes into a {@code DecodeContext}, reading each
+ * component straight from the raw section, {@code int}, {@code long}, {@code double} and {@code boolean} ones
+ * without boxing, and calls the canonical constructor directly. There are no lambdas, field arrays or reflection
+ * involved, so the codec is cheap to initialize and monomorphic at its call sites. Its decode and error output
+ * match {@code RecordYamlCodecBuilder.mapOf}. A component of another record type uses that record's generated
+ * codec, so the record has to be annotated as well.
+ */
+@SupportedAnnotationTypes(YamlRecordProcessor.YAML_RECORD)
+public class YamlRecordProcessor extends AbstractProcessor {
+    static final String YAML_RECORD = "dev.by1337.yaml.codec.annotation.YamlRecord";
+    private static final String KEY = YAML_RECORD + ".Key";
+    private static final String CODEC = YAML_RECORD + ".Codec";
+    private static final String YAML_CODEC = "dev.by1337.yaml.codec.YamlCodec";
+
+    private static final Map<String, String> SIMPLE = Map.ofEntries(
+            Map.entry("int", "INT"), Map.entry("java.lang.Integer", "INT"),
+            Map.entry("long", "LONG"), Map.entry("java.lang.Long", "LONG"),
+            Map.entry("double", "DOUBLE"), Map.entry("java.lang.Double", "DOUBLE"),
+            Map.entry("float", "FLOAT"), Map.entry("java.lang.Float", "FLOAT"),
+            Map.entry("short", "SHORT"), Map.entry("java.lang.Short", "SHORT"),
+            Map.entry("byte", "BYTE"), Map.entry("java.lang.Byte", "BYTE"),
+            Map.entry("boolean", "BOOL"), Map.entry("java.lang.Boolean", "BOOL"),
+            Map.entry("java.lang.String", "STRING"),
+            Map.entry("java.lang.Object", "OBJECT"),
+            Map.entry("dev.by1337.yaml.YamlValue", "YAML_VALUE"),
+            Map.entry("dev.by1337.yaml.YamlMap", "YAML_MAP")
+    );
+    // the primitives with a codec that decodes them unboxed, IntYamlCodec.decodeInt and so on
+    private static final Map<TypeKind, String> UNBOXED = Map.of(
+            TypeKind.INT, "Int", TypeKind.LONG, "Long", TypeKind.DOUBLE, "Double", TypeKind.BOOLEAN, "Bool"
+    );
+    private static final Map<TypeKind, String> ZEROS = Map.of(
+            TypeKind.INT, "0", TypeKind.LONG, "0L", TypeKind.DOUBLE, "0D", TypeKind.FLOAT, "0F",
+            TypeKind.SHORT, "(short) 0", TypeKind.BYTE, "(byte) 0", TypeKind.BOOLEAN, "false", TypeKind.CHAR, "'\\0'"
+    );
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() != ElementKind.RECORD) {
+                    error(element, "@YamlRecord can only be applied to records");
+                    continue;
+                }
+                try {
+                    generate((TypeElement) element);
+                } catch (UnsupportedTypeException e) {
+                    error(e.element, e.getMessage());
+                } catch (IOException e) {
+                    error(element, "Failed to write codec: " + e.getMessage());
+                }
+            }
+        }
+        return true;
+    }
+
+    private void generate(TypeElement record) throws IOException, UnsupportedTypeException {
+        if (record.getModifiers().contains(Modifier.PRIVATE)) {
+            throw new UnsupportedTypeException(record, "@YamlRecord records must not be private");
+        }
+        String pkg = processingEnv.getElementUtils().getPackageOf(record).getQualifiedName().toString();
+        String codecName = codecName(record);
+        String recordType = record.getQualifiedName().toString();
+        List<Component> components = new ArrayList<>();
+        for (RecordComponentElement element : record.getRecordComponents()) {
+            components.add(new Component(element, record));
+        }
+
+        StringBuilder sb = new StringBuilder();
+        if (!pkg.isEmpty()) {
+            sb.append("package ").append(pkg).append(";\n\n");
+        }
+        sb.append("import dev.by1337.yaml.YamlValue;\n");
+        sb.append("import dev.by1337.yaml.codec.CodecSupport;\n");
+        sb.append("import dev.by1337.yaml.codec.DataResult;\n");
+        sb.append("import dev.by1337.yaml.codec.DecodeContext;\n");
+        sb.append("import dev.by1337.yaml.codec.DecodeOptions;\n");
+        sb.append("import dev.by1337.yaml.codec.DirectYamlCodec;\n");
+        sb.append("import dev.by1337.yaml.codec.ErrorTree;\n");
+        sb.append("import dev.by1337.yaml.codec.YamlCodec;\n");
+        sb.append("import dev.by1337.yaml.util.CompactMap;\n\n");
+        sb.append("import java.util.Map;\n\n");
+        sb.append("@javax.annotation.processing.Generated(\"").append(getClass().getName()).append("\")\n");
+        sb.append("public final class ").append(codecName).append(" extends DirectYamlCodec<").append(recordType).append("> {\n");
+        sb.append("    public static final ").append(codecName).append(" INSTANCE = new ").append(codecName).append("();\n\n");
+        for (int i = 0; i < components.size(); i++) {
+            Component c = components.get(i);
+            sb.append("    private static final ").append(c.codecType).append(" C").append(i)
+                    .append(" = ").append(c.codec).append(";\n");
+        }
+        sb.append("\n    private ").append(codecName).append("() {\n    }\n\n");
+
+        sb.append("    @Override\n");
+        sb.append("    public ").append(recordType).append(" decode(Object raw, DecodeContext ctx) {\n");
+        sb.append("        raw = CodecSupport.unwrap(raw);\n");
+        sb.append("        if (!(raw instanceof Map<?, ?> map)) return CodecSupport.expectedMap(ctx, raw);\n");
+        // errors pending on entry must not be taken for those of the first field
+        sb.append("        DataResult<?> pending = ctx.takeError();\n");
+        sb.append("        ").append(recordType).append(" result = decodeFields(map, ctx);\n");
+        sb.append("        ctx.restore(pending);\n");
+        sb.append("        return result;\n");
+        sb.append("    }\n\n");
+        sb.append("    private ").append(recordType).append(" decodeFields(Map<?, ?> map, DecodeContext ctx) {\n");
+        sb.append("        DecodeOptions options = ctx.options();\n");
+        sb.append("        ErrorTree errors = null;\n");
+        sb.append("        DataResult<?> error;\n");
+        sb.append("        Object value;\n");
+        for (int i = 0; i < components.size(); i++) {
+            Component c = components.get(i);
+            sb.append("\n        ").append(c.type).append(" v").append(i).append(" = ").append(c.zero).append(";\n");
+            sb.append("        value = CodecSupport.lookup(map, ").append(c.keyLiteral).append(");\n");
+            sb.append("        if (value != CodecSupport.ABSENT) {\n");
+            if (c.primitiveDecode != null) {
+                sb.append("            ").append(c.type).append(" d = C").append(i).append(".").append(c.primitiveDecode)
+                        .append("(value, ctx);\n");
+            } else {
+                sb.append("            ").append(c.boxedType).append(" d = C").append(i).append(".decode(value, ctx);\n");
+            }
+            sb.append("            error = ctx.takeError();\n");
+            sb.append("            if (error != null) {\n");
+            sb.append("                errors = CodecSupport.fieldError(errors, ").append(c.keyLiteral).append(", error);\n");
+            sb.append("                if (options.failFast()) {\n");
+            sb.append("                    ctx.report(errors);\n");
+            sb.append("                    return null;\n");
+            sb.append("                }\n");
+            if (c.primitiveDecode != null) {
+                // a failed primitive decode returns 0, keep the default instead as mapOf does
+                sb.append("            } else {\n");
+                sb.append("                v").append(i).append(" = d;\n");
+                sb.append("            }\n");
+            } else {
+                sb.append("            }\n");
+                sb.append("            if (d != null) v").append(i).append(" = d;\n");
+            }
+            sb.append("        }\n");
+        }
+        sb.append("\n        if (options.validateOnly()) {\n");
+        sb.append("            if (errors != null) ctx.report(errors);\n");
+        sb.append("            return null;\n");
+        sb.append("        }\n");
+        sb.append("        ").append(recordType).append(" result;\n");
+        sb.append("        try {\n");
+        sb.append("            result = new ").append(recordType).append("(");
+        for (int i = 0; i < components.size(); i++) {
+            if (i != 0) sb.append(", ");
+            sb.append("v").append(i);
+        }
+        sb.append(");\n");
+        sb.append("        } catch (Throwable t) {\n");
+        sb.append("            ctx.report(CodecSupport.failed(errors, t));\n");
+        sb.append("            return null;\n");
+        sb.append("        }\n");
+        sb.append("        if (errors != null) ctx.report(errors);\n");
+        sb.append("        return result;\n");
+        sb.append("    }\n\n");
+
+        sb.append("    @Override\n");
+        sb.append("    public YamlValue encode(").append(recordType).append(" value) {\n");
+        sb.append("        Map<Object, Object> map = new CompactMap<>(").append(components.size()).append(");\n");
+        for (int i = 0; i < components.size(); i++) {
+            Component c = components.get(i);
+            if (c.primitive) {
+                sb.append("        map.put(").append(c.keyLiteral).append(", C").append(i).append(".encode(value.")
+                        .append(c.name).append("()).getValue());\n");
+            } else {
+                sb.append("        ").append(c.boxedType).append(" e").append(i).append(" = value.").append(c.name).append("();\n");
+                sb.append("        if (e").append(i).append(" != null) map.put(").append(c.keyLiteral).append(", C").append(i)
+                        .append(".encode(e").append(i).append(").getValue());\n");
+            }
+        }
+        sb.append("        return YamlValue.wrap(map);\n");
+        sb.append("    }\n");
+        sb.append("}\n");
+
+        String qualified = pkg.isEmpty() ? codecName : pkg + "." + codecName;
+        JavaFileObject file = processingEnv.getFiler().createSourceFile(qualified, record);
+        try (Writer writer = file.openWriter()) {
+            writer.write(sb.toString());
+        }
+    }
+
+    private String codecName(TypeElement record) {
+        AnnotationMirror annotation = annotation(record, YAML_RECORD);
+        String name = annotation == null ? "" : stringValue(annotation, "codecName");
+        if (name != null && !name.isEmpty()) return name;
+        StringBuilder sb = new StringBuilder(record.getSimpleName());
+        Element enclosing = record.getEnclosingElement();
+        while (enclosing.getKind().isClass() || enclosing.getKind().isInterface()) {
+            sb.insert(0, '_').insert(0, enclosing.getSimpleName());
+            enclosing = enclosing.getEnclosingElement();
+        }
+        return sb.append("Codec").toString();
+    }
+
+    private String codecOf(TypeMirror type, TypeElement owner, Element component) throws UnsupportedTypeException {
+        switch (type.getKind()) {
+            case INT, LONG, DOUBLE, FLOAT, SHORT, BYTE, BOOLEAN -> {
+                return YAML_CODEC + "." + SIMPLE.get(type.getKind().name().toLowerCase());
+            }
+            case ARRAY -> {
+                TypeMirror componentType = ((ArrayType) type).getComponentType();
+                if (componentType.getKind().isPrimitive() && componentType.getKind() != TypeKind.CHAR) {
+                    return YAML_CODEC + "." + SIMPLE.get(componentType.getKind().name().toLowerCase()) + "_ARRAY";
+                }
+                return codecOf(componentType, owner, component) + ".listOf().asArray(" + erasure(componentType) + ".class)";
+            }
+            case WILDCARD -> {
+                TypeMirror bound = ((WildcardType) type).getExtendsBound();
+                if (bound != null) return codecOf(bound, owner, component);
+            }
+            case DECLARED -> {
+                DeclaredType declared = (DeclaredType) type;
+                TypeElement element = (TypeElement) declared.asElement();
+                String name = element.getQualifiedName().toString();
+                String simple = SIMPLE.get(name);
+                if (simple != null) return YAML_CODEC + "." + simple;
+                List<? extends TypeMirror> args = declared.getTypeArguments();
+                switch (name) {
+                    case "java.util.List", "java.util.Collection", "java.lang.Iterable" -> {
+                        if (args.size() == 1) return codecOf(args.get(0), owner, component) + ".listOf()";
+                    }
+                    case "java.util.Set" -> {
+                        if (args.size() == 1) return codecOf(args.get(0), owner, component) + ".listOf().asSet()";
+                    }
+                    case "java.util.Map" -> {
+                        if (args.size() == 2) {
+                            return YAML_CODEC + ".mapOf(" + codecOf(args.get(0), owner, component) + ", "
+                                    + codecOf(args.get(1), owner, component) + ")";
+                        }
+                    }
+                    default -> {
+                        if (element.getKind() == ElementKind.ENUM) {
+                            return YAML_CODEC + ".fromEnum(" + name + ".class)";
+                        }
+                        if (element.getKind() == ElementKind.RECORD) {
+                            if (annotation(element, YAML_RECORD) == null) {
+                                throw new UnsupportedTypeException(component, "Record " + name
+                                        + " has no generated codec, annotate it with @YamlRecord or set one with @YamlRecord.Codec");
+                            }
+                            String pkg = processingEnv.getElementUtils().getPackageOf(element).getQualifiedName().toString();
+                            String codec = (pkg.isEmpty() ? "" : pkg + ".") + codecName(element);
+                            if (element.equals(owner)) {
+                                // our own INSTANCE is still null while the static codecs initialize
+                                return YAML_CODEC + ".lazyLoad(() -> " + codec + ".INSTANCE)";
+                            }
+                            return codec + ".INSTANCE";
+                        }
+                    }
+                }
+            }
+            default -> {
+            }
+        }
+        throw new UnsupportedTypeException(component, "No codec for type " + type + ", set one with @YamlRecord.Codec");
+    }
+
+    private String erasure(TypeMirror type) {
+        return render(processingEnv.getTypeUtils().erasure(type));
+    }
+
+    /**
+     * Renders a type as source without any type-use annotations it may carry.
+     */
+    private String render(TypeMirror type) {
+        switch (type.getKind()) {
+            case ARRAY -> {
+                return render(((ArrayType) type).getComponentType()) + "[]";
+            }
+            case DECLARED -> {
+                DeclaredType declared = (DeclaredType) type;
+                StringBuilder sb = new StringBuilder(((TypeElement) declared.asElement()).getQualifiedName());
+                List<? extends TypeMirror> args = declared.getTypeArguments();
+                if (!args.isEmpty()) {
+                    sb.append('<');
+                    for (int i = 0; i < args.size(); i++) {
+                        if (i != 0) sb.append(", ");
+                        sb.append(render(args.get(i)));
+                    }
+                    sb.append('>');
+                }
+                return sb.toString();
+            }
+            case WILDCARD -> {
+                WildcardType wildcard = (WildcardType) type;
+                if (wildcard.getExtendsBound() != null) return "? extends " + render(wildcard.getExtendsBound());
+                if (wildcard.getSuperBound() != null) return "? super " + render(wildcard.getSuperBound());
+                return "?";
+            }
+            default -> {
+                if (type.getKind().isPrimitive()) return type.getKind().name().toLowerCase();
+                return type.toString();
+            }
+        }
+    }
+
+    private static AnnotationMirror annotation(Element element, String name) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            TypeElement type = (TypeElement) mirror.getAnnotationType().asElement();
+            if (type.getQualifiedName().contentEquals(name)) return mirror;
+        }
+        return null;
+    }
+
+    private static String stringValue(AnnotationMirror annotation, String attribute) {
+        for (var entry : annotation.getElementValues().entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(attribute)) {
+                return (String) entry.getValue().getValue();
+            }
+        }
+        return null;
+    }
+
+    private static String literal(String s) {
+        StringBuilder sb = new StringBuilder("\"");
+        for (char c : s.toCharArray()) {
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> {
+                    if (c < 0x20) sb.append(String.format("\\u%04x", (int) c));
+                    else sb.append(c);
+                }
+            }
+        }
+        return sb.append('"').toString();
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    private final class Component {
+        final String name;
+        final String keyLiteral;
+        final String type;
+        final String boxedType;
+        final String zero;
+        final boolean primitive;
+        final String codec;
+        final String codecType;
+        // decodeInt and the like for components read without boxing, otherwise null
+        final String primitiveDecode;
+
+        Component(RecordComponentElement element, TypeElement owner) throws UnsupportedTypeException {
+            TypeMirror mirror = element.asType();
+            name = element.getSimpleName().toString();
+            AnnotationMirror key = annotation(element, KEY);
+            keyLiteral = literal(key == null ? name : stringValue(key, "value"));
+            primitive = mirror.getKind().isPrimitive();
+            type = render(mirror);
+            boxedType = primitive ? render(processingEnv.getTypeUtils().boxedClass((PrimitiveType) mirror).asType()) : type;
+            zero = primitive ? ZEROS.get(mirror.getKind()) : "null";
+            AnnotationMirror codecAnnotation = annotation(element, CODEC);
+            String unboxed = codecAnnotation == null ? UNBOXED.get(mirror.getKind()) : null;
+            if (unboxed != null) {
+                codecType = "dev.by1337.yaml.codec." + unboxed + "YamlCodec";
+                codec = codecType + ".INSTANCE";
+                primitiveDecode = "decode" + unboxed;
+            } else {
+                codecType = "YamlCodec<" + boxedType + ">";
+                codec = codecAnnotation == null ? codecOf(mirror, owner, element) : stringValue(codecAnnotation, "value");
+                primitiveDecode = null;
+            }
+        }
+    }
+
+    private static final class UnsupportedTypeException extends Exception {
+        private static final long serialVersionUID = 1L;
+        // only read while the processor runs, never serialized
+        final transient Element element;
+
+        UnsupportedTypeException(Element element, String message) {
+            super(message);
+            this.element = element;
+        }
+    }
+}
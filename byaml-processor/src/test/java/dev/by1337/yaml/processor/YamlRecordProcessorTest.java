@@ -0,0 +1,199 @@
+package dev.by1337.yaml.processor;
+
+import dev.by1337.yaml.YamlMap;
+import dev.by1337.yaml.YamlValue;
+import dev.by1337.yaml.codec.DataResult;
+import dev.by1337.yaml.codec.DecodeContext;
+import dev.by1337.yaml.codec.DecodeOptions;
+import dev.by1337.yaml.codec.DirectYamlCodec;
+import dev.by1337.yaml.codec.YamlCodec;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.*;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class YamlRecordProcessorTest {
+    private static final String SHOP = """
+            package test;
+
+            import dev.by1337.yaml.codec.annotation.YamlRecord;
+            import java.util.List;
+            import java.util.Map;
+            import java.util.Set;
+
+            public class Shop {
+                public enum Kind { BUY, SELL }
+
+                @YamlRecord
+                public record Item(String material,
+                                   int amount,
+                                   @YamlRecord.Key("display-name") String name,
+                                   List<String> lore,
+                                   Set<Kind> kinds,
+                                   Map<String, Double> prices,
+                                   int[] slots,
+                                   @YamlRecord.Codec("dev.by1337.yaml.codec.YamlCodec.STRING.listOf()") List<String> tags,
+                                   Item child) {
+                    public Item {
+                        if (amount < 0) throw new IllegalArgumentException("negative amount");
+                    }
+                }
+            }
+            """;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void testGeneratedCodec() throws Exception {
+        ClassLoader loader = compile(SHOP, "test/Shop.java");
+        YamlCodec<Object> codec = instance(loader, "test.Shop_ItemCodec");
+
+        YamlMap map = new YamlMap();
+        map.set("material", "stone");
+        map.set("amount", 3);
+        map.set("display-name", "Stone");
+        map.set("lore", List.of("a", "b"));
+        map.set("kinds", List.of("SELL"));
+        map.set("prices.buy", 1.5);
+        map.set("slots", List.of(1, 2));
+        map.set("child.material", "dirt");
+        DataResult<Object> result = codec.decode(map.get());
+        assertFalse(result.hasError(), result::error);
+        Record item = (Record) result.result();
+        assertEquals("Item[material=stone, amount=3, name=Stone, lore=[a, b], kinds=[SELL], prices={buy=1.5}",
+                item.toString().substring(0, item.toString().indexOf(", slots")));
+
+        YamlValue encoded = codec.encode(item);
+        assertEquals(encoded.getValue(), codec.encode(codec.decode(encoded).result()).getValue());
+
+        // decodes into the context directly instead of through the DataResult adapter
+        assertInstanceOf(DirectYamlCodec.class, codec);
+        DecodeContext ctx = new DecodeContext();
+        assertEquals(encoded.getValue(), codec.encode(codec.decode(map.getRaw(), ctx)).getValue());
+        assertFalse(ctx.hasError());
+        // an error pending before the decode is kept as it is, and not taken for that of the first field
+        ctx = new DecodeContext(DecodeOptions.FAIL_FAST);
+        ctx.fail("earlier");
+        assertNotNull(codec.decode(map.getRaw(), ctx));
+        assertEquals("earlier", ctx.takeError().error());
+        Map<?, ?> raw = (Map<?, ?>) encoded.getValue();
+        assertEquals("Stone", raw.get("display-name"));
+        assertFalse(raw.containsKey("tags"));
+    }
+
+    @Test
+    public void testErrors() throws Exception {
+        ClassLoader loader = compile(SHOP, "test/Shop.java");
+        YamlCodec<Object> codec = instance(loader, "test.Shop_ItemCodec");
+
+        DataResult<Object> result = codec.decode(YamlValue.wrap(Map.of("amount", "many", "material", "stone")));
+        assertTrue(result.hasError());
+        assertEquals("Errors in 'amount':\n  - For input string: \"many\"", result.error());
+        assertNotNull(result.result());
+
+        assertEquals("Expected a Map, but found String.", codec.decode(YamlValue.wrap("x")).error());
+
+        DataResult<Object> failed = codec.decode(YamlValue.wrap(Map.of("amount", -1)));
+        assertTrue(failed.hasError());
+        assertTrue(failed.error().contains("negative amount"), failed.error());
+
+        // validating never calls the constructor
+        DataResult<Object> validated = codec.decode(YamlValue.wrap(Map.of("amount", -1)), DecodeOptions.VALIDATE_ONLY);
+        assertFalse(validated.hasError());
+        assertNull(validated.result());
+
+        DataResult<Object> fast = codec.decode(YamlValue.wrap(Map.of("material", "stone", "amount", "x", "slots", List.of("y"))), DecodeOptions.FAIL_FAST);
+        assertEquals("Errors in 'amount':\n  - For input string: \"x\"", fast.error());
+        assertNull(fast.result());
+    }
+
+    @Test
+    public void testUnsupportedType() throws Exception {
+        String source = """
+                package test;
+
+                import dev.by1337.yaml.codec.annotation.YamlRecord;
+
+                @YamlRecord
+                public record Bad(String name, Thread thread) {
+                }
+                """;
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        assertFalse(run(source, "test/Bad.java", diagnostics));
+        assertTrue(diagnostics.getDiagnostics().stream()
+                .anyMatch(d -> d.getMessage(Locale.ROOT).contains("No codec for type java.lang.Thread")));
+    }
+
+    @Test
+    public void testUnannotatedRecord() throws Exception {
+        String source = """
+                package test;
+
+                import dev.by1337.yaml.codec.annotation.YamlRecord;
+                import java.util.List;
+
+                @YamlRecord
+                public record Outer(List<Inner> inner) {
+                    public record Inner(String name) {
+                    }
+                }
+                """;
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        assertFalse(run(source, "test/Outer.java", diagnostics));
+        assertTrue(diagnostics.getDiagnostics().stream()
+                .anyMatch(d -> d.getMessage(Locale.ROOT).contains("Record test.Outer.Inner has no generated codec")));
+    }
+
+    @Test
+    public void testNotARecord() throws Exception {
+        String source = """
+                package test;
+
+                @dev.by1337.yaml.codec.annotation.YamlRecord
+                public class Plain {
+                }
+                """;
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        assertFalse(run(source, "test/Plain.java", diagnostics));
+        assertTrue(diagnostics.getDiagnostics().stream()
+                .anyMatch(d -> d.getMessage(Locale.ROOT).contains("can only be applied to records")));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static YamlCodec<Object> instance(ClassLoader loader, String name) throws Exception {
+        return (YamlCodec<Object>) loader.loadClass(name).getField("INSTANCE").get(null);
+    }
+
+    private ClassLoader compile(String source, String file) throws Exception {
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        assertTrue(run(source, file, diagnostics), () -> diagnostics.getDiagnostics().toString());
+        return new URLClassLoader(new URL[]{dir.resolve("out").toUri().toURL()}, getClass().getClassLoader());
+    }
+
+    private boolean run(String source, String file, DiagnosticCollector<JavaFileObject> diagnostics) throws Exception {
+        Path src = dir.resolve("src").resolve(file);
+        Files.createDirectories(src.getParent());
+        Files.writeString(src, source);
+        Path out = Files.createDirectories(dir.resolve("out"));
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        try (StandardJavaFileManager files = compiler.getStandardFileManager(diagnostics, null, null)) {
+            JavaCompiler.CompilationTask task = compiler.getTask(null, files, diagnostics,
+                    List.of("-classpath", System.getProperty("java.class.path"), "-d", out.toString(),
+                            "-s", out.toString()),
+                    null, files.getJavaFileObjects(src.toFile()));
+            task.setProcessors(List.of(new YamlRecordProcessor()));
+            return task.call();
+        }
+    }
+}
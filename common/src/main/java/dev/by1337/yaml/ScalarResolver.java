@@ -0,0 +1,258 @@
+package dev.by1337.yaml;
+
+import dev.by1337.yaml.util.Primitives;
+import org.jetbrains.annotations.Nullable;
+
+import java.math.BigInteger;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * YAML 1.1 scalar resolution for {@link YamlEventReader}, matching SnakeYAML's {@code Resolver} and {@code SafeConstructor}.
+ * <p>
+ * Plain scalars are dispatched on their first character, like SnakeYAML does, so ordinary strings never touch a regex.
+ */
+final class ScalarResolver {
+    static final String TAG_PREFIX = "tag:yaml.org,2002:";
+
+    private static final Pattern INT = Pattern.compile("^(?:[-+]?0b_*[0-1][0-1_]*|[-+]?0_*[0-7][0-7_]*|[-+]?(?:0|[1-9][0-9_]*)|[-+]?0x_*[0-9a-fA-F][0-9a-fA-F_]*|[-+]?[1-9][0-9_]*(?::[0-5]?[0-9])+)$");
+    private static final Pattern FLOAT = Pattern.compile("^([-+]?(?:[0-9][0-9_]*)\\.[0-9_]*(?:[eE][-+]?[0-9]+)?|[-+]?(?:[0-9][0-9_]*)(?:[eE][-+]?[0-9]+)|[-+]?\\.[0-9_]+(?:[eE][-+]?[0-9]+)?|[-+]?[0-9][0-9_]*(?::[0-5]?[0-9])+\\.[0-9_]*|[-+]?\\.(?:inf|Inf|INF)|\\.(?:nan|NaN|NAN))$");
+    private static final Pattern TIMESTAMP = Pattern.compile("^(?:[0-9][0-9][0-9][0-9]-[0-9][0-9]-[0-9][0-9]|[0-9][0-9][0-9][0-9]-[0-9][0-9]?-[0-9][0-9]?(?:[Tt]|[ \t]+)[0-9][0-9]?:[0-9][0-9]:[0-9][0-9](?:\\.[0-9]*)?(?:[ \t]*(?:Z|[-+][0-9][0-9]?(?::[0-9][0-9])?))?)$");
+    private static final Pattern YMD = Pattern.compile("^([0-9][0-9][0-9][0-9])-([0-9][0-9]?)-([0-9][0-9]?)$");
+    private static final Pattern TIMESTAMP_PARTS = Pattern.compile("^([0-9][0-9][0-9][0-9])-([0-9][0-9]?)-([0-9][0-9]?)(?:(?:[Tt]|[ \t]+)([0-9][0-9]?):([0-9][0-9]):([0-9][0-9])(?:\\.([0-9]*))?(?:[ \t]*(?:Z|([-+][0-9][0-9]?)(?::([0-9][0-9])?)?))?)?$");
+    private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+    private static final Map<String, Boolean> BOOLS = Map.ofEntries(
+            Map.entry("yes", true), Map.entry("Yes", true), Map.entry("YES", true),
+            Map.entry("no", false), Map.entry("No", false), Map.entry("NO", false),
+            Map.entry("true", true), Map.entry("True", true), Map.entry("TRUE", true),
+            Map.entry("false", false), Map.entry("False", false), Map.entry("FALSE", false),
+            Map.entry("on", true), Map.entry("On", true), Map.entry("ON", true),
+            Map.entry("off", false), Map.entry("Off", false), Map.entry("OFF", false)
+    );
+
+    private ScalarResolver() {
+    }
+
+    /**
+     * Resolves an untagged plain scalar.
+     */
+    static @Nullable Object resolvePlain(String s) {
+        int length = s.length();
+        if (length == 0) return null;
+        char c = s.charAt(0);
+        switch (c) {
+            case '-', '+', '0', '1', '2', '3', '4', '5', '6', '7', '8', '9' -> {
+                if (isSmallDecimal(s)) return Integer.parseInt(s);
+                if (length <= 1024 && mayBeNumber(s)) {
+                    double d = Primitives.parseDecimal(s, 0, length);
+                    // parseDecimal only takes plain "1.5"-like decimals, which are exactly what FLOAT's first branch matches
+                    if (d == d && s.indexOf('.') != -1) return d;
+                    if (INT.matcher(s).matches()) return constructInt(s);
+                    if (FLOAT.matcher(s).matches()) return constructFloat(s);
+                }
+                if (c != '-' && c != '+' && length <= 50 && length >= 10 && s.charAt(4) == '-'
+                        && TIMESTAMP.matcher(s).matches()) return constructTimestamp(s);
+                return s;
+            }
+            case '.' -> {
+                return length <= 1024 && mayBeNumber(s) && FLOAT.matcher(s).matches() ? constructFloat(s) : s;
+            }
+            case 'y', 'Y', 'n', 'N', 't', 'T', 'f', 'F', 'o', 'O' -> {
+                if (length > 5) return s;
+                Boolean b = BOOLS.get(s);
+                if (b != null) return b;
+                if (s.equals("null") || s.equals("Null") || s.equals("NULL")) return null;
+                return s;
+            }
+            case '~' -> {
+                return length == 1 ? null : s;
+            }
+            default -> {
+                return s;
+            }
+        }
+    }
+
+    /**
+     * Constructs a scalar with an explicit tag.
+     *
+     * @throws IllegalArgumentException if the tag is not a supported scalar tag or the text does not fit it
+     */
+    static @Nullable Object construct(String tag, String s) {
+        if (tag.equals("!")) return s;
+        if (!tag.startsWith(TAG_PREFIX)) throw new IllegalArgumentException("could not determine a constructor for the tag " + tag);
+        switch (tag.substring(TAG_PREFIX.length())) {
+            case "str" -> {
+                return s;
+            }
+            case "null" -> {
+                return null;
+            }
+            case "bool" -> {
+                Boolean b = BOOLS.get(s);
+                if (b == null) throw new IllegalArgumentException("'" + s + "' is not a boolean");
+                return b;
+            }
+            case "int" -> {
+                return constructInt(s);
+            }
+            case "float" -> {
+                return constructFloat(s);
+            }
+            case "timestamp" -> {
+                return constructTimestamp(s);
+            }
+            case "binary" -> {
+                return Base64.getMimeDecoder().decode(s);
+            }
+            default -> throw new IllegalArgumentException("could not determine a constructor for the tag " + tag);
+        }
+    }
+
+    /**
+     * Rejects most strings that start like a number, such as {@code "-3 64 9"}, before running the regexes.
+     *
+     * @return whether {@code s} only has characters that {@code INT} or {@code FLOAT} can match
+     */
+    private static boolean mayBeNumber(String s) {
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c >= '0' && c <= '9') continue;
+            switch (c) {
+                case '+', '-', '.', '_', ':', 'x', 'b', 'a', 'c', 'd', 'e', 'f', 'A', 'B', 'C', 'D', 'E', 'F',
+                        'i', 'n', 'I', 'N' -> {
+                }
+                default -> {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Optional sign, then at most 9 digits without a leading zero, so {@code Integer.parseInt} can neither overflow nor read octal.
+     */
+    private static boolean isSmallDecimal(String s) {
+        int i = s.charAt(0) == '-' || s.charAt(0) == '+' ? 1 : 0;
+        int digits = s.length() - i;
+        if (digits == 0 || digits > 9) return false;
+        if (s.charAt(i) == '0') return digits == 1;
+        for (; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c < '0' || c > '9') return false;
+        }
+        return true;
+    }
+
+    private static Number constructInt(String text) {
+        String value = text.replace("_", "");
+        if (value.isEmpty()) throw new IllegalArgumentException("found empty value while constructing an int");
+        int sign = 1;
+        char first = value.charAt(0);
+        if (first == '-') {
+            sign = -1;
+            value = value.substring(1);
+        } else if (first == '+') {
+            value = value.substring(1);
+        }
+        if (value.equals("0")) return 0;
+        int base;
+        if (value.startsWith("0b")) {
+            value = value.substring(2);
+            base = 2;
+        } else if (value.startsWith("0x")) {
+            value = value.substring(2);
+            base = 16;
+        } else if (value.startsWith("0")) {
+            value = value.substring(1);
+            base = 8;
+        } else if (value.indexOf(':') != -1) {
+            String[] digits = value.split(":");
+            long bes = 1;
+            long val = 0;
+            for (int i = digits.length - 1; i >= 0; i--) {
+                val += Long.parseLong(digits[i]) * bes;
+                bes *= 60;
+            }
+            return createNumber(sign, String.valueOf(val), 10);
+        } else {
+            base = 10;
+        }
+        return createNumber(sign, value, base);
+    }
+
+    private static Number createNumber(int sign, String number, int radix) {
+        if (sign < 0) number = "-" + number;
+        try {
+            return Integer.valueOf(number, radix);
+        } catch (NumberFormatException e) {
+            try {
+                return Long.valueOf(number, radix);
+            } catch (NumberFormatException e1) {
+                return new BigInteger(number, radix);
+            }
+        }
+    }
+
+    private static Double constructFloat(String text) {
+        String value = text.replace("_", "");
+        if (value.isEmpty()) throw new IllegalArgumentException("found empty value while constructing a float");
+        int sign = 1;
+        char first = value.charAt(0);
+        if (first == '-') {
+            sign = -1;
+            value = value.substring(1);
+        } else if (first == '+') {
+            value = value.substring(1);
+        }
+        String lower = value.toLowerCase(Locale.ROOT);
+        if (lower.equals(".inf")) return sign == -1 ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+        if (lower.equals(".nan")) return Double.NaN;
+        if (value.indexOf(':') != -1) {
+            String[] digits = value.split(":");
+            int bes = 1;
+            double val = 0.0;
+            for (int i = digits.length - 1; i >= 0; i--) {
+                val += Double.parseDouble(digits[i]) * bes;
+                bes *= 60;
+            }
+            return sign * val;
+        }
+        return Double.parseDouble(value) * sign;
+    }
+
+    private static Date constructTimestamp(String value) {
+        Matcher match = YMD.matcher(value);
+        if (match.matches()) {
+            Calendar calendar = Calendar.getInstance(UTC);
+            calendar.clear();
+            calendar.set(Calendar.YEAR, Integer.parseInt(match.group(1)));
+            calendar.set(Calendar.MONTH, Integer.parseInt(match.group(2)) - 1);
+            calendar.set(Calendar.DAY_OF_MONTH, Integer.parseInt(match.group(3)));
+            return calendar.getTime();
+        }
+        match = TIMESTAMP_PARTS.matcher(value);
+        if (!match.matches()) throw new IllegalArgumentException("Unexpected timestamp: " + value);
+        String seconds = match.group(6);
+        if (match.group(7) != null) seconds = seconds + "." + match.group(7);
+        double fractions = Double.parseDouble(seconds);
+        int wholeSeconds = (int) Math.round(Math.floor(fractions));
+        int millis = (int) Math.round((fractions - wholeSeconds) * 1000);
+        TimeZone zone = UTC;
+        if (match.group(8) != null) {
+            String minutes = match.group(9) != null ? ":" + match.group(9) : "00";
+            zone = TimeZone.getTimeZone("GMT" + match.group(8) + minutes);
+        }
+        Calendar calendar = Calendar.getInstance(zone);
+        calendar.set(Calendar.YEAR, Integer.parseInt(match.group(1)));
+        calendar.set(Calendar.MONTH, Integer.parseInt(match.group(2)) - 1);
+        calendar.set(Calendar.DAY_OF_MONTH, Integer.parseInt(match.group(3)));
+        calendar.set(Calendar.HOUR_OF_DAY, Integer.parseInt(match.group(4)));
+        calendar.set(Calendar.MINUTE, Integer.parseInt(match.group(5)));
+        calendar.set(Calendar.SECOND, wholeSeconds);
+        calendar.set(Calendar.MILLISECOND, millis);
+        return calendar.getTime();
+    }
+}
@@ -0,0 +1,141 @@
+package dev.by1337.yaml;
+
+import dev.by1337.yaml.codec.DataResult;
+import dev.by1337.yaml.codec.YamlCodec;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Loads and decodes many files in parallel, e.g. a directory of per-player data or menu definitions.
+ * <p>
+ * Every file gets its own {@link DataResult}: a file that cannot be read, parsed or decoded
+ * produces an error for that file only, and never fails the whole batch.
+ * <pre>{@code
+ * Map<Path, DataResult<Menu>> menus = new YamlBatchLoader().load(dataFolder.resolve("menus"), Menu.CODEC);
+ * menus.forEach((path, result) -> {
+ *     if (result.hasError()) logger.warning(path + ": " + result.error());
+ * });
+ * }</pre>
+ */
+public final class YamlBatchLoader {
+    private static final Predicate<Path> YAML_FILES = path -> {
+        String name = path.getFileName().toString();
+        return name.endsWith(".yml") || name.endsWith(".yaml");
+    };
+
+    private final int parallelism;
+
+    /**
+     * A loader that uses as many threads as there are processors.
+     */
+    public YamlBatchLoader() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param parallelism the number of threads a single {@code load} call may use
+     */
+    public YamlBatchLoader(int parallelism) {
+        if (parallelism < 1) throw new IllegalArgumentException("parallelism must be positive, got " + parallelism);
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Loads every {@code .yml} and {@code .yaml} file under {@code directory}, including subdirectories.
+     *
+     * @return the results in path order
+     */
+    public <T> Map<Path, DataResult<T>> load(Path directory, YamlCodec<T> codec) throws IOException {
+        return load(directory, YAML_FILES, codec);
+    }
+
+    /**
+     * Loads every regular file under {@code directory}, including subdirectories, that matches {@code filter}.
+     *
+     * @return the results in path order
+     */
+    public <T> Map<Path, DataResult<T>> load(Path directory, Predicate<Path> filter, YamlCodec<T> codec) throws IOException {
+        List<Path> files;
+        try (Stream<Path> stream = Files.walk(directory)) {
+            files = stream.filter(Files::isRegularFile).filter(filter).sorted().toList();
+        }
+        return load(files, codec);
+    }
+
+    /**
+     * Loads the given files.
+     *
+     * @return the results in the order of {@code files}
+     */
+    public <T> Map<Path, DataResult<T>> load(Collection<Path> files, YamlCodec<T> codec) {
+        Path[] paths = files.toArray(new Path[0]);
+        // filled in place, each slot by one task
+        List<DataResult<T>> results = new ArrayList<>(Collections.nCopies(paths.length, null));
+        if (parallelism == 1 || paths.length < 2) {
+            for (int i = 0; i < paths.length; i++) {
+                results.set(i, loadFile(paths[i], codec));
+            }
+        } else {
+            ForkJoinPool pool = new ForkJoinPool(Math.min(parallelism, paths.length));
+            try {
+                pool.invoke(new LoadTask<>(paths, results, codec, 0, paths.length));
+            } finally {
+                pool.shutdown();
+            }
+        }
+        Map<Path, DataResult<T>> map = new LinkedHashMap<>(paths.length * 4 / 3 + 1);
+        for (int i = 0; i < paths.length; i++) {
+            map.put(paths[i], results.get(i));
+        }
+        return map;
+    }
+
+    private static <T> DataResult<T> loadFile(Path file, YamlCodec<T> codec) {
+        YamlMap map;
+        try {
+            map = YamlMap.load(file);
+        } catch (RuntimeException e) {
+            return DataResult.error("Failed to load " + file + ": " + e.getMessage());
+        }
+        try {
+            return map.get().decode(codec);
+        } catch (RuntimeException e) {
+            return DataResult.error("Failed to decode " + file + ": " + e.getMessage());
+        }
+    }
+
+    private static final class LoadTask<T> extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Path[] files;
+        private final List<DataResult<T>> results;
+        private final YamlCodec<T> codec;
+        private final int from;
+        private final int to;
+
+        LoadTask(Path[] files, List<DataResult<T>> results, YamlCodec<T> codec, int from, int to) {
+            this.files = files;
+            this.results = results;
+            this.codec = codec;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                results.set(from, loadFile(files[from], codec));
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new LoadTask<>(files, results, codec, from, mid), new LoadTask<>(files, results, codec, mid, to));
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package dev.by1337.yaml;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+/**
+ * Computes the changes that turn one {@link YamlMap} into another.
+ * <pre>{@code
+ * YamlPatch patch = YamlDiff.compute(old, current);
+ * patch.forEach(op -> logger.info(op.toString())); // e.g. "REPLACE rewards.amount = 5"
+ * copy.apply(patch); // copy now equals current
+ * }</pre>
+ * Sections are compared key by key; lists and scalars are compared as a whole and replaced as a whole.
+ * Subtrees that are the same instance in both trees are skipped without being visited, so diffing a tree
+ * against a partly modified copy of itself only costs as much as the modified part.
+ */
+public final class YamlDiff {
+    private YamlDiff() {
+    }
+
+    /**
+     * @return the operations that turn {@code from} into {@code to}, removals first within each section,
+     * then additions and replacements in the key order of {@code to}
+     */
+    public static YamlPatch compute(@NotNull YamlMap from, @NotNull YamlMap to) {
+        List<YamlPatch.Operation> operations = new ArrayList<>();
+        diff(from.getRaw(), to.getRaw(), new ArrayList<>(), operations);
+        return operations.isEmpty() ? YamlPatch.EMPTY : new YamlPatch(operations);
+    }
+
+    /**
+     * @param keys the keys leading to {@code from} and {@code to}, kept as they are so that applying the patch
+     *             finds keys such as {@code 1} that are not strings
+     */
+    private static void diff(Map<?, ?> from, Map<?, ?> to, List<Object> keys, List<YamlPatch.Operation> out) {
+        for (Map.Entry<?, ?> entry : from.entrySet()) {
+            if (!to.containsKey(entry.getKey())) {
+                out.add(operation(YamlPatch.Type.REMOVE, keys, entry.getKey(), null));
+            }
+        }
+        for (Map.Entry<?, ?> entry : to.entrySet()) {
+            Object key = entry.getKey();
+            Object next = entry.getValue();
+            Object prev = from.get(key);
+            if (prev == null && !from.containsKey(key)) {
+                out.add(operation(YamlPatch.Type.ADD, keys, key, next));
+            } else if (prev != next) {
+                if (prev instanceof Map<?, ?> a && next instanceof Map<?, ?> b && hasStringKeys(a) && hasStringKeys(b)) {
+                    keys.add(key);
+                    diff(a, b, keys, out);
+                    keys.remove(keys.size() - 1);
+                } else if (!Objects.equals(prev, next)) {
+                    out.add(operation(YamlPatch.Type.REPLACE, keys, key, next));
+                }
+            }
+        }
+    }
+
+    /**
+     * A nested section with a key that is not a string is replaced as a whole, so such a key can only be the
+     * first one of an operation, which keeps the key itself while its path shows the key's string form.
+     */
+    private static boolean hasStringKeys(Map<?, ?> map) {
+        for (Object key : map.keySet()) {
+            if (!(key instanceof String)) return false;
+        }
+        return true;
+    }
+
+    private static YamlPatch.Operation operation(YamlPatch.Type type, List<Object> parent, Object key, Object value) {
+        List<Object> keys = new ArrayList<>(parent.size() + 1);
+        keys.addAll(parent);
+        keys.add(key);
+        String[] segments = new String[keys.size()];
+        for (int i = 0; i < segments.length; i++) {
+            segments[i] = String.valueOf(keys.get(i));
+        }
+        return new YamlPatch.Operation(type, YamlPath.ofSegments(segments), keys, value);
+    }
+}
@@ -0,0 +1,290 @@
+package dev.by1337.yaml;
+
+import dev.by1337.yaml.codec.YamlHolder;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.lang.reflect.Array;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.text.SimpleDateFormat;
+import java.util.*;
+
+/**
+ * Writes {@link Map}/{@link List} trees as block-style YAML, straight to a {@link Writer}.
+ * <p>
+ * The layout follows SnakeYAML's block style (two-space indent, sequences at the indentation of their key),
+ * and every scalar reads back as the same value with {@link YamlEventReader} or SnakeYAML: strings that
+ * would resolve to something else, such as {@code "yes"} or {@code "1.0"}, are quoted.
+ * <p>
+ * Output goes through a fixed-size buffer, so memory use does not depend on the size of the tree.
+ * Supported values are maps, collections, arrays, {@link YamlHolder}s, strings, characters, enums,
+ * {@link UUID}s, numbers, booleans, {@link Date}s, {@code byte[]} (as {@code !!binary}) and {@code null}.
+ */
+public final class YamlEmitter {
+    private static final int INDENT = 2;
+
+    private final Writer out;
+    private final char[] buf = new char[8192];
+    private int size;
+
+    private YamlEmitter(Writer out) {
+        this.out = out;
+    }
+
+    /**
+     * Writes {@code map} as a YAML document. The writer is flushed, but not closed.
+     *
+     * @throws IllegalArgumentException if the tree contains a value of an unsupported type
+     */
+    public static void write(Map<?, ?> map, Writer writer) throws IOException {
+        YamlEmitter emitter = new YamlEmitter(writer);
+        if (map.isEmpty()) {
+            emitter.append("{}\n");
+        } else {
+            emitter.writeMap(map, 0, false);
+        }
+        emitter.flush();
+        writer.flush();
+    }
+
+    public static String toString(Map<?, ?> map) {
+        StringWriter writer = new StringWriter();
+        try {
+            write(map, writer);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        return writer.toString();
+    }
+
+    private void writeMap(Map<?, ?> map, int indent, boolean inline) throws IOException {
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            if (inline) {
+                inline = false;
+            } else {
+                indent(indent);
+            }
+            writeScalar(entry.getKey(), true);
+            append(':');
+            Object value = unwrap(entry.getValue());
+            if (value instanceof Map<?, ?> sub && !sub.isEmpty()) {
+                append('\n');
+                writeMap(sub, indent + INDENT, false);
+            } else if (isSequence(value) && sequenceLength(value) != 0) {
+                append('\n');
+                writeSequence(value, indent, false);
+            } else {
+                append(' ');
+                writeLeaf(value);
+                append('\n');
+            }
+        }
+    }
+
+    private void writeSequence(Object sequence, int indent, boolean inline) throws IOException {
+        if (sequence instanceof Collection<?> collection) {
+            for (Object o : collection) {
+                writeItem(o, indent, inline);
+                inline = false;
+            }
+        } else {
+            int length = Array.getLength(sequence);
+            for (int i = 0; i < length; i++) {
+                writeItem(Array.get(sequence, i), indent, inline);
+                inline = false;
+            }
+        }
+    }
+
+    private void writeItem(Object item, int indent, boolean inline) throws IOException {
+        if (!inline) indent(indent);
+        append("- ");
+        Object value = unwrap(item);
+        if (value instanceof Map<?, ?> sub && !sub.isEmpty()) {
+            writeMap(sub, indent + INDENT, true);
+        } else if (isSequence(value) && sequenceLength(value) != 0) {
+            writeSequence(value, indent + INDENT, true);
+        } else {
+            writeLeaf(value);
+            append('\n');
+        }
+    }
+
+    private void writeLeaf(@Nullable Object value) throws IOException {
+        if (value instanceof Map<?, ?>) {
+            append("{}");
+        } else if (isSequence(value)) {
+            append("[]");
+        } else {
+            writeScalar(value, false);
+        }
+    }
+
+    private void writeScalar(@Nullable Object value, boolean key) throws IOException {
+        value = unwrap(value);
+        if (value == null) {
+            append("null");
+        } else if (value instanceof String s) {
+            writeString(s, key);
+        } else if (value instanceof Boolean || value instanceof Integer || value instanceof Long
+                || value instanceof Short || value instanceof Byte || value instanceof BigInteger
+                || value instanceof BigDecimal) {
+            append(value.toString());
+        } else if (value instanceof Double || value instanceof Float) {
+            double d = ((Number) value).doubleValue();
+            if (Double.isNaN(d)) {
+                append(".NaN");
+            } else if (Double.isInfinite(d)) {
+                append(d > 0 ? ".inf" : "-.inf");
+            } else {
+                append(value.toString());
+            }
+        } else if (value instanceof Enum<?> e) {
+            writeString(e.name(), key);
+        } else if (value instanceof CharSequence || value instanceof Character || value instanceof UUID) {
+            writeString(value.toString(), key);
+        } else if (value instanceof Date date) {
+            SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'");
+            format.setTimeZone(TimeZone.getTimeZone("UTC"));
+            append(format.format(date));
+        } else if (value instanceof byte[] bytes) {
+            append("!!binary ");
+            append(Base64.getEncoder().encodeToString(bytes));
+        } else {
+            throw new IllegalArgumentException("Cannot write " + value.getClass().getName() + " as yaml");
+        }
+    }
+
+    private void writeString(String s, boolean key) throws IOException {
+        switch (style(s, key)) {
+            case PLAIN -> append(s);
+            case SINGLE_QUOTED -> {
+                append('\'');
+                for (int i = 0; i < s.length(); i++) {
+                    char c = s.charAt(i);
+                    if (c == '\'') append('\'');
+                    append(c);
+                }
+                append('\'');
+            }
+            default -> writeDoubleQuoted(s);
+        }
+    }
+
+    private static final int PLAIN = 0, SINGLE_QUOTED = 1, DOUBLE_QUOTED = 2;
+
+    private static int style(String s, boolean key) {
+        int length = s.length();
+        if (length == 0) return SINGLE_QUOTED;
+        // SnakeYAML does not read implicit keys longer than 1024 characters
+        if (key && length > 1024) return DOUBLE_QUOTED;
+        int style = PLAIN;
+        char first = s.charAt(0);
+        if ("-?:,[]{}#&*!|>'\"%@` \t".indexOf(first) != -1 || s.charAt(length - 1) == ' '
+                || s.startsWith("---") || s.startsWith("...") || s.equals("<<")) {
+            style = SINGLE_QUOTED;
+        }
+        for (int i = 0; i < length; i++) {
+            char c = s.charAt(i);
+            if (c < ' ' || c == '\u007F' || c == '\u0085' || c == '\u2028' || c == '\u2029' || c == '\uFEFF'
+                    || Character.isSurrogate(c) && !isPairedSurrogate(s, i)) {
+                // line breaks and control characters only survive as escapes
+                return DOUBLE_QUOTED;
+            }
+            if (c == ':' && (i + 1 == length || s.charAt(i + 1) == ' ') || c == '#' && i > 0 && s.charAt(i - 1) == ' ') {
+                style = SINGLE_QUOTED;
+            }
+        }
+        if (style == PLAIN && !readsAsString(s)) style = SINGLE_QUOTED;
+        return style;
+    }
+
+    private static boolean readsAsString(String s) {
+        try {
+            return ScalarResolver.resolvePlain(s) == s;
+        } catch (IllegalArgumentException e) {
+            // e.g. "._" looks like a float to the resolver but does not parse; a plain scalar would fail to load
+            return false;
+        }
+    }
+
+    private void writeDoubleQuoted(String s) throws IOException {
+        append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"' -> append("\\\"");
+                case '\\' -> append("\\\\");
+                case '\n' -> append("\\n");
+                case '\t' -> append("\\t");
+                case '\r' -> append("\\r");
+                case '\0' -> append("\\0");
+                case '\u001B' -> append("\\e");
+                case '\u0085' -> append("\\N");
+                case '\u2028' -> append("\\L");
+                case '\u2029' -> append("\\P");
+                default -> {
+                    if (c < ' ' || c == '\u007F') {
+                        append("\\x");
+                        append(Character.forDigit(c >> 4, 16));
+                        append(Character.forDigit(c & 0xF, 16));
+                    } else if (c == '\uFEFF' || Character.isSurrogate(c) && !isPairedSurrogate(s, i)) {
+                        append("\\u");
+                        append(String.format("%04X", (int) c));
+                    } else {
+                        append(c);
+                    }
+                }
+            }
+        }
+        append('"');
+    }
+
+    private static boolean isPairedSurrogate(String s, int i) {
+        char c = s.charAt(i);
+        if (Character.isHighSurrogate(c)) return i + 1 < s.length() && Character.isLowSurrogate(s.charAt(i + 1));
+        return i > 0 && Character.isHighSurrogate(s.charAt(i - 1));
+    }
+
+    private static Object unwrap(Object value) {
+        return value instanceof YamlHolder holder ? holder.getRaw() : value;
+    }
+
+    private static boolean isSequence(Object value) {
+        return value instanceof Collection<?> || value != null && value.getClass().isArray() && !(value instanceof byte[]);
+    }
+
+    private static int sequenceLength(Object sequence) {
+        return sequence instanceof Collection<?> collection ? collection.size() : Array.getLength(sequence);
+    }
+
+    private void indent(int indent) throws IOException {
+        for (int i = 0; i < indent; i++) append(' ');
+    }
+
+    private void append(String s) throws IOException {
+        int length = s.length();
+        if (length > buf.length - size) {
+            flush();
+            if (length > buf.length) {
+                out.write(s);
+                return;
+            }
+        }
+        s.getChars(0, length, buf, size);
+        size += length;
+    }
+
+    private void append(char c) throws IOException {
+        if (size == buf.length) flush();
+        buf[size++] = c;
+    }
+
+    private void flush() throws IOException {
+        out.write(buf, 0, size);
+        size = 0;
+    }
+}
@@ -0,0 +1,1243 @@
+package dev.by1337.yaml;
+
+import dev.by1337.yaml.util.CompactMap;
+import dev.by1337.yaml.util.StringInterner;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * A pull parser for the block and flow subset of YAML 1.1 that configs are written in.
+ * <p>
+ * Supported: block mappings and sequences (including sequences indented at their parent key),
+ * flow collections, plain, quoted and block ({@code |}, {@code >}) scalars, comments, anchors,
+ * aliases, merge keys ({@code <<}), explicit {@code ?} keys, the standard {@code !!} scalar tags and a single document.
+ * Implicit collection keys ({@code [a]: b}) and multiple documents are rejected with a {@link YamlParseException}.
+ * <p>
+ * Scalars resolve the same way SnakeYAML resolves them: {@code yes}/{@code off} are booleans,
+ * {@code 0x1F} is an int, {@code 2001-12-14} a {@link Date}, and so on.
+ * <p>
+ * Events can be consumed one by one with {@link #next()}, or turned into
+ * {@link CompactMap}/{@link ArrayList} trees with {@link #readValue()}:
+ * <pre>{@code
+ * YamlEventReader reader = new YamlEventReader(text);
+ * reader.next(); // MAPPING_START
+ * while (reader.next() != YamlEventReader.Event.MAPPING_END) {
+ *     String key = reader.text();
+ *     reader.next();
+ *     Object value = reader.readValue();
+ * }
+ * }</pre>
+ * Inside a mapping, keys and values alternate. A reader is not thread-safe.
+ */
+public final class YamlEventReader {
+    public enum Event {
+        MAPPING_START,
+        MAPPING_END,
+        SEQUENCE_START,
+        SEQUENCE_END,
+        SCALAR,
+        ALIAS,
+        /**
+         * End of the document. Returned by every later call to {@link #next()} as well.
+         */
+        END
+    }
+
+    private static final int DOCUMENT = 0, BLOCK_MAP = 1, BLOCK_SEQ = 2, FLOW_MAP = 3, FLOW_SEQ = 4, FLOW_PAIR = 5;
+    private static final int START = 0, KEY = 1, VALUE = 2, PENDING_KEY = 3, AFTER = 4, EMPTY_VALUE = 5, DONE = 6, EXPLICIT_VALUE = 7;
+
+    private final String in;
+    private final int length;
+    private int pos;
+    private int line;
+    private int lineStart;
+
+    private int[] kinds = new int[16];
+    private int[] indents = new int[16];
+    private int[] states = new int[16];
+    private int depth;
+
+    private Event event;
+    private String text;
+    private boolean plain;
+    private String anchor;
+    private String tag;
+    private int eventLine;
+    private int eventColumn;
+    private Object value;
+    private boolean resolved;
+
+    // the first key of a mapping is scanned before its MAPPING_START is known, and reported right after it
+    private String pendingText;
+    private boolean pendingPlain;
+    private boolean pendingAlias;
+    private String pendingAnchor;
+    private String pendingTag;
+    private int pendingLine;
+    private int pendingColumn;
+
+    private final Map<String, Object> anchors = new HashMap<>();
+    private final @Nullable StringInterner interner;
+
+    public YamlEventReader(CharSequence input) {
+        this(input, null);
+    }
+
+    /**
+     * @param interner applied to every scalar that resolves to a string, keys included
+     */
+    public YamlEventReader(CharSequence input, @Nullable StringInterner interner) {
+        this.interner = interner;
+        in = input.toString();
+        length = in.length();
+        if (length != 0 && in.charAt(0) == '\uFEFF') {
+            pos = lineStart = 1;
+        }
+        push(DOCUMENT, -1, START);
+    }
+
+    /**
+     * Parses a whole document into a tree of {@link CompactMap}s, {@link ArrayList}s and scalars.
+     *
+     * @return the root value, {@code null} for an empty document
+     * @throws YamlParseException if the input is malformed or uses unsupported features
+     */
+    public static @Nullable Object load(CharSequence yaml) {
+        return load(yaml, null);
+    }
+
+    /**
+     * Same as {@link #load(CharSequence)}, with string scalars and keys passed through {@code interner}.
+     */
+    public static @Nullable Object load(CharSequence yaml, @Nullable StringInterner interner) {
+        YamlEventReader reader = new YamlEventReader(yaml, interner);
+        if (reader.next() == Event.END) return null;
+        Object root = reader.readValue();
+        reader.next();
+        return root;
+    }
+
+    /**
+     * Parses a document whose root is a mapping.
+     *
+     * @return the root mapping, empty for an empty document
+     * @throws YamlParseException if the input is malformed or its root is not a mapping
+     */
+    public static Map<String, Object> loadMap(CharSequence yaml) {
+        return loadMap(yaml, null);
+    }
+
+    /**
+     * Same as {@link #loadMap(CharSequence)}, with string scalars and keys passed through {@code interner}.
+     */
+    @SuppressWarnings("unchecked")
+    public static Map<String, Object> loadMap(CharSequence yaml, @Nullable StringInterner interner) {
+        YamlEventReader reader = new YamlEventReader(yaml, interner);
+        Event first = reader.next();
+        if (first == Event.END || first == Event.SCALAR && reader.scalar() == null) {
+            return new CompactMap<>();
+        }
+        if (first != Event.MAPPING_START) {
+            throw new YamlParseException("expected a mapping at the top level, but found " + first, reader.line(), reader.column());
+        }
+        Object root = reader.readValue();
+        reader.next();
+        return (Map<String, Object>) root;
+    }
+
+    /**
+     * Advances to the next event.
+     *
+     * @throws YamlParseException if the input is malformed or uses unsupported features
+     */
+    public Event next() {
+        resolved = false;
+        value = null;
+        anchor = null;
+        tag = null;
+        text = null;
+        plain = false;
+        int top = depth - 1;
+        return switch (kinds[top]) {
+            case DOCUMENT -> document();
+            case BLOCK_MAP -> blockMap(top);
+            case BLOCK_SEQ -> blockSeq(top);
+            case FLOW_MAP -> flowMap(top);
+            case FLOW_SEQ -> flowSeq(top);
+            default -> flowPair(top);
+        };
+    }
+
+    /**
+     * @return the current event
+     */
+    public Event event() {
+        return event;
+    }
+
+    /**
+     * @return the raw text of the current scalar, or the name of the current alias
+     */
+    public String text() {
+        return text;
+    }
+
+    /**
+     * @return whether the current scalar is plain, i.e. unquoted and not a block scalar, and thus subject to type resolution
+     */
+    public boolean isPlain() {
+        return plain;
+    }
+
+    /**
+     * @return the anchor of the current node, if any
+     */
+    public @Nullable String anchor() {
+        return anchor;
+    }
+
+    /**
+     * @return the tag of the current node, if any, with {@code !!} expanded to {@code tag:yaml.org,2002:}
+     */
+    public @Nullable String tag() {
+        return tag;
+    }
+
+    /**
+     * @return the 1-based line of the current event
+     */
+    public int line() {
+        return eventLine;
+    }
+
+    /**
+     * @return the 1-based column of the current event
+     */
+    public int column() {
+        return eventColumn;
+    }
+
+    /**
+     * Resolves the current scalar: plain scalars to {@code null}, booleans, numbers, dates or strings,
+     * quoted and block scalars to strings, tagged scalars by their tag.
+     */
+    public @Nullable Object scalar() {
+        if (event != Event.SCALAR) throw new IllegalStateException("Not at a scalar but at " + event);
+        if (!resolved) {
+            try {
+                // the non-specific "!" tag keeps the implicit resolution of a plain scalar
+                value = tag != null && !tag.equals("!") ? ScalarResolver.construct(tag, text)
+                        : plain ? ScalarResolver.resolvePlain(text) : text;
+                if (interner != null && value instanceof String s) value = interner.intern(s);
+            } catch (IllegalArgumentException e) {
+                throw new YamlParseException(e.getMessage(), eventLine, eventColumn, e);
+            }
+            resolved = true;
+        }
+        return value;
+    }
+
+    /**
+     * Reads the node starting at the current event, leaving the reader at its last event.
+     *
+     * @return a scalar, or a tree of {@link CompactMap}s and {@link ArrayList}s
+     */
+    public @Nullable Object readValue() {
+        switch (event) {
+            case SCALAR -> {
+                Object v = scalar();
+                if (anchor != null) anchors.put(anchor, v);
+                return v;
+            }
+            case ALIAS -> {
+                if (!anchors.containsKey(text)) throw error("found undefined alias '" + text + "'", eventLine, eventColumn);
+                return anchors.get(text);
+            }
+            case SEQUENCE_START -> {
+                checkCollectionTag("seq");
+                List<Object> list = new ArrayList<>();
+                if (anchor != null) anchors.put(anchor, list);
+                while (next() != Event.SEQUENCE_END) {
+                    list.add(readValue());
+                }
+                return list;
+            }
+            case MAPPING_START -> {
+                checkCollectionTag("map");
+                Map<Object, Object> map = new CompactMap<>();
+                if (anchor != null) anchors.put(anchor, map);
+                while (next() != Event.MAPPING_END) {
+                    boolean merge = event == Event.SCALAR && plain && tag == null && text.equals("<<");
+                    int keyLine = eventLine;
+                    int keyColumn = eventColumn;
+                    Object key = readValue();
+                    next();
+                    Object v = readValue();
+                    if (merge) {
+                        merge(map, v, keyLine, keyColumn);
+                    } else {
+                        map.put(key, v);
+                    }
+                }
+                return map;
+            }
+            default -> throw new IllegalStateException("No value starts at " + event);
+        }
+    }
+
+    /**
+     * Skips the node starting at the current event, leaving the reader at its last event.
+     */
+    public void skipValue() {
+        if (event != Event.MAPPING_START && event != Event.SEQUENCE_START) return;
+        int level = 1;
+        while (level != 0) {
+            switch (next()) {
+                case MAPPING_START, SEQUENCE_START -> level++;
+                case MAPPING_END, SEQUENCE_END -> level--;
+                case END -> throw new IllegalStateException("Unexpected end of document");
+                default -> {
+                }
+            }
+        }
+    }
+
+    private void checkCollectionTag(String expected) {
+        if (tag != null && !tag.equals("!") && !tag.equals(ScalarResolver.TAG_PREFIX + expected)) {
+            throw error("could not determine a constructor for the tag " + tag, eventLine, eventColumn);
+        }
+    }
+
+    private void merge(Map<Object, Object> map, Object source, int line, int column) {
+        if (source instanceof Map<?, ?> m) {
+            mergeMap(map, m);
+        } else if (source instanceof List<?> list) {
+            for (Object o : list) {
+                if (!(o instanceof Map<?, ?> m)) {
+                    throw error("expected a mapping for merging, but found " + (o == null ? "null" : o.getClass().getSimpleName()), line, column);
+                }
+                mergeMap(map, m);
+            }
+        } else {
+            throw error("expected a mapping or list of mappings for merging", line, column);
+        }
+    }
+
+    private static void mergeMap(Map<Object, Object> map, Map<?, ?> source) {
+        // keys written out explicitly, and earlier merges, take precedence
+        for (Map.Entry<?, ?> entry : source.entrySet()) {
+            if (!map.containsKey(entry.getKey())) {
+                map.put(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    // ---- frames
+
+    private Event document() {
+        switch (states[0]) {
+            case START -> {
+                states[0] = AFTER;
+                skipSpace();
+                while (pos < length && pos == lineStart && in.charAt(pos) == '%') {
+                    skipToLineEnd();
+                    skipSpace();
+                }
+                if (pos >= length) {
+                    states[0] = DONE;
+                    return end();
+                }
+                if (atDocumentMarker('-')) {
+                    pos += 3;
+                } else if (atDocumentMarker('.')) {
+                    states[0] = DONE;
+                    pos += 3;
+                    return end();
+                }
+                return node(-1, false, true);
+            }
+            case AFTER -> {
+                skipSpace();
+                if (atDocumentMarker('.')) {
+                    pos += 3;
+                    skipSpace();
+                }
+                if (pos >= length) {
+                    states[0] = DONE;
+                    return end();
+                }
+                if (atDocumentMarker('-')) throw error("expected a single document in the stream");
+                throw error("expected <document end>, but found '" + in.charAt(pos) + "'");
+            }
+            default -> {
+                return end();
+            }
+        }
+    }
+
+    private Event blockMap(int top) {
+        int indent = indents[top];
+        switch (states[top]) {
+            case PENDING_KEY -> {
+                states[top] = VALUE;
+                return pendingKey();
+            }
+            case VALUE -> {
+                states[top] = KEY;
+                return node(indent, true, false);
+            }
+            case EXPLICIT_VALUE -> {
+                states[top] = KEY;
+                skipSpace();
+                if (pos < length && !atDocumentMarker() && firstOnLine() && col() == indent && atMappingValue()) {
+                    pos++;
+                    return node(indent, true, true);
+                }
+                // "? key" without a ":" line has a null value
+                return emptyScalar(null, null);
+            }
+            default -> {
+                skipSpace();
+                if (pos >= length || atDocumentMarker()) {
+                    return pop(Event.MAPPING_END);
+                }
+                if (states[top] != START && !firstOnLine()) throw error("expected <block end>, but found '" + in.charAt(pos) + "'");
+                int col = col();
+                if (col < indent) return pop(Event.MAPPING_END);
+                if (col > indent) throw error("bad indentation of a mapping entry");
+                if (atSeqEntry()) throw error("expected <block end>, but found '-'");
+                if (atExplicitKey()) {
+                    // SnakeYAML writes empty, long and multi-line keys as "? key" followed by ": value"
+                    pos++;
+                    states[top] = EXPLICIT_VALUE;
+                    return node(indent, false, true);
+                }
+                states[top] = VALUE;
+                return blockKey();
+            }
+        }
+    }
+
+    private Event blockSeq(int top) {
+        int indent = indents[top];
+        skipSpace();
+        if (pos >= length || atDocumentMarker()) {
+            return pop(Event.SEQUENCE_END);
+        }
+        if (states[top] != START && !firstOnLine()) throw error("expected <block end>, but found '" + in.charAt(pos) + "'");
+        int col = col();
+        if (col < indent) return pop(Event.SEQUENCE_END);
+        if (col > indent) throw error("bad indentation of a sequence entry");
+        if (!atSeqEntry()) return pop(Event.SEQUENCE_END);
+        states[top] = KEY;
+        pos++;
+        return node(indent, false, true);
+    }
+
+    private Event flowSeq(int top) {
+        while (true) {
+            skipFlowSpace("a flow sequence");
+            char c = in.charAt(pos);
+            if (states[top] == AFTER) {
+                if (c == ']') {
+                    pos++;
+                    return pop(Event.SEQUENCE_END);
+                }
+                if (c != ',') throw error("expected ',' or ']', but found '" + c + "'");
+                pos++;
+                states[top] = KEY;
+                continue;
+            }
+            if (c == ']') {
+                pos++;
+                return pop(Event.SEQUENCE_END);
+            }
+            if (c == ',') throw error("expected a node, but found ','");
+            states[top] = AFTER;
+            return flowNode(true);
+        }
+    }
+
+    private Event flowMap(int top) {
+        while (true) {
+            switch (states[top]) {
+                case VALUE -> {
+                    skipFlowSpace("a flow mapping");
+                    states[top] = AFTER;
+                    char c = in.charAt(pos);
+                    if (c == ',' || c == '}') return emptyScalar(null, null);
+                    return flowNode(false);
+                }
+                case EMPTY_VALUE -> {
+                    states[top] = AFTER;
+                    return emptyScalar(null, null);
+                }
+                case AFTER -> {
+                    skipFlowSpace("a flow mapping");
+                    char c = in.charAt(pos);
+                    if (c == '}') {
+                        pos++;
+                        return pop(Event.MAPPING_END);
+                    }
+                    if (c != ',') throw error("expected ',' or '}', but found '" + c + "'");
+                    pos++;
+                    states[top] = KEY;
+                }
+                default -> {
+                    skipFlowSpace("a flow mapping");
+                    char c = in.charAt(pos);
+                    if (c == '}') {
+                        pos++;
+                        return pop(Event.MAPPING_END);
+                    }
+                    Event key = flowKey();
+                    skipFlowSpace("a flow mapping");
+                    if (in.charAt(pos) == ':') {
+                        pos++;
+                        states[top] = VALUE;
+                    } else {
+                        states[top] = EMPTY_VALUE;
+                    }
+                    return key;
+                }
+            }
+        }
+    }
+
+    private Event flowPair(int top) {
+        switch (states[top]) {
+            case PENDING_KEY -> {
+                states[top] = VALUE;
+                return pendingKey();
+            }
+            case VALUE -> {
+                states[top] = DONE;
+                skipFlowSpace("a flow sequence");
+                char c = in.charAt(pos);
+                if (c == ',' || c == ']') return emptyScalar(null, null);
+                return flowNode(false);
+            }
+            default -> {
+                return pop(Event.MAPPING_END);
+            }
+        }
+    }
+
+    // ---- nodes
+
+    /**
+     * Parses a block node.
+     *
+     * @param n             the indentation of the enclosing block collection; content on later lines must be indented deeper
+     * @param indentlessSeq whether a sequence may start at column {@code n}, as the value of a mapping key
+     * @param blockInline   whether a block collection may start on the current line
+     */
+    private Event node(int n, boolean indentlessSeq, boolean blockInline) {
+        skipSpace();
+        if (pos >= length || atDocumentMarker()) return emptyScalar(null, null);
+        if (firstOnLine()) {
+            if (!startsChild(n, indentlessSeq)) return emptyScalar(null, null);
+            blockInline = true;
+        }
+        String anchor = null;
+        String tag = null;
+        int propsLine = -1;
+        int propsColumn = col();
+        while (pos < length && (in.charAt(pos) == '&' || in.charAt(pos) == '!')) {
+            if (in.charAt(pos) == '&') {
+                if (anchor != null) throw error("found duplicate anchor");
+                anchor = scanName();
+            } else {
+                if (tag != null) throw error("found duplicate tag");
+                tag = scanTag();
+            }
+            propsLine = line;
+            skipInlineSpace();
+            if (pos >= length || isBreak(in.charAt(pos)) || in.charAt(pos) == '#') {
+                skipSpace();
+                if (pos >= length || atDocumentMarker() || !startsChild(n, indentlessSeq)) return emptyScalar(anchor, tag);
+                blockInline = true;
+                propsColumn = col();
+            }
+        }
+        boolean keyProps = propsLine == line;
+        int tokenLine = line;
+        int tokenColumn = col();
+        char c = in.charAt(pos);
+        if (c == '*') {
+            if (anchor != null || tag != null) throw error("an alias cannot have an anchor or a tag");
+            String name = scanName();
+            skipInlineSpace();
+            if (blockInline && atMappingValue()) {
+                pos++;
+                setPending(name, false, true, null, null, tokenLine, tokenColumn);
+                push(BLOCK_MAP, tokenColumn, PENDING_KEY);
+                return start(Event.MAPPING_START, null, null, tokenLine, tokenColumn);
+            }
+            return alias(name, tokenLine, tokenColumn);
+        }
+        if (atExplicitKey() && blockInline) {
+            push(BLOCK_MAP, tokenColumn, START);
+            return start(Event.MAPPING_START, anchor, tag, tokenLine, tokenColumn);
+        }
+        if (atSeqEntry()) {
+            if (!blockInline) throw error("sequence entries are not allowed here");
+            push(BLOCK_SEQ, tokenColumn, START);
+            return start(Event.SEQUENCE_START, anchor, tag, tokenLine, tokenColumn);
+        }
+        if (c == '[' || c == '{') {
+            pos++;
+            push(c == '[' ? FLOW_SEQ : FLOW_MAP, tokenColumn, START);
+            return start(c == '[' ? Event.SEQUENCE_START : Event.MAPPING_START, anchor, tag, tokenLine, tokenColumn);
+        }
+        if (c == '|' || c == '>') {
+            return scalar(scanBlockScalar(n), false, anchor, tag, tokenLine, tokenColumn);
+        }
+        checkPlainStart(c, false);
+        boolean quoted = c == '\'' || c == '"';
+        String s = null;
+        int start = pos;
+        int end;
+        if (quoted) {
+            s = scanQuoted(c);
+            end = pos;
+            skipInlineSpace();
+        } else {
+            end = scanPlainLine(false);
+        }
+        if (atMappingValue()) {
+            if (!blockInline) throw error("mapping values are not allowed here");
+            if (line != tokenLine) throw error("could not find expected ':'", tokenLine, tokenColumn);
+            pos++;
+            setPending(quoted ? s : in.substring(start, end), !quoted, false,
+                    keyProps ? anchor : null, keyProps ? tag : null, tokenLine, tokenColumn);
+            // properties on the same line belong to the key, and the mapping is indented where they start
+            int mapColumn = keyProps ? propsColumn : tokenColumn;
+            push(BLOCK_MAP, mapColumn, PENDING_KEY);
+            return start(Event.MAPPING_START, keyProps ? null : anchor, keyProps ? null : tag, tokenLine, mapColumn);
+        }
+        if (quoted) {
+            pos = end;
+            return scalar(s, false, anchor, tag, tokenLine, tokenColumn);
+        }
+        return scalar(continuePlain(start, end, n, false), true, anchor, tag, tokenLine, tokenColumn);
+    }
+
+    private Event blockKey() {
+        String anchor = null;
+        String tag = null;
+        int tokenLine = line;
+        int tokenColumn = col();
+        while (pos < length && (in.charAt(pos) == '&' || in.charAt(pos) == '!')) {
+            if (in.charAt(pos) == '&') {
+                anchor = scanName();
+            } else {
+                tag = scanTag();
+            }
+            skipInlineSpace();
+        }
+        if (pos >= length) throw error("could not find expected ':'", tokenLine, tokenColumn);
+        char c = in.charAt(pos);
+        if (c == '*') {
+            String name = scanName();
+            skipInlineSpace();
+            if (!atMappingValue()) throw error("could not find expected ':'", tokenLine, tokenColumn);
+            pos++;
+            return alias(name, tokenLine, tokenColumn);
+        }
+        checkPlainStart(c, false);
+        String s;
+        boolean quoted = c == '\'' || c == '"';
+        if (quoted) {
+            s = scanQuoted(c);
+            skipInlineSpace();
+        } else {
+            int start = pos;
+            s = in.substring(start, scanPlainLine(false));
+        }
+        if (!atMappingValue() || line != tokenLine) throw error("could not find expected ':'", tokenLine, tokenColumn);
+        pos++;
+        return scalar(s, !quoted, anchor, tag, tokenLine, tokenColumn);
+    }
+
+    /**
+     * Parses a node inside a flow collection.
+     *
+     * @param pair whether a {@code key: value} pair is allowed here, as a single-entry mapping inside a flow sequence
+     */
+    private Event flowNode(boolean pair) {
+        String anchor = null;
+        String tag = null;
+        while (in.charAt(pos) == '&' || in.charAt(pos) == '!') {
+            if (in.charAt(pos) == '&') {
+                anchor = scanName();
+            } else {
+                tag = scanTag();
+            }
+            skipFlowSpace("a flow collection");
+        }
+        int tokenLine = line;
+        int tokenColumn = col();
+        char c = in.charAt(pos);
+        if (c == '*') {
+            if (anchor != null || tag != null) throw error("an alias cannot have an anchor or a tag");
+            return alias(scanName(), tokenLine, tokenColumn);
+        }
+        if (c == '[' || c == '{') {
+            pos++;
+            push(c == '[' ? FLOW_SEQ : FLOW_MAP, tokenColumn, START);
+            return start(c == '[' ? Event.SEQUENCE_START : Event.MAPPING_START, anchor, tag, tokenLine, tokenColumn);
+        }
+        if (c == ',' || c == ']' || c == '}') {
+            return emptyScalar(anchor, tag);
+        }
+        checkPlainStart(c, true);
+        boolean quoted = c == '\'' || c == '"';
+        String s;
+        if (quoted) {
+            s = scanQuoted(c);
+        } else {
+            int start = pos;
+            s = continuePlain(start, scanPlainLine(true), -1, true);
+        }
+        if (pair) {
+            int save = pos;
+            int saveLine = line;
+            int saveLineStart = lineStart;
+            skipFlowSpace("a flow sequence");
+            if (in.charAt(pos) == ':' && (quoted || isBlankOrFlowAt(pos + 1))) {
+                pos++;
+                setPending(s, !quoted, false, anchor, tag, tokenLine, tokenColumn);
+                push(FLOW_PAIR, tokenColumn, PENDING_KEY);
+                return start(Event.MAPPING_START, null, null, tokenLine, tokenColumn);
+            }
+            pos = save;
+            line = saveLine;
+            lineStart = saveLineStart;
+        }
+        return scalar(s, !quoted, anchor, tag, tokenLine, tokenColumn);
+    }
+
+    private Event flowKey() {
+        if (atExplicitKey()) {
+            pos++;
+            skipFlowSpace("a flow mapping");
+        }
+        String anchor = null;
+        String tag = null;
+        while (in.charAt(pos) == '&' || in.charAt(pos) == '!') {
+            if (in.charAt(pos) == '&') {
+                anchor = scanName();
+            } else {
+                tag = scanTag();
+            }
+            skipFlowSpace("a flow mapping");
+        }
+        int tokenLine = line;
+        int tokenColumn = col();
+        char c = in.charAt(pos);
+        if (c == '*') return alias(scanName(), tokenLine, tokenColumn);
+        if (c == '[' || c == '{') throw error("collections as mapping keys are not supported");
+        if (c == ':' || c == ',') {
+            // "{: v}" and "{a, , b}" have an empty key
+            return emptyScalar(anchor, tag);
+        }
+        checkPlainStart(c, true);
+        if (c == '\'' || c == '"') {
+            return scalar(scanQuoted(c), false, anchor, tag, tokenLine, tokenColumn);
+        }
+        int start = pos;
+        return scalar(continuePlain(start, scanPlainLine(true), -1, true), true, anchor, tag, tokenLine, tokenColumn);
+    }
+
+    // ---- events
+
+    private Event start(Event event, String anchor, String tag, int line, int column) {
+        this.event = event;
+        this.anchor = anchor;
+        this.tag = tag;
+        this.eventLine = line + 1;
+        this.eventColumn = column + 1;
+        return event;
+    }
+
+    private Event scalar(String text, boolean plain, String anchor, String tag, int line, int column) {
+        this.text = text;
+        this.plain = plain;
+        return start(Event.SCALAR, anchor, tag, line, column);
+    }
+
+    private Event emptyScalar(String anchor, String tag) {
+        return scalar("", true, anchor, tag, line, col());
+    }
+
+    private Event alias(String name, int line, int column) {
+        this.text = name;
+        return start(Event.ALIAS, null, null, line, column);
+    }
+
+    private Event end() {
+        return start(Event.END, null, null, line, col());
+    }
+
+    private void setPending(String text, boolean plain, boolean alias, String anchor, String tag, int line, int column) {
+        pendingText = text;
+        pendingPlain = plain;
+        pendingAlias = alias;
+        pendingAnchor = anchor;
+        pendingTag = tag;
+        pendingLine = line;
+        pendingColumn = column;
+    }
+
+    private Event pendingKey() {
+        if (pendingAlias) return alias(pendingText, pendingLine, pendingColumn);
+        return scalar(pendingText, pendingPlain, pendingAnchor, pendingTag, pendingLine, pendingColumn);
+    }
+
+    private void push(int kind, int indent, int state) {
+        if (depth == kinds.length) {
+            kinds = Arrays.copyOf(kinds, depth * 2);
+            indents = Arrays.copyOf(indents, depth * 2);
+            states = Arrays.copyOf(states, depth * 2);
+        }
+        kinds[depth] = kind;
+        indents[depth] = indent;
+        states[depth] = state;
+        depth++;
+    }
+
+    private Event pop(Event event) {
+        depth--;
+        return start(event, null, null, line, col());
+    }
+
+    // ---- scanning
+
+    private String scanName() {
+        int start = ++pos;
+        while (pos < length) {
+            char c = in.charAt(pos);
+            if (isBlank(c) || c == ',' || c == '[' || c == ']' || c == '{' || c == '}') break;
+            pos++;
+        }
+        if (start == pos) throw error("expected an anchor or alias name");
+        return in.substring(start, pos);
+    }
+
+    private String scanTag() {
+        int start = pos++;
+        if (pos < length && in.charAt(pos) == '<') {
+            int end = in.indexOf('>', pos);
+            if (end == -1) throw error("expected '>' to close a verbatim tag");
+            pos = end + 1;
+            return in.substring(start + 2, end);
+        }
+        while (pos < length) {
+            char c = in.charAt(pos);
+            if (isBlank(c) || c == ',' || c == '[' || c == ']' || c == '{' || c == '}') break;
+            pos++;
+        }
+        String tag = in.substring(start, pos);
+        return tag.startsWith("!!") ? ScalarResolver.TAG_PREFIX + tag.substring(2) : tag;
+    }
+
+    private void checkPlainStart(char c, boolean flow) {
+        switch (c) {
+            case '@', '`', '%' -> throw error("found character '" + c + "' that cannot start any token");
+            case ',', ']', '}' -> {
+                if (!flow) throw error("found character '" + c + "' that cannot start any token");
+            }
+            case '?' -> {
+                if (isBlankAt(pos + 1)) throw error("explicit '?' keys are not allowed here");
+            }
+            case ':' -> {
+                if (isBlankAt(pos + 1)) throw error("found ':' without a key");
+            }
+            case '#' -> throw error("found a comment where a node was expected");
+            default -> {
+            }
+        }
+    }
+
+    /**
+     * Scans one line of a plain scalar.
+     *
+     * @return the end of the scalar on this line, without trailing white space
+     */
+    private int scanPlainLine(boolean flow) {
+        int start = pos;
+        int end = pos;
+        while (pos < length) {
+            char c = in.charAt(pos);
+            if (c == '\n' || c == '\r') break;
+            if (c == ':') {
+                if (isBlankAt(pos + 1) || flow && isFlowIndicatorAt(pos + 1)) break;
+            } else if (c == '#') {
+                if (pos > start && (in.charAt(pos - 1) == ' ' || in.charAt(pos - 1) == '\t')) break;
+            } else if (flow && (c == ',' || c == '[' || c == ']' || c == '{' || c == '}')) {
+                break;
+            }
+            pos++;
+            if (c != ' ' && c != '\t') end = pos;
+        }
+        return end;
+    }
+
+    /**
+     * Continues a plain scalar over the following lines, folding line breaks like YAML does.
+     *
+     * @param n the indentation of the enclosing block collection, continuation lines must be deeper
+     */
+    private String continuePlain(int start, int end, int n, boolean flow) {
+        StringBuilder sb = null;
+        while (pos < length && isBreak(in.charAt(pos))) {
+            int save = pos;
+            int saveLine = line;
+            int saveLineStart = lineStart;
+            int breaks = 0;
+            while (pos < length) {
+                char c = in.charAt(pos);
+                if (isBreak(c)) {
+                    newline();
+                    breaks++;
+                } else if (c == ' ' || c == '\t') {
+                    pos++;
+                } else {
+                    break;
+                }
+            }
+            if (pos >= length || in.charAt(pos) == '#' || atDocumentMarker()
+                    || (flow ? isFlowIndicatorAt(pos) : col() <= n)
+                    || in.charAt(pos) == ':' && (isBlankAt(pos + 1) || flow && isFlowIndicatorAt(pos + 1))) {
+                pos = save;
+                line = saveLine;
+                lineStart = saveLineStart;
+                break;
+            }
+            if (sb == null) sb = new StringBuilder().append(in, start, end);
+            if (breaks == 1) {
+                sb.append(' ');
+            } else {
+                sb.append("\n".repeat(breaks - 1));
+            }
+            int lineBegin = pos;
+            int lineEnd = scanPlainLine(flow);
+            sb.append(in, lineBegin, lineEnd);
+            if (!flow && atMappingValue()) throw error("mapping values are not allowed here");
+        }
+        return sb == null ? in.substring(start, end) : sb.toString();
+    }
+
+    private String scanQuoted(char quote) {
+        int start = ++pos;
+        for (int i = start; i < length; i++) {
+            char c = in.charAt(i);
+            if (c == quote) {
+                if (quote == '\'' && i + 1 < length && in.charAt(i + 1) == '\'') break;
+                pos = i + 1;
+                return in.substring(start, i);
+            }
+            if (c == '\\' && quote == '"' || c == '\n' || c == '\r') break;
+        }
+        StringBuilder sb = new StringBuilder();
+        int kept = 0;
+        while (true) {
+            if (pos >= length) throw error("found unexpected end of stream while scanning a quoted scalar");
+            char c = in.charAt(pos);
+            if (c == quote) {
+                if (quote == '\'' && pos + 1 < length && in.charAt(pos + 1) == '\'') {
+                    sb.append('\'');
+                    pos += 2;
+                    continue;
+                }
+                pos++;
+                return sb.toString();
+            }
+            if (c == '\\' && quote == '"') {
+                escape(sb);
+                kept = sb.length();
+            } else if (isBreak(c)) {
+                int l = sb.length();
+                while (l > kept && (sb.charAt(l - 1) == ' ' || sb.charAt(l - 1) == '\t')) l--;
+                sb.setLength(l);
+                int breaks = 0;
+                while (pos < length) {
+                    c = in.charAt(pos);
+                    if (isBreak(c)) {
+                        newline();
+                        breaks++;
+                    } else if (c == ' ' || c == '\t') {
+                        pos++;
+                    } else {
+                        break;
+                    }
+                }
+                if (breaks == 1) {
+                    sb.append(' ');
+                } else {
+                    sb.append("\n".repeat(breaks - 1));
+                }
+                kept = sb.length();
+            } else {
+                sb.append(c);
+                pos++;
+            }
+        }
+    }
+
+    private void escape(StringBuilder sb) {
+        if (++pos >= length) throw error("found unexpected end of stream while scanning a quoted scalar");
+        char e = in.charAt(pos);
+        if (isBreak(e)) {
+            newline();
+            while (pos < length) {
+                char c = in.charAt(pos);
+                if (c == ' ' || c == '\t') {
+                    pos++;
+                } else if (isBreak(c)) {
+                    newline();
+                    sb.append('\n');
+                } else {
+                    break;
+                }
+            }
+            return;
+        }
+        pos++;
+        switch (e) {
+            case '0' -> sb.append('\0');
+            case 'a' -> sb.append('\u0007');
+            case 'b' -> sb.append('\b');
+            case 't', '\t' -> sb.append('\t');
+            case 'n' -> sb.append('\n');
+            case 'v' -> sb.append('\u000B');
+            case 'f' -> sb.append('\f');
+            case 'r' -> sb.append('\r');
+            case 'e' -> sb.append('\u001B');
+            case ' ' -> sb.append(' ');
+            case '"' -> sb.append('"');
+            case '\\' -> sb.append('\\');
+            case 'N' -> sb.append('\u0085');
+            case '_' -> sb.append('\u00A0');
+            case 'L' -> sb.append('\u2028');
+            case 'P' -> sb.append('\u2029');
+            case 'x' -> sb.appendCodePoint(hex(2));
+            case 'u' -> sb.appendCodePoint(hex(4));
+            case 'U' -> sb.appendCodePoint(hex(8));
+            default -> throw error("found unknown escape character '" + e + "'");
+        }
+    }
+
+    private int hex(int digits) {
+        if (pos + digits > length) throw error("expected " + digits + " hexadecimal digits");
+        try {
+            int cp = Integer.parseInt(in, pos, pos + digits, 16);
+            pos += digits;
+            return cp;
+        } catch (NumberFormatException e) {
+            throw error("expected " + digits + " hexadecimal digits");
+        }
+    }
+
+    private String scanBlockScalar(int n) {
+        boolean folded = in.charAt(pos++) == '>';
+        int chomp = 0; // 0 clip, 1 strip, 2 keep
+        int increment = -1;
+        for (int i = 0; i < 2 && pos < length; i++) {
+            char c = in.charAt(pos);
+            if ((c == '+' || c == '-') && chomp == 0) {
+                chomp = c == '-' ? 1 : 2;
+            } else if (c >= '0' && c <= '9' && increment == -1) {
+                if (c == '0') throw error("expected an indentation indicator in the range 1-9, but found 0");
+                increment = c - '0';
+            } else {
+                break;
+            }
+            pos++;
+        }
+        skipInlineSpace();
+        if (pos < length && in.charAt(pos) == '#') skipToLineEnd();
+        if (pos < length && !isBreak(in.charAt(pos))) {
+            throw error("expected a comment or a line break, but found '" + in.charAt(pos) + "'");
+        }
+        if (pos < length) newline();
+
+        int minIndent = Math.max(n + 1, 1);
+        int indent;
+        StringBuilder breaks = new StringBuilder();
+        if (increment == -1) {
+            int maxIndent = 0;
+            while (pos < length) {
+                char c = in.charAt(pos);
+                if (c == ' ') {
+                    pos++;
+                    maxIndent = Math.max(maxIndent, col());
+                } else if (isBreak(c)) {
+                    newline();
+                    breaks.append('\n');
+                } else {
+                    break;
+                }
+            }
+            indent = Math.max(minIndent, maxIndent);
+        } else {
+            indent = minIndent + increment - 1;
+            blockBreaks(indent, breaks);
+        }
+
+        StringBuilder chunks = new StringBuilder();
+        String lineBreak = "";
+        while (col() == indent && pos < length) {
+            chunks.append(breaks);
+            char c = in.charAt(pos);
+            boolean leadingNonSpace = c != ' ' && c != '\t';
+            int start = pos;
+            while (pos < length && !isBreak(in.charAt(pos))) pos++;
+            chunks.append(in, start, pos);
+            if (pos < length) {
+                newline();
+                lineBreak = "\n";
+            } else {
+                lineBreak = "";
+            }
+            breaks.setLength(0);
+            blockBreaks(indent, breaks);
+            if (col() == indent && pos < length) {
+                c = in.charAt(pos);
+                if (folded && lineBreak.equals("\n") && leadingNonSpace && c != ' ' && c != '\t') {
+                    if (breaks.length() == 0) chunks.append(' ');
+                } else {
+                    chunks.append(lineBreak);
+                }
+            } else {
+                break;
+            }
+        }
+        if (chomp != 1) chunks.append(lineBreak);
+        if (chomp == 2) chunks.append(breaks);
+        return chunks.toString();
+    }
+
+    private void blockBreaks(int indent, StringBuilder breaks) {
+        while (col() < indent && pos < length && in.charAt(pos) == ' ') pos++;
+        while (pos < length && isBreak(in.charAt(pos))) {
+            newline();
+            breaks.append('\n');
+            while (col() < indent && pos < length && in.charAt(pos) == ' ') pos++;
+        }
+    }
+
+    // ---- white space and position
+
+    private void skipSpace() {
+        while (pos < length) {
+            char c = in.charAt(pos);
+            if (c == ' ' || c == '\t') {
+                pos++;
+            } else if (c == '\n' || c == '\r') {
+                newline();
+            } else if (c == '#') {
+                skipToLineEnd();
+            } else {
+                break;
+            }
+        }
+    }
+
+    private void skipFlowSpace(String context) {
+        skipSpace();
+        if (pos >= length) throw error("found unexpected end of stream while parsing " + context);
+    }
+
+    private void skipInlineSpace() {
+        while (pos < length) {
+            char c = in.charAt(pos);
+            if (c != ' ' && c != '\t') break;
+            pos++;
+        }
+    }
+
+    private void skipToLineEnd() {
+        while (pos < length && !isBreak(in.charAt(pos))) pos++;
+    }
+
+    private void newline() {
+        if (in.charAt(pos++) == '\r' && pos < length && in.charAt(pos) == '\n') pos++;
+        line++;
+        lineStart = pos;
+    }
+
+    private int col() {
+        return pos - lineStart;
+    }
+
+    /**
+     * @return whether a node starting at the current position, the first one on its line, belongs to the enclosing collection
+     */
+    private boolean startsChild(int n, boolean indentlessSeq) {
+        int col = col();
+        return col > n || col == n && indentlessSeq && atSeqEntry();
+    }
+
+    private boolean firstOnLine() {
+        for (int i = lineStart; i < pos; i++) {
+            char c = in.charAt(i);
+            if (c != ' ' && c != '\t') return false;
+        }
+        return true;
+    }
+
+    private boolean atDocumentMarker() {
+        return atDocumentMarker('-') || atDocumentMarker('.');
+    }
+
+    private boolean atDocumentMarker(char c) {
+        return pos == lineStart && pos + 3 <= length
+                && in.charAt(pos) == c && in.charAt(pos + 1) == c && in.charAt(pos + 2) == c
+                && isBlankAt(pos + 3);
+    }
+
+    private boolean atSeqEntry() {
+        return pos < length && in.charAt(pos) == '-' && isBlankAt(pos + 1);
+    }
+
+    private boolean atExplicitKey() {
+        return pos < length && in.charAt(pos) == '?' && isBlankAt(pos + 1);
+    }
+
+    private boolean atMappingValue() {
+        return pos < length && in.charAt(pos) == ':' && isBlankAt(pos + 1);
+    }
+
+    private boolean isBlankAt(int i) {
+        return i >= length || isBlank(in.charAt(i));
+    }
+
+    private boolean isFlowIndicatorAt(int i) {
+        if (i >= length) return false;
+        char c = in.charAt(i);
+        return c == ',' || c == '[' || c == ']' || c == '{' || c == '}';
+    }
+
+    private boolean isBlankOrFlowAt(int i) {
+        return isBlankAt(i) || isFlowIndicatorAt(i);
+    }
+
+    private static boolean isBlank(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\r';
+    }
+
+    private static boolean isBreak(char c) {
+        return c == '\n' || c == '\r';
+    }
+
+    private YamlParseException error(String problem) {
+        return error(problem, line, col());
+    }
+
+    private static YamlParseException error(String problem, int line, int column) {
+        return new YamlParseException(problem, line + 1, column + 1);
+    }
+}
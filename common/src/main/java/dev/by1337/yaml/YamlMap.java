@@ -1,7 +1,12 @@
 package dev.by1337.yaml;
 
+import dev.by1337.yaml.codec.DataResult;
 import dev.by1337.yaml.codec.YamlCodec;
 import dev.by1337.yaml.codec.YamlHolder;
+import dev.by1337.yaml.util.CompactMap;
+import dev.by1337.yaml.util.Primitives;
+import dev.by1337.yaml.util.StringInterner;
+import dev.by1337.yaml.util.YamlExecutors;
 import dev.by1337.yaml.util.YamlReader;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.Contract;
@@ -9,48 +14,88 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
-import java.util.Arrays;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 public class YamlMap implements YamlHolder {
     @ApiStatus.Internal
     private static YamlReader YAML_READER;
+    private static volatile @Nullable StringInterner STRING_INTERNER;
 
-    private final LinkedHashMap<String, Object> map;
+    private final Map<String, Object> map;
 
     public YamlMap() {
-        map = new LinkedHashMap<>();
+        map = new CompactMap<>();
     }
 
-    public YamlMap(LinkedHashMap<String, Object> map) {
+    /**
+     * Wraps {@code map} without copying it, so it has to be mutable.
+     */
+    public YamlMap(Map<String, Object> map) {
         this.map = map;
     }
 
+    /**
+     * Kept so code compiled against the {@code LinkedHashMap} constructor still links.
+     */
+    public YamlMap(LinkedHashMap<String, Object> map) {
+        this((Map<String, Object>) map);
+    }
+
+    /**
+     * Parses {@code yaml} with the registered {@link YamlReader}, or with {@link YamlEventReader} if none is registered.
+     */
     public static YamlMap loadFromString(String yaml) {
+        if (YAML_READER == null) return new YamlMap(YamlEventReader.loadMap(yaml, STRING_INTERNER));
         return YAML_READER.read(yaml);
     }
 
     public static YamlMap load(File file) {
-        try {
-            return load(new StringReader(Files.readString(file.toPath())));
+        return load(file.toPath());
+    }
+
+    /**
+     * Reads the file through its channel into a single array and decodes it once as UTF-8, dropping a byte order mark.
+     */
+    public static YamlMap load(Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE - 8) throw new IOException("File is too large: " + path);
+            ByteBuffer buffer = ByteBuffer.allocate((int) size);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) == -1) break;
+            }
+            return loadFromString(decode(buffer.array(), buffer.position()));
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
     }
 
+    /**
+     * Loads {@code path} through {@code cache}, skipping the parser when the file has not changed since its snapshot was taken.
+     *
+     * @see YamlSnapshotCache#load(Path)
+     */
+    public static YamlMap load(Path path, YamlSnapshotCache cache) {
+        return cache.load(path);
+    }
+
     public static YamlMap load(Reader reader) {
-        final BufferedReader input = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
         StringBuilder builder = new StringBuilder();
-
-        try (input) {
-            String line;
-
-            while ((line = input.readLine()) != null) {
-                builder.append(line);
-                builder.append('\n');
+        char[] buffer = new char[8192];
+        try (reader) {
+            int read;
+            while ((read = reader.read(buffer)) != -1) {
+                builder.append(buffer, 0, read);
             }
             return loadFromString(builder.toString());
         } catch (IOException e) {
@@ -58,8 +103,51 @@ public class YamlMap implements YamlHolder {
         }
     }
 
+    /**
+     * Reads the stream as UTF-8 and closes it.
+     */
     public static YamlMap load(InputStream inputStream) {
-        return load(new InputStreamReader(inputStream));
+        try (inputStream) {
+            byte[] bytes = inputStream.readAllBytes();
+            return loadFromString(decode(bytes, bytes.length));
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * {@link #load(Path)} on the {@linkplain #defaultExecutor() default executor}.
+     */
+    public static CompletableFuture<YamlMap> loadAsync(Path path) {
+        return loadAsync(path, defaultExecutor());
+    }
+
+    public static CompletableFuture<YamlMap> loadAsync(Path path, Executor executor) {
+        return CompletableFuture.supplyAsync(() -> load(path), executor);
+    }
+
+    /**
+     * Loads and decodes the whole file off-thread on the {@linkplain #defaultExecutor() default executor}.
+     */
+    public static <T> CompletableFuture<DataResult<T>> decodeAsync(Path path, YamlCodec<T> codec) {
+        return decodeAsync(path, codec, defaultExecutor());
+    }
+
+    public static <T> CompletableFuture<DataResult<T>> decodeAsync(Path path, YamlCodec<T> codec, Executor executor) {
+        return CompletableFuture.supplyAsync(() -> load(path).get().decode(codec), executor);
+    }
+
+    /**
+     * The executor used by the async methods when none is given: virtual threads where the runtime
+     * has them, otherwise a small pool of daemon threads.
+     */
+    public static Executor defaultExecutor() {
+        return YamlExecutors.defaultExecutor();
+    }
+
+    static String decode(byte[] bytes, int length) {
+        int offset = length >= 3 && bytes[0] == (byte) 0xEF && bytes[1] == (byte) 0xBB && bytes[2] == (byte) 0xBF ? 3 : 0;
+        return new String(bytes, offset, length - offset, StandardCharsets.UTF_8);
     }
 
     public YamlValue get() {
@@ -76,6 +164,16 @@ public class YamlMap implements YamlHolder {
         return YamlValue.wrap(getRaw(path));
     }
 
+    @NotNull
+    public YamlValue get(@NotNull YamlPath path, @Nullable Object def) {
+        return YamlValue.wrap(getRaw(path, def));
+    }
+
+    @NotNull
+    public YamlValue get(@NotNull YamlPath path) {
+        return YamlValue.wrap(getRaw(path));
+    }
+
     @Nullable
     @Contract("_, !null -> !null")
     public Object getRaw(@NotNull String path, @Nullable Object def) {
@@ -85,10 +183,21 @@ public class YamlMap implements YamlHolder {
 
     @Nullable
     public Object getRaw(@NotNull String path) {
-        String[] path0 = path.split("\\.");
+        if (path.indexOf('.') == -1) return map.get(path);
+        return getRaw(YamlPath.cached(path));
+    }
 
+    @Nullable
+    @Contract("_, !null -> !null")
+    public Object getRaw(@NotNull YamlPath path, @Nullable Object def) {
+        var v = getRaw(path);
+        return v == null ? def : v;
+    }
+
+    @Nullable
+    public Object getRaw(@NotNull YamlPath path) {
         Object last = null;
-        for (String s : path0) {
+        for (String s : path.segments0()) {
             if (last == null) {
                 Object o = map.get(s);
                 if (o == null) return null;
@@ -107,16 +216,65 @@ public class YamlMap implements YamlHolder {
         return last;
     }
 
+    public int getInt(@NotNull String path, int def) {
+        return Primitives.toInt(getRaw(path), def);
+    }
+
+    public int getInt(@NotNull YamlPath path, int def) {
+        return Primitives.toInt(getRaw(path), def);
+    }
+
+    public long getLong(@NotNull String path, long def) {
+        return Primitives.toLong(getRaw(path), def);
+    }
+
+    public long getLong(@NotNull YamlPath path, long def) {
+        return Primitives.toLong(getRaw(path), def);
+    }
+
+    public double getDouble(@NotNull String path, double def) {
+        return Primitives.toDouble(getRaw(path), def);
+    }
+
+    public double getDouble(@NotNull YamlPath path, double def) {
+        return Primitives.toDouble(getRaw(path), def);
+    }
+
+    public boolean getBoolean(@NotNull String path, boolean def) {
+        return Primitives.toBoolean(getRaw(path), def);
+    }
+
+    public boolean getBoolean(@NotNull YamlPath path, boolean def) {
+        return Primitives.toBoolean(getRaw(path), def);
+    }
+
     public <T> void set(@NotNull String path, @Nullable T o, YamlCodec<T> codec) {
         if (o == null) set(path, null);
         else set(path, codec.encode(o).getRaw());
     }
 
+    public <T> void set(@NotNull YamlPath path, @Nullable T o, YamlCodec<T> codec) {
+        if (o == null) set(path, null);
+        else set(path, codec.encode(o).getRaw());
+    }
 
-    @SuppressWarnings("unchecked")
     public void set(@NotNull String path, @Nullable Object o) {
+        if (path.indexOf('.') == -1) {
+            Object obj = o instanceof YamlHolder v ? v.getRaw() : o;
+            if (obj == null) {
+                map.remove(path);
+            } else {
+                map.put(path, obj);
+            }
+            return;
+        }
+        set(YamlPath.cached(path), o);
+    }
+
+    @SuppressWarnings("unchecked")
+    public void set(@NotNull YamlPath path, @Nullable Object o) {
         Object obj = o instanceof YamlHolder v ? v.getRaw() : o;
-        String[] pathParts = path.split("\\.");
+        String[] pathParts = path.segments0();
         Map<String, Object> currentMap = map;
 
         for (int i = 0; i < pathParts.length; i++) {
@@ -134,30 +292,88 @@ public class YamlMap implements YamlHolder {
                     currentMap = (Map<String, Object>) value;
                 } else if (value == null) {
                     if (obj == null) return;
-                    Map<String, Object> newMap = new LinkedHashMap<>();
+                    Map<String, Object> newMap = new CompactMap<>();
                     currentMap.put(key, newMap);
                     currentMap = newMap;
                 } else {
-                    String currentPath = String.join(".", Arrays.copyOf(pathParts, i + 1));
+                    String currentPath = path.prefix(i + 1);
                     throw new IllegalStateException("Cannot traverse into '" + currentPath + "': expected Map but found primitive " + value.getClass().getSimpleName());
                 }
             }
         }
     }
 
+    /**
+     * Applies the operations of {@code patch} in order.
+     *
+     * @throws IllegalStateException if an operation's path runs through a scalar
+     * @see YamlDiff#compute(YamlMap, YamlMap)
+     */
+    public void apply(@NotNull YamlPatch patch) {
+        patch.applyTo(map);
+    }
+
     public boolean has(String key) {
         return getRaw(key) != null;
     }
 
+    public boolean has(YamlPath path) {
+        return getRaw(path) != null;
+    }
+
+    /**
+     * Returns the backing map itself. Loaded sections are {@link CompactMap}s, so unlike 1.x, which
+     * returned {@code LinkedHashMap}, this is only typed as an insertion-ordered {@code Map}.
+     */
     @Override
-    public LinkedHashMap<String, Object> getRaw() {
+    public Map<String, Object> getRaw() {
         return map;
     }
 
     public String saveToString() {
+        if (YAML_READER == null) return YamlEmitter.toString(map);
         return YAML_READER.saveToString(map);
     }
 
+    /**
+     * Writes this map to {@code writer} as it is being serialized, without building the whole document
+     * in memory. The writer is flushed, but not closed.
+     */
+    public void save(Writer writer) {
+        try {
+            if (YAML_READER == null) {
+                YamlEmitter.write(map, writer);
+            } else {
+                YAML_READER.save(map, writer);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Writes this map to {@code path} in UTF-8, replacing the file if it exists.
+     */
+    public void save(Path path) {
+        try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            save(writer);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * {@link #save(Path)} on the {@linkplain #defaultExecutor() default executor}.
+     * The map must not be modified until the returned future completes.
+     */
+    public CompletableFuture<Void> saveAsync(Path path) {
+        return saveAsync(path, defaultExecutor());
+    }
+
+    public CompletableFuture<Void> saveAsync(Path path, Executor executor) {
+        return CompletableFuture.runAsync(() -> save(path), executor);
+    }
+
     @Override
     public String toString() {
         return "YamlMap{" +
@@ -189,6 +405,19 @@ public class YamlMap implements YamlHolder {
         return YAML_READER;
     }
 
+    /**
+     * Makes every reader intern the keys and string scalars it loads, see {@link StringInterner}. Off by default.
+     *
+     * @param interner the interner to use, or {@code null} to turn interning off
+     */
+    public static void setStringInterner(@Nullable StringInterner interner) {
+        STRING_INTERNER = interner;
+    }
+
+    public static @Nullable StringInterner getStringInterner() {
+        return STRING_INTERNER;
+    }
+
     static {
         try {
             Class.forName("dev.by1337.yaml.BukkitYamlReader", true, YamlReader.class.getClassLoader());
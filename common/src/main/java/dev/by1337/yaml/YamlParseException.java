@@ -0,0 +1,36 @@
+package dev.by1337.yaml;
+
+/**
+ * Thrown by {@link YamlEventReader} for malformed or unsupported input.
+ */
+public class YamlParseException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+    private final int line;
+    private final int column;
+
+    public YamlParseException(String problem, int line, int column) {
+        super(problem + " (line " + line + ", column " + column + ")");
+        this.line = line;
+        this.column = column;
+    }
+
+    public YamlParseException(String problem, int line, int column, Throwable cause) {
+        super(problem + " (line " + line + ", column " + column + ")", cause);
+        this.line = line;
+        this.column = column;
+    }
+
+    /**
+     * @return the 1-based line of the problem
+     */
+    public int line() {
+        return line;
+    }
+
+    /**
+     * @return the 1-based column of the problem
+     */
+    public int column() {
+        return column;
+    }
+}
@@ -0,0 +1,154 @@
+package dev.by1337.yaml;
+
+import dev.by1337.yaml.util.CompactMap;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * An ordered list of path-level changes to a {@link YamlMap}, usually produced by {@link YamlDiff#compute}.
+ * <p>
+ * Values are raw trees and are copied on every {@link YamlMap#apply apply}, so one patch can be applied to many maps.
+ */
+public final class YamlPatch implements Iterable<YamlPatch.Operation> {
+    public static final YamlPatch EMPTY = new YamlPatch(List.of());
+
+    private final List<Operation> operations;
+
+    public YamlPatch(@NotNull List<Operation> operations) {
+        this.operations = List.copyOf(operations);
+    }
+
+    public List<Operation> operations() {
+        return operations;
+    }
+
+    public boolean isEmpty() {
+        return operations.isEmpty();
+    }
+
+    public int size() {
+        return operations.size();
+    }
+
+    @Override
+    public @NotNull Iterator<Operation> iterator() {
+        return operations.iterator();
+    }
+
+    /**
+     * {@link Type#ADD ADD} and {@link Type#REPLACE REPLACE} put the value, creating missing parent sections;
+     * {@link Type#REMOVE REMOVE} removes the key if it is present. A null value is stored as an explicit null.
+     */
+    @SuppressWarnings("unchecked")
+    void applyTo(Map<String, Object> root) {
+        for (Operation operation : operations) {
+            List<Object> keys = operation.keys;
+            Map<Object, Object> map = (Map<Object, Object>) (Map<?, ?>) root;
+            for (int i = 0; i < keys.size() - 1; i++) {
+                Object next = map.get(keys.get(i));
+                if (next instanceof Map<?, ?>) {
+                    map = (Map<Object, Object>) next;
+                } else if (next == null) {
+                    if (operation.type == Type.REMOVE) break;
+                    Map<Object, Object> created = new CompactMap<>();
+                    map.put(keys.get(i), created);
+                    map = created;
+                } else {
+                    throw new IllegalStateException("Cannot traverse into '" + operation.path.prefix(i + 1) +
+                            "': expected Map but found primitive " + next.getClass().getSimpleName());
+                }
+            }
+            Object key = keys.get(keys.size() - 1);
+            if (operation.type == Type.REMOVE) {
+                map.remove(key);
+            } else {
+                map.put(key, copy(operation.value));
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object copy(@Nullable Object value) {
+        if (value instanceof Map<?, ?> map) {
+            Map<Object, Object> copy = new CompactMap<>(map.size());
+            map.forEach((k, v) -> copy.put(k, copy(v)));
+            return copy;
+        }
+        if (value instanceof Collection<?> list) {
+            List<Object> copy = new ArrayList<>(list.size());
+            for (Object o : list) copy.add(copy(o));
+            return copy;
+        }
+        return value;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        return operations.equals(((YamlPatch) o).operations);
+    }
+
+    @Override
+    public int hashCode() {
+        return operations.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "YamlPatch" + operations;
+    }
+
+    public enum Type {
+        ADD,
+        REMOVE,
+        REPLACE
+    }
+
+    /**
+     * @param keys  the keys along {@code path} as they are stored in the sections; they differ from the path
+     *              segments only for keys that are not strings, such as {@code 1} or {@code true}
+     * @param value the new raw value, always {@code null} for {@link Type#REMOVE REMOVE}
+     */
+    public record Operation(@NotNull Type type, @NotNull YamlPath path, @NotNull List<Object> keys,
+                            @Nullable Object value) {
+        public Operation {
+            Objects.requireNonNull(type, "type");
+            Objects.requireNonNull(path, "path");
+            if (path.size() == 0) throw new IllegalArgumentException("Empty path");
+            if (type == Type.REMOVE && value != null) throw new IllegalArgumentException("REMOVE takes no value");
+            keys = Collections.unmodifiableList(new ArrayList<>(keys));
+            boolean matches = keys.size() == path.size();
+            for (int i = 0; matches && i < keys.size(); i++) {
+                matches = path.segment(i).equals(String.valueOf(keys.get(i)));
+            }
+            if (!matches) throw new IllegalArgumentException("Keys " + keys + " do not match path " + path);
+        }
+
+        /**
+         * An operation on string keys only, those of {@code path}.
+         */
+        public Operation(@NotNull Type type, @NotNull YamlPath path, @Nullable Object value) {
+            this(type, path, Arrays.asList((Object[]) path.segments0()), value);
+        }
+
+        public static Operation add(YamlPath path, @Nullable Object value) {
+            return new Operation(Type.ADD, path, value);
+        }
+
+        public static Operation remove(YamlPath path) {
+            return new Operation(Type.REMOVE, path, null);
+        }
+
+        public static Operation replace(YamlPath path, @Nullable Object value) {
+            return new Operation(Type.REPLACE, path, value);
+        }
+
+        @Override
+        public String toString() {
+            return type == Type.REMOVE ? type + " " + path : type + " " + path + " = " + value;
+        }
+    }
+}
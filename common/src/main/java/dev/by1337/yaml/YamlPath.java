@@ -0,0 +1,126 @@
+package dev.by1337.yaml;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A dot-separated path into a {@link YamlMap}, split once and reusable across lookups.
+ *
+ * <p>Splitting follows {@link String#split(String) path.split("\\.")}, so {@code YamlPath.of("a.b")}
+ * addresses exactly the same node as the {@code "a.b"} string overloads.
+ *
+ * <p><b>Example:</b>
+ * <pre>{@code
+ * private static final YamlPath AMOUNT = YamlPath.of("reward.amount");
+ *
+ * int amount = map.get(AMOUNT).asInt(1);
+ * }</pre>
+ */
+public final class YamlPath {
+    private static final int CACHE_LIMIT = 1024;
+    private static final ConcurrentHashMap<String, YamlPath> CACHE = new ConcurrentHashMap<>();
+
+    private final String path;
+    private final String[] segments;
+
+    private YamlPath(String path, String[] segments) {
+        this.path = path;
+        this.segments = segments;
+    }
+
+    /**
+     * Compiles the given dot-separated path.
+     *
+     * @param path the path, e.g. {@code "section.key"}
+     * @return the compiled path
+     */
+    public static YamlPath of(@NotNull String path) {
+        return new YamlPath(path, split(path));
+    }
+
+    /**
+     * Builds a path from already split segments, which may themselves contain '.'.
+     */
+    static YamlPath ofSegments(String[] segments) {
+        return new YamlPath(String.join(".", segments), segments);
+    }
+
+    /**
+     * Returns a cached compiled path, compiling it on first use.
+     * <p>
+     * The cache is bounded; once it is full it is dropped and refilled, so arbitrary
+     * user input cannot grow it without limit.
+     */
+    @ApiStatus.Internal
+    static YamlPath cached(@NotNull String path) {
+        YamlPath p = CACHE.get(path);
+        if (p != null) return p;
+        if (CACHE.size() >= CACHE_LIMIT) CACHE.clear();
+        p = of(path);
+        CACHE.put(path, p);
+        return p;
+    }
+
+    public int size() {
+        return segments.length;
+    }
+
+    public String segment(int index) {
+        return segments[index];
+    }
+
+    public String[] segments() {
+        return segments.clone();
+    }
+
+    String[] segments0() {
+        return segments;
+    }
+
+    /**
+     * @param length the number of leading segments to keep
+     * @return the leading segments joined back with '.'
+     */
+    String prefix(int length) {
+        return String.join(".", Arrays.copyOf(segments, length));
+    }
+
+    private static String[] split(String path) {
+        int next = path.indexOf('.');
+        if (next == -1) return new String[]{path};
+        ArrayList<String> list = new ArrayList<>();
+        int off = 0;
+        do {
+            list.add(path.substring(off, next));
+            off = next + 1;
+        } while ((next = path.indexOf('.', off)) != -1);
+        list.add(path.substring(off));
+
+        int size = list.size();
+        while (size > 0 && list.get(size - 1).isEmpty()) {
+            size--;
+        }
+        return list.subList(0, size).toArray(new String[0]);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        return Arrays.equals(segments, ((YamlPath) o).segments);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(segments);
+    }
+
+    @Override
+    public String toString() {
+        return path;
+    }
+}
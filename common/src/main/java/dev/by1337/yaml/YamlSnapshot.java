@@ -0,0 +1,385 @@
+package dev.by1337.yaml;
+
+import dev.by1337.yaml.codec.YamlHolder;
+import dev.by1337.yaml.util.CompactMap;
+import dev.by1337.yaml.util.StringInterner;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * A compact binary encoding of a {@link YamlMap} raw tree, which reads back many times faster than YAML text parses.
+ * <p>
+ * Supported values are maps, lists, strings, {@code Integer}, {@code Long}, {@code BigInteger}, {@code Float},
+ * {@code Double}, booleans, {@code byte[]}, {@link Date}s and {@code null}, i.e. everything the YAML parsers produce.
+ * Maps and lists that occur more than once, as with anchors and aliases, are written once and stay shared when read back.
+ * Strings read back go through the {@link YamlMap#setStringInterner string interner}, if one is set.
+ * <p>
+ * The format is meant for caches written and read by the same library version, not for long-term storage.
+ *
+ * @see YamlSnapshotCache
+ */
+public final class YamlSnapshot {
+    private static final int MAGIC = 0x42594D53; // "BYMS"
+    private static final byte VERSION = 1;
+
+    private static final byte NULL = 0;
+    private static final byte FALSE = 1;
+    private static final byte TRUE = 2;
+    private static final byte INT = 3;
+    private static final byte LONG = 4;
+    private static final byte BIG_INTEGER = 5;
+    private static final byte FLOAT = 6;
+    private static final byte DOUBLE = 7;
+    private static final byte ASCII = 8;
+    private static final byte STRING = 9;
+    private static final byte BINARY = 10;
+    private static final byte DATE = 11;
+    private static final byte MAP = 12;
+    private static final byte LIST = 13;
+    private static final byte REF = 14;
+
+    private YamlSnapshot() {
+    }
+
+    /**
+     * @throws IllegalArgumentException if the tree holds a value of an unsupported type
+     */
+    public static byte[] write(@NotNull YamlMap map) {
+        Writer writer = new Writer();
+        writer.writeInt(MAGIC);
+        writer.writeByte(VERSION);
+        writer.writeValue(map.getRaw());
+        return Arrays.copyOf(writer.buf, writer.pos);
+    }
+
+    /**
+     * @throws IllegalArgumentException if {@code bytes} is not a snapshot or is corrupted
+     */
+    public static YamlMap read(byte @NotNull [] bytes) {
+        return read(bytes, 0, bytes.length);
+    }
+
+    @SuppressWarnings("unchecked")
+    static YamlMap read(byte[] bytes, int offset, int length) {
+        Reader reader = new Reader(bytes, offset, offset + length, YamlMap.getStringInterner());
+        try {
+            if (reader.readInt() != MAGIC) throw new IllegalArgumentException("Not a snapshot");
+            byte version = reader.readByte();
+            if (version != VERSION) throw new IllegalArgumentException("Unsupported snapshot version " + version);
+            if (!(reader.readValue() instanceof CompactMap<?, ?> map) || reader.pos != reader.end) {
+                throw new IllegalArgumentException("Corrupted snapshot");
+            }
+            return new YamlMap((Map<String, Object>) map);
+        } catch (IndexOutOfBoundsException | NegativeArraySizeException | ClassCastException e) {
+            throw new IllegalArgumentException("Corrupted snapshot", e);
+        }
+    }
+
+    private static final class Writer {
+        private final IdentityHashMap<Object, Integer> containers = new IdentityHashMap<>();
+        private byte[] buf = new byte[4096];
+        private int pos;
+
+        void writeValue(@Nullable Object value) {
+            if (value == null) {
+                writeByte(NULL);
+            } else if (value instanceof String s) {
+                writeString(s);
+            } else if (value instanceof Integer i) {
+                writeByte(INT);
+                writeVarLong(i);
+            } else if (value instanceof Boolean b) {
+                writeByte(b ? TRUE : FALSE);
+            } else if (value instanceof Map<?, ?> || value instanceof List<?>) {
+                Integer id = containers.putIfAbsent(value, containers.size());
+                if (id != null) {
+                    writeByte(REF);
+                    writeVarInt(id);
+                } else if (value instanceof Map<?, ?> map) {
+                    writeByte(MAP);
+                    writeVarInt(map.size());
+                    for (Map.Entry<?, ?> entry : map.entrySet()) {
+                        writeValue(entry.getKey());
+                        writeValue(entry.getValue());
+                    }
+                } else {
+                    List<?> list = (List<?>) value;
+                    writeByte(LIST);
+                    writeVarInt(list.size());
+                    for (Object o : list) writeValue(o);
+                }
+            } else if (value instanceof Long l) {
+                writeByte(LONG);
+                writeVarLong(l);
+            } else if (value instanceof Double d) {
+                writeByte(DOUBLE);
+                writeLong(Double.doubleToRawLongBits(d));
+            } else if (value instanceof Float f) {
+                writeByte(FLOAT);
+                writeInt(Float.floatToRawIntBits(f));
+            } else if (value instanceof BigInteger big) {
+                writeByte(BIG_INTEGER);
+                writeBytes(big.toByteArray());
+            } else if (value instanceof byte[] bytes) {
+                writeByte(BINARY);
+                writeBytes(bytes);
+            } else if (value instanceof Date date) {
+                writeByte(DATE);
+                writeLong(date.getTime());
+            } else if (value instanceof YamlHolder holder) {
+                writeValue(holder.getRaw());
+            } else {
+                throw new IllegalArgumentException("Unsupported value type " + value.getClass().getName());
+            }
+        }
+
+        /**
+         * ASCII strings are stored as is; anything else as CESU-8, which unlike {@code getBytes(UTF_8)}
+         * also preserves unpaired surrogates.
+         */
+        void writeString(String s) {
+            int length = s.length();
+            int bytes = length;
+            for (int i = 0; i < length; i++) {
+                char c = s.charAt(i);
+                if (c >= 0x80) bytes += c < 0x800 ? 1 : 2;
+            }
+            writeByte(bytes == length ? ASCII : STRING);
+            writeVarInt(length);
+            if (bytes != length) writeVarInt(bytes);
+            ensure(bytes);
+            byte[] buf = this.buf;
+            int pos = this.pos;
+            for (int i = 0; i < length; i++) {
+                char c = s.charAt(i);
+                if (c < 0x80) {
+                    buf[pos++] = (byte) c;
+                } else if (c < 0x800) {
+                    buf[pos++] = (byte) (0xC0 | c >> 6);
+                    buf[pos++] = (byte) (0x80 | c & 0x3F);
+                } else {
+                    buf[pos++] = (byte) (0xE0 | c >> 12);
+                    buf[pos++] = (byte) (0x80 | c >> 6 & 0x3F);
+                    buf[pos++] = (byte) (0x80 | c & 0x3F);
+                }
+            }
+            this.pos = pos;
+        }
+
+        void writeBytes(byte[] bytes) {
+            writeVarInt(bytes.length);
+            ensure(bytes.length);
+            System.arraycopy(bytes, 0, buf, pos, bytes.length);
+            pos += bytes.length;
+        }
+
+        void writeByte(int b) {
+            ensure(1);
+            buf[pos++] = (byte) b;
+        }
+
+        void writeInt(int v) {
+            ensure(4);
+            for (int shift = 24; shift >= 0; shift -= 8) buf[pos++] = (byte) (v >>> shift);
+        }
+
+        void writeLong(long v) {
+            ensure(8);
+            for (int shift = 56; shift >= 0; shift -= 8) buf[pos++] = (byte) (v >>> shift);
+        }
+
+        void writeVarInt(int v) {
+            ensure(5);
+            while ((v & ~0x7F) != 0) {
+                buf[pos++] = (byte) (v & 0x7F | 0x80);
+                v >>>= 7;
+            }
+            buf[pos++] = (byte) v;
+        }
+
+        /**
+         * Zigzag encoded, so small negative numbers stay short.
+         */
+        void writeVarLong(long v) {
+            ensure(10);
+            v = v << 1 ^ v >> 63;
+            while ((v & ~0x7FL) != 0) {
+                buf[pos++] = (byte) (v & 0x7F | 0x80);
+                v >>>= 7;
+            }
+            buf[pos++] = (byte) v;
+        }
+
+        private void ensure(int n) {
+            if (buf.length - pos < n) buf = Arrays.copyOf(buf, Math.max(buf.length * 2, pos + n));
+        }
+    }
+
+    private static final class Reader {
+        private final List<Object> containers = new ArrayList<>();
+        private final byte[] buf;
+        private final int end;
+        private final @Nullable StringInterner interner;
+        private int pos;
+
+        Reader(byte[] buf, int pos, int end, @Nullable StringInterner interner) {
+            this.buf = buf;
+            this.pos = pos;
+            this.end = end;
+            this.interner = interner;
+        }
+
+        @Nullable Object readValue() {
+            byte tag = readByte();
+            switch (tag) {
+                case NULL -> {
+                    return null;
+                }
+                case FALSE -> {
+                    return Boolean.FALSE;
+                }
+                case TRUE -> {
+                    return Boolean.TRUE;
+                }
+                case INT -> {
+                    return (int) readVarLong();
+                }
+                case LONG -> {
+                    return readVarLong();
+                }
+                case BIG_INTEGER -> {
+                    return new BigInteger(readBytes());
+                }
+                case FLOAT -> {
+                    return Float.intBitsToFloat(readInt());
+                }
+                case DOUBLE -> {
+                    return Double.longBitsToDouble(readLong());
+                }
+                case ASCII -> {
+                    int length = readVarInt();
+                    check(length);
+                    String s = new String(buf, pos, length, StandardCharsets.ISO_8859_1);
+                    pos += length;
+                    return interner == null ? s : interner.intern(s);
+                }
+                case STRING -> {
+                    String s = readString();
+                    return interner == null ? s : interner.intern(s);
+                }
+                case BINARY -> {
+                    return readBytes();
+                }
+                case DATE -> {
+                    return new Date(readLong());
+                }
+                case MAP -> {
+                    int size = readVarInt();
+                    check(size);
+                    CompactMap<Object, Object> map = new CompactMap<>(size);
+                    containers.add(map);
+                    for (int i = 0; i < size; i++) {
+                        map.put(readValue(), readValue());
+                    }
+                    return map;
+                }
+                case LIST -> {
+                    int size = readVarInt();
+                    check(size);
+                    ArrayList<Object> list = new ArrayList<>(size);
+                    containers.add(list);
+                    for (int i = 0; i < size; i++) {
+                        list.add(readValue());
+                    }
+                    return list;
+                }
+                case REF -> {
+                    return containers.get(readVarInt());
+                }
+                default -> throw new IllegalArgumentException("Corrupted snapshot: unknown tag " + tag + " at " + (pos - 1));
+            }
+        }
+
+        private String readString() {
+            int length = readVarInt();
+            int bytes = readVarInt();
+            check(bytes);
+            if (length > bytes) throw new IllegalArgumentException("Corrupted snapshot: bad string at " + this.pos);
+            char[] chars = new char[length];
+            byte[] buf = this.buf;
+            int pos = this.pos;
+            for (int i = 0; i < length; i++) {
+                int b = buf[pos++];
+                if (b >= 0) {
+                    chars[i] = (char) b;
+                } else if ((b & 0xE0) == 0xC0) {
+                    chars[i] = (char) ((b & 0x1F) << 6 | buf[pos++] & 0x3F);
+                } else {
+                    chars[i] = (char) ((b & 0x0F) << 12 | (buf[pos++] & 0x3F) << 6 | buf[pos++] & 0x3F);
+                }
+            }
+            if (pos != this.pos + bytes) throw new IllegalArgumentException("Corrupted snapshot: bad string at " + this.pos);
+            this.pos = pos;
+            return new String(chars);
+        }
+
+        private byte[] readBytes() {
+            int length = readVarInt();
+            check(length);
+            byte[] bytes = Arrays.copyOfRange(buf, pos, pos + length);
+            pos += length;
+            return bytes;
+        }
+
+        byte readByte() {
+            if (pos >= end) throw new IndexOutOfBoundsException();
+            return buf[pos++];
+        }
+
+        int readInt() {
+            check(4);
+            int v = 0;
+            for (int i = 0; i < 4; i++) v = v << 8 | buf[pos++] & 0xFF;
+            return v;
+        }
+
+        long readLong() {
+            check(8);
+            long v = 0;
+            for (int i = 0; i < 8; i++) v = v << 8 | buf[pos++] & 0xFF;
+            return v;
+        }
+
+        int readVarInt() {
+            int v = 0;
+            for (int shift = 0; shift < 35; shift += 7) {
+                byte b = readByte();
+                v |= (b & 0x7F) << shift;
+                if (b >= 0) return v;
+            }
+            throw new IllegalArgumentException("Corrupted snapshot: bad varint at " + pos);
+        }
+
+        long readVarLong() {
+            long v = 0;
+            for (int shift = 0; shift < 70; shift += 7) {
+                byte b = readByte();
+                v |= (long) (b & 0x7F) << shift;
+                if (b >= 0) return v >>> 1 ^ -(v & 1);
+            }
+            throw new IllegalArgumentException("Corrupted snapshot: bad varint at " + pos);
+        }
+
+        /**
+         * Every element takes at least one byte, so a count larger than what is left means the data is corrupted,
+         * and is rejected before anything that size is allocated.
+         */
+        private void check(int n) {
+            if (n < 0 || n > end - pos) throw new IllegalArgumentException("Corrupted snapshot at " + pos);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package dev.by1337.yaml;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+/**
+ * Keeps a {@link YamlSnapshot} of every file loaded through it, so files that have not changed since the
+ * previous start are read back from the snapshot instead of being parsed again.
+ * <pre>{@code
+ * YamlSnapshotCache cache = new YamlSnapshotCache(dataFolder.toPath().resolve(".cache"));
+ * YamlMap config = YamlMap.load(dataFolder.toPath().resolve("config.yml"), cache);
+ * }</pre>
+ * A snapshot is used only if it was made from exactly the same bytes by the same {@code YamlReader}, which is
+ * checked with a SHA-256 hash of the file on every load. Snapshots that are missing, stale or corrupted are
+ * silently replaced, and a cache directory that cannot be written to only costs the parse.
+ */
+public final class YamlSnapshotCache {
+    private static final int HASH_LENGTH = 32;
+
+    private final Path directory;
+
+    /**
+     * @param directory where snapshots are kept, created on first use
+     */
+    public YamlSnapshotCache(@NotNull Path directory) {
+        this.directory = directory;
+    }
+
+    public Path directory() {
+        return directory;
+    }
+
+    /**
+     * Same as {@link YamlMap#load(Path)}, but uses the file's snapshot if it is up to date, and writes one if it is not.
+     */
+    public YamlMap load(@NotNull Path file) {
+        byte[] bytes;
+        try {
+            bytes = Files.readAllBytes(file);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        byte[] hash = hash(bytes);
+        Path snapshot = snapshotFile(file);
+        YamlMap cached = readSnapshot(snapshot, hash);
+        if (cached != null) return cached;
+
+        YamlMap map = YamlMap.loadFromString(YamlMap.decode(bytes, bytes.length));
+        writeSnapshot(snapshot, hash, map);
+        return map;
+    }
+
+    /**
+     * Deletes the snapshot of {@code file}, if there is one.
+     */
+    public void invalidate(@NotNull Path file) {
+        try {
+            Files.deleteIfExists(snapshotFile(file));
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static @Nullable YamlMap readSnapshot(Path snapshot, byte[] hash) {
+        byte[] data;
+        try {
+            data = Files.readAllBytes(snapshot);
+        } catch (IOException e) {
+            return null;
+        }
+        if (data.length < HASH_LENGTH || !Arrays.equals(data, 0, HASH_LENGTH, hash, 0, HASH_LENGTH)) return null;
+        try {
+            return YamlSnapshot.read(data, HASH_LENGTH, data.length - HASH_LENGTH);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private void writeSnapshot(Path snapshot, byte[] hash, YamlMap map) {
+        byte[] data;
+        try {
+            data = YamlSnapshot.write(map);
+        } catch (IllegalArgumentException e) {
+            // the reader produced a value the format does not support, e.g. a ConfigurationSerializable
+            return;
+        }
+        Path temp = null;
+        try {
+            Files.createDirectories(directory);
+            temp = Files.createTempFile(directory, snapshot.getFileName().toString(), ".tmp");
+            try (var out = Files.newOutputStream(temp)) {
+                out.write(hash);
+                out.write(data);
+            }
+            try {
+                Files.move(temp, snapshot, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, snapshot, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            try {
+                if (temp != null) Files.deleteIfExists(temp);
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    private Path snapshotFile(Path file) {
+        byte[] key = sha256().digest(file.toAbsolutePath().normalize().toString().getBytes(StandardCharsets.UTF_8));
+        StringBuilder name = new StringBuilder(32 + 9);
+        for (int i = 0; i < 16; i++) {
+            name.append(Character.forDigit(key[i] >> 4 & 0xF, 16)).append(Character.forDigit(key[i] & 0xF, 16));
+        }
+        return directory.resolve(name.append(".snapshot").toString());
+    }
+
+    /**
+     * Covers the reader as well as the content, because readers differ in what they build from the same text.
+     */
+    private static byte[] hash(byte[] content) {
+        MessageDigest digest = sha256();
+        var reader = YamlMap.getYamlReader();
+        digest.update((reader == null ? YamlEventReader.class : reader.getClass()).getName().getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        return digest.digest(content);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
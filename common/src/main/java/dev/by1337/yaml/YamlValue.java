@@ -1,12 +1,18 @@
 package dev.by1337.yaml;
 
+import dev.by1337.yaml.codec.CodecSupport;
 import dev.by1337.yaml.codec.DataResult;
+import dev.by1337.yaml.codec.DecodeContext;
+import dev.by1337.yaml.codec.DecodeOptions;
+import dev.by1337.yaml.codec.ErrorTree;
 import dev.by1337.yaml.codec.YamlCodec;
 import dev.by1337.yaml.codec.YamlHolder;
+import dev.by1337.yaml.codec.list.ListCodec;
+import dev.by1337.yaml.util.CompactMap;
+import dev.by1337.yaml.util.Primitives;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.stream.Stream;
 
@@ -36,10 +42,10 @@ public final class YamlValue implements YamlHolder {
 
     @SuppressWarnings("unchecked")
     public DataResult<YamlMap> asYamlMap() {
-        if (value instanceof LinkedHashMap<?, ?>)
-            return DataResult.success(new YamlMap((LinkedHashMap<String, Object>) value));
+        if (value instanceof CompactMap<?, ?> || value instanceof LinkedHashMap<?, ?>)
+            return DataResult.success(new YamlMap((Map<String, Object>) value));
         if (value instanceof Map<?, ?> map)
-            return DataResult.success(new YamlMap(new LinkedHashMap<>((Map<String, Object>) map)));
+            return DataResult.success(new YamlMap(new CompactMap<>((Map<String, Object>) map)));
         return DataResult.error("Expected a Map, but found " + describeType() + ".");
     }
 
@@ -84,25 +90,18 @@ public final class YamlValue implements YamlHolder {
     }
 
     public <T> DataResult<List<T>> asList(YamlCodec<T> codec) {
-        return stream().flatMap(s -> {
-            StringBuilder error = new StringBuilder();
-            AtomicInteger counter = new AtomicInteger();
-            var res = s.map(v -> {
-                DataResult<T> result = codec.decode(v);
-                if (result.hasError()) {
-                    error.append("[").append(counter.get()).append("] ").append(result.error()).append("\n");
-                }
-                counter.getAndIncrement();
-                return result.result();
-            }).filter(Objects::nonNull).toList();
-            if (error.isEmpty()) {
-                return DataResult.success(res);
-            } else {
-                error.setLength(error.length() - 1);
-                if (res.isEmpty()) return DataResult.error(error.toString());
-                return DataResult.error(error.toString()).partial(res);
-            }
-        });
+        return asList(codec, DecodeOptions.DEFAULT);
+    }
+
+    /**
+     * Decodes every element, dropping those that fail. Errors are reported as {@code [index] error}, one per line.
+     */
+    public <T> DataResult<List<T>> asList(YamlCodec<T> codec, DecodeOptions options) {
+        if (!(value instanceof Collection<?> collection)) {
+            return DataResult.error("Expected a Collection, but found " + describeType() + ".");
+        }
+        DecodeContext ctx = new DecodeContext(options);
+        return ctx.toResult(ListCodec.decodeElements(codec, collection, ctx));
     }
 
     public <T> List<T> asList(Function<YamlValue, T> mapper, List<T> def) {
@@ -141,29 +140,24 @@ public final class YamlValue implements YamlHolder {
     public <K, V> DataResult<Map<K, V>> asMap(Function<YamlValue, K> keyDecoder, Function<YamlValue, V> valueDecoder) {
         return streamMap().flatMap(s -> {
             Map<K, V> result = new LinkedHashMap<>();
-            StringBuilder error = new StringBuilder();
+            ErrorTree errors = new ErrorTree();
             s.forEach(entry -> {
                 DataResult<K> key = DataResult.accept(() -> keyDecoder.apply(entry.getKey()), DataResult::error);
                 DataResult<V> value = DataResult.accept(() -> valueDecoder.apply(entry.getValue()), DataResult::error);
                 K k = key.result();
                 V v = value.result();
                 if (key.hasError()) {
-                    error.append("Invalid key: ").append(key.error()).append("\n");
+                    errors.labeled("Invalid key: ", key);
                 }
                 if (value.hasError()) {
-                    error.append("Invalid value: ").append(value.error()).append("\n");
+                    errors.labeled("Invalid value: ", value);
                 }
                 if (k != null && v != null) {
                     result.put(k, v);
                 }
             });
-            if (error.isEmpty()) {
-                return DataResult.success(result);
-            } else {
-                error.setLength(error.length() - 1);
-                if (result.isEmpty()) return DataResult.error(error.toString());
-                return DataResult.error(error.toString()).partial(result);
-            }
+            if (errors.isEmpty()) return DataResult.success(result);
+            return errors.toResult(result.isEmpty() ? null : result);
         });
     }
 
@@ -188,10 +182,7 @@ public final class YamlValue implements YamlHolder {
     }
 
     private String describeType() {
-        if (value == null) return "null";
-        if (value instanceof Map) return "Map";
-        if (value instanceof Collection) return "List";
-        return value.getClass().getSimpleName();
+        return CodecSupport.describeType(value);
     }
 
     @Override
@@ -204,7 +195,7 @@ public final class YamlValue implements YamlHolder {
     }
 
     public int asInt(int def) {
-        return decode(YamlCodec.INT).orDefault(def);
+        return Primitives.toInt(value, def);
     }
 
     public DataResult<Byte> asByte() {
@@ -219,8 +210,8 @@ public final class YamlValue implements YamlHolder {
         return decode(YamlCodec.DOUBLE);
     }
 
-    public Double asDouble(double def) {
-        return decode(YamlCodec.DOUBLE).orDefault(def);
+    public double asDouble(double def) {
+        return Primitives.toDouble(value, def);
     }
 
     public DataResult<Float> asFloat() {
@@ -236,7 +227,7 @@ public final class YamlValue implements YamlHolder {
     }
 
     public long asLong(long def) {
-        return decode(YamlCodec.LONG).orDefault(def);
+        return Primitives.toLong(value, def);
     }
 
     public DataResult<Short> asShort() {
@@ -252,7 +243,7 @@ public final class YamlValue implements YamlHolder {
     }
 
     public boolean asBool(boolean def) {
-        return decode(YamlCodec.BOOL).orDefault(def);
+        return Primitives.toBoolean(value, def);
     }
 
     public DataResult<String> asString() {
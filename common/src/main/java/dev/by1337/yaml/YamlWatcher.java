@@ -0,0 +1,292 @@
+package dev.by1337.yaml;
+
+import dev.by1337.yaml.codec.DataResult;
+import dev.by1337.yaml.codec.YamlCodec;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.*;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Hot reload for config files.
+ * <p>
+ * A {@link Binding} ties a codec to a file, or to one section of it. When the file changes, the watcher waits
+ * for writes to settle, parses it again and re-decodes only the bindings whose section differs from the previous
+ * version of the file; everything else is left alone and gets no event.
+ * <pre>{@code
+ * YamlWatcher watcher = new YamlWatcher();
+ * YamlWatcher.Binding<Settings> settings = watcher.bind(configPath, "settings", Settings.CODEC, update -> {
+ *     if (update.result().hasResult()) apply(update.result().getOrThrow());
+ * });
+ * apply(settings.current().getOrThrow());
+ * }</pre>
+ * Files are reloaded and listeners are called on the watcher's own thread, never on the caller's.
+ */
+public final class YamlWatcher implements Closeable {
+    private final WatchService watchService;
+    private final long debounceNanos;
+    private final Map<Path, WatchedFile> files = new ConcurrentHashMap<>();
+    private final Set<Path> directories = ConcurrentHashMap.newKeySet();
+    private final Thread thread;
+    private volatile boolean closed;
+
+    /**
+     * A watcher that reloads a file 200 ms after the last change to it.
+     */
+    public YamlWatcher() {
+        this(Duration.ofMillis(200));
+    }
+
+    /**
+     * @param debounce how long a file has to stay unchanged before it is reloaded, so that a save
+     *                 which touches the file several times triggers a single reload
+     */
+    public YamlWatcher(Duration debounce) {
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        debounceNanos = debounce.toNanos();
+        thread = new Thread(this::run, "byaml-watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Watches the whole file.
+     *
+     * @see #bind(Path, String, YamlCodec, Consumer)
+     */
+    public <T> Binding<T> bind(Path file, YamlCodec<T> codec, Consumer<Update<T>> listener) {
+        return bind(file, null, codec, listener);
+    }
+
+    /**
+     * Decodes the section at {@code path} now, and again whenever it changes on disk.
+     * <p>
+     * The file does not have to exist yet. If it cannot be loaded, {@link Binding#current()} holds the error,
+     * and the listener is called with a decoded value once the file becomes readable.
+     *
+     * @param path     the section to decode, {@code null} for the whole file
+     * @param listener called with every new decode result, including errors, but not for the initial one
+     */
+    public <T> Binding<T> bind(Path file, @Nullable String path, YamlCodec<T> codec, Consumer<Update<T>> listener) {
+        if (closed) throw new IllegalStateException("Watcher is closed");
+        Path normalized = file.toAbsolutePath().normalize();
+        WatchedFile watched = files.get(normalized);
+        if (watched == null) {
+            // the I/O happens outside of computeIfAbsent, which would hold a lock of the map meanwhile
+            register(normalized.getParent());
+            watched = files.computeIfAbsent(normalized, WatchedFile::new);
+        }
+        Binding<T> binding = new Binding<>(watched, path, codec, listener);
+        synchronized (watched) {
+            if (!watched.loaded) watched.load();
+            binding.failed = watched.map == null;
+            binding.result = binding.failed ? watched.error() : binding.decode(watched.map);
+            watched.bindings.add(binding);
+        }
+        return binding;
+    }
+
+    /**
+     * Stops watching. Listeners are not called after this returns.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            watchService.close();
+        } catch (IOException ignored) {
+        }
+        thread.interrupt();
+    }
+
+    private void register(Path directory) {
+        if (directories.add(directory)) {
+            try {
+                directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+            } catch (IOException e) {
+                directories.remove(directory);
+                throw new RuntimeException(e);
+            }
+        }
+    }
+
+    private void run() {
+        Map<Path, Long> pending = new HashMap<>();
+        while (!closed) {
+            try {
+                WatchKey key;
+                if (pending.isEmpty()) {
+                    key = watchService.take();
+                } else {
+                    long wait = Collections.min(pending.values()) - System.nanoTime();
+                    key = wait > 0 ? watchService.poll(wait, TimeUnit.NANOSECONDS) : watchService.poll();
+                }
+                if (key != null) {
+                    Path directory = (Path) key.watchable();
+                    long deadline = System.nanoTime() + debounceNanos;
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                            // events were lost, reload everything in the directory
+                            for (Path file : files.keySet()) {
+                                if (file.getParent().equals(directory)) pending.put(file, deadline);
+                            }
+                        } else {
+                            Path file = directory.resolve((Path) event.context());
+                            if (files.containsKey(file)) pending.put(file, deadline);
+                        }
+                    }
+                    key.reset();
+                }
+                long now = System.nanoTime();
+                for (Iterator<Map.Entry<Path, Long>> iterator = pending.entrySet().iterator(); iterator.hasNext(); ) {
+                    Map.Entry<Path, Long> entry = iterator.next();
+                    if (entry.getValue() - now <= 0) {
+                        iterator.remove();
+                        files.get(entry.getKey()).reload();
+                    }
+                }
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+        }
+    }
+
+    private final class WatchedFile {
+        private final Path file;
+        private final List<Binding<?>> bindings = new CopyOnWriteArrayList<>();
+        private @Nullable YamlMap map;
+        private @Nullable String loadError;
+        private boolean loaded;
+
+        WatchedFile(Path file) {
+            this.file = file;
+        }
+
+        synchronized void load() {
+            loaded = true;
+            try {
+                map = YamlMap.load(file);
+                loadError = null;
+            } catch (RuntimeException e) {
+                loadError = "Failed to load " + file + ": " + e.getMessage();
+            }
+        }
+
+        <T> DataResult<T> error() {
+            return DataResult.error(loadError);
+        }
+
+        synchronized void reload() {
+            YamlMap previous = map;
+            load();
+            if (closed) return;
+            if (loadError != null) {
+                // keep the last good tree, so the next successful load is compared against it
+                map = previous;
+                for (Binding<?> binding : bindings) {
+                    binding.failed = true;
+                    binding.update(error());
+                }
+                return;
+            }
+            for (Binding<?> binding : bindings) {
+                // a binding holding the load error must hear about the recovery, even if its section is unchanged
+                if (binding.failed || previous == null || !Objects.equals(section(previous, binding.path), section(map, binding.path))) {
+                    binding.update(map);
+                }
+            }
+        }
+    }
+
+    private static @Nullable Object section(YamlMap map, @Nullable String path) {
+        if (path == null) return map.getRaw();
+        try {
+            return map.getRaw(path);
+        } catch (IllegalStateException e) {
+            // the path runs through a scalar
+            return null;
+        }
+    }
+
+    /**
+     * A codec bound to a file or a section of it.
+     */
+    public static final class Binding<T> implements Closeable {
+        private final YamlWatcher.WatchedFile file;
+        private final @Nullable String path;
+        private final YamlCodec<T> codec;
+        private final Consumer<Update<T>> listener;
+        private volatile DataResult<T> result;
+        private boolean failed;
+
+        private Binding(YamlWatcher.WatchedFile file, @Nullable String path, YamlCodec<T> codec, Consumer<Update<T>> listener) {
+            this.file = file;
+            this.path = path;
+            this.codec = codec;
+            this.listener = listener;
+        }
+
+        /**
+         * @return the latest decode result
+         */
+        public DataResult<T> current() {
+            return result;
+        }
+
+        /**
+         * Stops delivering updates to this binding.
+         */
+        @Override
+        public void close() {
+            file.bindings.remove(this);
+        }
+
+        private DataResult<T> decode(YamlMap map) {
+            try {
+                return path == null ? map.get().decode(codec) : YamlValue.wrap(section(map, path)).decode(codec);
+            } catch (RuntimeException e) {
+                // a failing codec must not take the watcher thread, and with it every other binding, down
+                return DataResult.error(e);
+            }
+        }
+
+        private void update(YamlMap map) {
+            failed = false;
+            update(decode(map));
+        }
+
+        private void update(DataResult<T> next) {
+            DataResult<T> previous = result;
+            result = next;
+            try {
+                listener.accept(new Update<>(file.file, path, previous.result(), next));
+            } catch (RuntimeException e) {
+                Thread thread = Thread.currentThread();
+                thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+            }
+        }
+    }
+
+    /**
+     * A new decode result for a {@link Binding}.
+     *
+     * @param file     the file that changed
+     * @param path     the section that was decoded, {@code null} for the whole file
+     * @param previous the previously decoded value, if there was one
+     * @param result   the new decode result, or the error that prevented reloading the file
+     */
+    public record Update<T>(Path file, @Nullable String path, @Nullable T previous, DataResult<T> result) {
+    }
+}
@@ -0,0 +1,28 @@
+package dev.by1337.yaml.codec;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A {@code Boolean} codec that can also decode without boxing.
+ * <p>
+ * There are no default methods here on purpose: a class implementing an interface with default methods initializes
+ * it, so {@link #INSTANCE} would be read while {@link YamlCodec} is still creating it.
+ */
+public interface BoolYamlCodec extends YamlCodec<Boolean> {
+    /**
+     * The codec behind {@link YamlCodec#BOOL}.
+     */
+    BoolYamlCodec INSTANCE = (BoolYamlCodec) YamlCodec.BOOL;
+
+    /**
+     * @return the decoded value, or {@code false} after reporting an error to {@code ctx}
+     */
+    boolean decodeBool(@Nullable Object raw, DecodeContext ctx);
+
+    /**
+     * @return a codec for {@code boolean[]} that decodes each element with {@link #decodeBool}
+     */
+    static YamlCodec<boolean[]> arrayOf(BoolYamlCodec element) {
+        return new PrimitiveArrayCodec.OfBool(element);
+    }
+}
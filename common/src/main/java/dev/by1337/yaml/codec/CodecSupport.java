@@ -0,0 +1,99 @@
+package dev.by1337.yaml.codec;
+
+import dev.by1337.yaml.util.CompactMap;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Shared pieces of the map-shaped codecs, also called from codecs generated by {@code byaml-processor}.
+ */
+@ApiStatus.Internal
+public final class CodecSupport {
+    /**
+     * Returned by {@link #lookup(Map, String)} when the section has no such key.
+     */
+    public static final Object ABSENT = new Object();
+
+    private CodecSupport() {
+    }
+
+    /**
+     * Looks a key up directly in a raw section, without copying or wrapping the section.
+     *
+     * @return the raw value, possibly {@code null}, or {@link #ABSENT} if the section has no such key
+     */
+    @SuppressWarnings("unchecked")
+    public static Object lookup(Map<?, ?> raw, String name) {
+        Object value = ((Map<?, Object>) raw).getOrDefault(name, ABSENT);
+        if (value != ABSENT || raw instanceof CompactMap<?, ?> compact && compact.hasOnlyStringKeys()) return value;
+        // snakeyaml keeps keys such as 1 or true as Integer/Boolean
+        for (Map.Entry<?, ?> entry : raw.entrySet()) {
+            Object key = entry.getKey();
+            if (key != null && !(key instanceof String) && name.equals(key.toString())) {
+                return entry.getValue();
+            }
+        }
+        return ABSENT;
+    }
+
+    /**
+     * The raw value of a {@link YamlHolder}, such as a {@code YamlMap} put into a section, or {@code raw} itself.
+     */
+    public static @Nullable Object unwrap(@Nullable Object raw) {
+        return raw instanceof YamlHolder holder ? holder.getRaw() : raw;
+    }
+
+    /**
+     * {@code null}, {@code Map}, {@code List} or the simple class name of {@code raw}, for error messages.
+     */
+    public static String describeType(@Nullable Object raw) {
+        if (raw == null) return "null";
+        if (raw instanceof Map) return "Map";
+        if (raw instanceof Collection) return "List";
+        return raw.getClass().getSimpleName();
+    }
+
+    /**
+     * Reports that {@code raw} is not a section.
+     *
+     * @return {@code null}
+     */
+    public static <T> @Nullable T expectedMap(DecodeContext ctx, @Nullable Object raw) {
+        return ctx.fail("Expected a Map, but found " + describeType(raw) + ".");
+    }
+
+    /**
+     * Adds a field error in the {@code Errors in 'name':} format used by all record codecs.
+     *
+     * @param errors the errors collected so far, or {@code null} if there are none yet
+     * @return the tree holding the errors
+     */
+    public static ErrorTree fieldError(@Nullable ErrorTree errors, @Nullable String name, DataResult<?> result) {
+        if (errors == null) errors = new ErrorTree();
+        return errors.field(name, result);
+    }
+
+    /**
+     * Wraps a decoded value together with the errors collected while decoding it.
+     */
+    public static <T> DataResult<T> result(T value, @Nullable ErrorTree errors) {
+        return errors == null ? DataResult.success(value) : errors.toResult(value);
+    }
+
+    /**
+     * The result of a {@link DecodeOptions#validateOnly() validating} decode, which has no value.
+     */
+    public static <T> DataResult<T> validated(@Nullable ErrorTree errors) {
+        return errors == null ? DataResult.success((T) null) : errors.toResult(null);
+    }
+
+    /**
+     * Reports a failed constructor call together with the errors collected before it.
+     */
+    public static <T> DataResult<T> failed(@Nullable ErrorTree errors, Throwable t) {
+        return (errors == null ? new ErrorTree() : errors).toFailure(t);
+    }
+}
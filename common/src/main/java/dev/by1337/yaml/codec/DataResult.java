@@ -224,23 +224,7 @@ public interface DataResult<T> {
      */
     default <R> DataResult<R> partial(R result) {
         if (hasResult()) throw new IllegalStateException("DataResult already has a result");
-        String error = error();
-        return new DataResult<R>() {
-            @Override
-            public @Nullable R result() {
-                return result;
-            }
-
-            @Override
-            public @Nullable String error() {
-                return error;
-            }
-
-            @Override
-            public String toString() {
-                return "DataResult{ result: '" + result() + "', error: '" + error() + "' }";
-            }
-        };
+        return new Failure<>(error(), result);
     }
 
     /**
@@ -257,22 +241,7 @@ public interface DataResult<T> {
      */
 
     static <T> DataResult<T> success(@Nullable final T result) {
-        return new DataResult<T>() {
-            @Override
-            public @Nullable T result() {
-                return result;
-            }
-
-            @Override
-            public @Nullable String error() {
-                return null;
-            }
-
-            @Override
-            public String toString() {
-                return "DataResult{ result: '" + result() + "', error: '" + error() + "' }";
-            }
-        };
+        return Success.of(result);
     }
 
     static <T> DataResult<T> success(final ThrowingSupplier<T> result) {
@@ -330,22 +299,7 @@ public interface DataResult<T> {
      * @return an error {@code DataResult}
      */
     static <T> DataResult<T> error(String message) {
-        return new DataResult<T>() {
-            @Override
-            public @Nullable T result() {
-                return null;
-            }
-
-            @Override
-            public String error() {
-                return message;
-            }
-
-            @Override
-            public String toString() {
-                return "DataResult{ result: 'null', error: '" + error() + "' }";
-            }
-        };
+        return new Failure<>(message, null);
     }
 
     /**
@@ -428,19 +382,7 @@ public interface DataResult<T> {
     default DataResult<T> mapError(Function<String, String> mapper) {
         String error = error();
         if (error == null) return this;
-        String msg = mapper.apply(error);
-        T res = result();
-        return new DataResult<T>() {
-            @Override
-            public @Nullable T result() {
-                return res;
-            }
-
-            @Override
-            public @Nullable String error() {
-                return msg;
-            }
-        };
+        return new Failure<>(mapper.apply(error), result());
     }
 
     @SuppressWarnings("unchecked")
@@ -0,0 +1,131 @@
+package dev.by1337.yaml.codec;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Collects the errors of {@link YamlCodec#decode(Object, DecodeContext)}, which returns decoded values directly
+ * instead of wrapping every value of the tree in a {@link DataResult}.
+ * <pre>{@code
+ * DecodeContext ctx = new DecodeContext();
+ * for (Object raw : sections) {
+ *     Menu menu = Menu.CODEC.decode(raw, ctx);
+ *     DataResult<?> error = ctx.takeError();
+ *     if (error != null) logger.warning(error.error());
+ * }
+ * }</pre>
+ * A codec reports its own errors and takes the errors of each child it decodes, so that it can nest them
+ * under the field name or element index, the same way {@link ErrorTree} does for {@code DataResult}s. A context is
+ * empty again after {@link #takeError()} or {@link #toResult(Object)} and can be reused, but not shared between
+ * threads.
+ */
+public final class DecodeContext {
+    private final DecodeOptions options;
+    private @Nullable DataResult<?> error;
+
+    public DecodeContext() {
+        this(DecodeOptions.DEFAULT);
+    }
+
+    public DecodeContext(DecodeOptions options) {
+        this.options = options;
+    }
+
+    /**
+     * Decodes with a fresh context and wraps the value and errors in a {@link DataResult}; the adapter used by
+     * codecs whose {@code decode(YamlValue)} is implemented over {@link YamlCodec#decode(Object, DecodeContext)}.
+     */
+    public static <T> DataResult<T> decode(YamlCodec<T> codec, @Nullable Object raw, DecodeOptions options) {
+        DecodeContext ctx = new DecodeContext(options);
+        T value = codec.decode(raw, ctx);
+        return ctx.toResult(value);
+    }
+
+    public DecodeOptions options() {
+        return options;
+    }
+
+    public boolean hasError() {
+        return error != null;
+    }
+
+    /**
+     * Changes whenever an error is reported, so comparing it before and after a call tells whether that call
+     * reported one, whatever was pending before:
+     * <pre>{@code
+     * Object before = ctx.errorState();
+     * int v = codec.decodeInt(raw, ctx);
+     * if (ctx.errorState() != before) return null;
+     * }</pre>
+     */
+    public @Nullable Object errorState() {
+        return error;
+    }
+
+    /**
+     * Reports an error message.
+     *
+     * @return {@code null}, so a codec can {@code return ctx.fail(...)}
+     */
+    public <T> @Nullable T fail(String message) {
+        report(DataResult.error(message));
+        return null;
+    }
+
+    /**
+     * Reports the error of {@code result}, if it has one. Its value, if any, is ignored.
+     */
+    public void report(DataResult<?> result) {
+        if (!result.hasError()) return;
+        if (error == null) {
+            error = result;
+        } else {
+            error = new ErrorTree().labeled("", error).labeled("", result).toResult(null);
+        }
+    }
+
+    public void report(ErrorTree errors) {
+        report(errors.toResult(null));
+    }
+
+    /**
+     * @return the errors reported since the last call as an error result, or {@code null} if there are none
+     */
+    public @Nullable DataResult<?> takeError() {
+        DataResult<?> e = error;
+        error = null;
+        return e;
+    }
+
+    /**
+     * Puts back errors taken with {@link #takeError()}, ahead of those reported since. A codec that takes the error
+     * of each child takes whatever was pending on entry first, and restores it before returning:
+     * <pre>{@code
+     * DataResult<?> pending = ctx.takeError();
+     * ... decode the children, calling ctx.takeError() after each ...
+     * ctx.restore(pending);
+     * }</pre>
+     */
+    public void restore(@Nullable DataResult<?> taken) {
+        if (taken == null) return;
+        DataResult<?> since = error;
+        error = null;
+        report(taken);
+        if (since != null) report(since);
+    }
+
+    /**
+     * Takes the reported errors and wraps them together with {@code value}.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> DataResult<T> toResult(@Nullable T value) {
+        DataResult<?> e = takeError();
+        if (e == null) return DataResult.success(value);
+        if (e.result() == value) return (DataResult<T>) e;
+        return new ErrorTree().labeled("", e).toResult(value);
+    }
+
+    @Override
+    public String toString() {
+        return "DecodeContext{options=" + options + ", error=" + error + '}';
+    }
+}
@@ -0,0 +1,57 @@
+package dev.by1337.yaml.codec;
+
+/**
+ * How much work {@link YamlCodec#decode(dev.by1337.yaml.YamlValue, DecodeOptions)} does.
+ * <pre>{@code
+ * // CI or /reload: is every config valid?
+ * DataResult<Menu> result = Menu.CODEC.decode(YamlValue.wrap(config.getRaw()), DecodeOptions.FAIL_FAST_VALIDATE);
+ * if (result.hasError()) logger.warning(file + ": " + result.error());
+ * }</pre>
+ * The list, map, record and pipeline codecs honour the options and pass them on to their element and field
+ * codecs. Other codecs decode as usual, which is always a correct if slower way to validate.
+ */
+public final class DecodeOptions {
+    /**
+     * Decodes everything and collects every error, same as {@link YamlCodec#decode(dev.by1337.yaml.YamlValue)}.
+     */
+    public static final DecodeOptions DEFAULT = new DecodeOptions(false, false);
+    /**
+     * Stops at the first error and returns it without a partial value.
+     */
+    public static final DecodeOptions FAIL_FAST = new DecodeOptions(true, false);
+    /**
+     * Collects every error but builds no lists, maps or records; a result decoded this way is only good for
+     * its errors and may or may not have a value. Checks done by record constructors are skipped along with them.
+     */
+    public static final DecodeOptions VALIDATE_ONLY = new DecodeOptions(false, true);
+    /**
+     * {@link #VALIDATE_ONLY} that stops at the first error.
+     */
+    public static final DecodeOptions FAIL_FAST_VALIDATE = new DecodeOptions(true, true);
+
+    private final boolean failFast;
+    private final boolean validateOnly;
+
+    private DecodeOptions(boolean failFast, boolean validateOnly) {
+        this.failFast = failFast;
+        this.validateOnly = validateOnly;
+    }
+
+    public static DecodeOptions of(boolean failFast, boolean validateOnly) {
+        if (failFast) return validateOnly ? FAIL_FAST_VALIDATE : FAIL_FAST;
+        return validateOnly ? VALIDATE_ONLY : DEFAULT;
+    }
+
+    public boolean failFast() {
+        return failFast;
+    }
+
+    public boolean validateOnly() {
+        return validateOnly;
+    }
+
+    @Override
+    public String toString() {
+        return "DecodeOptions{failFast=" + failFast + ", validateOnly=" + validateOnly + '}';
+    }
+}
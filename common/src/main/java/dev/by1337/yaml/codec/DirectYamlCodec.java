@@ -0,0 +1,35 @@
+package dev.by1337.yaml.codec;
+
+import dev.by1337.yaml.YamlValue;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Base for codecs that implement {@link #decode(Object, DecodeContext)} natively. The {@link DataResult} returning
+ * {@code decode} methods are thin adapters over it, so a tree of such codecs creates one result for the whole
+ * decode rather than one per value.
+ */
+public abstract class DirectYamlCodec<T> implements YamlCodec<T> {
+
+    @Override
+    public abstract @Nullable T decode(@Nullable Object raw, DecodeContext ctx);
+
+    @Override
+    public DataResult<T> decode(YamlValue value) {
+        return DecodeContext.decode(this, value.getValue(), DecodeOptions.DEFAULT);
+    }
+
+    @Override
+    public DataResult<T> decode(YamlValue value, DecodeOptions options) {
+        return DecodeContext.decode(this, value.getValue(), options);
+    }
+
+    @Override
+    public DataResult<T> decode(Object value) {
+        return DecodeContext.decode(this, value, DecodeOptions.DEFAULT);
+    }
+
+    @Override
+    public DataResult<T> decode(Object value, DecodeOptions options) {
+        return DecodeContext.decode(this, value, options);
+    }
+}
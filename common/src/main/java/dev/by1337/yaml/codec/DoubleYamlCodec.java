@@ -0,0 +1,28 @@
+package dev.by1337.yaml.codec;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A {@code Double} codec that can also decode without boxing.
+ * <p>
+ * There are no default methods here on purpose: a class implementing an interface with default methods initializes
+ * it, so {@link #INSTANCE} would be read while {@link YamlCodec} is still creating it.
+ */
+public interface DoubleYamlCodec extends YamlCodec<Double> {
+    /**
+     * The codec behind {@link YamlCodec#DOUBLE}.
+     */
+    DoubleYamlCodec INSTANCE = (DoubleYamlCodec) YamlCodec.DOUBLE;
+
+    /**
+     * @return the decoded value, or {@code 0} after reporting an error to {@code ctx}
+     */
+    double decodeDouble(@Nullable Object raw, DecodeContext ctx);
+
+    /**
+     * @return a codec for {@code double[]} that decodes each element with {@link #decodeDouble}
+     */
+    static YamlCodec<double[]> arrayOf(DoubleYamlCodec element) {
+        return new PrimitiveArrayCodec.OfDouble(element);
+    }
+}
@@ -0,0 +1,245 @@
+package dev.by1337.yaml.codec;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The errors collected while decoding a collection or a record, kept as nodes that point at the failed
+ * child results and rendered to text only when {@link DataResult#error()} is called.
+ * <p>
+ * Building the message eagerly made every level re-indent the whole text below it, so deep error trees were
+ * quadratic to build even when the caller only checked {@link DataResult#hasError()}. Rendering walks the tree
+ * once and produces exactly the text the eager code did:
+ * <pre>
+ * Errors in 'items':
+ *   - [0] Errors in 'amount':
+ *       - For input string: "many"
+ * </pre>
+ */
+@ApiStatus.Internal
+public final class ErrorTree {
+    private static final byte SECTION = 0, ELEMENT = 1, LABELED = 2, LINE = 3;
+
+    private @Nullable Node head;
+    private @Nullable Node tail;
+    private @Nullable Throwable failure;
+    private @Nullable String rendered;
+
+    /**
+     * {@code Errors in 'name':} followed by the error indented as a list item.
+     */
+    public ErrorTree field(@Nullable Object name, DataResult<?> error) {
+        return add(new Node(SECTION, name, error, null));
+    }
+
+    /**
+     * {@code Errors in 'key':} followed by the key and value errors, either of which may be missing.
+     */
+    public ErrorTree entry(@Nullable Object key, @Nullable DataResult<?> keyError, @Nullable DataResult<?> valueError) {
+        return keyError == null || !keyError.hasError()
+                ? add(new Node(SECTION, key, valueError, null))
+                : add(new Node(SECTION, key, keyError, valueError != null && valueError.hasError() ? valueError : null));
+    }
+
+    /**
+     * {@code [index] } followed by the error.
+     */
+    public ErrorTree element(int index, DataResult<?> error) {
+        return add(new Node(ELEMENT, index, error, null));
+    }
+
+    /**
+     * {@code label} followed by the error.
+     */
+    public ErrorTree labeled(String label, DataResult<?> error) {
+        return add(new Node(LABELED, label, error, null));
+    }
+
+    /**
+     * The error on a line of its own, with any further lines indented.
+     */
+    public ErrorTree line(DataResult<?> error) {
+        return add(new Node(LINE, null, error, null));
+    }
+
+    public boolean isEmpty() {
+        return head == null;
+    }
+
+    /**
+     * @return an error result holding {@code value} as its partial result, or none if it is {@code null}
+     */
+    public <T> DataResult<T> toResult(@Nullable T value) {
+        return new Result<>(value, this);
+    }
+
+    /**
+     * @return an error result with the stack trace of {@code t} after the collected errors, the same text
+     * {@link DataResult#error(String, Throwable, Object...)} produces
+     */
+    public <T> DataResult<T> toFailure(Throwable t) {
+        failure = t;
+        return new Result<>(null, this);
+    }
+
+    private ErrorTree add(Node node) {
+        if (tail == null) {
+            head = node;
+        } else {
+            tail.next = node;
+        }
+        tail = node;
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        String s = rendered;
+        if (s == null) {
+            StringBuilder sb = new StringBuilder();
+            render(sb, "");
+            rendered = s = sb.toString();
+        }
+        return s;
+    }
+
+    /**
+     * @param indent inserted after every line break, so this tree can be rendered straight into its parent
+     */
+    private void render(StringBuilder sb, String indent) {
+        if (rendered != null) {
+            append(sb, rendered, indent);
+            return;
+        }
+        for (Node node = head; node != null; node = node.next) {
+            if (node != head) sb.append('\n').append(indent);
+            switch (node.kind) {
+                case SECTION -> {
+                    sb.append("Errors in '").append(node.label).append("':");
+                    String nested = indent + "    ";
+                    if (node.first != null) {
+                        sb.append('\n').append(indent).append("  - ");
+                        render(sb, node.first, nested);
+                    }
+                    if (node.second != null) {
+                        sb.append('\n').append(indent).append("  - ");
+                        render(sb, node.second, nested);
+                    }
+                }
+                case ELEMENT -> {
+                    sb.append('[').append(node.label).append("] ");
+                    render(sb, node.first, indent);
+                }
+                case LABELED -> {
+                    sb.append(node.label);
+                    render(sb, node.first, indent);
+                }
+                default -> render(sb, node.first, indent + "    ");
+            }
+        }
+        if (failure != null) {
+            sb.append('\n').append(indent);
+            append(sb, MessageFormatter.throwableToString(failure), indent);
+        }
+    }
+
+    private static void render(StringBuilder sb, DataResult<?> error, String indent) {
+        if (error instanceof Result<?> result) {
+            result.errors.render(sb, indent);
+        } else {
+            append(sb, error.error(), indent);
+        }
+    }
+
+    private static void append(StringBuilder sb, @Nullable String text, String indent) {
+        if (text == null) {
+            sb.append("null");
+            return;
+        }
+        if (indent.isEmpty()) {
+            sb.append(text);
+            return;
+        }
+        int start = 0;
+        for (int i; (i = text.indexOf('\n', start)) != -1; start = i + 1) {
+            sb.append(text, start, i + 1).append(indent);
+        }
+        sb.append(text, start, text.length());
+    }
+
+    private static final class Node {
+        final byte kind;
+        final @Nullable Object label;
+        final DataResult<?> first;
+        final @Nullable DataResult<?> second;
+        @Nullable Node next;
+
+        Node(byte kind, @Nullable Object label, DataResult<?> first, @Nullable DataResult<?> second) {
+            this.kind = kind;
+            this.label = label;
+            this.first = first;
+            this.second = second;
+        }
+    }
+
+    /**
+     * Keeps the tree through {@code map}, {@code flatMap} and {@code partial} instead of rendering it.
+     */
+    private static final class Result<T> implements DataResult<T> {
+        private final @Nullable T value;
+        private final ErrorTree errors;
+
+        Result(@Nullable T value, ErrorTree errors) {
+            this.value = value;
+            this.errors = errors;
+        }
+
+        @Override
+        public @Nullable T result() {
+            return value;
+        }
+
+        @Override
+        public String error() {
+            return errors.toString();
+        }
+
+        @Override
+        public boolean hasError() {
+            return true;
+        }
+
+        @Override
+        public <R> DataResult<R> partial(R result) {
+            if (value != null) throw new IllegalStateException("DataResult already has a result");
+            return new Result<>(result, errors);
+        }
+
+        @Override
+        public <R> DataResult<R> map(ThrowingFunction<? super T, ? extends R> mapper) {
+            if (value == null) return new Result<>(null, errors);
+            try {
+                return new Result<>(mapper.apply(value), errors);
+            } catch (Throwable e) {
+                return DataResult.error("Failed to map value!", e);
+            }
+        }
+
+        @Override
+        public <R> DataResult<R> flatMap(ThrowingFunction<? super T, DataResult<? extends R>> mapper) {
+            if (value == null) return new Result<>(null, errors);
+            try {
+                DataResult<R> v = mapper.apply(value).widen();
+                if (v.hasResult() && !v.hasError()) return new Result<>(v.result(), errors);
+                return v;
+            } catch (Throwable e) {
+                return DataResult.error("Failed to map data result!", e);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "DataResult{ result: '" + value + "', error: '" + error() + "' }";
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package dev.by1337.yaml.codec;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.function.Function;
+
+/**
+ * The result of {@link DataResult#error(String)}, with a partial value once {@link #partial} is called.
+ * Mapping an error without a value returns {@code this} instead of copying the message into a new result.
+ */
+final class Failure<T> implements DataResult<T> {
+    private final @Nullable String message;
+    private final @Nullable T value;
+
+    Failure(@Nullable String message, @Nullable T value) {
+        this.message = message;
+        this.value = value;
+    }
+
+    @Override
+    public @Nullable T result() {
+        return value;
+    }
+
+    @Override
+    public @Nullable String error() {
+        return message;
+    }
+
+    @Override
+    public boolean hasResult() {
+        return value != null;
+    }
+
+    @Override
+    public boolean hasError() {
+        return message != null;
+    }
+
+    @Override
+    public <R> DataResult<R> partial(R result) {
+        if (value != null) throw new IllegalStateException("DataResult already has a result");
+        return new Failure<>(message, result);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <R> DataResult<R> map(ThrowingFunction<? super T, ? extends R> mapper) {
+        if (value == null) {
+            return message == null ? DataResult.error("Failed to map null! mapper: " + mapper.getClass()) : (DataResult<R>) this;
+        }
+        try {
+            return new Failure<>(message, mapper.apply(value));
+        } catch (Throwable e) {
+            return DataResult.error("Failed to map value!", e);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <R> DataResult<R> flatMap(ThrowingFunction<? super T, DataResult<? extends R>> mapper) {
+        if (value == null) {
+            return message == null ? DataResult.error("Failed to map null! mapper: " + mapper.getClass()) : (DataResult<R>) this;
+        }
+        try {
+            DataResult<R> v = mapper.apply(value).widen();
+            if (message != null && v.hasResult() && !v.hasError()) return new Failure<>(message, v.result());
+            return v;
+        } catch (Throwable e) {
+            return DataResult.error("Failed to map data result!", e);
+        }
+    }
+
+    @Override
+    public DataResult<T> mapError(Function<String, String> mapper) {
+        if (message == null) return this;
+        return new Failure<>(mapper.apply(message), value);
+    }
+
+    @Override
+    public String toString() {
+        return "DataResult{ result: '" + value + "', error: '" + message + "' }";
+    }
+}
@@ -0,0 +1,111 @@
+package dev.by1337.yaml.codec;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A precompiled {@code InlineYamlCodecBuilder} separator.
+ * <p>
+ * Produces exactly the tokens {@link String#split(String)} would, but as {@code [begin, end)} bounds into
+ * the scanned string instead of substrings. Single-character separators (the same ones {@code String.split}
+ * special-cases) are scanned with {@code indexOf}, anything else goes through a compiled {@link Pattern}.
+ */
+abstract class InlineSeparator {
+
+    static InlineSeparator of(String regex) {
+        char ch = 0;
+        if (((regex.length() == 1 && ".$|()[{^?*+\\".indexOf(ch = regex.charAt(0)) == -1) ||
+                (regex.length() == 2 && regex.charAt(0) == '\\' && !Character.isLetterOrDigit(ch = regex.charAt(1)) && ch < 128)) &&
+                !Character.isSurrogate(ch)) {
+            return new CharSeparator(ch);
+        }
+        return new PatternSeparator(Pattern.compile(regex));
+    }
+
+    /**
+     * @param count the number of tokens expected
+     * @return {@code count} pairs of token bounds, or {@code null} if {@code String.split} would have
+     * produced a different number of tokens
+     */
+    abstract int @Nullable [] split(String s, int count);
+
+    private static final class CharSeparator extends InlineSeparator {
+        private final char separator;
+
+        CharSeparator(char separator) {
+            this.separator = separator;
+        }
+
+        @Override
+        int @Nullable [] split(String s, int count) {
+            int[] bounds = new int[count * 2];
+            int token = 0;
+            int last = -1;
+            int start = 0;
+            int end;
+            while ((end = s.indexOf(separator, start)) != -1) {
+                if (!tokenAt(bounds, token, start, end, count)) return null;
+                if (end != start) last = token;
+                token++;
+                start = end + 1;
+            }
+            if (token == 0) {
+                // no separator at all, String.split returns the input as is
+                return count == 1 ? new int[]{0, s.length()} : null;
+            }
+            if (!tokenAt(bounds, token, start, s.length(), count)) return null;
+            if (s.length() != start) last = token;
+            return last + 1 == count ? bounds : null;
+        }
+    }
+
+    private static final class PatternSeparator extends InlineSeparator {
+        private final Pattern pattern;
+
+        PatternSeparator(Pattern pattern) {
+            this.pattern = pattern;
+        }
+
+        @Override
+        int @Nullable [] split(String s, int count) {
+            int[] bounds = new int[count * 2];
+            Matcher matcher = pattern.matcher(s);
+            int token = 0;
+            int last = -1;
+            int start = 0;
+            boolean matched = false;
+            while (matcher.find()) {
+                // a zero-width match at the very beginning never yields a leading empty token
+                if (start == 0 && matcher.start() == 0 && matcher.end() == 0) continue;
+                matched = true;
+                if (!tokenAt(bounds, token, start, matcher.start(), count)) return null;
+                if (matcher.start() != start) last = token;
+                token++;
+                start = matcher.end();
+            }
+            if (!matched) {
+                return count == 1 ? new int[]{0, s.length()} : null;
+            }
+            if (!tokenAt(bounds, token, start, s.length(), count)) return null;
+            if (s.length() != start) last = token;
+            return last + 1 == count ? bounds : null;
+        }
+    }
+
+    /**
+     * Stores a token's bounds if it is one of the expected ones.
+     *
+     * @return {@code false} if the token is a non-empty one past {@code count}, so the split can stop early
+     */
+    private static boolean tokenAt(int[] bounds, int token, int begin, int end, int count) {
+        if (token < count) {
+            bounds[token * 2] = begin;
+            bounds[token * 2 + 1] = end;
+            return true;
+        }
+        // empty tokens past the expected ones are fine as long as they turn out to be trailing
+        return begin == end;
+    }
+}
@@ -1,52 +1,22 @@
 package dev.by1337.yaml.codec;
 
 import dev.by1337.yaml.YamlValue;
+import dev.by1337.yaml.util.Primitives;
+import org.jetbrains.annotations.Nullable;
 
 public class InlineYamlCodecBuilder {
 
-    private static <T> T doDecode(Object obj, YamlField<?, T> field, StringBuilder error) {
-        DataResult<T> t = field.codec.decode(obj);
-        if (t.hasError()) {
-            error.append(t.error().replace("\n", "\n    ")).append("\n");
-        }
-        return t.orDefault(field.defaultValue);
-    }
-
     public static <T, F0, F1> YamlCodec<T> inline(
             String regex,
             String expectedExample,
             Function2<F0, F1, T> creator,
             YamlField<T, F0> f0,
             YamlField<T, F1> f1) {
-        return new InlineCodec<>(regex, expectedExample) {
+        return new InlineCodec<T>(regex, expectedExample, f0, f1) {
             @Override
-            public DataResult<T> decode(YamlValue value) {
-                return value.decode(YamlCodec.STRING).flatMap(s -> {
-                    String[] args = s.split(regex);
-                    if (args.length != 2) {
-                        return DataResult.error("Expected ‘{}’, but got ‘{}’.", expectedExample, s);
-                    }
-                    StringBuilder error = new StringBuilder();
-                    F0 p0 = doDecode(args[0], f0, error);
-                    F1 p1 = doDecode(args[1], f1, error);
-                    if (!error.isEmpty()) {
-                        error.setLength(error.length() - 1);
-                    }
-                    return DataResult.accept(
-                            () -> creator.apply(p0, p1),
-                            t -> DataResult.error(error.toString(), t),
-                            error.isEmpty() ? null : error.toString()
-                    ).mapErrorIfHas(err -> err + "\n" + "Expected ‘" + expectedExample + "’, but got ‘" + s + "’.");
-                });
-            }
-
-            @SuppressWarnings({"rawtypes"})
-            private final YamlField[] fields = new YamlField[]{f0, f1};
-
-            @Override
-            @SuppressWarnings({"rawtypes"})
-            protected YamlField[] getFields() {
-                return fields;
+            @SuppressWarnings("unchecked")
+            protected T create(Object[] args) {
+                return creator.apply((F0) args[0], (F1) args[1]);
             }
         };
     }
@@ -58,36 +28,11 @@ public class InlineYamlCodecBuilder {
             YamlField<T, F0> f0,
             YamlField<T, F1> f1,
             YamlField<T, F2> f2) {
-        return new InlineCodec<>(regex, expectedExample) {
-            @Override
-            public DataResult<T> decode(YamlValue value) {
-                return value.decode(YamlCodec.STRING).flatMap(s -> {
-                    String[] args = s.split(regex);
-                    if (args.length != 3) {
-                        return DataResult.error("Expected ‘{}’, but got ‘{}’.", expectedExample, s);
-                    }
-                    StringBuilder error = new StringBuilder();
-                    F0 p0 = doDecode(args[0], f0, error);
-                    F1 p1 = doDecode(args[1], f1, error);
-                    F2 p2 = doDecode(args[2], f2, error);
-                    if (!error.isEmpty()) {
-                        error.setLength(error.length() - 1);
-                    }
-                    return DataResult.accept(
-                            () -> creator.apply(p0, p1, p2),
-                            t -> DataResult.error(error.toString(), t),
-                            error.isEmpty() ? null : error.toString()
-                    ).mapErrorIfHas(err -> err + "\n" + "Expected ‘" + expectedExample + "’, but got ‘" + s + "’.");
-                });
-            }
-
-            @SuppressWarnings({"rawtypes"})
-            private final YamlField[] fields = new YamlField[]{f0, f1, f2};
-
+        return new InlineCodec<T>(regex, expectedExample, f0, f1, f2) {
             @Override
-            @SuppressWarnings({"rawtypes"})
-            protected YamlField[] getFields() {
-                return fields;
+            @SuppressWarnings("unchecked")
+            protected T create(Object[] args) {
+                return creator.apply((F0) args[0], (F1) args[1], (F2) args[2]);
             }
         };
     }
@@ -100,37 +45,11 @@ public class InlineYamlCodecBuilder {
             YamlField<T, F1> f1,
             YamlField<T, F2> f2,
             YamlField<T, F3> f3) {
-        return new InlineCodec<>(regex, expectedExample) {
+        return new InlineCodec<T>(regex, expectedExample, f0, f1, f2, f3) {
             @Override
-            public DataResult<T> decode(YamlValue value) {
-                return value.decode(YamlCodec.STRING).flatMap(s -> {
-                    String[] args = s.split(regex);
-                    if (args.length != 4) {
-                        return DataResult.error("Expected ‘{}’, but got ‘{}’.", expectedExample, s);
-                    }
-                    StringBuilder error = new StringBuilder();
-                    F0 p0 = doDecode(args[0], f0, error);
-                    F1 p1 = doDecode(args[1], f1, error);
-                    F2 p2 = doDecode(args[2], f2, error);
-                    F3 p3 = doDecode(args[3], f3, error);
-                    if (!error.isEmpty()) {
-                        error.setLength(error.length() - 1);
-                    }
-                    return DataResult.accept(
-                            () -> creator.apply(p0, p1, p2, p3),
-                            t -> DataResult.error(error.toString(), t),
-                            error.isEmpty() ? null : error.toString()
-                    ).mapErrorIfHas(err -> err + "\n" + "Expected ‘" + expectedExample + "’, but got ‘" + s + "’.");
-                });
-            }
-
-            @SuppressWarnings({"rawtypes"})
-            private final YamlField[] fields = new YamlField[]{f0, f1, f2, f3};
-
-            @Override
-            @SuppressWarnings({"rawtypes"})
-            protected YamlField[] getFields() {
-                return fields;
+            @SuppressWarnings("unchecked")
+            protected T create(Object[] args) {
+                return creator.apply((F0) args[0], (F1) args[1], (F2) args[2], (F3) args[3]);
             }
         };
     }
@@ -144,38 +63,11 @@ public class InlineYamlCodecBuilder {
             YamlField<T, F2> f2,
             YamlField<T, F3> f3,
             YamlField<T, F4> f4) {
-        return new InlineCodec<>(regex, expectedExample) {
+        return new InlineCodec<T>(regex, expectedExample, f0, f1, f2, f3, f4) {
             @Override
-            public DataResult<T> decode(YamlValue value) {
-                return value.decode(YamlCodec.STRING).flatMap(s -> {
-                    String[] args = s.split(regex);
-                    if (args.length != 5) {
-                        return DataResult.error("Expected ‘{}’, but got ‘{}’.", expectedExample, s);
-                    }
-                    StringBuilder error = new StringBuilder();
-                    F0 p0 = doDecode(args[0], f0, error);
-                    F1 p1 = doDecode(args[1], f1, error);
-                    F2 p2 = doDecode(args[2], f2, error);
-                    F3 p3 = doDecode(args[3], f3, error);
-                    F4 p4 = doDecode(args[4], f4, error);
-                    if (!error.isEmpty()) {
-                        error.setLength(error.length() - 1);
-                    }
-                    return DataResult.accept(
-                            () -> creator.apply(p0, p1, p2, p3, p4),
-                            t -> DataResult.error(error.toString(), t),
-                            error.isEmpty() ? null : error.toString()
-                    ).mapErrorIfHas(err -> err + "\n" + "Expected ‘" + expectedExample + "’, but got ‘" + s + "’.");
-                });
-            }
-
-            @SuppressWarnings({"rawtypes"})
-            private final YamlField[] fields = new YamlField[]{f0, f1, f2, f3, f4};
-
-            @Override
-            @SuppressWarnings({"rawtypes"})
-            protected YamlField[] getFields() {
-                return fields;
+            @SuppressWarnings("unchecked")
+            protected T create(Object[] args) {
+                return creator.apply((F0) args[0], (F1) args[1], (F2) args[2], (F3) args[3], (F4) args[4]);
             }
         };
     }
@@ -190,39 +82,11 @@ public class InlineYamlCodecBuilder {
             YamlField<T, F3> f3,
             YamlField<T, F4> f4,
             YamlField<T, F5> f5) {
-        return new InlineCodec<>(regex, expectedExample) {
-            @Override
-            public DataResult<T> decode(YamlValue value) {
-                return value.decode(YamlCodec.STRING).flatMap(s -> {
-                    String[] args = s.split(regex);
-                    if (args.length != 6) {
-                        return DataResult.error("Expected ‘{}’, but got ‘{}’.", expectedExample, s);
-                    }
-                    StringBuilder error = new StringBuilder();
-                    F0 p0 = doDecode(args[0], f0, error);
-                    F1 p1 = doDecode(args[1], f1, error);
-                    F2 p2 = doDecode(args[2], f2, error);
-                    F3 p3 = doDecode(args[3], f3, error);
-                    F4 p4 = doDecode(args[4], f4, error);
-                    F5 p5 = doDecode(args[5], f5, error);
-                    if (!error.isEmpty()) {
-                        error.setLength(error.length() - 1);
-                    }
-                    return DataResult.accept(
-                            () -> creator.apply(p0, p1, p2, p3, p4, p5),
-                            t -> DataResult.error(error.toString(), t),
-                            error.isEmpty() ? null : error.toString()
-                    ).mapErrorIfHas(err -> err + "\n" + "Expected ‘" + expectedExample + "’, but got ‘" + s + "’.");
-                });
-            }
-
-            @SuppressWarnings({"rawtypes"})
-            private final YamlField[] fields = new YamlField[]{f0, f1, f2, f3, f4, f5};
-
+        return new InlineCodec<T>(regex, expectedExample, f0, f1, f2, f3, f4, f5) {
             @Override
-            @SuppressWarnings({"rawtypes"})
-            protected YamlField[] getFields() {
-                return fields;
+            @SuppressWarnings("unchecked")
+            protected T create(Object[] args) {
+                return creator.apply((F0) args[0], (F1) args[1], (F2) args[2], (F3) args[3], (F4) args[4], (F5) args[5]);
             }
         };
     }
@@ -238,40 +102,11 @@ public class InlineYamlCodecBuilder {
             YamlField<T, F4> f4,
             YamlField<T, F5> f5,
             YamlField<T, F6> f6) {
-        return new InlineCodec<>(regex, expectedExample) {
-            @Override
-            public DataResult<T> decode(YamlValue value) {
-                return value.decode(YamlCodec.STRING).flatMap(s -> {
-                    String[] args = s.split(regex);
-                    if (args.length != 7) {
-                        return DataResult.error("Expected ‘{}’, but got ‘{}’.", expectedExample, s);
-                    }
-                    StringBuilder error = new StringBuilder();
-                    F0 p0 = doDecode(args[0], f0, error);
-                    F1 p1 = doDecode(args[1], f1, error);
-                    F2 p2 = doDecode(args[2], f2, error);
-                    F3 p3 = doDecode(args[3], f3, error);
-                    F4 p4 = doDecode(args[4], f4, error);
-                    F5 p5 = doDecode(args[5], f5, error);
-                    F6 p6 = doDecode(args[6], f6, error);
-                    if (!error.isEmpty()) {
-                        error.setLength(error.length() - 1);
-                    }
-                    return DataResult.accept(
-                            () -> creator.apply(p0, p1, p2, p3, p4, p5, p6),
-                            t -> DataResult.error(error.toString(), t),
-                            error.isEmpty() ? null : error.toString()
-                    ).mapErrorIfHas(err -> err + "\n" + "Expected ‘" + expectedExample + "’, but got ‘" + s + "’.");
-                });
-            }
-
-            @SuppressWarnings({"rawtypes"})
-            private final YamlField[] fields = new YamlField[]{f0, f1, f2, f3, f4, f5, f6};
-
+        return new InlineCodec<T>(regex, expectedExample, f0, f1, f2, f3, f4, f5, f6) {
             @Override
-            @SuppressWarnings({"rawtypes"})
-            protected YamlField[] getFields() {
-                return fields;
+            @SuppressWarnings("unchecked")
+            protected T create(Object[] args) {
+                return creator.apply((F0) args[0], (F1) args[1], (F2) args[2], (F3) args[3], (F4) args[4], (F5) args[5], (F6) args[6]);
             }
         };
     }
@@ -288,41 +123,11 @@ public class InlineYamlCodecBuilder {
             YamlField<T, F5> f5,
             YamlField<T, F6> f6,
             YamlField<T, F7> f7) {
-        return new InlineCodec<>(regex, expectedExample) {
+        return new InlineCodec<T>(regex, expectedExample, f0, f1, f2, f3, f4, f5, f6, f7) {
             @Override
-            public DataResult<T> decode(YamlValue value) {
-                return value.decode(YamlCodec.STRING).flatMap(s -> {
-                    String[] args = s.split(regex);
-                    if (args.length != 8) {
-                        return DataResult.error("Expected ‘{}’, but got ‘{}’.", expectedExample, s);
-                    }
-                    StringBuilder error = new StringBuilder();
-                    F0 p0 = doDecode(args[0], f0, error);
-                    F1 p1 = doDecode(args[1], f1, error);
-                    F2 p2 = doDecode(args[2], f2, error);
-                    F3 p3 = doDecode(args[3], f3, error);
-                    F4 p4 = doDecode(args[4], f4, error);
-                    F5 p5 = doDecode(args[5], f5, error);
-                    F6 p6 = doDecode(args[6], f6, error);
-                    F7 p7 = doDecode(args[7], f7, error);
-                    if (!error.isEmpty()) {
-                        error.setLength(error.length() - 1);
-                    }
-                    return DataResult.accept(
-                            () -> creator.apply(p0, p1, p2, p3, p4, p5, p6, p7),
-                            t -> DataResult.error(error.toString(), t),
-                            error.isEmpty() ? null : error.toString()
-                    ).mapErrorIfHas(err -> err + "\n" + "Expected ‘" + expectedExample + "’, but got ‘" + s + "’.");
-                });
-            }
-
-            @SuppressWarnings({"rawtypes"})
-            private final YamlField[] fields = new YamlField[]{f0, f1, f2, f3, f4, f5, f6, f7};
-
-            @Override
-            @SuppressWarnings({"rawtypes"})
-            protected YamlField[] getFields() {
-                return fields;
+            @SuppressWarnings("unchecked")
+            protected T create(Object[] args) {
+                return creator.apply((F0) args[0], (F1) args[1], (F2) args[2], (F3) args[3], (F4) args[4], (F5) args[5], (F6) args[6], (F7) args[7]);
             }
         };
     }
@@ -340,42 +145,11 @@ public class InlineYamlCodecBuilder {
             YamlField<T, F6> f6,
             YamlField<T, F7> f7,
             YamlField<T, F8> f8) {
-        return new InlineCodec<>(regex, expectedExample) {
-            @Override
-            public DataResult<T> decode(YamlValue value) {
-                return value.decode(YamlCodec.STRING).flatMap(s -> {
-                    String[] args = s.split(regex);
-                    if (args.length != 9) {
-                        return DataResult.error("Expected ‘{}’, but got ‘{}’.", expectedExample, s);
-                    }
-                    StringBuilder error = new StringBuilder();
-                    F0 p0 = doDecode(args[0], f0, error);
-                    F1 p1 = doDecode(args[1], f1, error);
-                    F2 p2 = doDecode(args[2], f2, error);
-                    F3 p3 = doDecode(args[3], f3, error);
-                    F4 p4 = doDecode(args[4], f4, error);
-                    F5 p5 = doDecode(args[5], f5, error);
-                    F6 p6 = doDecode(args[6], f6, error);
-                    F7 p7 = doDecode(args[7], f7, error);
-                    F8 p8 = doDecode(args[8], f8, error);
-                    if (!error.isEmpty()) {
-                        error.setLength(error.length() - 1);
-                    }
-                    return DataResult.accept(
-                            () -> creator.apply(p0, p1, p2, p3, p4, p5, p6, p7, p8),
-                            t -> DataResult.error(error.toString(), t),
-                            error.isEmpty() ? null : error.toString()
-                    ).mapErrorIfHas(err -> err + "\n" + "Expected ‘" + expectedExample + "’, but got ‘" + s + "’.");
-                });
-            }
-
-            @SuppressWarnings({"rawtypes"})
-            private final YamlField[] fields = new YamlField[]{f0, f1, f2, f3, f4, f5, f6, f7, f8};
-
+        return new InlineCodec<T>(regex, expectedExample, f0, f1, f2, f3, f4, f5, f6, f7, f8) {
             @Override
-            @SuppressWarnings({"rawtypes"})
-            protected YamlField[] getFields() {
-                return fields;
+            @SuppressWarnings("unchecked")
+            protected T create(Object[] args) {
+                return creator.apply((F0) args[0], (F1) args[1], (F2) args[2], (F3) args[3], (F4) args[4], (F5) args[5], (F6) args[6], (F7) args[7], (F8) args[8]);
             }
         };
     }
@@ -394,43 +168,11 @@ public class InlineYamlCodecBuilder {
             YamlField<T, F7> f7,
             YamlField<T, F8> f8,
             YamlField<T, F9> f9) {
-        return new InlineCodec<>(regex, expectedExample) {
-            @Override
-            public DataResult<T> decode(YamlValue value) {
-                return value.decode(YamlCodec.STRING).flatMap(s -> {
-                    String[] args = s.split(regex);
-                    if (args.length != 10) {
-                        return DataResult.error("Expected ‘{}’, but got ‘{}’.", expectedExample, s);
-                    }
-                    StringBuilder error = new StringBuilder();
-                    F0 p0 = doDecode(args[0], f0, error);
-                    F1 p1 = doDecode(args[1], f1, error);
-                    F2 p2 = doDecode(args[2], f2, error);
-                    F3 p3 = doDecode(args[3], f3, error);
-                    F4 p4 = doDecode(args[4], f4, error);
-                    F5 p5 = doDecode(args[5], f5, error);
-                    F6 p6 = doDecode(args[6], f6, error);
-                    F7 p7 = doDecode(args[7], f7, error);
-                    F8 p8 = doDecode(args[8], f8, error);
-                    F9 p9 = doDecode(args[9], f9, error);
-                    if (!error.isEmpty()) {
-                        error.setLength(error.length() - 1);
-                    }
-                    return DataResult.accept(
-                            () -> creator.apply(p0, p1, p2, p3, p4, p5, p6, p7, p8, p9),
-                            t -> DataResult.error(error.toString(), t),
-                            error.isEmpty() ? null : error.toString()
-                    ).mapErrorIfHas(err -> err + "\n" + "Expected ‘" + expectedExample + "’, but got ‘" + s + "’.");
-                });
-            }
-
-            @SuppressWarnings({"rawtypes"})
-            private final YamlField[] fields = new YamlField[]{f0, f1, f2, f3, f4, f5, f6, f7, f8, f9};
-
+        return new InlineCodec<T>(regex, expectedExample, f0, f1, f2, f3, f4, f5, f6, f7, f8, f9) {
             @Override
-            @SuppressWarnings({"rawtypes"})
-            protected YamlField[] getFields() {
-                return fields;
+            @SuppressWarnings("unchecked")
+            protected T create(Object[] args) {
+                return creator.apply((F0) args[0], (F1) args[1], (F2) args[2], (F3) args[3], (F4) args[4], (F5) args[5], (F6) args[6], (F7) args[7], (F8) args[8], (F9) args[9]);
             }
         };
     }
@@ -450,44 +192,11 @@ public class InlineYamlCodecBuilder {
             YamlField<T, F8> f8,
             YamlField<T, F9> f9,
             YamlField<T, F10> f10) {
-        return new InlineCodec<>(regex, expectedExample) {
+        return new InlineCodec<T>(regex, expectedExample, f0, f1, f2, f3, f4, f5, f6, f7, f8, f9, f10) {
             @Override
-            public DataResult<T> decode(YamlValue value) {
-                return value.decode(YamlCodec.STRING).flatMap(s -> {
-                    String[] args = s.split(regex);
-                    if (args.length != 11) {
-                        return DataResult.error("Expected ‘{}’, but got ‘{}’.", expectedExample, s);
-                    }
-                    StringBuilder error = new StringBuilder();
-                    F0 p0 = doDecode(args[0], f0, error);
-                    F1 p1 = doDecode(args[1], f1, error);
-                    F2 p2 = doDecode(args[2], f2, error);
-                    F3 p3 = doDecode(args[3], f3, error);
-                    F4 p4 = doDecode(args[4], f4, error);
-                    F5 p5 = doDecode(args[5], f5, error);
-                    F6 p6 = doDecode(args[6], f6, error);
-                    F7 p7 = doDecode(args[7], f7, error);
-                    F8 p8 = doDecode(args[8], f8, error);
-                    F9 p9 = doDecode(args[9], f9, error);
-                    F10 p10 = doDecode(args[10], f10, error);
-                    if (!error.isEmpty()) {
-                        error.setLength(error.length() - 1);
-                    }
-                    return DataResult.accept(
-                            () -> creator.apply(p0, p1, p2, p3, p4, p5, p6, p7, p8, p9, p10),
-                            t -> DataResult.error(error.toString(), t),
-                            error.isEmpty() ? null : error.toString()
-                    ).mapErrorIfHas(err -> err + "\n" + "Expected ‘" + expectedExample + "’, but got ‘" + s + "’.");
-                });
-            }
-
-            @SuppressWarnings({"rawtypes"})
-            private final YamlField[] fields = new YamlField[]{f0, f1, f2, f3, f4, f5, f6, f7, f8, f9, f10};
-
-            @Override
-            @SuppressWarnings({"rawtypes"})
-            protected YamlField[] getFields() {
-                return fields;
+            @SuppressWarnings("unchecked")
+            protected T create(Object[] args) {
+                return creator.apply((F0) args[0], (F1) args[1], (F2) args[2], (F3) args[3], (F4) args[4], (F5) args[5], (F6) args[6], (F7) args[7], (F8) args[8], (F9) args[9], (F10) args[10]);
             }
         };
     }
@@ -508,45 +217,11 @@ public class InlineYamlCodecBuilder {
             YamlField<T, F9> f9,
             YamlField<T, F10> f10,
             YamlField<T, F11> f11) {
-        return new InlineCodec<>(regex, expectedExample) {
+        return new InlineCodec<T>(regex, expectedExample, f0, f1, f2, f3, f4, f5, f6, f7, f8, f9, f10, f11) {
             @Override
-            public DataResult<T> decode(YamlValue value) {
-                return value.decode(YamlCodec.STRING).flatMap(s -> {
-                    String[] args = s.split(regex);
-                    if (args.length != 12) {
-                        return DataResult.error("Expected ‘{}’, but got ‘{}’.", expectedExample, s);
-                    }
-                    StringBuilder error = new StringBuilder();
-                    F0 p0 = doDecode(args[0], f0, error);
-                    F1 p1 = doDecode(args[1], f1, error);
-                    F2 p2 = doDecode(args[2], f2, error);
-                    F3 p3 = doDecode(args[3], f3, error);
-                    F4 p4 = doDecode(args[4], f4, error);
-                    F5 p5 = doDecode(args[5], f5, error);
-                    F6 p6 = doDecode(args[6], f6, error);
-                    F7 p7 = doDecode(args[7], f7, error);
-                    F8 p8 = doDecode(args[8], f8, error);
-                    F9 p9 = doDecode(args[9], f9, error);
-                    F10 p10 = doDecode(args[10], f10, error);
-                    F11 p11 = doDecode(args[11], f11, error);
-                    if (!error.isEmpty()) {
-                        error.setLength(error.length() - 1);
-                    }
-                    return DataResult.accept(
-                            () -> creator.apply(p0, p1, p2, p3, p4, p5, p6, p7, p8, p9, p10, p11),
-                            t -> DataResult.error(error.toString(), t),
-                            error.isEmpty() ? null : error.toString()
-                    ).mapErrorIfHas(err -> err + "\n" + "Expected ‘" + expectedExample + "’, but got ‘" + s + "’.");
-                });
-            }
-
-            @SuppressWarnings({"rawtypes"})
-            private final YamlField[] fields = new YamlField[]{f0, f1, f2, f3, f4, f5, f6, f7, f8, f9, f10, f11};
-
-            @Override
-            @SuppressWarnings({"rawtypes"})
-            protected YamlField[] getFields() {
-                return fields;
+            @SuppressWarnings("unchecked")
+            protected T create(Object[] args) {
+                return creator.apply((F0) args[0], (F1) args[1], (F2) args[2], (F3) args[3], (F4) args[4], (F5) args[5], (F6) args[6], (F7) args[7], (F8) args[8], (F9) args[9], (F10) args[10], (F11) args[11]);
             }
         };
     }
@@ -568,46 +243,11 @@ public class InlineYamlCodecBuilder {
             YamlField<T, F10> f10,
             YamlField<T, F11> f11,
             YamlField<T, F12> f12) {
-        return new InlineCodec<>(regex, expectedExample) {
+        return new InlineCodec<T>(regex, expectedExample, f0, f1, f2, f3, f4, f5, f6, f7, f8, f9, f10, f11, f12) {
             @Override
-            public DataResult<T> decode(YamlValue value) {
-                return value.decode(YamlCodec.STRING).flatMap(s -> {
-                    String[] args = s.split(regex);
-                    if (args.length != 13) {
-                        return DataResult.error("Expected ‘{}’, but got ‘{}’.", expectedExample, s);
-                    }
-                    StringBuilder error = new StringBuilder();
-                    F0 p0 = doDecode(args[0], f0, error);
-                    F1 p1 = doDecode(args[1], f1, error);
-                    F2 p2 = doDecode(args[2], f2, error);
-                    F3 p3 = doDecode(args[3], f3, error);
-                    F4 p4 = doDecode(args[4], f4, error);
-                    F5 p5 = doDecode(args[5], f5, error);
-                    F6 p6 = doDecode(args[6], f6, error);
-                    F7 p7 = doDecode(args[7], f7, error);
-                    F8 p8 = doDecode(args[8], f8, error);
-                    F9 p9 = doDecode(args[9], f9, error);
-                    F10 p10 = doDecode(args[10], f10, error);
-                    F11 p11 = doDecode(args[11], f11, error);
-                    F12 p12 = doDecode(args[12], f12, error);
-                    if (!error.isEmpty()) {
-                        error.setLength(error.length() - 1);
-                    }
-                    return DataResult.accept(
-                            () -> creator.apply(p0, p1, p2, p3, p4, p5, p6, p7, p8, p9, p10, p11, p12),
-                            t -> DataResult.error(error.toString(), t),
-                            error.isEmpty() ? null : error.toString()
-                    ).mapErrorIfHas(err -> err + "\n" + "Expected ‘" + expectedExample + "’, but got ‘" + s + "’.");
-                });
-            }
-
-            @SuppressWarnings({"rawtypes"})
-            private final YamlField[] fields = new YamlField[]{f0, f1, f2, f3, f4, f5, f6, f7, f8, f9, f10, f11, f12};
-
-            @Override
-            @SuppressWarnings({"rawtypes"})
-            protected YamlField[] getFields() {
-                return fields;
+            @SuppressWarnings("unchecked")
+            protected T create(Object[] args) {
+                return creator.apply((F0) args[0], (F1) args[1], (F2) args[2], (F3) args[3], (F4) args[4], (F5) args[5], (F6) args[6], (F7) args[7], (F8) args[8], (F9) args[9], (F10) args[10], (F11) args[11], (F12) args[12]);
             }
         };
     }
@@ -630,47 +270,11 @@ public class InlineYamlCodecBuilder {
             YamlField<T, F11> f11,
             YamlField<T, F12> f12,
             YamlField<T, F13> f13) {
-        return new InlineCodec<>(regex, expectedExample) {
-            @Override
-            public DataResult<T> decode(YamlValue value) {
-                return value.decode(YamlCodec.STRING).flatMap(s -> {
-                    String[] args = s.split(regex);
-                    if (args.length != 14) {
-                        return DataResult.error("Expected ‘{}’, but got ‘{}’.", expectedExample, s);
-                    }
-                    StringBuilder error = new StringBuilder();
-                    F0 p0 = doDecode(args[0], f0, error);
-                    F1 p1 = doDecode(args[1], f1, error);
-                    F2 p2 = doDecode(args[2], f2, error);
-                    F3 p3 = doDecode(args[3], f3, error);
-                    F4 p4 = doDecode(args[4], f4, error);
-                    F5 p5 = doDecode(args[5], f5, error);
-                    F6 p6 = doDecode(args[6], f6, error);
-                    F7 p7 = doDecode(args[7], f7, error);
-                    F8 p8 = doDecode(args[8], f8, error);
-                    F9 p9 = doDecode(args[9], f9, error);
-                    F10 p10 = doDecode(args[10], f10, error);
-                    F11 p11 = doDecode(args[11], f11, error);
-                    F12 p12 = doDecode(args[12], f12, error);
-                    F13 p13 = doDecode(args[13], f13, error);
-                    if (!error.isEmpty()) {
-                        error.setLength(error.length() - 1);
-                    }
-                    return DataResult.accept(
-                            () -> creator.apply(p0, p1, p2, p3, p4, p5, p6, p7, p8, p9, p10, p11, p12, p13),
-                            t -> DataResult.error(error.toString(), t),
-                            error.isEmpty() ? null : error.toString()
-                    ).mapErrorIfHas(err -> err + "\n" + "Expected ‘" + expectedExample + "’, but got ‘" + s + "’.");
-                });
-            }
-
-            @SuppressWarnings({"rawtypes"})
-            private final YamlField[] fields = new YamlField[]{f0, f1, f2, f3, f4, f5, f6, f7, f8, f9, f10, f11, f12, f13};
-
+        return new InlineCodec<T>(regex, expectedExample, f0, f1, f2, f3, f4, f5, f6, f7, f8, f9, f10, f11, f12, f13) {
             @Override
-            @SuppressWarnings({"rawtypes"})
-            protected YamlField[] getFields() {
-                return fields;
+            @SuppressWarnings("unchecked")
+            protected T create(Object[] args) {
+                return creator.apply((F0) args[0], (F1) args[1], (F2) args[2], (F3) args[3], (F4) args[4], (F5) args[5], (F6) args[6], (F7) args[7], (F8) args[8], (F9) args[9], (F10) args[10], (F11) args[11], (F12) args[12], (F13) args[13]);
             }
         };
     }
@@ -694,48 +298,11 @@ public class InlineYamlCodecBuilder {
             YamlField<T, F12> f12,
             YamlField<T, F13> f13,
             YamlField<T, F14> f14) {
-        return new InlineCodec<>(regex, expectedExample) {
+        return new InlineCodec<T>(regex, expectedExample, f0, f1, f2, f3, f4, f5, f6, f7, f8, f9, f10, f11, f12, f13, f14) {
             @Override
-            public DataResult<T> decode(YamlValue value) {
-                return value.decode(YamlCodec.STRING).flatMap(s -> {
-                    String[] args = s.split(regex);
-                    if (args.length != 15) {
-                        return DataResult.error("Expected ‘{}’, but got ‘{}’.", expectedExample, s);
-                    }
-                    StringBuilder error = new StringBuilder();
-                    F0 p0 = doDecode(args[0], f0, error);
-                    F1 p1 = doDecode(args[1], f1, error);
-                    F2 p2 = doDecode(args[2], f2, error);
-                    F3 p3 = doDecode(args[3], f3, error);
-                    F4 p4 = doDecode(args[4], f4, error);
-                    F5 p5 = doDecode(args[5], f5, error);
-                    F6 p6 = doDecode(args[6], f6, error);
-                    F7 p7 = doDecode(args[7], f7, error);
-                    F8 p8 = doDecode(args[8], f8, error);
-                    F9 p9 = doDecode(args[9], f9, error);
-                    F10 p10 = doDecode(args[10], f10, error);
-                    F11 p11 = doDecode(args[11], f11, error);
-                    F12 p12 = doDecode(args[12], f12, error);
-                    F13 p13 = doDecode(args[13], f13, error);
-                    F14 p14 = doDecode(args[14], f14, error);
-                    if (!error.isEmpty()) {
-                        error.setLength(error.length() - 1);
-                    }
-                    return DataResult.accept(
-                            () -> creator.apply(p0, p1, p2, p3, p4, p5, p6, p7, p8, p9, p10, p11, p12, p13, p14),
-                            t -> DataResult.error(error.toString(), t),
-                            error.isEmpty() ? null : error.toString()
-                    ).mapErrorIfHas(err -> err + "\n" + "Expected ‘" + expectedExample + "’, but got ‘" + s + "’.");
-                });
-            }
-
-            @SuppressWarnings({"rawtypes"})
-            private final YamlField[] fields = new YamlField[]{f0, f1, f2, f3, f4, f5, f6, f7, f8, f9, f10, f11, f12, f13, f14};
-
-            @Override
-            @SuppressWarnings({"rawtypes"})
-            protected YamlField[] getFields() {
-                return fields;
+            @SuppressWarnings("unchecked")
+            protected T create(Object[] args) {
+                return creator.apply((F0) args[0], (F1) args[1], (F2) args[2], (F3) args[3], (F4) args[4], (F5) args[5], (F6) args[6], (F7) args[7], (F8) args[8], (F9) args[9], (F10) args[10], (F11) args[11], (F12) args[12], (F13) args[13], (F14) args[14]);
             }
         };
     }
@@ -760,49 +327,11 @@ public class InlineYamlCodecBuilder {
             YamlField<T, F13> f13,
             YamlField<T, F14> f14,
             YamlField<T, F15> f15) {
-        return new InlineCodec<>(regex, expectedExample) {
+        return new InlineCodec<T>(regex, expectedExample, f0, f1, f2, f3, f4, f5, f6, f7, f8, f9, f10, f11, f12, f13, f14, f15) {
             @Override
-            public DataResult<T> decode(YamlValue value) {
-                return value.decode(YamlCodec.STRING).flatMap(s -> {
-                    String[] args = s.split(regex);
-                    if (args.length != 16) {
-                        return DataResult.error("Expected ‘{}’, but got ‘{}’.", expectedExample, s);
-                    }
-                    StringBuilder error = new StringBuilder();
-                    F0 p0 = doDecode(args[0], f0, error);
-                    F1 p1 = doDecode(args[1], f1, error);
-                    F2 p2 = doDecode(args[2], f2, error);
-                    F3 p3 = doDecode(args[3], f3, error);
-                    F4 p4 = doDecode(args[4], f4, error);
-                    F5 p5 = doDecode(args[5], f5, error);
-                    F6 p6 = doDecode(args[6], f6, error);
-                    F7 p7 = doDecode(args[7], f7, error);
-                    F8 p8 = doDecode(args[8], f8, error);
-                    F9 p9 = doDecode(args[9], f9, error);
-                    F10 p10 = doDecode(args[10], f10, error);
-                    F11 p11 = doDecode(args[11], f11, error);
-                    F12 p12 = doDecode(args[12], f12, error);
-                    F13 p13 = doDecode(args[13], f13, error);
-                    F14 p14 = doDecode(args[14], f14, error);
-                    F15 p15 = doDecode(args[15], f15, error);
-                    if (!error.isEmpty()) {
-                        error.setLength(error.length() - 1);
-                    }
-                    return DataResult.accept(
-                            () -> creator.apply(p0, p1, p2, p3, p4, p5, p6, p7, p8, p9, p10, p11, p12, p13, p14, p15),
-                            t -> DataResult.error(error.toString(), t),
-                            error.isEmpty() ? null : error.toString()
-                    ).mapErrorIfHas(err -> err + "\n" + "Expected ‘" + expectedExample + "’, but got ‘" + s + "’.");
-                });
-            }
-
-            @SuppressWarnings({"rawtypes"})
-            private final YamlField[] fields = new YamlField[]{f0, f1, f2, f3, f4, f5, f6, f7, f8, f9, f10, f11, f12, f13, f14, f15};
-
-            @Override
-            @SuppressWarnings({"rawtypes"})
-            protected YamlField[] getFields() {
-                return fields;
+            @SuppressWarnings("unchecked")
+            protected T create(Object[] args) {
+                return creator.apply((F0) args[0], (F1) args[1], (F2) args[2], (F3) args[3], (F4) args[4], (F5) args[5], (F6) args[6], (F7) args[7], (F8) args[8], (F9) args[9], (F10) args[10], (F11) args[11], (F12) args[12], (F13) args[13], (F14) args[14], (F15) args[15]);
             }
         };
     }
@@ -828,50 +357,11 @@ public class InlineYamlCodecBuilder {
             YamlField<T, F14> f14,
             YamlField<T, F15> f15,
             YamlField<T, F16> f16) {
-        return new InlineCodec<>(regex, expectedExample) {
+        return new InlineCodec<T>(regex, expectedExample, f0, f1, f2, f3, f4, f5, f6, f7, f8, f9, f10, f11, f12, f13, f14, f15, f16) {
             @Override
-            public DataResult<T> decode(YamlValue value) {
-                return value.decode(YamlCodec.STRING).flatMap(s -> {
-                    String[] args = s.split(regex);
-                    if (args.length != 17) {
-                        return DataResult.error("Expected ‘{}’, but got ‘{}’.", expectedExample, s);
-                    }
-                    StringBuilder error = new StringBuilder();
-                    F0 p0 = doDecode(args[0], f0, error);
-                    F1 p1 = doDecode(args[1], f1, error);
-                    F2 p2 = doDecode(args[2], f2, error);
-                    F3 p3 = doDecode(args[3], f3, error);
-                    F4 p4 = doDecode(args[4], f4, error);
-                    F5 p5 = doDecode(args[5], f5, error);
-                    F6 p6 = doDecode(args[6], f6, error);
-                    F7 p7 = doDecode(args[7], f7, error);
-                    F8 p8 = doDecode(args[8], f8, error);
-                    F9 p9 = doDecode(args[9], f9, error);
-                    F10 p10 = doDecode(args[10], f10, error);
-                    F11 p11 = doDecode(args[11], f11, error);
-                    F12 p12 = doDecode(args[12], f12, error);
-                    F13 p13 = doDecode(args[13], f13, error);
-                    F14 p14 = doDecode(args[14], f14, error);
-                    F15 p15 = doDecode(args[15], f15, error);
-                    F16 p16 = doDecode(args[16], f16, error);
-                    if (!error.isEmpty()) {
-                        error.setLength(error.length() - 1);
-                    }
-                    return DataResult.accept(
-                            () -> creator.apply(p0, p1, p2, p3, p4, p5, p6, p7, p8, p9, p10, p11, p12, p13, p14, p15, p16),
-                            t -> DataResult.error(error.toString(), t),
-                            error.isEmpty() ? null : error.toString()
-                    ).mapErrorIfHas(err -> err + "\n" + "Expected ‘" + expectedExample + "’, but got ‘" + s + "’.");
-                });
-            }
-
-            @SuppressWarnings({"rawtypes"})
-            private final YamlField[] fields = new YamlField[]{f0, f1, f2, f3, f4, f5, f6, f7, f8, f9, f10, f11, f12, f13, f14, f15, f16};
-
-            @Override
-            @SuppressWarnings({"rawtypes"})
-            protected YamlField[] getFields() {
-                return fields;
+            @SuppressWarnings("unchecked")
+            protected T create(Object[] args) {
+                return creator.apply((F0) args[0], (F1) args[1], (F2) args[2], (F3) args[3], (F4) args[4], (F5) args[5], (F6) args[6], (F7) args[7], (F8) args[8], (F9) args[9], (F10) args[10], (F11) args[11], (F12) args[12], (F13) args[13], (F14) args[14], (F15) args[15], (F16) args[16]);
             }
         };
     }
@@ -898,51 +388,11 @@ public class InlineYamlCodecBuilder {
             YamlField<T, F15> f15,
             YamlField<T, F16> f16,
             YamlField<T, F17> f17) {
-        return new InlineCodec<>(regex, expectedExample) {
-            @Override
-            public DataResult<T> decode(YamlValue value) {
-                return value.decode(YamlCodec.STRING).flatMap(s -> {
-                    String[] args = s.split(regex);
-                    if (args.length != 18) {
-                        return DataResult.error("Expected ‘{}’, but got ‘{}’.", expectedExample, s);
-                    }
-                    StringBuilder error = new StringBuilder();
-                    F0 p0 = doDecode(args[0], f0, error);
-                    F1 p1 = doDecode(args[1], f1, error);
-                    F2 p2 = doDecode(args[2], f2, error);
-                    F3 p3 = doDecode(args[3], f3, error);
-                    F4 p4 = doDecode(args[4], f4, error);
-                    F5 p5 = doDecode(args[5], f5, error);
-                    F6 p6 = doDecode(args[6], f6, error);
-                    F7 p7 = doDecode(args[7], f7, error);
-                    F8 p8 = doDecode(args[8], f8, error);
-                    F9 p9 = doDecode(args[9], f9, error);
-                    F10 p10 = doDecode(args[10], f10, error);
-                    F11 p11 = doDecode(args[11], f11, error);
-                    F12 p12 = doDecode(args[12], f12, error);
-                    F13 p13 = doDecode(args[13], f13, error);
-                    F14 p14 = doDecode(args[14], f14, error);
-                    F15 p15 = doDecode(args[15], f15, error);
-                    F16 p16 = doDecode(args[16], f16, error);
-                    F17 p17 = doDecode(args[17], f17, error);
-                    if (!error.isEmpty()) {
-                        error.setLength(error.length() - 1);
-                    }
-                    return DataResult.accept(
-                            () -> creator.apply(p0, p1, p2, p3, p4, p5, p6, p7, p8, p9, p10, p11, p12, p13, p14, p15, p16, p17),
-                            t -> DataResult.error(error.toString(), t),
-                            error.isEmpty() ? null : error.toString()
-                    ).mapErrorIfHas(err -> err + "\n" + "Expected ‘" + expectedExample + "’, but got ‘" + s + "’.");
-                });
-            }
-
-            @SuppressWarnings({"rawtypes"})
-            private final YamlField[] fields = new YamlField[]{f0, f1, f2, f3, f4, f5, f6, f7, f8, f9, f10, f11, f12, f13, f14, f15, f16, f17};
-
+        return new InlineCodec<T>(regex, expectedExample, f0, f1, f2, f3, f4, f5, f6, f7, f8, f9, f10, f11, f12, f13, f14, f15, f16, f17) {
             @Override
-            @SuppressWarnings({"rawtypes"})
-            protected YamlField[] getFields() {
-                return fields;
+            @SuppressWarnings("unchecked")
+            protected T create(Object[] args) {
+                return creator.apply((F0) args[0], (F1) args[1], (F2) args[2], (F3) args[3], (F4) args[4], (F5) args[5], (F6) args[6], (F7) args[7], (F8) args[8], (F9) args[9], (F10) args[10], (F11) args[11], (F12) args[12], (F13) args[13], (F14) args[14], (F15) args[15], (F16) args[16], (F17) args[17]);
             }
         };
     }
@@ -970,52 +420,11 @@ public class InlineYamlCodecBuilder {
             YamlField<T, F16> f16,
             YamlField<T, F17> f17,
             YamlField<T, F18> f18) {
-        return new InlineCodec<>(regex, expectedExample) {
+        return new InlineCodec<T>(regex, expectedExample, f0, f1, f2, f3, f4, f5, f6, f7, f8, f9, f10, f11, f12, f13, f14, f15, f16, f17, f18) {
             @Override
-            public DataResult<T> decode(YamlValue value) {
-                return value.decode(YamlCodec.STRING).flatMap(s -> {
-                    String[] args = s.split(regex);
-                    if (args.length != 19) {
-                        return DataResult.error("Expected ‘{}’, but got ‘{}’.", expectedExample, s);
-                    }
-                    StringBuilder error = new StringBuilder();
-                    F0 p0 = doDecode(args[0], f0, error);
-                    F1 p1 = doDecode(args[1], f1, error);
-                    F2 p2 = doDecode(args[2], f2, error);
-                    F3 p3 = doDecode(args[3], f3, error);
-                    F4 p4 = doDecode(args[4], f4, error);
-                    F5 p5 = doDecode(args[5], f5, error);
-                    F6 p6 = doDecode(args[6], f6, error);
-                    F7 p7 = doDecode(args[7], f7, error);
-                    F8 p8 = doDecode(args[8], f8, error);
-                    F9 p9 = doDecode(args[9], f9, error);
-                    F10 p10 = doDecode(args[10], f10, error);
-                    F11 p11 = doDecode(args[11], f11, error);
-                    F12 p12 = doDecode(args[12], f12, error);
-                    F13 p13 = doDecode(args[13], f13, error);
-                    F14 p14 = doDecode(args[14], f14, error);
-                    F15 p15 = doDecode(args[15], f15, error);
-                    F16 p16 = doDecode(args[16], f16, error);
-                    F17 p17 = doDecode(args[17], f17, error);
-                    F18 p18 = doDecode(args[18], f18, error);
-                    if (!error.isEmpty()) {
-                        error.setLength(error.length() - 1);
-                    }
-                    return DataResult.accept(
-                            () -> creator.apply(p0, p1, p2, p3, p4, p5, p6, p7, p8, p9, p10, p11, p12, p13, p14, p15, p16, p17, p18),
-                            t -> DataResult.error(error.toString(), t),
-                            error.isEmpty() ? null : error.toString()
-                    ).mapErrorIfHas(err -> err + "\n" + "Expected ‘" + expectedExample + "’, but got ‘" + s + "’.");
-                });
-            }
-
-            @SuppressWarnings({"rawtypes"})
-            private final YamlField[] fields = new YamlField[]{f0, f1, f2, f3, f4, f5, f6, f7, f8, f9, f10, f11, f12, f13, f14, f15, f16, f17, f18};
-
-            @Override
-            @SuppressWarnings({"rawtypes"})
-            protected YamlField[] getFields() {
-                return fields;
+            @SuppressWarnings("unchecked")
+            protected T create(Object[] args) {
+                return creator.apply((F0) args[0], (F1) args[1], (F2) args[2], (F3) args[3], (F4) args[4], (F5) args[5], (F6) args[6], (F7) args[7], (F8) args[8], (F9) args[9], (F10) args[10], (F11) args[11], (F12) args[12], (F13) args[13], (F14) args[14], (F15) args[15], (F16) args[16], (F17) args[17], (F18) args[18]);
             }
         };
     }
@@ -1044,73 +453,100 @@ public class InlineYamlCodecBuilder {
             YamlField<T, F17> f17,
             YamlField<T, F18> f18,
             YamlField<T, F19> f19) {
-        return new InlineCodec<>(regex, expectedExample) {
+        return new InlineCodec<T>(regex, expectedExample, f0, f1, f2, f3, f4, f5, f6, f7, f8, f9, f10, f11, f12, f13, f14, f15, f16, f17, f18, f19) {
             @Override
-            public DataResult<T> decode(YamlValue value) {
-                return value.decode(YamlCodec.STRING).flatMap(s -> {
-                    String[] args = s.split(regex);
-                    if (args.length != 20) {
-                        return DataResult.error("Expected ‘{}’, but got ‘{}’.", expectedExample, s);
-                    }
-                    StringBuilder error = new StringBuilder();
-                    F0 p0 = doDecode(args[0], f0, error);
-                    F1 p1 = doDecode(args[1], f1, error);
-                    F2 p2 = doDecode(args[2], f2, error);
-                    F3 p3 = doDecode(args[3], f3, error);
-                    F4 p4 = doDecode(args[4], f4, error);
-                    F5 p5 = doDecode(args[5], f5, error);
-                    F6 p6 = doDecode(args[6], f6, error);
-                    F7 p7 = doDecode(args[7], f7, error);
-                    F8 p8 = doDecode(args[8], f8, error);
-                    F9 p9 = doDecode(args[9], f9, error);
-                    F10 p10 = doDecode(args[10], f10, error);
-                    F11 p11 = doDecode(args[11], f11, error);
-                    F12 p12 = doDecode(args[12], f12, error);
-                    F13 p13 = doDecode(args[13], f13, error);
-                    F14 p14 = doDecode(args[14], f14, error);
-                    F15 p15 = doDecode(args[15], f15, error);
-                    F16 p16 = doDecode(args[16], f16, error);
-                    F17 p17 = doDecode(args[17], f17, error);
-                    F18 p18 = doDecode(args[18], f18, error);
-                    F19 p19 = doDecode(args[19], f19, error);
-                    if (!error.isEmpty()) {
-                        error.setLength(error.length() - 1);
-                    }
-                    return DataResult.accept(
-                            () -> creator.apply(p0, p1, p2, p3, p4, p5, p6, p7, p8, p9, p10, p11, p12, p13, p14, p15, p16, p17, p18, p19),
-                            t -> DataResult.error(error.toString(), t),
-                            error.isEmpty() ? null : error.toString()
-                    ).mapErrorIfHas(err -> err + "\n" + "Expected ‘" + expectedExample + "’, but got ‘" + s + "’.");
-                });
-            }
-
-            @SuppressWarnings({"rawtypes"})
-            private final YamlField[] fields = new YamlField[]{f0, f1, f2, f3, f4, f5, f6, f7, f8, f9, f10, f11, f12, f13, f14, f15, f16, f17, f18, f19};
-
-            @Override
-            @SuppressWarnings({"rawtypes"})
-            protected YamlField[] getFields() {
-                return fields;
+            @SuppressWarnings("unchecked")
+            protected T create(Object[] args) {
+                return creator.apply((F0) args[0], (F1) args[1], (F2) args[2], (F3) args[3], (F4) args[4], (F5) args[5], (F6) args[6], (F7) args[7], (F8) args[8], (F9) args[9], (F10) args[10], (F11) args[11], (F12) args[12], (F13) args[13], (F14) args[14], (F15) args[15], (F16) args[16], (F17) args[17], (F18) args[18], (F19) args[19]);
             }
         };
     }
 
-
-    private static abstract class InlineCodec<T> implements YamlCodec<T> {
+    private static abstract class InlineCodec<T> extends DirectYamlCodec<T> {
         private final String regex;
+        private final InlineSeparator separator;
+        private final String expectedExample;
+        @SuppressWarnings({"rawtypes"})
+        private final YamlField[] fields;
 
-        private InlineCodec(String regex, String expectedExample) {
+        // wildcard fields keep the array reifiable, so the anonymous subclasses need no @SafeVarargs
+        private InlineCodec(String regex, String expectedExample, YamlField<?, ?>... fields) {
             this.regex = regex;
+            this.separator = InlineSeparator.of(regex);
+            this.expectedExample = expectedExample;
+            this.fields = fields;
         }
 
-        @SuppressWarnings({"rawtypes"})
-        protected abstract YamlField[] getFields();
+        protected abstract T create(Object[] args);
+
+        @Override
+        public @Nullable T decode(@Nullable Object raw, DecodeContext ctx) {
+            String s = YamlCodec.STRING.decode(raw, ctx);
+            if (s == null) return null;
+            int[] bounds = separator.split(s, fields.length);
+            if (bounds == null) {
+                ctx.report(DataResult.error("Expected ‘{}’, but got ‘{}’.", expectedExample, s));
+                return null;
+            }
+            Object[] args = new Object[fields.length];
+            DataResult<?> pending = ctx.takeError();
+            ErrorTree errors = null;
+            for (int i = 0; i < fields.length; i++) {
+                YamlField<?, ?> field = fields[i];
+                Object parsed = parse(field.codec, s, bounds[i * 2], bounds[i * 2 + 1]);
+                if (parsed != null) {
+                    args[i] = parsed;
+                    continue;
+                }
+                Object decoded = field.codec.decode(s.substring(bounds[i * 2], bounds[i * 2 + 1]), ctx);
+                DataResult<?> error = ctx.takeError();
+                if (error != null) {
+                    if (errors == null) errors = new ErrorTree();
+                    errors.line(error);
+                }
+                args[i] = decoded == null ? field.defaultValue : decoded;
+            }
+            T result = null;
+            DataResult<?> error = null;
+            try {
+                result = create(args);
+                if (errors != null) error = errors.toResult(null);
+            } catch (Throwable t) {
+                error = CodecSupport.failed(errors, t);
+            }
+            if (error != null) {
+                ctx.report(new ErrorTree().labeled("", error)
+                        .line(DataResult.error("Expected ‘" + expectedExample + "’, but got ‘" + s + "’.")));
+            }
+            ctx.restore(pending);
+            return result;
+        }
+
+        /**
+         * Parses {@code INT}, {@code LONG} and {@code DOUBLE} tokens in place.
+         *
+         * @return the parsed value, or {@code null} to decode a substring through the codec instead,
+         * which also produces the usual error message for malformed numbers
+         */
+        private static Object parse(YamlCodec<?> codec, String s, int begin, int end) {
+            try {
+                if (codec == YamlCodec.INT) return Integer.parseInt(s, begin, end, 10);
+                if (codec == YamlCodec.LONG) return Long.parseLong(s, begin, end, 10);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+            if (codec == YamlCodec.DOUBLE) {
+                double d = Primitives.parseDecimal(s, begin, end);
+                return Double.isNaN(d) ? null : d;
+            }
+            return null;
+        }
 
         @Override
         @SuppressWarnings({"rawtypes", "unchecked"})
         public YamlValue encode(T value) {
             StringBuilder sb = new StringBuilder();
-            for (YamlField field : getFields()) {
+            for (YamlField field : fields) {
                 sb.append(field.getter.apply(value)).append(regex);
             }
             sb.setLength(sb.length() - regex.length());
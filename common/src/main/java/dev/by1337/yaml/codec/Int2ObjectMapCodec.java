@@ -0,0 +1,68 @@
+package dev.by1337.yaml.codec;
+
+import dev.by1337.yaml.YamlValue;
+import dev.by1337.yaml.util.CompactMap;
+import dev.by1337.yaml.util.Int2ObjectMap;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+
+/**
+ * Decodes a section into an {@link Int2ObjectMap}, with the same errors and options handling as
+ * {@link YamlCodec#mapOf(YamlCodec, YamlCodec)} but without boxing the keys.
+ *
+ * @see YamlCodec#int2ObjectMapOf(IntYamlCodec, YamlCodec)
+ */
+public final class Int2ObjectMapCodec<V> extends DirectYamlCodec<Int2ObjectMap<V>> {
+    private final IntYamlCodec keyCodec;
+    private final YamlCodec<V> valueCodec;
+
+    public Int2ObjectMapCodec(IntYamlCodec keyCodec, YamlCodec<V> valueCodec) {
+        this.keyCodec = keyCodec;
+        this.valueCodec = valueCodec;
+    }
+
+    @Override
+    public @Nullable Int2ObjectMap<V> decode(@Nullable Object raw, DecodeContext ctx) {
+        raw = CodecSupport.unwrap(raw);
+        if (!(raw instanceof Map<?, ?> in)) return CodecSupport.expectedMap(ctx, raw);
+        DecodeOptions options = ctx.options();
+        DataResult<?> pending = ctx.takeError();
+        Int2ObjectMap<V> map = options.validateOnly() ? null : new Int2ObjectMap<>(in.size());
+        ErrorTree errors = null;
+        for (Map.Entry<?, ?> entry : in.entrySet()) {
+            int k = keyCodec.decodeInt(entry.getKey(), ctx);
+            DataResult<?> keyError = ctx.takeError();
+            if (options.failFast() && keyError != null) {
+                ctx.report(new ErrorTree().entry(entry.getKey(), keyError, null));
+                ctx.restore(pending);
+                return null;
+            }
+            V v = valueCodec.decode(entry.getValue(), ctx);
+            DataResult<?> valueError = ctx.takeError();
+            if (keyError != null || valueError != null) {
+                if (errors == null) errors = new ErrorTree();
+                errors.entry(entry.getKey(), keyError, valueError);
+                if (options.failFast()) {
+                    ctx.report(errors);
+                    ctx.restore(pending);
+                    return null;
+                }
+            }
+            if (map != null && keyError == null && v != null) {
+                map.put(k, v);
+            }
+        }
+        if (errors != null) ctx.report(errors);
+        ctx.restore(pending);
+        if (errors == null) return map;
+        return map == null || map.isEmpty() ? null : map;
+    }
+
+    @Override
+    public YamlValue encode(Int2ObjectMap<V> value) {
+        Map<Object, Object> map = new CompactMap<>(value.size());
+        value.forEach((k, v) -> map.putIfAbsent(keyCodec.encode(k).getValue(), valueCodec.encode(v).getValue()));
+        return YamlValue.wrap(map);
+    }
+}
@@ -0,0 +1,28 @@
+package dev.by1337.yaml.codec;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * An {@code Integer} codec that can also decode without boxing.
+ * <p>
+ * There are no default methods here on purpose: a class implementing an interface with default methods initializes
+ * it, so {@link #INSTANCE} would be read while {@link YamlCodec} is still creating it.
+ */
+public interface IntYamlCodec extends YamlCodec<Integer> {
+    /**
+     * The codec behind {@link YamlCodec#INT}.
+     */
+    IntYamlCodec INSTANCE = (IntYamlCodec) YamlCodec.INT;
+
+    /**
+     * @return the decoded value, or {@code 0} after reporting an error to {@code ctx}
+     */
+    int decodeInt(@Nullable Object raw, DecodeContext ctx);
+
+    /**
+     * @return a codec for {@code int[]} that decodes each element with {@link #decodeInt}
+     */
+    static YamlCodec<int[]> arrayOf(IntYamlCodec element) {
+        return new PrimitiveArrayCodec.OfInt(element);
+    }
+}
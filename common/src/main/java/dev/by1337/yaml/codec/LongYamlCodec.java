@@ -0,0 +1,28 @@
+package dev.by1337.yaml.codec;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A {@code Long} codec that can also decode without boxing.
+ * <p>
+ * There are no default methods here on purpose: a class implementing an interface with default methods initializes
+ * it, so {@link #INSTANCE} would be read while {@link YamlCodec} is still creating it.
+ */
+public interface LongYamlCodec extends YamlCodec<Long> {
+    /**
+     * The codec behind {@link YamlCodec#LONG}.
+     */
+    LongYamlCodec INSTANCE = (LongYamlCodec) YamlCodec.LONG;
+
+    /**
+     * @return the decoded value, or {@code 0} after reporting an error to {@code ctx}
+     */
+    long decodeLong(@Nullable Object raw, DecodeContext ctx);
+
+    /**
+     * @return a codec for {@code long[]} that decodes each element with {@link #decodeLong}
+     */
+    static YamlCodec<long[]> arrayOf(LongYamlCodec element) {
+        return new PrimitiveArrayCodec.OfLong(element);
+    }
+}
@@ -0,0 +1,67 @@
+package dev.by1337.yaml.codec;
+
+import dev.by1337.yaml.YamlValue;
+import dev.by1337.yaml.util.CompactMap;
+import dev.by1337.yaml.util.Object2IntMap;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+
+/**
+ * Decodes a section into an {@link Object2IntMap}, with the same errors and options handling as
+ * {@link YamlCodec#mapOf(YamlCodec, YamlCodec)} but without boxing the values.
+ *
+ * @see YamlCodec#object2IntMapOf(YamlCodec, IntYamlCodec)
+ */
+public final class Object2IntMapCodec<K> extends DirectYamlCodec<Object2IntMap<K>> {
+    private final YamlCodec<K> keyCodec;
+    private final IntYamlCodec valueCodec;
+
+    public Object2IntMapCodec(YamlCodec<K> keyCodec, IntYamlCodec valueCodec) {
+        this.keyCodec = keyCodec;
+        this.valueCodec = valueCodec;
+    }
+
+    @Override
+    public @Nullable Object2IntMap<K> decode(@Nullable Object raw, DecodeContext ctx) {
+        raw = CodecSupport.unwrap(raw);
+        if (!(raw instanceof Map<?, ?> in)) return CodecSupport.expectedMap(ctx, raw);
+        DecodeOptions options = ctx.options();
+        DataResult<?> pending = ctx.takeError();
+        Object2IntMap<K> map = options.validateOnly() ? null : new Object2IntMap<>(in.size());
+        ErrorTree errors = null;
+        for (Map.Entry<?, ?> entry : in.entrySet()) {
+            K k = keyCodec.decode(entry.getKey(), ctx);
+            DataResult<?> keyError = ctx.takeError();
+            if (options.failFast() && keyError != null) {
+                ctx.report(new ErrorTree().entry(entry.getKey(), keyError, null));
+                ctx.restore(pending);
+                return null;
+            }
+            int v = valueCodec.decodeInt(entry.getValue(), ctx);
+            DataResult<?> valueError = ctx.takeError();
+            if (keyError != null || valueError != null) {
+                if (errors == null) errors = new ErrorTree();
+                errors.entry(entry.getKey(), keyError, valueError);
+                if (options.failFast()) {
+                    ctx.report(errors);
+                    ctx.restore(pending);
+                    return null;
+                }
+            } else if (map != null && k != null) {
+                map.put(k, v);
+            }
+        }
+        if (errors != null) ctx.report(errors);
+        ctx.restore(pending);
+        if (errors == null) return map;
+        return map == null || map.isEmpty() ? null : map;
+    }
+
+    @Override
+    public YamlValue encode(Object2IntMap<K> value) {
+        Map<Object, Object> map = new CompactMap<>(value.size());
+        value.forEach((k, v) -> map.putIfAbsent(keyCodec.encode(k).getValue(), valueCodec.encode(v).getValue()));
+        return YamlValue.wrap(map);
+    }
+}
@@ -1,10 +1,11 @@
 package dev.by1337.yaml.codec;
 
 import dev.by1337.yaml.YamlValue;
+import dev.by1337.yaml.util.CompactMap;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.BiConsumer;
@@ -123,37 +124,51 @@ public class PipelineYamlCodecBuilder<T> {
 
     public YamlCodec<T> build() {
 
-        return new YamlCodec<T>() {
+        return new DirectYamlCodec<T>() {
 
             @Override
             @SuppressWarnings({"unchecked", "rawtypes"})
-            public DataResult<T> decode(YamlValue value) {
-                return value.asMap(YamlCodec.STRING, YamlCodec.YAML_VALUE).flatMap(map -> {
-                    T v = creator.get();
-                    StringBuilder error = new StringBuilder();
-                    for (@NotNull YamlField field : fields) {
-                        DataResult<?> result = field.decode(map);
-                        if (result.hasError()) {
-                            error.append("Errors in '").append(field.name).append("':\n  - ").append(result.error().replace("\n", "\n    ")).append("\n");
-                        }
-                        if (result.hasResult()) {
-                            field.setter.accept(v, result.result());
-                        } else if (field.defaultValue != null) {
+            public @Nullable T decode(@Nullable Object raw, DecodeContext ctx) {
+                raw = CodecSupport.unwrap(raw);
+                if (!(raw instanceof Map<?, ?> map)) return CodecSupport.expectedMap(ctx, raw);
+                DecodeOptions options = ctx.options();
+                DataResult<?> pending = ctx.takeError();
+                T v = options.validateOnly() ? null : creator.get();
+                ErrorTree errors = null;
+                for (@NotNull YamlField field : fields) {
+                    Object value = field.lookup(map);
+                    if (value == CodecSupport.ABSENT) {
+                        if (v != null && field.defaultValue != null) {
                             field.setter.accept(v, field.defaultValue);
                         }
+                        continue;
+                    }
+                    Object decoded = field.codec.decode(value, ctx);
+                    DataResult<?> error = ctx.takeError();
+                    if (error != null) {
+                        errors = CodecSupport.fieldError(errors, field.name, error);
+                        if (options.failFast()) {
+                            ctx.report(errors);
+                            ctx.restore(pending);
+                            return null;
+                        }
                     }
-                    if (!error.isEmpty()) {
-                        error.setLength(error.length() - 1);
-                        return DataResult.error(error.toString()).partial(v);
+                    if (v == null) continue;
+                    if (decoded != null) {
+                        field.setter.accept(v, decoded);
+                    } else if (field.defaultValue != null) {
+                        field.setter.accept(v, field.defaultValue);
                     }
-                    return DataResult.success(v);
-                });
+                }
+                if (errors != null) ctx.report(errors);
+                ctx.restore(pending);
+                return v;
             }
 
             @Override
             @SuppressWarnings({"unchecked", "rawtypes"})
             public YamlValue encode(T value) {
-                Map<Object, Object> map = new LinkedHashMap<>();
+                Map<Object, Object> map = new CompactMap<>(fields.size());
                 for (YamlField field : fields) {
                     Object o = field.getter.apply(value);
                     if (o != null) {
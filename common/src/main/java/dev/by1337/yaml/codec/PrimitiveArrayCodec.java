@@ -0,0 +1,214 @@
+package dev.by1337.yaml.codec;
+
+import dev.by1337.yaml.YamlValue;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Decodes a list straight into a primitive array, without a boxed {@code List} in between.
+ * <p>
+ * Behaves like {@code listOf()} mapped to an array: a single value becomes a one element array, failed
+ * elements are dropped and reported as {@code [index] error}, and nothing is built when validating.
+ */
+abstract class PrimitiveArrayCodec<A> extends DirectYamlCodec<A> {
+
+    protected abstract A newArray(int length);
+
+    protected abstract int length(A array);
+
+    /**
+     * Decodes {@code raw} into {@code array[index]}, or only checks it if {@code array} is {@code null}.
+     */
+    protected abstract void decodeInto(@Nullable A array, int index, @Nullable Object raw, DecodeContext ctx);
+
+    protected abstract Object get(A array, int index);
+
+    protected abstract A copyOf(A array, int length);
+
+    @Override
+    public @Nullable A decode(@Nullable Object raw, DecodeContext ctx) {
+        raw = CodecSupport.unwrap(raw);
+        boolean validateOnly = ctx.options().validateOnly();
+        if (!(raw instanceof Collection<?> collection)) {
+            A array = validateOnly ? null : newArray(1);
+            Object before = ctx.errorState();
+            decodeInto(array, 0, raw, ctx);
+            return ctx.errorState() != before ? null : array;
+        }
+        A array = validateOnly ? null : newArray(collection.size());
+        DataResult<?> pending = ctx.takeError();
+        ErrorTree errors = null;
+        int size = 0;
+        int index = 0;
+        for (Object element : collection) {
+            decodeInto(array, size, element, ctx);
+            DataResult<?> error = ctx.takeError();
+            if (error == null) {
+                size++;
+            } else {
+                if (errors == null) errors = new ErrorTree();
+                errors.element(index, error);
+                if (ctx.options().failFast()) {
+                    ctx.report(errors);
+                    ctx.restore(pending);
+                    return null;
+                }
+            }
+            index++;
+        }
+        if (errors != null) ctx.report(errors);
+        ctx.restore(pending);
+        if (errors == null) return array;
+        return array == null || size == 0 ? null : copyOf(array, size);
+    }
+
+    @Override
+    public YamlValue encode(A value) {
+        int length = length(value);
+        List<Object> list = new ArrayList<>(length);
+        for (int i = 0; i < length; i++) {
+            list.add(get(value, i));
+        }
+        return YamlValue.wrap(list);
+    }
+
+    static final class OfInt extends PrimitiveArrayCodec<int[]> {
+        private final IntYamlCodec element;
+
+        OfInt(IntYamlCodec element) {
+            this.element = element;
+        }
+
+        @Override
+        protected int[] newArray(int length) {
+            return new int[length];
+        }
+
+        @Override
+        protected int length(int[] array) {
+            return array.length;
+        }
+
+        @Override
+        protected void decodeInto(int @Nullable [] array, int index, @Nullable Object raw, DecodeContext ctx) {
+            int v = element.decodeInt(raw, ctx);
+            if (array != null) array[index] = v;
+        }
+
+        @Override
+        protected Object get(int[] array, int index) {
+            return array[index];
+        }
+
+        @Override
+        protected int[] copyOf(int[] array, int length) {
+            return Arrays.copyOf(array, length);
+        }
+    }
+
+    static final class OfLong extends PrimitiveArrayCodec<long[]> {
+        private final LongYamlCodec element;
+
+        OfLong(LongYamlCodec element) {
+            this.element = element;
+        }
+
+        @Override
+        protected long[] newArray(int length) {
+            return new long[length];
+        }
+
+        @Override
+        protected int length(long[] array) {
+            return array.length;
+        }
+
+        @Override
+        protected void decodeInto(long @Nullable [] array, int index, @Nullable Object raw, DecodeContext ctx) {
+            long v = element.decodeLong(raw, ctx);
+            if (array != null) array[index] = v;
+        }
+
+        @Override
+        protected Object get(long[] array, int index) {
+            return array[index];
+        }
+
+        @Override
+        protected long[] copyOf(long[] array, int length) {
+            return Arrays.copyOf(array, length);
+        }
+    }
+
+    static final class OfDouble extends PrimitiveArrayCodec<double[]> {
+        private final DoubleYamlCodec element;
+
+        OfDouble(DoubleYamlCodec element) {
+            this.element = element;
+        }
+
+        @Override
+        protected double[] newArray(int length) {
+            return new double[length];
+        }
+
+        @Override
+        protected int length(double[] array) {
+            return array.length;
+        }
+
+        @Override
+        protected void decodeInto(double @Nullable [] array, int index, @Nullable Object raw, DecodeContext ctx) {
+            double v = element.decodeDouble(raw, ctx);
+            if (array != null) array[index] = v;
+        }
+
+        @Override
+        protected Object get(double[] array, int index) {
+            return array[index];
+        }
+
+        @Override
+        protected double[] copyOf(double[] array, int length) {
+            return Arrays.copyOf(array, length);
+        }
+    }
+
+    static final class OfBool extends PrimitiveArrayCodec<boolean[]> {
+        private final BoolYamlCodec element;
+
+        OfBool(BoolYamlCodec element) {
+            this.element = element;
+        }
+
+        @Override
+        protected boolean[] newArray(int length) {
+            return new boolean[length];
+        }
+
+        @Override
+        protected int length(boolean[] array) {
+            return array.length;
+        }
+
+        @Override
+        protected void decodeInto(boolean @Nullable [] array, int index, @Nullable Object raw, DecodeContext ctx) {
+            boolean v = element.decodeBool(raw, ctx);
+            if (array != null) array[index] = v;
+        }
+
+        @Override
+        protected Object get(boolean[] array, int index) {
+            return array[index];
+        }
+
+        @Override
+        protected boolean[] copyOf(boolean[] array, int length) {
+            return Arrays.copyOf(array, length);
+        }
+    }
+}
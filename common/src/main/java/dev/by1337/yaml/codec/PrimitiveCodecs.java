@@ -0,0 +1,140 @@
+package dev.by1337.yaml.codec;
+
+import dev.by1337.yaml.YamlValue;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The implementations of {@link IntYamlCodec}, {@link LongYamlCodec}, {@link DoubleYamlCodec} and
+ * {@link BoolYamlCodec}. They accept and reject exactly what a {@link YamlCodec.PrimitiveMapper} parsing
+ * {@code toString()} does, with the same error messages, but convert numbers that already have the right range
+ * directly.
+ */
+final class PrimitiveCodecs {
+
+    private PrimitiveCodecs() {
+    }
+
+    static final class IntCodec extends DirectYamlCodec<Integer> implements IntYamlCodec {
+        @Override
+        public int decodeInt(@Nullable Object raw, DecodeContext ctx) {
+            Object o = CodecSupport.unwrap(raw);
+            if (o instanceof Integer i) return i;
+            if (o instanceof Long || o instanceof Short || o instanceof Byte) {
+                long l = ((Number) o).longValue();
+                if ((int) l == l) return (int) l;
+            }
+            if (o == null) {
+                ctx.fail("value is null");
+                return 0;
+            }
+            try {
+                return Integer.parseInt(o.toString());
+            } catch (Throwable t) {
+                ctx.fail(t.getMessage());
+                return 0;
+            }
+        }
+
+        @Override
+        public @Nullable Integer decode(@Nullable Object raw, DecodeContext ctx) {
+            Object before = ctx.errorState();
+            int v = decodeInt(raw, ctx);
+            return ctx.errorState() != before ? null : v;
+        }
+
+        @Override
+        public YamlValue encode(Integer value) {
+            return YamlValue.wrap(value);
+        }
+    }
+
+    static final class LongCodec extends DirectYamlCodec<Long> implements LongYamlCodec {
+        @Override
+        public long decodeLong(@Nullable Object raw, DecodeContext ctx) {
+            Object o = CodecSupport.unwrap(raw);
+            if (o instanceof Long l) return l;
+            if (o instanceof Integer || o instanceof Short || o instanceof Byte) return ((Number) o).longValue();
+            if (o == null) {
+                ctx.fail("value is null");
+                return 0;
+            }
+            try {
+                return Long.parseLong(o.toString());
+            } catch (Throwable t) {
+                ctx.fail(t.getMessage());
+                return 0;
+            }
+        }
+
+        @Override
+        public @Nullable Long decode(@Nullable Object raw, DecodeContext ctx) {
+            Object before = ctx.errorState();
+            long v = decodeLong(raw, ctx);
+            return ctx.errorState() != before ? null : v;
+        }
+
+        @Override
+        public YamlValue encode(Long value) {
+            return YamlValue.wrap(value);
+        }
+    }
+
+    static final class DoubleCodec extends DirectYamlCodec<Double> implements DoubleYamlCodec {
+        @Override
+        public double decodeDouble(@Nullable Object raw, DecodeContext ctx) {
+            Object o = CodecSupport.unwrap(raw);
+            if (o instanceof Double d) return d;
+            // not Float: 0.1f converts to 0.10000000149011612, but parses from "0.1" to 0.1
+            if (o instanceof Integer || o instanceof Long || o instanceof Short || o instanceof Byte) {
+                return ((Number) o).doubleValue();
+            }
+            if (o == null) {
+                ctx.fail("value is null");
+                return 0;
+            }
+            try {
+                return Double.parseDouble(o.toString());
+            } catch (Throwable t) {
+                ctx.fail(t.getMessage());
+                return 0;
+            }
+        }
+
+        @Override
+        public @Nullable Double decode(@Nullable Object raw, DecodeContext ctx) {
+            Object before = ctx.errorState();
+            double v = decodeDouble(raw, ctx);
+            return ctx.errorState() != before ? null : v;
+        }
+
+        @Override
+        public YamlValue encode(Double value) {
+            return YamlValue.wrap(value);
+        }
+    }
+
+    static final class BoolCodec extends DirectYamlCodec<Boolean> implements BoolYamlCodec {
+        @Override
+        public boolean decodeBool(@Nullable Object raw, DecodeContext ctx) {
+            Object o = CodecSupport.unwrap(raw);
+            if (o instanceof Boolean b) return b;
+            if (o == null) {
+                ctx.fail("value is null");
+                return false;
+            }
+            return Boolean.parseBoolean(o.toString());
+        }
+
+        @Override
+        public @Nullable Boolean decode(@Nullable Object raw, DecodeContext ctx) {
+            Object before = ctx.errorState();
+            boolean v = decodeBool(raw, ctx);
+            return ctx.errorState() != before ? null : v;
+        }
+
+        @Override
+        public YamlValue encode(Boolean value) {
+            return YamlValue.wrap(value);
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package dev.by1337.yaml.codec;
+
+import dev.by1337.yaml.YamlMap;
+import dev.by1337.yaml.YamlValue;
+import org.jetbrains.annotations.ApiStatus;
+
+import java.lang.invoke.*;
+import java.lang.reflect.*;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Builds {@link RecordYamlCodecBuilder#forRecord} codecs.
+ */
+@ApiStatus.Internal
+final class RecordCodecFactory {
+    private static final Map<Class<?>, YamlCodec<?>> SIMPLE = Map.ofEntries(
+            Map.entry(int.class, YamlCodec.INT), Map.entry(Integer.class, YamlCodec.INT),
+            Map.entry(long.class, YamlCodec.LONG), Map.entry(Long.class, YamlCodec.LONG),
+            Map.entry(double.class, YamlCodec.DOUBLE), Map.entry(Double.class, YamlCodec.DOUBLE),
+            Map.entry(float.class, YamlCodec.FLOAT), Map.entry(Float.class, YamlCodec.FLOAT),
+            Map.entry(short.class, YamlCodec.SHORT), Map.entry(Short.class, YamlCodec.SHORT),
+            Map.entry(byte.class, YamlCodec.BYTE), Map.entry(Byte.class, YamlCodec.BYTE),
+            Map.entry(boolean.class, YamlCodec.BOOL), Map.entry(Boolean.class, YamlCodec.BOOL),
+            Map.entry(String.class, YamlCodec.STRING),
+            Map.entry(Object.class, YamlCodec.OBJECT),
+            Map.entry(YamlValue.class, YamlCodec.YAML_VALUE),
+            Map.entry(YamlMap.class, YamlCodec.YAML_MAP),
+            Map.entry(int[].class, YamlCodec.INT_ARRAY),
+            Map.entry(long[].class, YamlCodec.LONG_ARRAY),
+            Map.entry(double[].class, YamlCodec.DOUBLE_ARRAY),
+            Map.entry(float[].class, YamlCodec.FLOAT_ARRAY),
+            Map.entry(short[].class, YamlCodec.SHORT_ARRAY),
+            Map.entry(byte[].class, YamlCodec.BYTE_ARRAY),
+            Map.entry(boolean[].class, YamlCodec.BOOL_ARRAY)
+    );
+    private static final Map<Class<?>, Object> ZEROS = Map.of(
+            int.class, 0, long.class, 0L, double.class, 0D, float.class, 0F,
+            short.class, (short) 0, byte.class, (byte) 0, boolean.class, false, char.class, '\0'
+    );
+
+    private RecordCodecFactory() {
+    }
+
+    static <R extends Record> YamlCodec<R> create(Class<R> type, Map<String, YamlCodec<?>> overrides) {
+        return create(type, overrides, new HashMap<>());
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <R> YamlCodec<R> create(Class<R> type, Map<String, YamlCodec<?>> overrides, Map<Class<?>, YamlCodec<?>> building) {
+        RecordComponent[] components = type.getRecordComponents();
+        if (components == null) {
+            throw new IllegalArgumentException(type.getName() + " is not a record");
+        }
+        for (String name : overrides.keySet()) {
+            if (Arrays.stream(components).noneMatch(c -> c.getName().equals(name))) {
+                throw new IllegalArgumentException("Record " + type.getName() + " has no component '" + name + "'");
+            }
+        }
+        building.put(type, null);
+
+        MethodHandles.Lookup lookup = lookup(type);
+        YamlField[] fields = new YamlField[components.length];
+        Class<?>[] parameters = new Class[components.length];
+        for (int i = 0; i < components.length; i++) {
+            RecordComponent component = components[i];
+            parameters[i] = component.getType();
+            YamlCodec<?> codec = overrides.get(component.getName());
+            if (codec == null) {
+                codec = resolve(component.getGenericType(), building);
+                if (codec == null) {
+                    throw new IllegalArgumentException("No codec for component '" + component.getName() + "' of type "
+                            + component.getGenericType().getTypeName() + " in " + type.getName() + ", pass one in overrides");
+                }
+            }
+            fields[i] = new YamlField(codec, component.getName(), getter(lookup, type, component), ZEROS.get(component.getType()));
+        }
+
+        // an instance field, so the JIT does not fold the handle as it would a static final one;
+        // RecordDecodeBenchmark.forRecord measures what that costs against a hand-written mapOf codec
+        MethodHandle constructor;
+        try {
+            constructor = lookup.findConstructor(type, MethodType.methodType(void.class, parameters))
+                    .asSpreader(Object[].class, parameters.length)
+                    .asType(MethodType.methodType(Object.class, Object[].class));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException("Cannot access canonical constructor of " + type.getName(), e);
+        }
+        YamlCodec<R> codec = new RecordYamlCodecBuilder.MapYamlCodec<R>(fields) {
+            @Override
+            protected R create(Object[] args) throws Throwable {
+                return (R) (Object) constructor.invokeExact(args);
+            }
+        };
+        building.put(type, codec);
+        return codec;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static YamlCodec<?> resolve(Type type, Map<Class<?>, YamlCodec<?>> building) {
+        if (type instanceof Class<?> cl) {
+            YamlCodec<?> codec = SIMPLE.get(cl);
+            if (codec != null) return codec;
+            if (cl.isEnum()) return YamlCodec.fromEnum((Class) cl);
+            if (cl.isArray()) {
+                YamlCodec<?> component = resolve(cl.getComponentType(), building);
+                return component == null ? null : component.listOf().asArray((Class) cl.getComponentType());
+            }
+            if (cl.isRecord()) {
+                YamlCodec<?> known = building.get(cl);
+                if (known != null) return known;
+                if (building.containsKey(cl)) {
+                    return YamlCodec.lazyLoad(() -> (YamlCodec) building.get(cl));
+                }
+                return create(cl, Map.of(), building);
+            }
+            return null;
+        }
+        if (type instanceof ParameterizedType pt && pt.getRawType() instanceof Class<?> raw) {
+            Type[] args = pt.getActualTypeArguments();
+            if (raw == List.class || raw == Collection.class || raw == Iterable.class) {
+                YamlCodec<?> element = resolve(args[0], building);
+                return element == null ? null : element.listOf();
+            }
+            if (raw == Set.class) {
+                YamlCodec<?> element = resolve(args[0], building);
+                return element == null ? null : element.listOf().asSet();
+            }
+            if (raw == Map.class) {
+                YamlCodec<?> key = resolve(args[0], building);
+                YamlCodec<?> value = resolve(args[1], building);
+                return key == null || value == null ? null : YamlCodec.mapOf(key, value);
+            }
+            return null;
+        }
+        if (type instanceof WildcardType wt && wt.getUpperBounds().length == 1) {
+            return resolve(wt.getUpperBounds()[0], building);
+        }
+        return null;
+    }
+
+    private static MethodHandles.Lookup lookup(Class<?> type) {
+        try {
+            return MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+        } catch (IllegalAccessException e) {
+            throw new IllegalArgumentException("Cannot access record " + type.getName(), e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Function<Object, Object> getter(MethodHandles.Lookup lookup, Class<?> type, RecordComponent component) {
+        MethodHandle accessor;
+        try {
+            accessor = lookup.unreflect(component.getAccessor());
+        } catch (IllegalAccessException e) {
+            throw new IllegalArgumentException("Cannot access " + type.getName() + "#" + component.getName(), e);
+        }
+        try {
+            // full-privilege lookups (the record shares our module) get a real lambda class
+            CallSite site = LambdaMetafactory.metafactory(
+                    lookup,
+                    "apply",
+                    MethodType.methodType(Function.class),
+                    MethodType.methodType(Object.class, Object.class),
+                    accessor,
+                    MethodType.methodType(MethodType.methodType(component.getType()).wrap().returnType(), type)
+            );
+            return (Function<Object, Object>) site.getTarget().invoke();
+        } catch (Throwable ignored) {
+        }
+        MethodHandle generic = accessor.asType(MethodType.methodType(Object.class, Object.class));
+        return value -> {
+            try {
+                return generic.invokeExact(value);
+            } catch (Throwable t) {
+                throw new IllegalStateException(t);
+            }
+        };
+    }
+}
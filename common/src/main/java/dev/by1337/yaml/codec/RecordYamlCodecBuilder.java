@@ -1,48 +1,55 @@
 package dev.by1337.yaml.codec;
 
 import dev.by1337.yaml.YamlValue;
+import dev.by1337.yaml.util.CompactMap;
+import org.jetbrains.annotations.Nullable;
 
-import java.util.LinkedHashMap;
 import java.util.Map;
 
 public class RecordYamlCodecBuilder {
 
-    private static <T> T decodeField(Map<String, YamlValue> map, YamlField<?, T> field, StringBuilder error) {
-        DataResult<T> t = field.decode(map);
-        if (t.hasError()) {
-            error.append("Errors in '").append(field.name).append("':\n  - ").append(t.error().replace("\n", "\n    ")).append("\n");
-        }
-        return t.orDefault(field.defaultValue);
+    /**
+     * Derives a codec from a record's components, in declaration order, using each component name as its key.
+     * <p>
+     * Component codecs are resolved from their types: primitives and their wrappers, {@code String},
+     * enums, arrays, {@code List}, {@code Set}, {@code Map} and nested records. Missing primitive
+     * components decode to their Java default value, missing reference components to {@code null}.
+     * <p>
+     * All reflection happens here; decoding calls the canonical constructor through a {@link java.lang.invoke.MethodHandle}.
+     *
+     * @param type the record class
+     * @throws IllegalArgumentException if a component type has no known codec
+     */
+    public static <R extends Record> YamlCodec<R> forRecord(Class<R> type) {
+        return forRecord(type, Map.of());
+    }
+
+    /**
+     * Same as {@link #forRecord(Class)}, but with explicit codecs for some components.
+     *
+     * <pre>{@code
+     * YamlCodec<Warp> CODEC = RecordYamlCodecBuilder.forRecord(Warp.class, Map.of(
+     *         "position", BukkitYamlCodecs.VECTOR
+     * ));
+     * }</pre>
+     *
+     * @param type      the record class
+     * @param overrides codecs by component name, used instead of the resolved ones
+     * @throws IllegalArgumentException if an override names no component, or a component type has no known codec
+     */
+    public static <R extends Record> YamlCodec<R> forRecord(Class<R> type, Map<String, YamlCodec<?>> overrides) {
+        return RecordCodecFactory.create(type, overrides);
     }
 
     public static <T, F0> YamlCodec<T> mapOf(
             Function1<F0, T> creator,
             YamlField<T, F0> f0
     ) {
-        return new MapYamlCodec<T>() {
-            @Override
-            public DataResult<T> decode(YamlValue value) {
-                return value.asMap(YamlCodec.STRING, YamlCodec.identity()).flatMap(map -> {
-                    StringBuilder error = new StringBuilder();
-                    F0 p0 = decodeField(map, f0, error);
-                    if (!error.isEmpty()) {
-                        error.setLength(error.length() - 1);
-                    }
-                    return DataResult.accept(
-                            () -> creator.apply(p0),
-                            t -> DataResult.error(error.toString(), t),
-                            error.isEmpty() ? null : error.toString()
-                    );
-                });
-            }
-
-            @SuppressWarnings({"rawtypes"})
-            private final YamlField[] fields = new YamlField[]{f0};
-
+        return new MapYamlCodec<T>(f0) {
             @Override
-            @SuppressWarnings({"rawtypes"})
-            protected YamlField[] getFields() {
-                return fields;
+            @SuppressWarnings("unchecked")
+            protected T create(Object[] args) {
+                return creator.apply((F0) args[0]);
             }
         };
     }
@@ -52,31 +59,11 @@ public class RecordYamlCodecBuilder {
             YamlField<T, F0> f0,
             YamlField<T, F1> f1
     ) {
-        return new MapYamlCodec<T>() {
+        return new MapYamlCodec<T>(f0, f1) {
             @Override
-            public DataResult<T> decode(YamlValue value) {
-                return value.asMap(YamlCodec.STRING, YamlCodec.identity()).flatMap(map -> {
-                    StringBuilder error = new StringBuilder();
-                    F0 p0 = decodeField(map, f0, error);
-                    F1 p1 = decodeField(map, f1, error);
-                    if (!error.isEmpty()) {
-                        error.setLength(error.length() - 1);
-                    }
-                    return DataResult.accept(
-                            () -> creator.apply(p0, p1),
-                            t -> DataResult.error(error.toString(), t),
-                            error.isEmpty() ? null : error.toString()
-                    );
-                });
-            }
-
-            @SuppressWarnings({"rawtypes"})
-            private final YamlField[] fields = new YamlField[]{f0, f1};
-
-            @Override
-            @SuppressWarnings({"rawtypes"})
-            protected YamlField[] getFields() {
-                return fields;
+            @SuppressWarnings("unchecked")
+            protected T create(Object[] args) {
+                return creator.apply((F0) args[0], (F1) args[1]);
             }
         };
     }
@@ -87,32 +74,11 @@ public class RecordYamlCodecBuilder {
             YamlField<T, F1> f1,
             YamlField<T, F2> f2
     ) {
-        return new MapYamlCodec<T>() {
-            @Override
-            public DataResult<T> decode(YamlValue value) {
-                return value.asMap(YamlCodec.STRING, YamlCodec.identity()).flatMap(map -> {
-                    StringBuilder error = new StringBuilder();
-                    F0 p0 = decodeField(map, f0, error);
-                    F1 p1 = decodeField(map, f1, error);
-                    F2 p2 = decodeField(map, f2, error);
-                    if (!error.isEmpty()) {
-                        error.setLength(error.length() - 1);
-                    }
-                    return DataResult.accept(
-                            () -> creator.apply(p0, p1, p2),
-                            t -> DataResult.error(error.toString(), t),
-                            error.isEmpty() ? null : error.toString()
-                    );
-                });
-            }
-
-            @SuppressWarnings({"rawtypes"})
-            private final YamlField[] fields = new YamlField[]{f0, f1, f2};
-
+        return new MapYamlCodec<T>(f0, f1, f2) {
             @Override
-            @SuppressWarnings({"rawtypes"})
-            protected YamlField[] getFields() {
-                return fields;
+            @SuppressWarnings("unchecked")
+            protected T create(Object[] args) {
+                return creator.apply((F0) args[0], (F1) args[1], (F2) args[2]);
             }
         };
     }
@@ -124,32 +90,11 @@ public class RecordYamlCodecBuilder {
             YamlField<T, F2> f2,
             YamlField<T, F3> f3
     ) {
-        return new MapYamlCodec<T>() {
-            @Override
-            public DataResult<T> decode(YamlValue value) {
-                return value.asMap(YamlCodec.STRING, YamlCodec.identity()).flatMap(map -> {
-                    StringBuilder error = new StringBuilder();
-                    F0 p0 = decodeField(map, f0, error);
-                    F1 p1 = decodeField(map, f1, error);
-                    F2 p2 = decodeField(map, f2, error);
-                    F3 p3 = decodeField(map, f3, error);
-                    if (!error.isEmpty()) {
-                        error.setLength(error.length() - 1);
-                    }
-                    return DataResult.accept(
-                            () -> creator.apply(p0, p1, p2, p3),
-                            t -> DataResult.error(error.toString(), t),
-                            error.isEmpty() ? null : error.toString());
-                });
-            }
-
-            @SuppressWarnings({"rawtypes"})
-            private final YamlField[] fields = new YamlField[]{f0, f1, f2, f3};
-
+        return new MapYamlCodec<T>(f0, f1, f2, f3) {
             @Override
-            @SuppressWarnings({"rawtypes"})
-            protected YamlField[] getFields() {
-                return fields;
+            @SuppressWarnings("unchecked")
+            protected T create(Object[] args) {
+                return creator.apply((F0) args[0], (F1) args[1], (F2) args[2], (F3) args[3]);
             }
         };
     }
@@ -162,33 +107,11 @@ public class RecordYamlCodecBuilder {
             YamlField<T, F3> f3,
             YamlField<T, F4> f4
     ) {
-        return new MapYamlCodec<T>() {
+        return new MapYamlCodec<T>(f0, f1, f2, f3, f4) {
             @Override
-            public DataResult<T> decode(YamlValue value) {
-                return value.asMap(YamlCodec.STRING, YamlCodec.identity()).flatMap(map -> {
-                    StringBuilder error = new StringBuilder();
-                    F0 p0 = decodeField(map, f0, error);
-                    F1 p1 = decodeField(map, f1, error);
-                    F2 p2 = decodeField(map, f2, error);
-                    F3 p3 = decodeField(map, f3, error);
-                    F4 p4 = decodeField(map, f4, error);
-                    if (!error.isEmpty()) {
-                        error.setLength(error.length() - 1);
-                    }
-                    return DataResult.accept(
-                            () -> creator.apply(p0, p1, p2, p3, p4),
-                            t -> DataResult.error(error.toString(), t),
-                            error.isEmpty() ? null : error.toString());
-                });
-            }
-
-            @SuppressWarnings({"rawtypes"})
-            private final YamlField[] fields = new YamlField[]{f0, f1, f2, f3, f4};
-
-            @Override
-            @SuppressWarnings({"rawtypes"})
-            protected YamlField[] getFields() {
-                return fields;
+            @SuppressWarnings("unchecked")
+            protected T create(Object[] args) {
+                return creator.apply((F0) args[0], (F1) args[1], (F2) args[2], (F3) args[3], (F4) args[4]);
             }
         };
     }
@@ -202,34 +125,11 @@ public class RecordYamlCodecBuilder {
             YamlField<T, F4> f4,
             YamlField<T, F5> f5
     ) {
-        return new MapYamlCodec<T>() {
+        return new MapYamlCodec<T>(f0, f1, f2, f3, f4, f5) {
             @Override
-            public DataResult<T> decode(YamlValue value) {
-                return value.asMap(YamlCodec.STRING, YamlCodec.identity()).flatMap(map -> {
-                    StringBuilder error = new StringBuilder();
-                    F0 p0 = decodeField(map, f0, error);
-                    F1 p1 = decodeField(map, f1, error);
-                    F2 p2 = decodeField(map, f2, error);
-                    F3 p3 = decodeField(map, f3, error);
-                    F4 p4 = decodeField(map, f4, error);
-                    F5 p5 = decodeField(map, f5, error);
-                    if (!error.isEmpty()) {
-                        error.setLength(error.length() - 1);
-                    }
-                    return DataResult.accept(
-                            () -> creator.apply(p0, p1, p2, p3, p4, p5),
-                            t -> DataResult.error(error.toString(), t),
-                            error.isEmpty() ? null : error.toString());
-                });
-            }
-
-            @SuppressWarnings({"rawtypes"})
-            private final YamlField[] fields = new YamlField[]{f0, f1, f2, f3, f4, f5};
-
-            @Override
-            @SuppressWarnings({"rawtypes"})
-            protected YamlField[] getFields() {
-                return fields;
+            @SuppressWarnings("unchecked")
+            protected T create(Object[] args) {
+                return creator.apply((F0) args[0], (F1) args[1], (F2) args[2], (F3) args[3], (F4) args[4], (F5) args[5]);
             }
         };
     }
@@ -244,35 +144,11 @@ public class RecordYamlCodecBuilder {
             YamlField<T, F5> f5,
             YamlField<T, F6> f6
     ) {
-        return new MapYamlCodec<T>() {
-            @Override
-            public DataResult<T> decode(YamlValue value) {
-                return value.asMap(YamlCodec.STRING, YamlCodec.identity()).flatMap(map -> {
-                    StringBuilder error = new StringBuilder();
-                    F0 p0 = decodeField(map, f0, error);
-                    F1 p1 = decodeField(map, f1, error);
-                    F2 p2 = decodeField(map, f2, error);
-                    F3 p3 = decodeField(map, f3, error);
-                    F4 p4 = decodeField(map, f4, error);
-                    F5 p5 = decodeField(map, f5, error);
-                    F6 p6 = decodeField(map, f6, error);
-                    if (!error.isEmpty()) {
-                        error.setLength(error.length() - 1);
-                    }
-                    return DataResult.accept(
-                            () -> creator.apply(p0, p1, p2, p3, p4, p5, p6),
-                            t -> DataResult.error(error.toString(), t),
-                            error.isEmpty() ? null : error.toString());
-                });
-            }
-
-            @SuppressWarnings({"rawtypes"})
-            private final YamlField[] fields = new YamlField[]{f0, f1, f2, f3, f4, f5, f6};
-
+        return new MapYamlCodec<T>(f0, f1, f2, f3, f4, f5, f6) {
             @Override
-            @SuppressWarnings({"rawtypes"})
-            protected YamlField[] getFields() {
-                return fields;
+            @SuppressWarnings("unchecked")
+            protected T create(Object[] args) {
+                return creator.apply((F0) args[0], (F1) args[1], (F2) args[2], (F3) args[3], (F4) args[4], (F5) args[5], (F6) args[6]);
             }
         };
     }
@@ -288,36 +164,11 @@ public class RecordYamlCodecBuilder {
             YamlField<T, F6> f6,
             YamlField<T, F7> f7
     ) {
-        return new MapYamlCodec<T>() {
+        return new MapYamlCodec<T>(f0, f1, f2, f3, f4, f5, f6, f7) {
             @Override
-            public DataResult<T> decode(YamlValue value) {
-                return value.asMap(YamlCodec.STRING, YamlCodec.identity()).flatMap(map -> {
-                    StringBuilder error = new StringBuilder();
-                    F0 p0 = decodeField(map, f0, error);
-                    F1 p1 = decodeField(map, f1, error);
-                    F2 p2 = decodeField(map, f2, error);
-                    F3 p3 = decodeField(map, f3, error);
-                    F4 p4 = decodeField(map, f4, error);
-                    F5 p5 = decodeField(map, f5, error);
-                    F6 p6 = decodeField(map, f6, error);
-                    F7 p7 = decodeField(map, f7, error);
-                    if (!error.isEmpty()) {
-                        error.setLength(error.length() - 1);
-                    }
-                    return DataResult.accept(
-                            () -> creator.apply(p0, p1, p2, p3, p4, p5, p6, p7),
-                            t -> DataResult.error(error.toString(), t),
-                            error.isEmpty() ? null : error.toString());
-                });
-            }
-
-            @SuppressWarnings({"rawtypes"})
-            private final YamlField[] fields = new YamlField[]{f0, f1, f2, f3, f4, f5, f6, f7};
-
-            @Override
-            @SuppressWarnings({"rawtypes"})
-            protected YamlField[] getFields() {
-                return fields;
+            @SuppressWarnings("unchecked")
+            protected T create(Object[] args) {
+                return creator.apply((F0) args[0], (F1) args[1], (F2) args[2], (F3) args[3], (F4) args[4], (F5) args[5], (F6) args[6], (F7) args[7]);
             }
         };
     }
@@ -334,37 +185,11 @@ public class RecordYamlCodecBuilder {
             YamlField<T, F7> f7,
             YamlField<T, F8> f8
     ) {
-        return new MapYamlCodec<T>() {
+        return new MapYamlCodec<T>(f0, f1, f2, f3, f4, f5, f6, f7, f8) {
             @Override
-            public DataResult<T> decode(YamlValue value) {
-                return value.asMap(YamlCodec.STRING, YamlCodec.identity()).flatMap(map -> {
-                    StringBuilder error = new StringBuilder();
-                    F0 p0 = decodeField(map, f0, error);
-                    F1 p1 = decodeField(map, f1, error);
-                    F2 p2 = decodeField(map, f2, error);
-                    F3 p3 = decodeField(map, f3, error);
-                    F4 p4 = decodeField(map, f4, error);
-                    F5 p5 = decodeField(map, f5, error);
-                    F6 p6 = decodeField(map, f6, error);
-                    F7 p7 = decodeField(map, f7, error);
-                    F8 p8 = decodeField(map, f8, error);
-                    if (!error.isEmpty()) {
-                        error.setLength(error.length() - 1);
-                    }
-                    return DataResult.accept(
-                            () -> creator.apply(p0, p1, p2, p3, p4, p5, p6, p7, p8),
-                            t -> DataResult.error(error.toString(), t),
-                            error.isEmpty() ? null : error.toString());
-                });
-            }
-
-            @SuppressWarnings({"rawtypes"})
-            private final YamlField[] fields = new YamlField[]{f0, f1, f2, f3, f4, f5, f6, f7, f8};
-
-            @Override
-            @SuppressWarnings({"rawtypes"})
-            protected YamlField[] getFields() {
-                return fields;
+            @SuppressWarnings("unchecked")
+            protected T create(Object[] args) {
+                return creator.apply((F0) args[0], (F1) args[1], (F2) args[2], (F3) args[3], (F4) args[4], (F5) args[5], (F6) args[6], (F7) args[7], (F8) args[8]);
             }
         };
     }
@@ -382,38 +207,11 @@ public class RecordYamlCodecBuilder {
             YamlField<T, F8> f8,
             YamlField<T, F9> f9
     ) {
-        return new MapYamlCodec<T>() {
+        return new MapYamlCodec<T>(f0, f1, f2, f3, f4, f5, f6, f7, f8, f9) {
             @Override
-            public DataResult<T> decode(YamlValue value) {
-                return value.asMap(YamlCodec.STRING, YamlCodec.identity()).flatMap(map -> {
-                    StringBuilder error = new StringBuilder();
-                    F0 p0 = decodeField(map, f0, error);
-                    F1 p1 = decodeField(map, f1, error);
-                    F2 p2 = decodeField(map, f2, error);
-                    F3 p3 = decodeField(map, f3, error);
-                    F4 p4 = decodeField(map, f4, error);
-                    F5 p5 = decodeField(map, f5, error);
-                    F6 p6 = decodeField(map, f6, error);
-                    F7 p7 = decodeField(map, f7, error);
-                    F8 p8 = decodeField(map, f8, error);
-                    F9 p9 = decodeField(map, f9, error);
-                    if (!error.isEmpty()) {
-                        error.setLength(error.length() - 1);
-                    }
-                    return DataResult.accept(
-                            () -> creator.apply(p0, p1, p2, p3, p4, p5, p6, p7, p8, p9),
-                            t -> DataResult.error(error.toString(), t),
-                            error.isEmpty() ? null : error.toString());
-                });
-            }
-
-            @SuppressWarnings({"rawtypes"})
-            private final YamlField[] fields = new YamlField[]{f0, f1, f2, f3, f4, f5, f6, f7, f8, f9};
-
-            @Override
-            @SuppressWarnings({"rawtypes"})
-            protected YamlField[] getFields() {
-                return fields;
+            @SuppressWarnings("unchecked")
+            protected T create(Object[] args) {
+                return creator.apply((F0) args[0], (F1) args[1], (F2) args[2], (F3) args[3], (F4) args[4], (F5) args[5], (F6) args[6], (F7) args[7], (F8) args[8], (F9) args[9]);
             }
         };
     }
@@ -432,39 +230,11 @@ public class RecordYamlCodecBuilder {
             YamlField<T, F9> f9,
             YamlField<T, F10> f10
     ) {
-        return new MapYamlCodec<T>() {
-            @Override
-            public DataResult<T> decode(YamlValue value) {
-                return value.asMap(YamlCodec.STRING, YamlCodec.identity()).flatMap(map -> {
-                    StringBuilder error = new StringBuilder();
-                    F0 p0 = decodeField(map, f0, error);
-                    F1 p1 = decodeField(map, f1, error);
-                    F2 p2 = decodeField(map, f2, error);
-                    F3 p3 = decodeField(map, f3, error);
-                    F4 p4 = decodeField(map, f4, error);
-                    F5 p5 = decodeField(map, f5, error);
-                    F6 p6 = decodeField(map, f6, error);
-                    F7 p7 = decodeField(map, f7, error);
-                    F8 p8 = decodeField(map, f8, error);
-                    F9 p9 = decodeField(map, f9, error);
-                    F10 p10 = decodeField(map, f10, error);
-                    if (!error.isEmpty()) {
-                        error.setLength(error.length() - 1);
-                    }
-                    return DataResult.accept(
-                            () -> creator.apply(p0, p1, p2, p3, p4, p5, p6, p7, p8, p9, p10),
-                            t -> DataResult.error(error.toString(), t),
-                            error.isEmpty() ? null : error.toString());
-                });
-            }
-
-            @SuppressWarnings({"rawtypes"})
-            private final YamlField[] fields = new YamlField[]{f0, f1, f2, f3, f4, f5, f6, f7, f8, f9, f10};
-
+        return new MapYamlCodec<T>(f0, f1, f2, f3, f4, f5, f6, f7, f8, f9, f10) {
             @Override
-            @SuppressWarnings({"rawtypes"})
-            protected YamlField[] getFields() {
-                return fields;
+            @SuppressWarnings("unchecked")
+            protected T create(Object[] args) {
+                return creator.apply((F0) args[0], (F1) args[1], (F2) args[2], (F3) args[3], (F4) args[4], (F5) args[5], (F6) args[6], (F7) args[7], (F8) args[8], (F9) args[9], (F10) args[10]);
             }
         };
     }
@@ -484,40 +254,11 @@ public class RecordYamlCodecBuilder {
             YamlField<T, F10> f10,
             YamlField<T, F11> f11
     ) {
-        return new MapYamlCodec<T>() {
-            @Override
-            public DataResult<T> decode(YamlValue value) {
-                return value.asMap(YamlCodec.STRING, YamlCodec.identity()).flatMap(map -> {
-                    StringBuilder error = new StringBuilder();
-                    F0 p0 = decodeField(map, f0, error);
-                    F1 p1 = decodeField(map, f1, error);
-                    F2 p2 = decodeField(map, f2, error);
-                    F3 p3 = decodeField(map, f3, error);
-                    F4 p4 = decodeField(map, f4, error);
-                    F5 p5 = decodeField(map, f5, error);
-                    F6 p6 = decodeField(map, f6, error);
-                    F7 p7 = decodeField(map, f7, error);
-                    F8 p8 = decodeField(map, f8, error);
-                    F9 p9 = decodeField(map, f9, error);
-                    F10 p10 = decodeField(map, f10, error);
-                    F11 p11 = decodeField(map, f11, error);
-                    if (!error.isEmpty()) {
-                        error.setLength(error.length() - 1);
-                    }
-                    return DataResult.accept(
-                            () -> creator.apply(p0, p1, p2, p3, p4, p5, p6, p7, p8, p9, p10, p11),
-                            t -> DataResult.error(error.toString(), t),
-                            error.isEmpty() ? null : error.toString());
-                });
-            }
-
-            @SuppressWarnings({"rawtypes"})
-            private final YamlField[] fields = new YamlField[]{f0, f1, f2, f3, f4, f5, f6, f7, f8, f9, f10, f11};
-
+        return new MapYamlCodec<T>(f0, f1, f2, f3, f4, f5, f6, f7, f8, f9, f10, f11) {
             @Override
-            @SuppressWarnings({"rawtypes"})
-            protected YamlField[] getFields() {
-                return fields;
+            @SuppressWarnings("unchecked")
+            protected T create(Object[] args) {
+                return creator.apply((F0) args[0], (F1) args[1], (F2) args[2], (F3) args[3], (F4) args[4], (F5) args[5], (F6) args[6], (F7) args[7], (F8) args[8], (F9) args[9], (F10) args[10], (F11) args[11]);
             }
         };
     }
@@ -538,41 +279,11 @@ public class RecordYamlCodecBuilder {
             YamlField<T, F11> f11,
             YamlField<T, F12> f12
     ) {
-        return new MapYamlCodec<T>() {
-            @Override
-            public DataResult<T> decode(YamlValue value) {
-                return value.asMap(YamlCodec.STRING, YamlCodec.identity()).flatMap(map -> {
-                    StringBuilder error = new StringBuilder();
-                    F0 p0 = decodeField(map, f0, error);
-                    F1 p1 = decodeField(map, f1, error);
-                    F2 p2 = decodeField(map, f2, error);
-                    F3 p3 = decodeField(map, f3, error);
-                    F4 p4 = decodeField(map, f4, error);
-                    F5 p5 = decodeField(map, f5, error);
-                    F6 p6 = decodeField(map, f6, error);
-                    F7 p7 = decodeField(map, f7, error);
-                    F8 p8 = decodeField(map, f8, error);
-                    F9 p9 = decodeField(map, f9, error);
-                    F10 p10 = decodeField(map, f10, error);
-                    F11 p11 = decodeField(map, f11, error);
-                    F12 p12 = decodeField(map, f12, error);
-                    if (!error.isEmpty()) {
-                        error.setLength(error.length() - 1);
-                    }
-                    return DataResult.accept(
-                            () -> creator.apply(p0, p1, p2, p3, p4, p5, p6, p7, p8, p9, p10, p11, p12),
-                            t -> DataResult.error(error.toString(), t),
-                            error.isEmpty() ? null : error.toString());
-                });
-            }
-
-            @SuppressWarnings({"rawtypes"})
-            private final YamlField[] fields = new YamlField[]{f0, f1, f2, f3, f4, f5, f6, f7, f8, f9, f10, f11, f12};
-
+        return new MapYamlCodec<T>(f0, f1, f2, f3, f4, f5, f6, f7, f8, f9, f10, f11, f12) {
             @Override
-            @SuppressWarnings({"rawtypes"})
-            protected YamlField[] getFields() {
-                return fields;
+            @SuppressWarnings("unchecked")
+            protected T create(Object[] args) {
+                return creator.apply((F0) args[0], (F1) args[1], (F2) args[2], (F3) args[3], (F4) args[4], (F5) args[5], (F6) args[6], (F7) args[7], (F8) args[8], (F9) args[9], (F10) args[10], (F11) args[11], (F12) args[12]);
             }
         };
     }
@@ -594,42 +305,11 @@ public class RecordYamlCodecBuilder {
             YamlField<T, F12> f12,
             YamlField<T, F13> f13
     ) {
-        return new MapYamlCodec<T>() {
+        return new MapYamlCodec<T>(f0, f1, f2, f3, f4, f5, f6, f7, f8, f9, f10, f11, f12, f13) {
             @Override
-            public DataResult<T> decode(YamlValue value) {
-                return value.asMap(YamlCodec.STRING, YamlCodec.identity()).flatMap(map -> {
-                    StringBuilder error = new StringBuilder();
-                    F0 p0 = decodeField(map, f0, error);
-                    F1 p1 = decodeField(map, f1, error);
-                    F2 p2 = decodeField(map, f2, error);
-                    F3 p3 = decodeField(map, f3, error);
-                    F4 p4 = decodeField(map, f4, error);
-                    F5 p5 = decodeField(map, f5, error);
-                    F6 p6 = decodeField(map, f6, error);
-                    F7 p7 = decodeField(map, f7, error);
-                    F8 p8 = decodeField(map, f8, error);
-                    F9 p9 = decodeField(map, f9, error);
-                    F10 p10 = decodeField(map, f10, error);
-                    F11 p11 = decodeField(map, f11, error);
-                    F12 p12 = decodeField(map, f12, error);
-                    F13 p13 = decodeField(map, f13, error);
-                    if (!error.isEmpty()) {
-                        error.setLength(error.length() - 1);
-                    }
-                    return DataResult.accept(
-                            () -> creator.apply(p0, p1, p2, p3, p4, p5, p6, p7, p8, p9, p10, p11, p12, p13),
-                            t -> DataResult.error(error.toString(), t),
-                            error.isEmpty() ? null : error.toString());
-                });
-            }
-
-            @SuppressWarnings({"rawtypes"})
-            private final YamlField[] fields = new YamlField[]{f0, f1, f2, f3, f4, f5, f6, f7, f8, f9, f10, f11, f12, f13};
-
-            @Override
-            @SuppressWarnings({"rawtypes"})
-            protected YamlField[] getFields() {
-                return fields;
+            @SuppressWarnings("unchecked")
+            protected T create(Object[] args) {
+                return creator.apply((F0) args[0], (F1) args[1], (F2) args[2], (F3) args[3], (F4) args[4], (F5) args[5], (F6) args[6], (F7) args[7], (F8) args[8], (F9) args[9], (F10) args[10], (F11) args[11], (F12) args[12], (F13) args[13]);
             }
         };
     }
@@ -652,43 +332,11 @@ public class RecordYamlCodecBuilder {
             YamlField<T, F13> f13,
             YamlField<T, F14> f14
     ) {
-        return new MapYamlCodec<T>() {
-            @Override
-            public DataResult<T> decode(YamlValue value) {
-                return value.asMap(YamlCodec.STRING, YamlCodec.identity()).flatMap(map -> {
-                    StringBuilder error = new StringBuilder();
-                    F0 p0 = decodeField(map, f0, error);
-                    F1 p1 = decodeField(map, f1, error);
-                    F2 p2 = decodeField(map, f2, error);
-                    F3 p3 = decodeField(map, f3, error);
-                    F4 p4 = decodeField(map, f4, error);
-                    F5 p5 = decodeField(map, f5, error);
-                    F6 p6 = decodeField(map, f6, error);
-                    F7 p7 = decodeField(map, f7, error);
-                    F8 p8 = decodeField(map, f8, error);
-                    F9 p9 = decodeField(map, f9, error);
-                    F10 p10 = decodeField(map, f10, error);
-                    F11 p11 = decodeField(map, f11, error);
-                    F12 p12 = decodeField(map, f12, error);
-                    F13 p13 = decodeField(map, f13, error);
-                    F14 p14 = decodeField(map, f14, error);
-                    if (!error.isEmpty()) {
-                        error.setLength(error.length() - 1);
-                    }
-                    return DataResult.accept(
-                            () -> creator.apply(p0, p1, p2, p3, p4, p5, p6, p7, p8, p9, p10, p11, p12, p13, p14),
-                            t -> DataResult.error(error.toString(), t),
-                            error.isEmpty() ? null : error.toString());
-                });
-            }
-
-            @SuppressWarnings({"rawtypes"})
-            private final YamlField[] fields = new YamlField[]{f0, f1, f2, f3, f4, f5, f6, f7, f8, f9, f10, f11, f12, f13, f14};
-
+        return new MapYamlCodec<T>(f0, f1, f2, f3, f4, f5, f6, f7, f8, f9, f10, f11, f12, f13, f14) {
             @Override
-            @SuppressWarnings({"rawtypes"})
-            protected YamlField[] getFields() {
-                return fields;
+            @SuppressWarnings("unchecked")
+            protected T create(Object[] args) {
+                return creator.apply((F0) args[0], (F1) args[1], (F2) args[2], (F3) args[3], (F4) args[4], (F5) args[5], (F6) args[6], (F7) args[7], (F8) args[8], (F9) args[9], (F10) args[10], (F11) args[11], (F12) args[12], (F13) args[13], (F14) args[14]);
             }
         };
     }
@@ -712,44 +360,11 @@ public class RecordYamlCodecBuilder {
             YamlField<T, F14> f14,
             YamlField<T, F15> f15
     ) {
-        return new MapYamlCodec<T>() {
-            @Override
-            public DataResult<T> decode(YamlValue value) {
-                return value.asMap(YamlCodec.STRING, YamlCodec.identity()).flatMap(map -> {
-                    StringBuilder error = new StringBuilder();
-                    F0 p0 = decodeField(map, f0, error);
-                    F1 p1 = decodeField(map, f1, error);
-                    F2 p2 = decodeField(map, f2, error);
-                    F3 p3 = decodeField(map, f3, error);
-                    F4 p4 = decodeField(map, f4, error);
-                    F5 p5 = decodeField(map, f5, error);
-                    F6 p6 = decodeField(map, f6, error);
-                    F7 p7 = decodeField(map, f7, error);
-                    F8 p8 = decodeField(map, f8, error);
-                    F9 p9 = decodeField(map, f9, error);
-                    F10 p10 = decodeField(map, f10, error);
-                    F11 p11 = decodeField(map, f11, error);
-                    F12 p12 = decodeField(map, f12, error);
-                    F13 p13 = decodeField(map, f13, error);
-                    F14 p14 = decodeField(map, f14, error);
-                    F15 p15 = decodeField(map, f15, error);
-                    if (!error.isEmpty()) {
-                        error.setLength(error.length() - 1);
-                    }
-                    return DataResult.accept(
-                            () -> creator.apply(p0, p1, p2, p3, p4, p5, p6, p7, p8, p9, p10, p11, p12, p13, p14, p15),
-                            t -> DataResult.error(error.toString(), t),
-                            error.isEmpty() ? null : error.toString());
-                });
-            }
-
-            @SuppressWarnings({"rawtypes"})
-            private final YamlField[] fields = new YamlField[]{f0, f1, f2, f3, f4, f5, f6, f7, f8, f9, f10, f11, f12, f13, f14, f15};
-
+        return new MapYamlCodec<T>(f0, f1, f2, f3, f4, f5, f6, f7, f8, f9, f10, f11, f12, f13, f14, f15) {
             @Override
-            @SuppressWarnings({"rawtypes"})
-            protected YamlField[] getFields() {
-                return fields;
+            @SuppressWarnings("unchecked")
+            protected T create(Object[] args) {
+                return creator.apply((F0) args[0], (F1) args[1], (F2) args[2], (F3) args[3], (F4) args[4], (F5) args[5], (F6) args[6], (F7) args[7], (F8) args[8], (F9) args[9], (F10) args[10], (F11) args[11], (F12) args[12], (F13) args[13], (F14) args[14], (F15) args[15]);
             }
         };
     }
@@ -774,45 +389,11 @@ public class RecordYamlCodecBuilder {
             YamlField<T, F15> f15,
             YamlField<T, F16> f16
     ) {
-        return new MapYamlCodec<T>() {
+        return new MapYamlCodec<T>(f0, f1, f2, f3, f4, f5, f6, f7, f8, f9, f10, f11, f12, f13, f14, f15, f16) {
             @Override
-            public DataResult<T> decode(YamlValue value) {
-                return value.asMap(YamlCodec.STRING, YamlCodec.identity()).flatMap(map -> {
-                    StringBuilder error = new StringBuilder();
-                    F0 p0 = decodeField(map, f0, error);
-                    F1 p1 = decodeField(map, f1, error);
-                    F2 p2 = decodeField(map, f2, error);
-                    F3 p3 = decodeField(map, f3, error);
-                    F4 p4 = decodeField(map, f4, error);
-                    F5 p5 = decodeField(map, f5, error);
-                    F6 p6 = decodeField(map, f6, error);
-                    F7 p7 = decodeField(map, f7, error);
-                    F8 p8 = decodeField(map, f8, error);
-                    F9 p9 = decodeField(map, f9, error);
-                    F10 p10 = decodeField(map, f10, error);
-                    F11 p11 = decodeField(map, f11, error);
-                    F12 p12 = decodeField(map, f12, error);
-                    F13 p13 = decodeField(map, f13, error);
-                    F14 p14 = decodeField(map, f14, error);
-                    F15 p15 = decodeField(map, f15, error);
-                    F16 p16 = decodeField(map, f16, error);
-                    if (!error.isEmpty()) {
-                        error.setLength(error.length() - 1);
-                    }
-                    return DataResult.accept(
-                            () -> creator.apply(p0, p1, p2, p3, p4, p5, p6, p7, p8, p9, p10, p11, p12, p13, p14, p15, p16),
-                            t -> DataResult.error(error.toString(), t),
-                            error.isEmpty() ? null : error.toString());
-                });
-            }
-
-            @SuppressWarnings({"rawtypes"})
-            private final YamlField[] fields = new YamlField[]{f0, f1, f2, f3, f4, f5, f6, f7, f8, f9, f10, f11, f12, f13, f14, f15, f16};
-
-            @Override
-            @SuppressWarnings({"rawtypes"})
-            protected YamlField[] getFields() {
-                return fields;
+            @SuppressWarnings("unchecked")
+            protected T create(Object[] args) {
+                return creator.apply((F0) args[0], (F1) args[1], (F2) args[2], (F3) args[3], (F4) args[4], (F5) args[5], (F6) args[6], (F7) args[7], (F8) args[8], (F9) args[9], (F10) args[10], (F11) args[11], (F12) args[12], (F13) args[13], (F14) args[14], (F15) args[15], (F16) args[16]);
             }
         };
     }
@@ -838,46 +419,11 @@ public class RecordYamlCodecBuilder {
             YamlField<T, F16> f16,
             YamlField<T, F17> f17
     ) {
-        return new MapYamlCodec<T>() {
+        return new MapYamlCodec<T>(f0, f1, f2, f3, f4, f5, f6, f7, f8, f9, f10, f11, f12, f13, f14, f15, f16, f17) {
             @Override
-            public DataResult<T> decode(YamlValue value) {
-                return value.asMap(YamlCodec.STRING, YamlCodec.identity()).flatMap(map -> {
-                    StringBuilder error = new StringBuilder();
-                    F0 p0 = decodeField(map, f0, error);
-                    F1 p1 = decodeField(map, f1, error);
-                    F2 p2 = decodeField(map, f2, error);
-                    F3 p3 = decodeField(map, f3, error);
-                    F4 p4 = decodeField(map, f4, error);
-                    F5 p5 = decodeField(map, f5, error);
-                    F6 p6 = decodeField(map, f6, error);
-                    F7 p7 = decodeField(map, f7, error);
-                    F8 p8 = decodeField(map, f8, error);
-                    F9 p9 = decodeField(map, f9, error);
-                    F10 p10 = decodeField(map, f10, error);
-                    F11 p11 = decodeField(map, f11, error);
-                    F12 p12 = decodeField(map, f12, error);
-                    F13 p13 = decodeField(map, f13, error);
-                    F14 p14 = decodeField(map, f14, error);
-                    F15 p15 = decodeField(map, f15, error);
-                    F16 p16 = decodeField(map, f16, error);
-                    F17 p17 = decodeField(map, f17, error);
-                    if (!error.isEmpty()) {
-                        error.setLength(error.length() - 1);
-                    }
-                    return DataResult.accept(
-                            () -> creator.apply(p0, p1, p2, p3, p4, p5, p6, p7, p8, p9, p10, p11, p12, p13, p14, p15, p16, p17),
-                            t -> DataResult.error(error.toString(), t),
-                            error.isEmpty() ? null : error.toString());
-                });
-            }
-
-            @SuppressWarnings({"rawtypes"})
-            private final YamlField[] fields = new YamlField[]{f0, f1, f2, f3, f4, f5, f6, f7, f8, f9, f10, f11, f12, f13, f14, f15, f16, f17};
-
-            @Override
-            @SuppressWarnings({"rawtypes"})
-            protected YamlField[] getFields() {
-                return fields;
+            @SuppressWarnings("unchecked")
+            protected T create(Object[] args) {
+                return creator.apply((F0) args[0], (F1) args[1], (F2) args[2], (F3) args[3], (F4) args[4], (F5) args[5], (F6) args[6], (F7) args[7], (F8) args[8], (F9) args[9], (F10) args[10], (F11) args[11], (F12) args[12], (F13) args[13], (F14) args[14], (F15) args[15], (F16) args[16], (F17) args[17]);
             }
         };
     }
@@ -904,47 +450,11 @@ public class RecordYamlCodecBuilder {
             YamlField<T, F17> f17,
             YamlField<T, F18> f18
     ) {
-        return new MapYamlCodec<T>() {
-            @Override
-            public DataResult<T> decode(YamlValue value) {
-                return value.asMap(YamlCodec.STRING, YamlCodec.identity()).flatMap(map -> {
-                    StringBuilder error = new StringBuilder();
-                    F0 p0 = decodeField(map, f0, error);
-                    F1 p1 = decodeField(map, f1, error);
-                    F2 p2 = decodeField(map, f2, error);
-                    F3 p3 = decodeField(map, f3, error);
-                    F4 p4 = decodeField(map, f4, error);
-                    F5 p5 = decodeField(map, f5, error);
-                    F6 p6 = decodeField(map, f6, error);
-                    F7 p7 = decodeField(map, f7, error);
-                    F8 p8 = decodeField(map, f8, error);
-                    F9 p9 = decodeField(map, f9, error);
-                    F10 p10 = decodeField(map, f10, error);
-                    F11 p11 = decodeField(map, f11, error);
-                    F12 p12 = decodeField(map, f12, error);
-                    F13 p13 = decodeField(map, f13, error);
-                    F14 p14 = decodeField(map, f14, error);
-                    F15 p15 = decodeField(map, f15, error);
-                    F16 p16 = decodeField(map, f16, error);
-                    F17 p17 = decodeField(map, f17, error);
-                    F18 p18 = decodeField(map, f18, error);
-                    if (!error.isEmpty()) {
-                        error.setLength(error.length() - 1);
-                    }
-                    return DataResult.accept(
-                            () -> creator.apply(p0, p1, p2, p3, p4, p5, p6, p7, p8, p9, p10, p11, p12, p13, p14, p15, p16, p17, p18),
-                            t -> DataResult.error(error.toString(), t),
-                            error.isEmpty() ? null : error.toString());
-                });
-            }
-
-            @SuppressWarnings({"rawtypes"})
-            private final YamlField[] fields = new YamlField[]{f0, f1, f2, f3, f4, f5, f6, f7, f8, f9, f10, f11, f12, f13, f14, f15, f16, f17, f18};
-
+        return new MapYamlCodec<T>(f0, f1, f2, f3, f4, f5, f6, f7, f8, f9, f10, f11, f12, f13, f14, f15, f16, f17, f18) {
             @Override
-            @SuppressWarnings({"rawtypes"})
-            protected YamlField[] getFields() {
-                return fields;
+            @SuppressWarnings("unchecked")
+            protected T create(Object[] args) {
+                return creator.apply((F0) args[0], (F1) args[1], (F2) args[2], (F3) args[3], (F4) args[4], (F5) args[5], (F6) args[6], (F7) args[7], (F8) args[8], (F9) args[9], (F10) args[10], (F11) args[11], (F12) args[12], (F13) args[13], (F14) args[14], (F15) args[15], (F16) args[16], (F17) args[17], (F18) args[18]);
             }
         };
     }
@@ -972,62 +482,79 @@ public class RecordYamlCodecBuilder {
             YamlField<T, F18> f18,
             YamlField<T, F19> f19
     ) {
-        return new MapYamlCodec<T>() {
+        return new MapYamlCodec<T>(f0, f1, f2, f3, f4, f5, f6, f7, f8, f9, f10, f11, f12, f13, f14, f15, f16, f17, f18, f19) {
             @Override
-            public DataResult<T> decode(YamlValue value) {
-                return value.asMap(YamlCodec.STRING, YamlCodec.identity()).flatMap(map -> {
-                    StringBuilder error = new StringBuilder();
-                    F0 p0 = decodeField(map, f0, error);
-                    F1 p1 = decodeField(map, f1, error);
-                    F2 p2 = decodeField(map, f2, error);
-                    F3 p3 = decodeField(map, f3, error);
-                    F4 p4 = decodeField(map, f4, error);
-                    F5 p5 = decodeField(map, f5, error);
-                    F6 p6 = decodeField(map, f6, error);
-                    F7 p7 = decodeField(map, f7, error);
-                    F8 p8 = decodeField(map, f8, error);
-                    F9 p9 = decodeField(map, f9, error);
-                    F10 p10 = decodeField(map, f10, error);
-                    F11 p11 = decodeField(map, f11, error);
-                    F12 p12 = decodeField(map, f12, error);
-                    F13 p13 = decodeField(map, f13, error);
-                    F14 p14 = decodeField(map, f14, error);
-                    F15 p15 = decodeField(map, f15, error);
-                    F16 p16 = decodeField(map, f16, error);
-                    F17 p17 = decodeField(map, f17, error);
-                    F18 p18 = decodeField(map, f18, error);
-                    F19 p19 = decodeField(map, f19, error);
-                    if (!error.isEmpty()) {
-                        error.setLength(error.length() - 1);
-                    }
-                    return DataResult.accept(
-                            () -> creator.apply(p0, p1, p2, p3, p4, p5, p6, p7, p8, p9, p10, p11, p12, p13, p14, p15, p16, p17, p18, p19),
-                            t -> DataResult.error(error.toString(), t),
-                            error.isEmpty() ? null : error.toString());
-                });
-            }
-
-            @SuppressWarnings({"rawtypes"})
-            private final YamlField[] fields = new YamlField[]{f0, f1, f2, f3, f4, f5, f6, f7, f8, f9, f10, f11, f12, f13, f14, f15, f16, f17, f18, f19};
-
-            @Override
-            @SuppressWarnings({"rawtypes"})
-            protected YamlField[] getFields() {
-                return fields;
+            @SuppressWarnings("unchecked")
+            protected T create(Object[] args) {
+                return creator.apply((F0) args[0], (F1) args[1], (F2) args[2], (F3) args[3], (F4) args[4], (F5) args[5], (F6) args[6], (F7) args[7], (F8) args[8], (F9) args[9], (F10) args[10], (F11) args[11], (F12) args[12], (F13) args[13], (F14) args[14], (F15) args[15], (F16) args[16], (F17) args[17], (F18) args[18], (F19) args[19]);
             }
         };
     }
 
-    private static abstract class MapYamlCodec<T> implements YamlCodec<T> {
-
+    static abstract class MapYamlCodec<T> extends DirectYamlCodec<T> {
         @SuppressWarnings({"rawtypes"})
-        protected abstract YamlField[] getFields();
+        private final YamlField[] fields;
+
+        // wildcard fields keep the array reifiable, so the anonymous subclasses need no @SafeVarargs
+        MapYamlCodec(YamlField<?, ?>... fields) {
+            this.fields = fields;
+        }
+
+        protected abstract T create(Object[] args) throws Throwable;
+
+        @Override
+        public @Nullable T decode(@Nullable Object raw, DecodeContext ctx) {
+            raw = CodecSupport.unwrap(raw);
+            if (!(raw instanceof Map<?, ?> map)) return CodecSupport.expectedMap(ctx, raw);
+            DataResult<?> pending = ctx.takeError();
+            T result = decodeFields(map, ctx);
+            ctx.restore(pending);
+            return result;
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private @Nullable T decodeFields(Map<?, ?> map, DecodeContext ctx) {
+            DecodeOptions options = ctx.options();
+            Object[] args = options.validateOnly() ? null : new Object[fields.length];
+            ErrorTree errors = null;
+            for (int i = 0; i < fields.length; i++) {
+                YamlField field = fields[i];
+                Object value = field.lookup(map);
+                if (value == CodecSupport.ABSENT) {
+                    if (args != null) args[i] = field.defaultValue;
+                    continue;
+                }
+                Object decoded = field.codec.decode(value, ctx);
+                DataResult<?> error = ctx.takeError();
+                if (error != null) {
+                    errors = CodecSupport.fieldError(errors, field.name, error);
+                    if (options.failFast()) {
+                        ctx.report(errors);
+                        return null;
+                    }
+                }
+                if (args != null) args[i] = decoded == null ? field.defaultValue : decoded;
+            }
+            if (args == null) {
+                if (errors != null) ctx.report(errors);
+                return null;
+            }
+            T result;
+            try {
+                result = create(args);
+            } catch (Throwable t) {
+                ctx.report(CodecSupport.failed(errors, t));
+                return null;
+            }
+            if (errors != null) ctx.report(errors);
+            return result;
+        }
 
         @Override
         @SuppressWarnings({"unchecked", "rawtypes"})
         public YamlValue encode(T value) {
-            Map<Object, Object> map = new LinkedHashMap<>();
-            for (YamlField field : getFields()) {
+            Map<Object, Object> map = new CompactMap<>(fields.length);
+            for (YamlField field : fields) {
                 Object o = field.getter.apply(value);
                 if (o == null) {
                     o = field.defaultValue;
@@ -1049,7 +576,6 @@ public class RecordYamlCodecBuilder {
         }
     }
 
-
     public interface Function1<F0, T> {
         T apply(F0 f0);
     }
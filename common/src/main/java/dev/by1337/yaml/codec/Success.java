@@ -0,0 +1,108 @@
+package dev.by1337.yaml.codec;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.function.Function;
+
+/**
+ * The result of {@link DataResult#success(Object)}. {@code null}, booleans and small integers, which most
+ * decodes produce, share cached instances, and {@link #map} returns {@code this} when the value does not change.
+ */
+final class Success<T> implements DataResult<T> {
+    private static final Success<?> NULL = new Success<>(null);
+    private static final Success<Boolean> TRUE = new Success<>(Boolean.TRUE);
+    private static final Success<Boolean> FALSE = new Success<>(Boolean.FALSE);
+    private static final Success<String> EMPTY_STRING = new Success<>("");
+    private static final int INT_CACHE_LOW = -128;
+    private static final Success<?>[] INTS = new Success<?>[256];
+
+    static {
+        for (int i = 0; i < INTS.length; i++) {
+            INTS[i] = new Success<>(i + INT_CACHE_LOW);
+        }
+    }
+
+    private final @Nullable T value;
+
+    private Success(@Nullable T value) {
+        this.value = value;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> DataResult<T> of(@Nullable T value) {
+        if (value == null) return (DataResult<T>) NULL;
+        Class<?> type = value.getClass();
+        if (type == Integer.class) {
+            int i = (Integer) value - INT_CACHE_LOW;
+            if (i >= 0 && i < INTS.length) return (DataResult<T>) INTS[i];
+        } else if (type == Boolean.class) {
+            return (DataResult<T>) ((Boolean) value ? TRUE : FALSE);
+        } else if (type == String.class && ((String) value).isEmpty()) {
+            return (DataResult<T>) EMPTY_STRING;
+        }
+        return new Success<>(value);
+    }
+
+    @Override
+    public @Nullable T result() {
+        return value;
+    }
+
+    @Override
+    public @Nullable String error() {
+        return null;
+    }
+
+    @Override
+    public boolean hasResult() {
+        return value != null;
+    }
+
+    @Override
+    public boolean hasError() {
+        return false;
+    }
+
+    @Override
+    public T orDefault(T defaultValue) {
+        return value == null ? defaultValue : value;
+    }
+
+    @Override
+    public <R> DataResult<R> partial(R result) {
+        if (value != null) throw new IllegalStateException("DataResult already has a result");
+        return of(result);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <R> DataResult<R> map(ThrowingFunction<? super T, ? extends R> mapper) {
+        if (value == null) return DataResult.error("Failed to map null! mapper: " + mapper.getClass());
+        try {
+            R r = mapper.apply(value);
+            return r == value ? (DataResult<R>) this : of(r);
+        } catch (Throwable e) {
+            return DataResult.error("Failed to map value!", e);
+        }
+    }
+
+    @Override
+    public <R> DataResult<R> flatMap(ThrowingFunction<? super T, DataResult<? extends R>> mapper) {
+        if (value == null) return DataResult.error("Failed to map null! mapper: " + mapper.getClass());
+        try {
+            return mapper.apply(value).widen();
+        } catch (Throwable e) {
+            return DataResult.error("Failed to map data result!", e);
+        }
+    }
+
+    @Override
+    public DataResult<T> mapError(Function<String, String> mapper) {
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return "DataResult{ result: '" + value + "', error: 'null' }";
+    }
+}
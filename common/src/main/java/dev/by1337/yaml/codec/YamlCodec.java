@@ -9,7 +9,11 @@ import dev.by1337.yaml.codec.k2v.WildcardLookupCodec;
 import dev.by1337.yaml.codec.list.ListCodec;
 import dev.by1337.yaml.codec.schema.SchemaType;
 import dev.by1337.yaml.util.ArrayCodecUtil;
+import dev.by1337.yaml.util.CompactMap;
+import dev.by1337.yaml.util.Int2ObjectMap;
 import dev.by1337.yaml.util.LazyLoad;
+import dev.by1337.yaml.util.Object2IntMap;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
 import java.util.function.BiConsumer;
@@ -21,13 +25,13 @@ import java.util.stream.Collectors;
 public interface YamlCodec<T> extends LegacyYamlCodec<T> {
     YamlCodec<YamlValue> YAML_VALUE = of(DataResult::success, Function.identity());
     YamlCodec<Object> OBJECT = of(v -> DataResult.success(v.getValue()), YamlValue::wrap);
-    YamlCodec<Integer> INT = new PrimitiveMapper<>(Integer.class, o -> Integer.parseInt(o.toString()));
+    YamlCodec<Integer> INT = new PrimitiveCodecs.IntCodec();
     YamlCodec<Byte> BYTE = new PrimitiveMapper<>(Byte.class, o -> Byte.parseByte(o.toString()));
-    YamlCodec<Double> DOUBLE = new PrimitiveMapper<>(Double.class, o -> Double.parseDouble(o.toString()));
+    YamlCodec<Double> DOUBLE = new PrimitiveCodecs.DoubleCodec();
     YamlCodec<Float> FLOAT = new PrimitiveMapper<>(Float.class, o -> Float.parseFloat(o.toString()));
-    YamlCodec<Long> LONG = new PrimitiveMapper<>(Long.class, o -> Long.parseLong(o.toString()));
+    YamlCodec<Long> LONG = new PrimitiveCodecs.LongCodec();
     YamlCodec<Short> SHORT = new PrimitiveMapper<>(Short.class, o -> Short.parseShort(o.toString()));
-    YamlCodec<Boolean> BOOL = new PrimitiveMapper<>(Boolean.class, o -> Boolean.parseBoolean(o.toString()));
+    YamlCodec<Boolean> BOOL = new PrimitiveCodecs.BoolCodec();
     YamlCodec<String> STRING = new PrimitiveMapper<>(String.class, Object::toString);
     YamlCodec<Map<String, Object>> STRING_TO_OBJECT = mapOf(STRING, OBJECT);
     YamlCodec<YamlMap> YAML_MAP = of(YamlValue::asYamlMap, YamlMap::get);
@@ -42,13 +46,13 @@ public interface YamlCodec<T> extends LegacyYamlCodec<T> {
         return v.decode(STRING);
     }, YamlValue::wrap);
     YamlCodec<List<String>> STRINGS = STRING.listOf();
-    YamlCodec<int[]> INT_ARRAY = ArrayCodecUtil.createCodec(INT, int[]::new, Integer.class);
+    YamlCodec<int[]> INT_ARRAY = new PrimitiveArrayCodec.OfInt((IntYamlCodec) INT);
     YamlCodec<byte[]> BYTE_ARRAY = ArrayCodecUtil.createCodec(BYTE, byte[]::new, Byte.class);
-    YamlCodec<double[]> DOUBLE_ARRAY = ArrayCodecUtil.createCodec(DOUBLE, double[]::new, Double.class);
+    YamlCodec<double[]> DOUBLE_ARRAY = new PrimitiveArrayCodec.OfDouble((DoubleYamlCodec) DOUBLE);
     YamlCodec<float[]> FLOAT_ARRAY = ArrayCodecUtil.createCodec(FLOAT, float[]::new, Float.class);
-    YamlCodec<long[]> LONG_ARRAY = ArrayCodecUtil.createCodec(LONG, long[]::new, Long.class);
+    YamlCodec<long[]> LONG_ARRAY = new PrimitiveArrayCodec.OfLong((LongYamlCodec) LONG);
     YamlCodec<short[]> SHORT_ARRAY = ArrayCodecUtil.createCodec(SHORT, short[]::new, Short.class);
-    YamlCodec<boolean[]> BOOL_ARRAY = ArrayCodecUtil.createCodec(BOOL, boolean[]::new, Boolean.class);
+    YamlCodec<boolean[]> BOOL_ARRAY = new PrimitiveArrayCodec.OfBool((BoolYamlCodec) BOOL);
 
     DataResult<T> decode(YamlValue value);
 
@@ -56,6 +60,32 @@ public interface YamlCodec<T> extends LegacyYamlCodec<T> {
         return decode(YamlValue.wrap(value));
     }
 
+    /**
+     * Decodes with the given {@link DecodeOptions}. Codecs that delegate to other codecs override this to pass the
+     * options on; the default ignores them and decodes as usual.
+     */
+    default DataResult<T> decode(YamlValue value, DecodeOptions options) {
+        return decode(value);
+    }
+
+    default DataResult<T> decode(Object value, DecodeOptions options) {
+        return decode(YamlValue.wrap(value), options);
+    }
+
+    /**
+     * Decodes {@code raw} straight to a value and reports errors to {@code ctx} instead of wrapping the value in a
+     * {@link DataResult}. The built-in codecs implement this natively (see {@link DirectYamlCodec}); the default
+     * adapts {@link #decode(YamlValue, DecodeOptions)}.
+     *
+     * @param raw a raw yaml value, as held by {@link YamlValue}
+     * @return the decoded value, a partial value or {@code null} if errors were reported
+     */
+    default @Nullable T decode(@Nullable Object raw, DecodeContext ctx) {
+        DataResult<T> result = decode(YamlValue.wrap(raw), ctx.options());
+        ctx.report(result);
+        return result.result();
+    }
+
     YamlValue encode(T value);
 
     default <R> YamlField<R, T> withGetter(Function<R, T> getter) {
@@ -80,10 +110,11 @@ public interface YamlCodec<T> extends LegacyYamlCodec<T> {
 
     default <E extends T> YamlCodec<E> map(Function<T, E> map) {
         final YamlCodec<T> subCodec = this;
-        return new YamlCodec<E>() {
+        return new DirectYamlCodec<E>() {
             @Override
-            public DataResult<E> decode(YamlValue value) {
-                return subCodec.decode(value).flatMap(v -> DataResult.accept(() -> map.apply(v), DataResult::error));
+            public @Nullable E decode(@Nullable Object raw, DecodeContext ctx) {
+                Object before = ctx.errorState();
+                return mapDecoded(subCodec.decode(raw, ctx), map, ctx, before);
             }
 
             @Override
@@ -95,10 +126,11 @@ public interface YamlCodec<T> extends LegacyYamlCodec<T> {
 
     default <E> YamlCodec<E> map(Function<T, E> map, Function<E, T> demap) {
         final YamlCodec<T> subCodec = this;
-        return new YamlCodec<E>() {
+        return new DirectYamlCodec<E>() {
             @Override
-            public DataResult<E> decode(YamlValue value) {
-                return subCodec.decode(value).flatMap(v -> DataResult.accept(() -> map.apply(v), DataResult::error));
+            public @Nullable E decode(@Nullable Object raw, DecodeContext ctx) {
+                Object before = ctx.errorState();
+                return mapDecoded(subCodec.decode(raw, ctx), map, ctx, before);
             }
 
             @Override
@@ -110,10 +142,21 @@ public interface YamlCodec<T> extends LegacyYamlCodec<T> {
 
     default <E> YamlCodec<E> flatMap(Function<T, DataResult<E>> map, Function<E, T> demap) {
         final YamlCodec<T> subCodec = this;
-        return new YamlCodec<E>() {
+        return new DirectYamlCodec<E>() {
             @Override
-            public DataResult<E> decode(YamlValue value) {
-                return subCodec.decode(value).flatMap(map::apply);
+            public @Nullable E decode(@Nullable Object raw, DecodeContext ctx) {
+                Object before = ctx.errorState();
+                T v = subCodec.decode(raw, ctx);
+                if (v == null) return mapNull(map, ctx, before);
+                DataResult<E> result;
+                try {
+                    result = map.apply(v);
+                } catch (Throwable t) {
+                    ctx.report(DataResult.error("Failed to map data result!", t));
+                    return null;
+                }
+                ctx.report(result);
+                return result.result();
             }
 
             @Override
@@ -123,6 +166,27 @@ public interface YamlCodec<T> extends LegacyYamlCodec<T> {
         };
     }
 
+    private static <T, E> @Nullable E mapDecoded(@Nullable T v, Function<T, E> map, DecodeContext ctx, @Nullable Object before) {
+        if (v == null) return mapNull(map, ctx, before);
+        try {
+            return map.apply(v);
+        } catch (Throwable t) {
+            ctx.report(DataResult.error(t));
+            return null;
+        }
+    }
+
+    /**
+     * A validating decode builds no lists, maps or records, so a missing value is only an error otherwise.
+     *
+     * @param before the {@link DecodeContext#errorState()} from before the value was decoded; if the decode
+     *               reported an error, that explains the missing value already
+     */
+    private static <E> @Nullable E mapNull(Object mapper, DecodeContext ctx, @Nullable Object before) {
+        if (ctx.errorState() == before && !ctx.options().validateOnly()) ctx.fail("Failed to map null! mapper: " + mapper.getClass());
+        return null;
+    }
+
     @Override
     default ListCodec<T> listOf() {
         return new ListCodec<>(this);
@@ -153,13 +217,19 @@ public interface YamlCodec<T> extends LegacyYamlCodec<T> {
 
     default YamlCodec<T> postDecode(Consumer<T> c) {
         var subCodec = this;
-        return new YamlCodec<T>() {
+        return new DirectYamlCodec<T>() {
             @Override
-            public DataResult<T> decode(YamlValue value) {
-                return subCodec.decode(value).map(v -> {
+            public @Nullable T decode(@Nullable Object raw, DecodeContext ctx) {
+                Object before = ctx.errorState();
+                T v = subCodec.decode(raw, ctx);
+                if (v == null) return mapNull(c, ctx, before);
+                try {
                     c.accept(v);
-                    return v;
-                });
+                } catch (Throwable t) {
+                    ctx.report(DataResult.error("Failed to map value!", t));
+                    return null;
+                }
+                return v;
             }
 
             @Override
@@ -176,10 +246,10 @@ public interface YamlCodec<T> extends LegacyYamlCodec<T> {
 
     static <T> YamlCodec<T> lazyLoad(Supplier<YamlCodec<T>> getter) {
         LazyLoad<YamlCodec<T>> get = new LazyLoad<>(getter);
-        return new YamlCodec<T>() {
+        return new DirectYamlCodec<T>() {
             @Override
-            public DataResult<T> decode(YamlValue value) {
-                return get.get().decode(value);
+            public @Nullable T decode(@Nullable Object raw, DecodeContext ctx) {
+                return get.get().decode(raw, ctx);
             }
 
             @Override
@@ -194,10 +264,11 @@ public interface YamlCodec<T> extends LegacyYamlCodec<T> {
     }
 
     static <T> YamlCodec<T> dispatchByShape(YamlCodec<T> primitive, YamlCodec<T> map, YamlCodec<T> encoder) {
-        return new YamlCodec<T>() {
+        return new DirectYamlCodec<T>() {
             @Override
-            public DataResult<T> decode(YamlValue value) {
-                return value.isMap() ? map.decode(value) : primitive.decode(value);
+            public @Nullable T decode(@Nullable Object raw, DecodeContext ctx) {
+                raw = CodecSupport.unwrap(raw);
+                return raw instanceof Map<?, ?> ? map.decode(raw, ctx) : primitive.decode(raw, ctx);
             }
 
             @Override
@@ -208,12 +279,12 @@ public interface YamlCodec<T> extends LegacyYamlCodec<T> {
     }
 
     static <T> YamlCodec<T> recursive(Function<YamlCodec<T>, YamlCodec<T>> wrapped) {
-        return new YamlCodec<T>() {
+        return new DirectYamlCodec<T>() {
             final LazyLoad<YamlCodec<T>> wrappedCodec = new LazyLoad<>(() -> wrapped.apply(this));
 
             @Override
-            public DataResult<T> decode(YamlValue value) {
-                return wrappedCodec.get().decode(value);
+            public @Nullable T decode(@Nullable Object raw, DecodeContext ctx) {
+                return wrappedCodec.get().decode(raw, ctx);
             }
 
             @Override
@@ -232,39 +303,43 @@ public interface YamlCodec<T> extends LegacyYamlCodec<T> {
     }
 
     static <K, V> YamlCodec<Map<K, V>> mapOf(final YamlCodec<K> keyCodec, final YamlCodec<V> valueCodec) {
-        return new YamlCodec<>() {
+        return new DirectYamlCodec<>() {
 
             @Override
-            public DataResult<Map<K, V>> decode(YamlValue in) {
-                return in.streamMap().flatMap(s -> {
-                    Map<K, V> map = new LinkedHashMap<>();
-                    StringBuilder error = new StringBuilder();
-                    s.forEach(entry -> {
-                        DataResult<K> key = keyCodec.decode(entry.getKey());
-                        DataResult<V> value = valueCodec.decode(entry.getValue());
-                        K k = key.result();
-                        V v = value.result();
-                        if (key.hasError() || value.hasError()) {
-                            error.append("Errors in '").append(entry.getKey().getRaw()).append("':\n");
-                        }
-                        if (key.hasError()) {
-                            error.append("  - ").append(key.error().replace("\n", "\n    ")).append("\n");
-                        }
-                        if (value.hasError()) {
-                            error.append("  - ").append(value.error().replace("\n", "\n    ")).append("\n");
-                        }
-                        if (k != null && v != null) {
-                            map.put(k, v);
+            public @Nullable Map<K, V> decode(@Nullable Object raw, DecodeContext ctx) {
+                raw = CodecSupport.unwrap(raw);
+                if (!(raw instanceof Map<?, ?> in)) return CodecSupport.expectedMap(ctx, raw);
+                DecodeOptions options = ctx.options();
+                DataResult<?> pending = ctx.takeError();
+                Map<K, V> map = options.validateOnly() ? null : new LinkedHashMap<>();
+                ErrorTree errors = null;
+                for (Map.Entry<?, ?> entry : in.entrySet()) {
+                    K k = keyCodec.decode(entry.getKey(), ctx);
+                    DataResult<?> keyError = ctx.takeError();
+                    if (options.failFast() && keyError != null) {
+                        ctx.report(new ErrorTree().entry(entry.getKey(), keyError, null));
+                        ctx.restore(pending);
+                        return null;
+                    }
+                    V v = valueCodec.decode(entry.getValue(), ctx);
+                    DataResult<?> valueError = ctx.takeError();
+                    if (keyError != null || valueError != null) {
+                        if (errors == null) errors = new ErrorTree();
+                        errors.entry(entry.getKey(), keyError, valueError);
+                        if (options.failFast()) {
+                            ctx.report(errors);
+                            ctx.restore(pending);
+                            return null;
                         }
-                    });
-                    if (error.isEmpty()) {
-                        return DataResult.success(map);
-                    } else {
-                        error.setLength(error.length() - 1);
-                        if (map.isEmpty()) return DataResult.error(error.toString());
-                        return DataResult.error(error.toString()).partial(map);
                     }
-                });
+                    if (map != null && k != null && v != null) {
+                        map.put(k, v);
+                    }
+                }
+                if (errors != null) ctx.report(errors);
+                ctx.restore(pending);
+                if (errors == null) return map;
+                return map == null || map.isEmpty() ? null : map;
             }
 
             @Override
@@ -273,13 +348,35 @@ public interface YamlCodec<T> extends LegacyYamlCodec<T> {
                                 e -> keyCodec.encode(e.getKey()).getValue(),
                                 e -> valueCodec.encode(e.getValue()).getValue(),
                                 (v1, v2) -> v1,
-                                LinkedHashMap::new
+                                () -> new CompactMap<>(value.size())
                         ))
                 );
             }
         };
     }
 
+    /**
+     * {@link #mapOf} for {@code int} values, decoding into an {@link Object2IntMap} without boxing them.
+     */
+    static <K> Object2IntMapCodec<K> object2IntMapOf(YamlCodec<K> keyCodec, IntYamlCodec valueCodec) {
+        return new Object2IntMapCodec<>(keyCodec, valueCodec);
+    }
+
+    static <K> Object2IntMapCodec<K> object2IntMapOf(YamlCodec<K> keyCodec) {
+        return object2IntMapOf(keyCodec, IntYamlCodec.INSTANCE);
+    }
+
+    /**
+     * {@link #mapOf} for {@code int} keys, decoding into an {@link Int2ObjectMap} without boxing them.
+     */
+    static <V> Int2ObjectMapCodec<V> int2ObjectMapOf(IntYamlCodec keyCodec, YamlCodec<V> valueCodec) {
+        return new Int2ObjectMapCodec<>(keyCodec, valueCodec);
+    }
+
+    static <V> Int2ObjectMapCodec<V> int2ObjectMapOf(YamlCodec<V> valueCodec) {
+        return int2ObjectMapOf(IntYamlCodec.INSTANCE, valueCodec);
+    }
+
     @Deprecated
     static <T> YamlCodec<T> of(final Function<YamlValue, DataResult<T>> decoder, final Function<T, YamlValue> encoder, SchemaType type) {
         return of(decoder, encoder);
@@ -317,12 +414,23 @@ public interface YamlCodec<T> extends LegacyYamlCodec<T> {
 
             @Override
             public DataResult<T> decode(YamlValue value) {
-                return STRING.decode(value).flatMap(s -> {
-                    T val = values.get(s.toLowerCase(Locale.ROOT));
-                    if (val == null)
-                        return DataResult.error("Unknown value {} for {}", new Object[]{s, type.getSimpleName()});
-                    return DataResult.success(val);
-                });
+                return DecodeContext.decode(this, value.getValue(), DecodeOptions.DEFAULT);
+            }
+
+            @Override
+            public DataResult<T> decode(YamlValue value, DecodeOptions options) {
+                return DecodeContext.decode(this, value.getValue(), options);
+            }
+
+            @Override
+            public @Nullable T decode(@Nullable Object raw, DecodeContext ctx) {
+                String s = STRING.decode(raw, ctx);
+                if (s == null) return null;
+                T val = values.get(s.toLowerCase(Locale.ROOT));
+                if (val == null) {
+                    ctx.report(DataResult.error("Unknown value {} for {}", new Object[]{s, type.getSimpleName()}));
+                }
+                return val;
             }
 
             @Override
@@ -332,7 +440,7 @@ public interface YamlCodec<T> extends LegacyYamlCodec<T> {
         };
     }
 
-    class PrimitiveMapper<T> implements YamlCodec<T> {
+    class PrimitiveMapper<T> extends DirectYamlCodec<T> {
         private final Class<T> type;
         private final Function<Object, T> decoder;
 
@@ -342,13 +450,17 @@ public interface YamlCodec<T> extends LegacyYamlCodec<T> {
         }
 
         @Override
-        public DataResult<T> decode(YamlValue value) {
-            if (value.isNull()) return DataResult.error("value is null");
-            Object o = value.getValue();
-            if (type.isAssignableFrom(o.getClass())) {
-                return DataResult.success(type.cast(o));
+        public @Nullable T decode(@Nullable Object raw, DecodeContext ctx) {
+            Object o = CodecSupport.unwrap(raw);
+            if (o == null) return ctx.fail("value is null");
+            if (type.isInstance(o)) {
+                return type.cast(o);
+            }
+            try {
+                return decoder.apply(o);
+            } catch (Throwable t) {
+                return ctx.fail(t.getMessage());
             }
-            return DataResult.accept(() -> decoder.apply(o), t -> DataResult.error(t.getMessage()));
         }
 
         @Override
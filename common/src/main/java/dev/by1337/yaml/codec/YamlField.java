@@ -57,6 +57,15 @@ public final class YamlField<T, F> {
     }
 
 
+    /**
+     * @return the raw value (possibly {@code null}), the whole section for unnamed fields,
+     * or {@link CodecSupport#ABSENT} if the section has no such key
+     */
+    Object lookup(Map<?, ?> raw) {
+        if (name == null) return raw;
+        return CodecSupport.lookup(raw, name);
+    }
+
     public YamlField<T, F> getterOf(Function<T, F> getter) {
         this.getter = getter;
         return this;
@@ -0,0 +1,55 @@
+package dev.by1337.yaml.codec.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a record for the {@code byaml-processor} annotation processor, which generates a
+ * {@code YamlCodec} for it at compile time.
+ * <p>
+ * The generated class is placed next to the record and named after it: {@code Item} gets {@code ItemCodec},
+ * a nested {@code Shop.Item} gets {@code Shop_ItemCodec}. Its singleton is {@code ItemCodec.INSTANCE}.
+ * A component whose type is another record uses that record's generated codec, so that record needs
+ * {@code @YamlRecord} too, unless the component sets its own {@link Codec}.
+ *
+ * <pre>{@code
+ * @YamlRecord
+ * public record Item(
+ *         String material,
+ *         @YamlRecord.Key("display-name") String displayName,
+ *         @YamlRecord.Codec("dev.by1337.yaml.BukkitYamlCodecs.VECTOR") Vector offset,
+ *         List<String> lore
+ * ) {
+ * }
+ * }</pre>
+ */
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+public @interface YamlRecord {
+
+    /**
+     * @return the name of the generated class, or empty for the default
+     */
+    String codecName() default "";
+
+    /**
+     * Overrides the yaml key of a record component; by default the component name is used.
+     */
+    @Retention(RetentionPolicy.CLASS)
+    @Target({ElementType.RECORD_COMPONENT, ElementType.PARAMETER, ElementType.FIELD, ElementType.METHOD})
+    @interface Key {
+        String value();
+    }
+
+    /**
+     * Sets the codec of a record component. The value is a fully qualified expression of
+     * type {@code YamlCodec<ComponentType>}, copied into the generated class as is.
+     */
+    @Retention(RetentionPolicy.CLASS)
+    @Target({ElementType.RECORD_COMPONENT, ElementType.PARAMETER, ElementType.FIELD, ElementType.METHOD})
+    @interface Codec {
+        String value();
+    }
+}
@@ -2,8 +2,9 @@ package dev.by1337.yaml.codec.k2v;
 
 import dev.by1337.yaml.codec.YamlCodec;
 
-import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
 
 public interface Key2ValueCodec<T> extends YamlCodec<T> {
     Map<String, T> asMap();
@@ -11,4 +12,27 @@ public interface Key2ValueCodec<T> extends YamlCodec<T> {
     default WildcardLookupCodec<T> wildcard() {
         return new WildcardLookupCodec<>(asMap());
     }
+
+    /**
+     * A list of keys as an {@link java.util.EnumSet} when the values are enum constants, or a
+     * {@link dev.by1337.yaml.util.RegistrySet} over {@link #asMap()} otherwise, so {@code contains} checks on
+     * the decoded set are a bit test instead of a hash lookup.
+     */
+    default YamlCodec<Set<T>> asEnumSet() {
+        Supplier<Set<T>> factory = KeyCollections.setFactory(asMap().values());
+        return listOf().as(list -> KeyCollections.toSet(factory, list));
+    }
+
+    /**
+     * A map with these keys as an {@link java.util.EnumMap} when the values are enum constants, or an
+     * {@link java.util.IdentityHashMap} otherwise.
+     */
+    default <V> YamlCodec<Map<T, V>> enumMapOf(YamlCodec<V> valueCodec) {
+        Supplier<Map<T, V>> factory = KeyCollections.mapFactory(asMap().values());
+        return YamlCodec.mapOf(this, valueCodec).map(map -> {
+            Map<T, V> result = factory.get();
+            result.putAll(map);
+            return result;
+        }, map -> map);
+    }
 }
@@ -0,0 +1,57 @@
+package dev.by1337.yaml.codec.k2v;
+
+import dev.by1337.yaml.util.RegistrySet;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * Picks the set and map implementations for the values of a {@link Key2ValueCodec} or {@link WildcardLookupCodec}:
+ * {@link EnumSet} and {@link EnumMap} when they are all constants of one enum, otherwise a {@link RegistrySet}
+ * and an {@link IdentityHashMap}, as the values of a registry are singletons.
+ */
+final class KeyCollections {
+
+    private KeyCollections() {
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static <T> Supplier<Set<T>> setFactory(Collection<T> values) {
+        Class<? extends Enum> type = enumType(values);
+        if (type != null) return () -> (Set<T>) EnumSet.noneOf(type);
+        RegistrySet.Universe<T> universe = new RegistrySet.Universe<>(values);
+        return universe::newSet;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static <T, V> Supplier<Map<T, V>> mapFactory(Collection<T> values) {
+        Class<? extends Enum> type = enumType(values);
+        if (type != null) return () -> (Map<T, V>) new EnumMap(type);
+        return IdentityHashMap::new;
+    }
+
+    static <T> Set<T> toSet(Supplier<Set<T>> factory, Collection<T> values) {
+        Set<T> set = factory.get();
+        set.addAll(values);
+        return set;
+    }
+
+    /**
+     * @return the enum all values are constants of, or {@code null} if there is none
+     */
+    @SuppressWarnings("rawtypes")
+    private static Class<? extends Enum> enumType(Collection<?> values) {
+        Class<? extends Enum> type = null;
+        for (Object value : values) {
+            if (!(value instanceof Enum<?> e)) return null;
+            // constants with a body are subclasses of the enum
+            Class<? extends Enum> declaring = e.getDeclaringClass();
+            if (type == null) {
+                type = declaring;
+            } else if (type != declaring) {
+                return null;
+            }
+        }
+        return type;
+    }
+}
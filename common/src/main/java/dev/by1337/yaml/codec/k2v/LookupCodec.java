@@ -1,13 +1,15 @@
 package dev.by1337.yaml.codec.k2v;
 
 import dev.by1337.yaml.YamlValue;
-import dev.by1337.yaml.codec.DataResult;
+import dev.by1337.yaml.codec.DecodeContext;
+import dev.by1337.yaml.codec.DirectYamlCodec;
 import dev.by1337.yaml.codec.YamlCodec;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
 import java.util.function.Function;
 
-public class LookupCodec<V> implements Key2ValueCodec<V> {
+public class LookupCodec<V> extends DirectYamlCodec<V> implements Key2ValueCodec<V> {
 
     private final Map<String, V> k2v = new HashMap<>();
     private final Map<V, String> v2k = new IdentityHashMap<>();
@@ -49,12 +51,12 @@ public class LookupCodec<V> implements Key2ValueCodec<V> {
     }
 
     @Override
-    public DataResult<V> decode(YamlValue value) {
-        return YamlCodec.STRING.decode(value).flatMap(s -> {
-            var v = k2v.get(s.toLowerCase());
-            if (v == null) return DataResult.error("Unknown key: " + s);
-            return DataResult.success(v);
-        });
+    public @Nullable V decode(@Nullable Object raw, DecodeContext ctx) {
+        String s = YamlCodec.STRING.decode(raw, ctx);
+        if (s == null) return null;
+        var v = k2v.get(s.toLowerCase());
+        if (v == null) return ctx.fail("Unknown key: " + s);
+        return v;
     }
 
     @Override
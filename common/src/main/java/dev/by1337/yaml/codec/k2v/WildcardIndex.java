@@ -0,0 +1,234 @@
+package dev.by1337.yaml.codec.k2v;
+
+import dev.by1337.yaml.util.Wildcard;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Finds the keys a glob pattern matches without testing every key.
+ * <p>
+ * The keys are sorted, which makes them an implicit trie: the keys sharing a prefix are one range of the array, and
+ * the range splits into one child range per next character. The pattern is run as an automaton over that trie,
+ * its state being the set of pattern positions the prefix can end at, so a prefix is walked once for all keys
+ * sharing it and a dead state drops the whole range. A pattern whose literal end is longer than its literal start,
+ * such as {@code *_ore}, is run reversed over the reversed keys, so it only visits the keys ending in {@code _ore}.
+ * Results are in key order.
+ */
+final class WildcardIndex<V> {
+    // the automaton state is a bit per pattern position, including the accepting one after the last character
+    private static final int MAX_PATTERN = Long.SIZE - 1;
+
+    private final String[] keys;
+    private final Object[] values;
+    private volatile @Nullable Reversed reversed;
+
+    WildcardIndex(Map<String, V> map) {
+        keys = map.keySet().toArray(new String[0]);
+        Arrays.sort(keys);
+        values = new Object[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            values[i] = map.get(keys[i]);
+        }
+    }
+
+    /**
+     * @return the values of all keys matching {@code pattern}, in key order
+     */
+    @SuppressWarnings("unchecked")
+    List<V> find(String pattern) {
+        Ids ids = new Ids();
+        if (pattern.length() > MAX_PATTERN) {
+            for (int i = 0; i < keys.length; i++) {
+                if (Wildcard.matches(keys[i], pattern)) ids.add(i);
+            }
+        } else if (literalRun(pattern, true) >= literalRun(pattern, false)) {
+            Glob glob = new Glob(pattern);
+            new Search(keys, glob, ids).run(0, keys.length, 0, glob.start);
+        } else {
+            Reversed r = reversed();
+            Ids found = new Ids();
+            Glob glob = new Glob(new StringBuilder(pattern).reverse().toString());
+            new Search(r.keys, glob, found).run(0, r.keys.length, 0, glob.start);
+            for (int i = 0; i < found.size; i++) {
+                ids.add(r.ids[found.ids[i]]);
+            }
+            Arrays.sort(ids.ids, 0, ids.size);
+        }
+        List<V> result = new ArrayList<>(ids.size);
+        for (int i = 0; i < ids.size; i++) {
+            result.add((V) values[ids.ids[i]]);
+        }
+        return result;
+    }
+
+    private Reversed reversed() {
+        Reversed r = reversed;
+        if (r == null) {
+            // racing threads build equal copies
+            reversed = r = new Reversed(keys);
+        }
+        return r;
+    }
+
+    private static int literalRun(String pattern, boolean fromStart) {
+        int n = pattern.length();
+        for (int i = 0; i < n; i++) {
+            char c = pattern.charAt(fromStart ? i : n - 1 - i);
+            if (c == '*' || c == '?') return i;
+        }
+        return n;
+    }
+
+    /**
+     * The keys reversed and sorted, each with the index of its original key.
+     */
+    private static final class Reversed {
+        final String[] keys;
+        final int[] ids;
+
+        Reversed(String[] original) {
+            Integer[] order = new Integer[original.length];
+            String[] reversed = new String[original.length];
+            for (int i = 0; i < original.length; i++) {
+                order[i] = i;
+                reversed[i] = new StringBuilder(original[i]).reverse().toString();
+            }
+            Arrays.sort(order, Comparator.comparing(i -> reversed[i]));
+            keys = new String[original.length];
+            ids = new int[original.length];
+            for (int i = 0; i < order.length; i++) {
+                ids[i] = order[i];
+                keys[i] = reversed[order[i]];
+            }
+        }
+    }
+
+    /**
+     * The pattern as a nondeterministic automaton over bit sets of positions; bit {@code length} accepts.
+     */
+    private static final class Glob {
+        final String pattern;
+        final int length;
+        // positions holding '*' and '?'
+        final long stars;
+        final long any;
+        // the '*' positions followed only by '*', from which every remaining text matches
+        final long tail;
+        final long start;
+
+        Glob(String pattern) {
+            this.pattern = pattern;
+            length = pattern.length();
+            long stars = 0, any = 0;
+            for (int i = 0; i < length; i++) {
+                char c = pattern.charAt(i);
+                if (c == '*') stars |= 1L << i;
+                else if (c == '?') any |= 1L << i;
+            }
+            long tail = 0;
+            for (int i = length - 1; i >= 0 && (stars & 1L << i) != 0; i--) {
+                tail |= 1L << i;
+            }
+            this.stars = stars;
+            this.any = any;
+            this.tail = tail;
+            start = closure(1L);
+        }
+
+        long closure(long state) {
+            long next = state | (state & stars) << 1;
+            while (next != state) {
+                state = next;
+                next = state | (state & stars) << 1;
+            }
+            return state;
+        }
+
+        long step(long state, char c) {
+            long next = state & stars;
+            for (long s = state & ~stars & ~(1L << length); s != 0; s &= s - 1) {
+                int i = Long.numberOfTrailingZeros(s);
+                if ((any & 1L << i) != 0 || pattern.charAt(i) == c) next |= 1L << i + 1;
+            }
+            return next == 0 ? 0 : closure(next);
+        }
+
+        boolean accepts(long state) {
+            return (state & 1L << length) != 0;
+        }
+    }
+
+    private static final class Search {
+        final String[] keys;
+        final Glob glob;
+        final Ids out;
+
+        Search(String[] keys, Glob glob, Ids out) {
+            this.keys = keys;
+            this.glob = glob;
+            this.out = out;
+        }
+
+        /**
+         * Visits the keys in {@code [lo, hi)}, which share their first {@code depth} characters.
+         *
+         * @param state the automaton state after that prefix
+         */
+        void run(int lo, int hi, int depth, long state) {
+            if ((state & glob.tail) != 0) {
+                for (int i = lo; i < hi; i++) out.add(i);
+                return;
+            }
+            int i = lo;
+            // the prefix itself sorts first
+            if (i < hi && keys[i].length() == depth) {
+                if (glob.accepts(state)) out.add(i);
+                i++;
+            }
+            long open = state & ~(1L << glob.length);
+            if (open == 0) return;
+            if ((open & (glob.stars | glob.any)) == 0 && Long.bitCount(open) == 1) {
+                // a single literal to match: jump straight to its child
+                char c = glob.pattern.charAt(Long.numberOfTrailingZeros(open));
+                int from = firstAtLeast(i, hi, depth, c);
+                int to = c == Character.MAX_VALUE ? hi : firstAtLeast(from, hi, depth, (char) (c + 1));
+                if (from < to) run(from, to, depth + 1, glob.step(state, c));
+                return;
+            }
+            while (i < hi) {
+                char c = keys[i].charAt(depth);
+                int end = c == Character.MAX_VALUE ? hi : firstAtLeast(i + 1, hi, depth, (char) (c + 1));
+                long next = glob.step(state, c);
+                if (next != 0) run(i, end, depth + 1, next);
+                i = end;
+            }
+        }
+
+        /**
+         * @return the first index in {@code [lo, hi)} whose character at {@code depth} is at least {@code c}
+         */
+        private int firstAtLeast(int lo, int hi, int depth, char c) {
+            if (c == 0) return lo;
+            while (lo < hi) {
+                int mid = lo + hi >>> 1;
+                if (keys[mid].charAt(depth) < c) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+    }
+
+    private static final class Ids {
+        int[] ids = new int[8];
+        int size;
+
+        void add(int id) {
+            if (size == ids.length) ids = Arrays.copyOf(ids, size * 2);
+            ids[size++] = id;
+        }
+    }
+}
@@ -2,18 +2,27 @@ package dev.by1337.yaml.codec.k2v;
 
 import dev.by1337.yaml.YamlValue;
 import dev.by1337.yaml.codec.DataResult;
+import dev.by1337.yaml.codec.DecodeContext;
+import dev.by1337.yaml.codec.DirectYamlCodec;
 import dev.by1337.yaml.codec.YamlCodec;
 import dev.by1337.yaml.util.Wildcard;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 public class WildcardLookupCodec<V> implements YamlCodec<List<V>> {
 
+    // distinct patterns kept before the cache is dropped and refilled
+    private static final int CACHE_LIMIT = 1024;
+
     private final Map<String, V> k2v = new HashMap<>();
     private final Map<V, String> v2k = new IdentityHashMap<>();
+    private final Map<String, List<V>> matches = new ConcurrentHashMap<>();
+    private volatile @Nullable WildcardIndex<V> index;
 
     public WildcardLookupCodec(Map<String, V> map) {
         map.forEach(this::put);
@@ -84,14 +93,27 @@ public class WildcardLookupCodec<V> implements YamlCodec<List<V>> {
             consumer.accept(value);
             return true;
         }
-        AtomicBoolean hasValue = new AtomicBoolean(false);
-        k2v.forEach((k, v) -> {
-            if (Wildcard.matches(k, key)) {
-                consumer.accept(v);
-                hasValue.set(true);
-            }
-        });
-        return hasValue.get();
+        if (!Wildcard.isPattern(key)) return false;
+        List<V> values = find(key);
+        values.forEach(consumer);
+        return !values.isEmpty();
+    }
+
+    /**
+     * The values matching a pattern, memoized so that a pattern repeated across configs is expanded once.
+     */
+    private List<V> find(String pattern) {
+        List<V> values = matches.get(pattern);
+        if (values != null) return values;
+        WildcardIndex<V> index = this.index;
+        if (index == null) {
+            // built on first use, as most lookups are exact; racing threads build equal copies
+            this.index = index = new WildcardIndex<>(k2v);
+        }
+        values = Collections.unmodifiableList(index.find(pattern));
+        if (matches.size() >= CACHE_LIMIT) matches.clear();
+        matches.put(pattern, values);
+        return values;
     }
 
     @Override
@@ -128,6 +150,48 @@ public class WildcardLookupCodec<V> implements YamlCodec<List<V>> {
         return as(HashSet::new);
     }
 
+    /**
+     * Like {@link #asSet()}, but an {@link EnumSet} when the values are enum constants and a
+     * {@link dev.by1337.yaml.util.RegistrySet} otherwise.
+     */
+    public YamlCodec<Set<V>> asEnumSet() {
+        Supplier<Set<V>> factory = KeyCollections.setFactory(k2v.values());
+        return as(list -> KeyCollections.toSet(factory, list));
+    }
+
+    /**
+     * A map whose keys may be patterns, such as {@code {"*_sword": 1, "diamond_sword": 5}}. Every value a key
+     * matches is mapped, later keys overriding earlier ones, into an {@link EnumMap} when the values are enum
+     * constants and an {@link IdentityHashMap} otherwise. Encoding writes one key per value.
+     */
+    public <T> YamlCodec<Map<V, T>> enumMapOf(YamlCodec<T> valueCodec) {
+        Supplier<Map<V, T>> factory = KeyCollections.mapFactory(k2v.values());
+        YamlCodec<List<V>> keyCodec = new DirectYamlCodec<>() {
+            @Override
+            public @Nullable List<V> decode(@Nullable Object raw, DecodeContext ctx) {
+                String s = STRING.decode(raw, ctx);
+                if (s == null) return null;
+                List<V> values = get(s.toLowerCase());
+                if (values.isEmpty()) return ctx.fail("Unknown key: " + s);
+                return values;
+            }
+
+            @Override
+            public YamlValue encode(List<V> value) {
+                return YamlValue.wrap(v2k.get(value.get(0)));
+            }
+        };
+        return YamlCodec.mapOf(keyCodec, valueCodec).map(map -> {
+            Map<V, T> result = factory.get();
+            map.forEach((keys, value) -> keys.forEach(k -> result.put(k, value)));
+            return result;
+        }, map -> {
+            Map<List<V>, T> result = new LinkedHashMap<>();
+            map.forEach((k, value) -> result.put(List.of(k), value));
+            return result;
+        });
+    }
+
     public YamlCodec<V[]> asArray() {
         return new YamlCodec<V[]>() {
             @Override
@@ -1,15 +1,20 @@
 package dev.by1337.yaml.codec.list;
 
 import dev.by1337.yaml.YamlValue;
+import dev.by1337.yaml.codec.CodecSupport;
 import dev.by1337.yaml.codec.DataResult;
+import dev.by1337.yaml.codec.DecodeContext;
+import dev.by1337.yaml.codec.DirectYamlCodec;
+import dev.by1337.yaml.codec.ErrorTree;
 import dev.by1337.yaml.codec.YamlCodec;
+import org.jetbrains.annotations.Nullable;
 
 import java.lang.reflect.Array;
 import java.util.*;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
-public class ListCodec<T> implements YamlCodec<List<T>> {
+public class ListCodec<T> extends DirectYamlCodec<List<T>> {
     private final YamlCodec<T> subCodec;
 
 
@@ -18,10 +23,10 @@ public class ListCodec<T> implements YamlCodec<List<T>> {
     }
 
     public <R extends Collection<T>> YamlCodec<R> as(Function<List<T>, R> mapper) {
-        return new YamlCodec<R>() {
+        return new DirectYamlCodec<R>() {
             @Override
-            public DataResult<R> decode(YamlValue value) {
-                return decode$0(value, mapper);
+            public @Nullable R decode(@Nullable Object raw, DecodeContext ctx) {
+                return convert(ListCodec.this.decode(raw, ctx), mapper, ctx);
             }
 
             @Override
@@ -36,10 +41,11 @@ public class ListCodec<T> implements YamlCodec<List<T>> {
     }
 
     public YamlCodec<T[]> asArray() {
-        return new YamlCodec<T[]>() {
+        return new DirectYamlCodec<T[]>() {
             @Override
-            public DataResult<T[]> decode(YamlValue value) {
-                return ListCodec.this.decode(value).flatMap(l -> DataResult.success((T[]) l.toArray()));
+            @SuppressWarnings("unchecked")
+            public T @Nullable [] decode(@Nullable Object raw, DecodeContext ctx) {
+                return convert(ListCodec.this.decode(raw, ctx), l -> (T[]) l.toArray(), ctx);
             }
 
             @Override
@@ -51,10 +57,11 @@ public class ListCodec<T> implements YamlCodec<List<T>> {
     }
 
     public YamlCodec<T[]> asArray(Class<T> componentType) {
-        return new YamlCodec<T[]>() {
+        return new DirectYamlCodec<T[]>() {
             @Override
-            public DataResult<T[]> decode(YamlValue value) {
-                return ListCodec.this.decode(value).flatMap(l -> DataResult.success(l.toArray((T[])Array.newInstance(componentType, 0))));
+            @SuppressWarnings("unchecked")
+            public T @Nullable [] decode(@Nullable Object raw, DecodeContext ctx) {
+                return convert(ListCodec.this.decode(raw, ctx), l -> l.toArray((T[]) Array.newInstance(componentType, 0)), ctx);
             }
 
             @Override
@@ -65,17 +72,65 @@ public class ListCodec<T> implements YamlCodec<List<T>> {
         };
     }
 
+    /**
+     * A single value is decoded as the only element. When validating, its value is dropped.
+     */
     @Override
-    public DataResult<List<T>> decode(YamlValue value) {
-        if (!value.isCollection())
-            return subCodec.decode(value).flatMap(l -> DataResult.success(List.of(l)));
-        return value.asList(subCodec);
+    public @Nullable List<T> decode(@Nullable Object raw, DecodeContext ctx) {
+        raw = CodecSupport.unwrap(raw);
+        if (raw instanceof Collection<?> collection) {
+            return decodeElements(subCodec, collection, ctx);
+        }
+        Object before = ctx.errorState();
+        T single = subCodec.decode(raw, ctx);
+        if (ctx.options().validateOnly()) return null;
+        if (single == null) {
+            if (ctx.errorState() == before) ctx.fail("Failed to map null! mapper: " + subCodec.getClass());
+            return null;
+        }
+        return List.of(single);
     }
 
-    private <R extends Collection<T>> DataResult<R> decode$0(YamlValue value, Function<List<T>, R> mapper) {
-        if (!value.isCollection())
-            return subCodec.decode(value).flatMap(l -> DataResult.success(mapper.apply(List.of(l))));
-        return value.asList(subCodec).flatMap(list -> DataResult.success(mapper.apply(list)));
+    /**
+     * Decodes every element, dropping those that fail. Errors are reported as {@code [index] error}, one per line.
+     *
+     * @return an unmodifiable list, {@code null} when validating or when every element failed
+     */
+    public static <T> @Nullable List<T> decodeElements(YamlCodec<T> codec, Collection<?> collection, DecodeContext ctx) {
+        DataResult<?> pending = ctx.takeError();
+        List<T> list = ctx.options().validateOnly() ? null : new ArrayList<>(collection.size());
+        ErrorTree errors = null;
+        int index = 0;
+        for (Object element : collection) {
+            T v = codec.decode(element, ctx);
+            DataResult<?> error = ctx.takeError();
+            if (error != null) {
+                if (errors == null) errors = new ErrorTree();
+                errors.element(index, error);
+                if (ctx.options().failFast()) {
+                    ctx.report(errors);
+                    ctx.restore(pending);
+                    return null;
+                }
+            }
+            if (list != null && v != null) list.add(v);
+            index++;
+        }
+        List<T> res = list == null ? null : Collections.unmodifiableList(list);
+        if (errors != null) ctx.report(errors);
+        ctx.restore(pending);
+        if (errors == null) return res;
+        return res == null || res.isEmpty() ? null : res;
+    }
+
+    private static <T, R> @Nullable R convert(@Nullable List<T> list, Function<List<T>, R> mapper, DecodeContext ctx) {
+        if (list == null || ctx.options().validateOnly()) return null;
+        try {
+            return mapper.apply(list);
+        } catch (Throwable t) {
+            ctx.report(DataResult.error("Failed to map data result!", t));
+            return null;
+        }
     }
 
     @Override
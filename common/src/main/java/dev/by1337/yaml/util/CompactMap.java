@@ -0,0 +1,445 @@
+package dev.by1337.yaml.util;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+
+/**
+ * The insertion-ordered map behind loaded sections, a lighter replacement for {@link LinkedHashMap}.
+ * <p>
+ * Keys, values and key hash codes are kept in parallel arrays in insertion order. Up to {@value #INDEX_THRESHOLD}
+ * entries, which covers most config sections, those arrays are all there is and lookups scan the hash codes.
+ * Larger maps add an open-addressing hash index of {@code int}s over them. Either way there is no node object
+ * per entry.
+ * <p>
+ * Null keys and values are allowed. Removing from a small map shifts the following entries down; larger maps
+ * leave a gap that is reclaimed when the arrays next grow. Not thread-safe, iterators are fail-fast.
+ */
+public final class CompactMap<K, V> extends AbstractMap<K, V> {
+    private static final int INDEX_THRESHOLD = 8;
+    private static final Object[] EMPTY = {};
+    private static final int[] NO_HASHES = {};
+    private static final Object REMOVED = new Object();
+
+    // in insertion order; the gaps left in an indexed map hold REMOVED as the key
+    private Object[] keys;
+    private Object[] values;
+    private int[] hashes;
+    // slot + 1 per used bucket, 0 for empty, -1 for removed; null while the map is small
+    private int @Nullable [] index;
+    private int used;
+    private int size;
+    private int modCount;
+    // set once a key that is not a String is added, cleared by clear()
+    private boolean otherKeys;
+
+    public CompactMap() {
+        keys = EMPTY;
+        values = EMPTY;
+        hashes = NO_HASHES;
+    }
+
+    public CompactMap(int expectedSize) {
+        if (expectedSize < 0) throw new IllegalArgumentException("Negative size " + expectedSize);
+        keys = expectedSize == 0 ? EMPTY : new Object[expectedSize];
+        values = expectedSize == 0 ? EMPTY : new Object[expectedSize];
+        hashes = expectedSize == 0 ? NO_HASHES : new int[expectedSize];
+    }
+
+    public CompactMap(@NotNull Map<? extends K, ? extends V> map) {
+        this(map.size());
+        putAll(map);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return slotOf(key) >= 0;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+        int slot = slotOf(key);
+        return slot < 0 ? null : (V) values[slot];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V getOrDefault(Object key, V defaultValue) {
+        int slot = slotOf(key);
+        return slot < 0 ? defaultValue : (V) values[slot];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V put(K key, V value) {
+        int hash = hash(key);
+        int slot = index == null ? scan(key, hash) : probe(key, hash);
+        if (slot >= 0) {
+            V old = (V) values[slot];
+            values[slot] = value;
+            return old;
+        }
+        // a miss in the index stops at the empty bucket the key goes in
+        append(key, value, hash, index == null ? -1 : ~slot);
+        return null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V remove(Object key) {
+        int slot = slotOf(key);
+        if (slot < 0) return null;
+        V old = (V) values[slot];
+        removeSlot(slot);
+        return old;
+    }
+
+    @Override
+    public void clear() {
+        if (used == 0) return;
+        Arrays.fill(keys, 0, used, null);
+        Arrays.fill(values, 0, used, null);
+        index = null;
+        otherKeys = false;
+        used = 0;
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        int expected = modCount;
+        Object[] keys = this.keys;
+        Object[] values = this.values;
+        for (int i = 0, n = used; i < n; i++) {
+            Object key = keys[i];
+            if (key == REMOVED) continue;
+            action.accept((K) key, (V) values[i]);
+            if (modCount != expected) throw new ConcurrentModificationException();
+        }
+    }
+
+    /**
+     * @return {@code true} if every key ever added since the last {@link #clear()} was a {@code String}, in which
+     * case a missing {@code String} key cannot be stored under another type either
+     */
+    public boolean hasOnlyStringKeys() {
+        return !otherKeys;
+    }
+
+    /**
+     * Shrinks the backing arrays to the current size.
+     */
+    public void trimToSize() {
+        if (used < keys.length) resize(size);
+    }
+
+    @Override
+    public @NotNull Set<Entry<K, V>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public @NotNull Iterator<Entry<K, V>> iterator() {
+                return new SlotIterator<>() {
+                    @Override
+                    @SuppressWarnings("unchecked")
+                    Entry<K, V> get(int slot) {
+                        return new Node((K) keys[slot], (V) values[slot]);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+
+            @Override
+            public void clear() {
+                CompactMap.this.clear();
+            }
+        };
+    }
+
+    @Override
+    public @NotNull Set<K> keySet() {
+        return new AbstractSet<>() {
+            @Override
+            public @NotNull Iterator<K> iterator() {
+                return new SlotIterator<>() {
+                    @Override
+                    @SuppressWarnings("unchecked")
+                    K get(int slot) {
+                        return (K) keys[slot];
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return containsKey(o);
+            }
+
+            @Override
+            public boolean remove(Object o) {
+                int slot = slotOf(o);
+                if (slot < 0) return false;
+                removeSlot(slot);
+                return true;
+            }
+
+            @Override
+            public void clear() {
+                CompactMap.this.clear();
+            }
+        };
+    }
+
+    @Override
+    public @NotNull Collection<V> values() {
+        return new AbstractCollection<>() {
+            @Override
+            public @NotNull Iterator<V> iterator() {
+                return new SlotIterator<>() {
+                    @Override
+                    @SuppressWarnings("unchecked")
+                    V get(int slot) {
+                        return (V) values[slot];
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+
+            @Override
+            public void clear() {
+                CompactMap.this.clear();
+            }
+        };
+    }
+
+    /**
+     * Compares the cached hash codes first, so {@code equals} only runs on a likely match.
+     */
+    private int slotOf(@Nullable Object key) {
+        int hash = hash(key);
+        return index == null ? scan(key, hash) : probe(key, hash);
+    }
+
+    private int scan(@Nullable Object key, int hash) {
+        int[] hashes = this.hashes;
+        for (int i = 0, n = used; i < n; i++) {
+            if (hashes[i] == hash) {
+                Object k = keys[i];
+                if (k == key || key != null && key.equals(k)) return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return the slot of {@code key}, or {@code ~bucket} of the empty bucket that ended the search
+     */
+    private int probe(@Nullable Object key, int hash) {
+        int[] hashes = this.hashes;
+        int[] index = this.index;
+        int mask = index.length - 1;
+        for (int i = bucket(hash, mask); ; i = i + 1 & mask) {
+            int e = index[i] - 1;
+            if (e == -1) return ~i;
+            if (e >= 0 && hashes[e] == hash) {
+                Object k = keys[e];
+                if (k == key || key != null && key.equals(k)) return e;
+            }
+        }
+    }
+
+    /**
+     * @param bucket the free index bucket for the key, or -1 to look for one
+     */
+    private void append(K key, V value, int hash, int bucket) {
+        if (used == keys.length) {
+            // reclaim gaps left by removals before growing
+            resize(used - size > used >> 2 ? size + 1 : Math.max(4, used * 2));
+            bucket = -1;
+        }
+        int slot = used++;
+        keys[slot] = key;
+        values[slot] = value;
+        hashes[slot] = hash;
+        if (!(key instanceof String)) otherKeys = true;
+        size++;
+        modCount++;
+        if (bucket >= 0) {
+            index[bucket] = slot + 1;
+        } else if (index != null) {
+            insertIndex(slot);
+        } else if (size > INDEX_THRESHOLD) {
+            rebuildIndex();
+        }
+    }
+
+    private void removeSlot(int slot) {
+        Object[] keys = this.keys;
+        Object[] values = this.values;
+        int[] index = this.index;
+        if (index == null) {
+            System.arraycopy(keys, slot + 1, keys, slot, used - slot - 1);
+            System.arraycopy(values, slot + 1, values, slot, used - slot - 1);
+            System.arraycopy(hashes, slot + 1, hashes, slot, used - slot - 1);
+            used--;
+            keys[used] = null;
+            values[used] = null;
+        } else {
+            int mask = index.length - 1;
+            int i = bucket(hashes[slot], mask);
+            while (index[i] != slot + 1) i = i + 1 & mask;
+            index[i] = -1;
+            keys[slot] = REMOVED;
+            values[slot] = null;
+        }
+        size--;
+        modCount++;
+    }
+
+    /**
+     * Moves the live entries into arrays with room for {@code capacity} of them, closing any gaps. Without gaps
+     * the slots stay the same, so the index is kept while it is still big enough.
+     */
+    private void resize(int capacity) {
+        if (used == size && capacity > 0) {
+            keys = Arrays.copyOf(keys, capacity);
+            values = Arrays.copyOf(values, capacity);
+            hashes = Arrays.copyOf(hashes, capacity);
+            if (index != null ? index.length < capacity * 2 : size > INDEX_THRESHOLD) rebuildIndex();
+            return;
+        }
+        Object[] oldKeys = this.keys;
+        Object[] oldValues = this.values;
+        int[] oldHashes = this.hashes;
+        Object[] keys = capacity == 0 ? EMPTY : new Object[capacity];
+        Object[] values = capacity == 0 ? EMPTY : new Object[capacity];
+        int[] hashes = capacity == 0 ? NO_HASHES : new int[capacity];
+        int slot = 0;
+        for (int i = 0; i < used; i++) {
+            if (oldKeys[i] == REMOVED) continue;
+            keys[slot] = oldKeys[i];
+            values[slot] = oldValues[i];
+            hashes[slot] = oldHashes[i];
+            slot++;
+        }
+        this.keys = keys;
+        this.values = values;
+        this.hashes = hashes;
+        used = slot;
+        if (index != null || size > INDEX_THRESHOLD) rebuildIndex();
+    }
+
+    /**
+     * Sizes the index to at least twice the capacity, so it is never more than half full.
+     */
+    private void rebuildIndex() {
+        int capacity = Math.max(keys.length, INDEX_THRESHOLD + 1);
+        index = new int[Integer.highestOneBit(capacity * 2 - 1) << 1];
+        for (int slot = 0; slot < used; slot++) {
+            if (keys[slot] != REMOVED) insertIndex(slot);
+        }
+    }
+
+    private void insertIndex(int slot) {
+        int[] index = this.index;
+        int mask = index.length - 1;
+        int i = bucket(hashes[slot], mask);
+        while (index[i] > 0) i = i + 1 & mask;
+        index[i] = slot + 1;
+    }
+
+    private static int hash(@Nullable Object key) {
+        return key == null ? 0 : key.hashCode();
+    }
+
+    /**
+     * Fibonacci hashing: the top bits of the hash times the golden ratio. {@link HashMap}'s spreading keeps
+     * keys that only differ in their last character, such as {@code slot-1} and {@code slot-2}, in neighbouring
+     * buckets, which suits chaining but builds long runs under linear probing; this scatters them instead.
+     */
+    private static int bucket(int hash, int mask) {
+        return hash * 0x9E3779B9 >>> Integer.numberOfLeadingZeros(mask);
+    }
+
+    private abstract class SlotIterator<T> implements Iterator<T> {
+        private int next;
+        private int last = -1;
+        private int expected = modCount;
+
+        SlotIterator() {
+            skipRemoved();
+        }
+
+        abstract T get(int slot);
+
+        @Override
+        public boolean hasNext() {
+            return next < used;
+        }
+
+        @Override
+        public T next() {
+            if (modCount != expected) throw new ConcurrentModificationException();
+            if (next >= used) throw new NoSuchElementException();
+            last = next++;
+            skipRemoved();
+            return get(last);
+        }
+
+        @Override
+        public void remove() {
+            if (last < 0) throw new IllegalStateException();
+            if (modCount != expected) throw new ConcurrentModificationException();
+            boolean shifts = index == null;
+            removeSlot(last);
+            if (shifts) next = last;
+            last = -1;
+            expected = modCount;
+        }
+
+        private void skipRemoved() {
+            while (next < used && keys[next] == REMOVED) next++;
+        }
+    }
+
+    private final class Node extends SimpleEntry<K, V> {
+        private static final long serialVersionUID = 1L;
+
+        Node(K key, V value) {
+            super(key, value);
+        }
+
+        @Override
+        public V setValue(V value) {
+            put(getKey(), value);
+            return super.setValue(value);
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package dev.by1337.yaml.util;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * An insertion-ordered map from {@code int} keys to objects, for slot → item or level → reward sections.
+ * <p>
+ * Keys and values sit in parallel arrays in insertion order, with an open-addressing index of {@code int}s over
+ * them that is never more than half full. A mapping costs 16 to 24 bytes instead of the ~80 of a boxed
+ * {@code LinkedHashMap<Integer, V>} entry, and lookups allocate nothing.
+ * <p>
+ * Maps are built once while decoding, so there is no removal. Null values are allowed; {@link #get(int)} returns
+ * {@code null} for them and for missing keys alike. Not thread-safe.
+ */
+public final class Int2ObjectMap<V> {
+    private static final int[] NO_KEYS = {};
+    private static final Object[] NO_VALUES = {};
+
+    // in insertion order
+    private int[] keys;
+    private Object[] values;
+    // slot + 1 per used bucket, 0 for empty
+    private int[] index;
+    private int size;
+
+    public Int2ObjectMap() {
+        this(0);
+    }
+
+    public Int2ObjectMap(int expectedSize) {
+        if (expectedSize < 0) throw new IllegalArgumentException("Negative size " + expectedSize);
+        keys = expectedSize == 0 ? NO_KEYS : new int[expectedSize];
+        values = expectedSize == 0 ? NO_VALUES : new Object[expectedSize];
+        index = new int[indexSize(expectedSize)];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean containsKey(int key) {
+        return slotOf(key) >= 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public @Nullable V get(int key) {
+        int slot = slotOf(key);
+        return slot < 0 ? null : (V) values[slot];
+    }
+
+    @SuppressWarnings("unchecked")
+    public V getOrDefault(int key, V defaultValue) {
+        int slot = slotOf(key);
+        return slot < 0 ? defaultValue : (V) values[slot];
+    }
+
+    /**
+     * @return the previous value, or {@code null} if there was none
+     */
+    @SuppressWarnings("unchecked")
+    public @Nullable V put(int key, V value) {
+        int slot = slotOf(key);
+        if (slot >= 0) {
+            V old = (V) values[slot];
+            values[slot] = value;
+            return old;
+        }
+        if (size == keys.length) grow();
+        slot = size++;
+        keys[slot] = key;
+        values[slot] = value;
+        insertIndex(slot);
+        return null;
+    }
+
+    /**
+     * @param i the position in insertion order, {@code 0 <= i < size()}
+     */
+    public int keyAt(int i) {
+        Objects.checkIndex(i, size);
+        return keys[i];
+    }
+
+    /**
+     * @param i the position in insertion order, {@code 0 <= i < size()}
+     */
+    @SuppressWarnings("unchecked")
+    public V valueAt(int i) {
+        Objects.checkIndex(i, size);
+        return (V) values[i];
+    }
+
+    /**
+     * @return a copy of the keys in insertion order
+     */
+    public int[] keys() {
+        return Arrays.copyOf(keys, size);
+    }
+
+    @SuppressWarnings("unchecked")
+    public void forEach(EntryConsumer<? super V> action) {
+        for (int i = 0; i < size; i++) {
+            action.accept(keys[i], (V) values[i]);
+        }
+    }
+
+    private int slotOf(int key) {
+        int[] index = this.index;
+        int mask = index.length - 1;
+        for (int i = bucket(key, mask); ; i = i + 1 & mask) {
+            int slot = index[i] - 1;
+            if (slot < 0) return -1;
+            if (keys[slot] == key) return slot;
+        }
+    }
+
+    private void grow() {
+        int capacity = Math.max(4, size * 2);
+        keys = Arrays.copyOf(keys, capacity);
+        values = Arrays.copyOf(values, capacity);
+        index = new int[indexSize(capacity)];
+        for (int slot = 0; slot < size; slot++) insertIndex(slot);
+    }
+
+    private void insertIndex(int slot) {
+        int[] index = this.index;
+        int mask = index.length - 1;
+        int i = bucket(keys[slot], mask);
+        while (index[i] != 0) i = i + 1 & mask;
+        index[i] = slot + 1;
+    }
+
+    /**
+     * Two buckets per entry, so the index is never more than half full and always has an empty bucket.
+     */
+    static int indexSize(int capacity) {
+        return Integer.highestOneBit(Math.max(capacity, 1) * 2 - 1) << 1;
+    }
+
+    /**
+     * Fibonacci hashing: consecutive keys such as slots 0..53 land far apart instead of in one long run.
+     */
+    private static int bucket(int key, int mask) {
+        int h = key * 0x9E3779B9;
+        return (h ^ h >>> 16) & mask;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Int2ObjectMap<?> other) || other.size != size) return false;
+        for (int i = 0; i < size; i++) {
+            int slot = other.slotOf(keys[i]);
+            if (slot < 0 || !Objects.equals(values[i], other.values[slot])) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Same as {@link java.util.Map#hashCode()} of the boxed map.
+     */
+    @Override
+    public int hashCode() {
+        int h = 0;
+        for (int i = 0; i < size; i++) {
+            h += keys[i] ^ Objects.hashCode(values[i]);
+        }
+        return h;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        for (int i = 0; i < size; i++) {
+            if (i != 0) sb.append(", ");
+            sb.append(keys[i]).append('=').append(values[i]);
+        }
+        return sb.append('}').toString();
+    }
+
+    @FunctionalInterface
+    public interface EntryConsumer<V> {
+        void accept(int key, V value);
+    }
+}
@@ -0,0 +1,185 @@
+package dev.by1337.yaml.util;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * An insertion-ordered map from objects to {@code int}s, for sections such as {@code item → price}.
+ * <p>
+ * Keys and values sit in parallel arrays in insertion order, with an open-addressing index of {@code int}s over
+ * them that is never more than half full. A mapping costs 16 to 24 bytes instead of the ~80 of a boxed
+ * {@code LinkedHashMap<K, Integer>} entry, and lookups allocate nothing.
+ * <p>
+ * Maps are built once while decoding, so there is no removal. Keys must not be {@code null}. Not thread-safe.
+ */
+public final class Object2IntMap<K> {
+    private static final Object[] NO_KEYS = {};
+    private static final int[] NO_VALUES = {};
+
+    // in insertion order
+    private Object[] keys;
+    private int[] values;
+    // slot + 1 per used bucket, 0 for empty
+    private int[] index;
+    private int size;
+
+    public Object2IntMap() {
+        this(0);
+    }
+
+    public Object2IntMap(int expectedSize) {
+        if (expectedSize < 0) throw new IllegalArgumentException("Negative size " + expectedSize);
+        keys = expectedSize == 0 ? NO_KEYS : new Object[expectedSize];
+        values = expectedSize == 0 ? NO_VALUES : new int[expectedSize];
+        index = new int[Int2ObjectMap.indexSize(expectedSize)];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean containsKey(@Nullable Object key) {
+        return key != null && slotOf(key) >= 0;
+    }
+
+    /**
+     * @return the value, or {@code 0} if there is no such key
+     */
+    public int getInt(@Nullable Object key) {
+        return getOrDefault(key, 0);
+    }
+
+    public int getOrDefault(@Nullable Object key, int defaultValue) {
+        if (key == null) return defaultValue;
+        int slot = slotOf(key);
+        return slot < 0 ? defaultValue : values[slot];
+    }
+
+    /**
+     * @return the previous value, or {@code 0} if there was none
+     */
+    public int put(K key, int value) {
+        Objects.requireNonNull(key, "key");
+        int slot = slotOf(key);
+        if (slot >= 0) {
+            int old = values[slot];
+            values[slot] = value;
+            return old;
+        }
+        if (size == keys.length) grow();
+        slot = size++;
+        keys[slot] = key;
+        values[slot] = value;
+        insertIndex(slot);
+        return 0;
+    }
+
+    /**
+     * @param i the position in insertion order, {@code 0 <= i < size()}
+     */
+    @SuppressWarnings("unchecked")
+    public K keyAt(int i) {
+        Objects.checkIndex(i, size);
+        return (K) keys[i];
+    }
+
+    /**
+     * @param i the position in insertion order, {@code 0 <= i < size()}
+     */
+    public int valueAt(int i) {
+        Objects.checkIndex(i, size);
+        return values[i];
+    }
+
+    /**
+     * @return a copy of the values in insertion order
+     */
+    public int[] values() {
+        return Arrays.copyOf(values, size);
+    }
+
+    @SuppressWarnings("unchecked")
+    public void forEach(EntryConsumer<? super K> action) {
+        for (int i = 0; i < size; i++) {
+            action.accept((K) keys[i], values[i]);
+        }
+    }
+
+    private int slotOf(Object key) {
+        int[] index = this.index;
+        int mask = index.length - 1;
+        for (int i = bucket(key.hashCode(), mask); ; i = i + 1 & mask) {
+            int slot = index[i] - 1;
+            if (slot < 0) return -1;
+            Object k = keys[slot];
+            if (k == key || key.equals(k)) return slot;
+        }
+    }
+
+    private void grow() {
+        int capacity = Math.max(4, size * 2);
+        keys = Arrays.copyOf(keys, capacity);
+        values = Arrays.copyOf(values, capacity);
+        index = new int[Int2ObjectMap.indexSize(capacity)];
+        for (int slot = 0; slot < size; slot++) insertIndex(slot);
+    }
+
+    private void insertIndex(int slot) {
+        int[] index = this.index;
+        int mask = index.length - 1;
+        int i = bucket(keys[slot].hashCode(), mask);
+        while (index[i] != 0) i = i + 1 & mask;
+        index[i] = slot + 1;
+    }
+
+    /**
+     * Same spreading as {@link java.util.HashMap}.
+     */
+    private static int bucket(int hash, int mask) {
+        return (hash ^ hash >>> 16) & mask;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Object2IntMap<?> other) || other.size != size) return false;
+        for (int i = 0; i < size; i++) {
+            int slot = other.slotOf(keys[i]);
+            if (slot < 0 || values[i] != other.values[slot]) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Same as {@link java.util.Map#hashCode()} of the boxed map.
+     */
+    @Override
+    public int hashCode() {
+        int h = 0;
+        for (int i = 0; i < size; i++) {
+            h += keys[i].hashCode() ^ values[i];
+        }
+        return h;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        for (int i = 0; i < size; i++) {
+            if (i != 0) sb.append(", ");
+            sb.append(keys[i]).append('=').append(values[i]);
+        }
+        return sb.append('}').toString();
+    }
+
+    @FunctionalInterface
+    public interface EntryConsumer<K> {
+        void accept(K key, int value);
+    }
+}
@@ -0,0 +1,104 @@
+package dev.by1337.yaml.util;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Boxing-free conversions of raw yaml values to primitives.
+ * <p>
+ * Accepts exactly what {@code YamlCodec.INT}, {@code LONG}, {@code DOUBLE} and {@code BOOL} accept,
+ * but converts {@link Number}s directly instead of going through {@code toString()} and a parse.
+ */
+@ApiStatus.Internal
+public final class Primitives {
+
+    private Primitives() {
+    }
+
+    public static int toInt(@Nullable Object o, int def) {
+        if (o instanceof Integer i) return i;
+        if (o instanceof Long || o instanceof Short || o instanceof Byte) {
+            long l = ((Number) o).longValue();
+            return (int) l == l ? (int) l : def;
+        }
+        if (o == null || o instanceof Double || o instanceof Float) return def;
+        try {
+            return Integer.parseInt(o.toString());
+        } catch (NumberFormatException e) {
+            return def;
+        }
+    }
+
+    public static long toLong(@Nullable Object o, long def) {
+        if (o instanceof Long l) return l;
+        if (o instanceof Integer || o instanceof Short || o instanceof Byte) return ((Number) o).longValue();
+        if (o == null || o instanceof Double || o instanceof Float) return def;
+        try {
+            return Long.parseLong(o.toString());
+        } catch (NumberFormatException e) {
+            return def;
+        }
+    }
+
+    public static double toDouble(@Nullable Object o, double def) {
+        if (o instanceof Double d) return d;
+        if (o instanceof Integer || o instanceof Long || o instanceof Short || o instanceof Byte) {
+            return ((Number) o).doubleValue();
+        }
+        if (o == null) return def;
+        try {
+            return Double.parseDouble(o.toString());
+        } catch (NumberFormatException e) {
+            return def;
+        }
+    }
+
+    /**
+     * Parses plain decimals such as {@code -12.5} straight from a range of {@code s}.
+     * <p>
+     * Only handles the exact case: an optional sign, at most 15 significant digits and at most
+     * 22 fraction digits, where a single correctly rounded division gives the same value as
+     * {@link Double#parseDouble(String)}. Everything else (exponents, {@code NaN}, surrounding
+     * whitespace, long mantissas) returns {@link Double#NaN}, and the caller falls back to {@code parseDouble}.
+     */
+    public static double parseDecimal(CharSequence s, int begin, int end) {
+        if (begin == end) return Double.NaN;
+        boolean negative = false;
+        char c = s.charAt(begin);
+        if (c == '-' || c == '+') {
+            negative = c == '-';
+            if (++begin == end) return Double.NaN;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int fraction = -1;
+        for (int i = begin; i < end; i++) {
+            c = s.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (mantissa != 0 || c != '0') digits++;
+                mantissa = mantissa * 10 + (c - '0');
+                if (fraction != -1) fraction++;
+                if (digits > 15 || fraction > 22) return Double.NaN;
+            } else if (c == '.' && fraction == -1) {
+                fraction = 0;
+            } else {
+                return Double.NaN;
+            }
+        }
+        // "." and "-." are not numbers, "1." and ".5" are
+        if (end - begin == 1 && fraction == 0) return Double.NaN;
+        double value = fraction > 0 ? mantissa / POWERS_OF_TEN[fraction] : mantissa;
+        return negative ? -value : value;
+    }
+
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+            1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    public static boolean toBoolean(@Nullable Object o, boolean def) {
+        if (o instanceof Boolean b) return b;
+        if (o == null) return def;
+        return Boolean.parseBoolean(o.toString());
+    }
+}
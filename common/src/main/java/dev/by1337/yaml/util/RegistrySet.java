@@ -0,0 +1,170 @@
+package dev.by1337.yaml.util;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+/**
+ * A set over a fixed {@link Universe} of values, such as a registry of {@code Keyed} constants that are not an
+ * enum, stored as one bit per value like {@link EnumSet}.
+ * <p>
+ * Values are looked up by identity, which is what registry constants are compared by anyway, so {@link #contains}
+ * is an identity hash lookup and a bit test with no {@code equals} calls and no allocation. Iteration follows the
+ * order of the universe. Adding a value outside the universe throws {@link IllegalArgumentException}. Not
+ * thread-safe.
+ */
+public final class RegistrySet<T> extends AbstractSet<T> {
+    private final Universe<T> universe;
+    private final long[] bits;
+    private int size;
+    private int modCount;
+
+    private RegistrySet(Universe<T> universe) {
+        this.universe = universe;
+        bits = new long[(universe.values.length + 63) >>> 6];
+    }
+
+    public Universe<T> universe() {
+        return universe;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        int i = universe.indexOf(o);
+        return i >= 0 && (bits[i >>> 6] & 1L << i) != 0;
+    }
+
+    @Override
+    public boolean add(T t) {
+        int i = universe.indexOf(t);
+        if (i < 0) throw new IllegalArgumentException(t + " is not in the universe of this set");
+        long old = bits[i >>> 6];
+        bits[i >>> 6] = old | 1L << i;
+        if (old == bits[i >>> 6]) return false;
+        size++;
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        int i = universe.indexOf(o);
+        if (i < 0) return false;
+        long old = bits[i >>> 6];
+        bits[i >>> 6] = old & ~(1L << i);
+        if (old == bits[i >>> 6]) return false;
+        size--;
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(bits, 0);
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    public @NotNull Iterator<T> iterator() {
+        return new Iterator<>() {
+            private int next = nextSet(0);
+            private int last = -1;
+            private int expected = modCount;
+
+            @Override
+            public boolean hasNext() {
+                return next >= 0;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public T next() {
+                if (modCount != expected) throw new ConcurrentModificationException();
+                if (next < 0) throw new NoSuchElementException();
+                last = next;
+                next = nextSet(next + 1);
+                return (T) universe.values[last];
+            }
+
+            @Override
+            public void remove() {
+                if (last < 0) throw new IllegalStateException();
+                if (modCount != expected) throw new ConcurrentModificationException();
+                bits[last >>> 6] &= ~(1L << last);
+                size--;
+                expected = ++modCount;
+                last = -1;
+            }
+        };
+    }
+
+    private int nextSet(int from) {
+        int word = from >>> 6;
+        if (word >= bits.length) return -1;
+        long w = bits[word] & -1L << from;
+        while (true) {
+            if (w != 0) return (word << 6) + Long.numberOfTrailingZeros(w);
+            if (++word == bits.length) return -1;
+            w = bits[word];
+        }
+    }
+
+    /**
+     * The values a {@link RegistrySet} can hold, each with its bit index. Build one per registry and share it.
+     */
+    public static final class Universe<T> {
+        private final Object[] values;
+        // value index + 1 per used bucket, 0 for empty; probed by identity hash
+        private final int[] index;
+
+        /**
+         * @param values the values in iteration order; repeated values are kept once
+         */
+        public Universe(Collection<? extends T> values) {
+            List<Object> distinct = new ArrayList<>(values.size());
+            int[] index = new int[Int2ObjectMap.indexSize(values.size())];
+            int mask = index.length - 1;
+            for (T value : values) {
+                Objects.requireNonNull(value, "value");
+                int i = bucket(value, mask);
+                for (; index[i] != 0; i = i + 1 & mask) {
+                    if (distinct.get(index[i] - 1) == value) break;
+                }
+                if (index[i] != 0) continue;
+                distinct.add(value);
+                index[i] = distinct.size();
+            }
+            this.values = distinct.toArray();
+            this.index = index;
+        }
+
+        public int size() {
+            return values.length;
+        }
+
+        public RegistrySet<T> newSet() {
+            return new RegistrySet<>(this);
+        }
+
+        int indexOf(Object o) {
+            if (o == null) return -1;
+            int[] index = this.index;
+            int mask = index.length - 1;
+            for (int i = bucket(o, mask); ; i = i + 1 & mask) {
+                int slot = index[i] - 1;
+                if (slot < 0 || values[slot] == o) return slot;
+            }
+        }
+
+        private static int bucket(Object o, int mask) {
+            int h = System.identityHashCode(o);
+            return (h ^ h >>> 16) & mask;
+        }
+    }
+}
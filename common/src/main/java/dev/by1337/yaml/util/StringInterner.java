@@ -0,0 +1,78 @@
+package dev.by1337.yaml.util;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.ref.WeakReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Deduplicates the keys and short scalars that repeat across configs, such as {@code material} or {@code amount},
+ * so every loaded tree shares one instance of each instead of holding its own copy.
+ * <p>
+ * The table is a fixed number of slots indexed by hash code, each holding a weak reference to the string last
+ * interned there. It never grows, a colliding string simply takes over the slot, and strings that no tree uses any
+ * more are left to the garbage collector. Lookups take no locks; two threads racing for one slot can at worst
+ * both keep their own instance.
+ *
+ * @see dev.by1337.yaml.YamlMap#setStringInterner
+ */
+public final class StringInterner {
+    public static final int DEFAULT_CAPACITY = 4096;
+    public static final int DEFAULT_MAX_LENGTH = 64;
+
+    private final AtomicReferenceArray<WeakReference<String>> slots;
+    private final int mask;
+    private final int maxLength;
+
+    public StringInterner() {
+        this(DEFAULT_CAPACITY, DEFAULT_MAX_LENGTH);
+    }
+
+    /**
+     * @param capacity  the number of slots, rounded up to a power of two
+     * @param maxLength longer strings are returned as is, since they rarely repeat
+     */
+    public StringInterner(int capacity, int maxLength) {
+        if (capacity <= 0) throw new IllegalArgumentException("Capacity must be positive, got " + capacity);
+        if (capacity > 1 << 30) throw new IllegalArgumentException("Capacity is too large: " + capacity);
+        if (maxLength < 0) throw new IllegalArgumentException("Negative max length " + maxLength);
+        int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        slots = new AtomicReferenceArray<>(size);
+        mask = size - 1;
+        this.maxLength = maxLength;
+    }
+
+    /**
+     * @return an equal string that was interned before, or {@code s} itself, which then becomes the one
+     * returned for equal strings
+     */
+    @Contract("null -> null; !null -> !null")
+    public String intern(@Nullable String s) {
+        if (s == null || s.length() > maxLength) return s;
+        int h = s.hashCode();
+        int i = (h ^ h >>> 16) & mask;
+        WeakReference<String> ref = slots.get(i);
+        if (ref != null) {
+            String canonical = ref.get();
+            if (canonical != null && canonical.equals(s)) return canonical;
+        }
+        slots.lazySet(i, new WeakReference<>(s));
+        return s;
+    }
+
+    /**
+     * Interns {@code value} if it is a string.
+     */
+    public Object internValue(@Nullable Object value) {
+        return value instanceof String s ? intern(s) : value;
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    public int maxLength() {
+        return maxLength;
+    }
+}
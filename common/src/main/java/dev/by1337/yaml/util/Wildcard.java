@@ -2,6 +2,10 @@ package dev.by1337.yaml.util;
 
 import org.jetbrains.annotations.ApiStatus;
 
+/**
+ * A glob pattern: {@code *} matches any run of characters, {@code ?} any single character, everything else
+ * itself.
+ */
 @ApiStatus.Internal
 public record Wildcard(String pattern) {
 
@@ -9,26 +13,34 @@ public record Wildcard(String pattern) {
         return matches(text, pattern);
     }
 
+    public static boolean isPattern(String s) {
+        return s.indexOf('*') >= 0 || s.indexOf('?') >= 0;
+    }
+
+    /**
+     * Matches without regular expressions: on a mismatch only the last {@code *} is retried one character
+     * further, so nothing is compiled and the work is at most text length × pattern length.
+     */
     public static boolean matches(String text, String pattern) {
-        StringBuilder sb = new StringBuilder();
-        for (char c : pattern.toCharArray()) {
-            switch (c) {
-                case '*':
-                    sb.append(".*");
-                    break;
-                case '?':
-                    sb.append('.');
-                    break;
-                case '.':
-                    sb.append("\\.");
-                    break;
-                case '\\', '+', '(', ')', '^', '$', '{', '}', '|', '[', ']':
-                    sb.append('\\').append(c);
-                    break;
-                default:
-                    sb.append(c);
+        int t = 0, p = 0;
+        int star = -1, starText = 0;
+        int n = text.length(), m = pattern.length();
+        while (t < n) {
+            char c = p < m ? pattern.charAt(p) : 0;
+            if (p < m && c == '*') {
+                star = p++;
+                starText = t;
+            } else if (p < m && (c == '?' || c == text.charAt(t))) {
+                p++;
+                t++;
+            } else if (star >= 0) {
+                p = star + 1;
+                t = ++starText;
+            } else {
+                return false;
             }
         }
-        return text.matches(sb.toString());
+        while (p < m && pattern.charAt(p) == '*') p++;
+        return p == m;
     }
 }
@@ -0,0 +1,42 @@
+package dev.by1337.yaml.util;
+
+import org.jetbrains.annotations.ApiStatus;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The executor behind {@code YamlMap.loadAsync}/{@code saveAsync} when none is given.
+ * <p>
+ * On runtimes with virtual threads (Java 21+) every task gets its own virtual thread, which suits blocking file I/O.
+ * Otherwise tasks share a small pool of daemon threads that exit when idle, so the pool never
+ * keeps a server from shutting down and costs nothing when unused.
+ */
+@ApiStatus.Internal
+public final class YamlExecutors {
+    private static final Executor DEFAULT = create();
+
+    private YamlExecutors() {
+    }
+
+    public static Executor defaultExecutor() {
+        return DEFAULT;
+    }
+
+    private static Executor create() {
+        try {
+            // looked up reflectively, the library is compiled for Java 16
+            return (Executor) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | LinkageError ignored) {
+        }
+        int threads = Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
+        AtomicInteger counter = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+            Thread thread = new Thread(r, "byaml-io-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+}
@@ -2,9 +2,20 @@ package dev.by1337.yaml.util;
 
 import dev.by1337.yaml.YamlMap;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.util.Map;
 
 public interface YamlReader {
      YamlMap read(String data);
      String saveToString(Map<String, Object> map);
+
+     /**
+      * Writes {@code map} to {@code writer} without closing it. Implementations should override this
+      * to stream the output instead of building it as one string first.
+      */
+     default void save(Map<String, Object> map, Writer writer) throws IOException {
+          writer.write(saveToString(map));
+          writer.flush();
+     }
 }
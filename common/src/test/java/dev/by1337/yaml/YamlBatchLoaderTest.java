@@ -0,0 +1,65 @@
+package dev.by1337.yaml;
+
+import dev.by1337.yaml.codec.DataResult;
+import dev.by1337.yaml.codec.YamlCodec;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public class YamlBatchLoaderTest {
+    private static final YamlCodec<Map<String, Integer>> CODEC = YamlCodec.mapOf(YamlCodec.STRING, YamlCodec.INT);
+
+    @Test
+    public void testLoadDirectory(@TempDir Path dir) throws Exception {
+        Files.createDirectories(dir.resolve("sub"));
+        List<Path> expectedOrder = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            Path file = dir.resolve(i % 2 == 0 ? "sub" : ".").resolve(String.format("file-%02d.yml", i)).normalize();
+            Files.writeString(file, "value: " + i + "\n");
+        }
+        Files.writeString(dir.resolve("broken.yml"), "value: [1\n");
+        Files.writeString(dir.resolve("wrong.yaml"), "value: text\n");
+        Files.writeString(dir.resolve("ignored.txt"), "value: 1\n");
+        try (var stream = Files.walk(dir)) {
+            stream.filter(p -> p.toString().endsWith(".yml") || p.toString().endsWith(".yaml")).sorted().forEach(expectedOrder::add);
+        }
+
+        for (int parallelism : new int[]{1, 4}) {
+            Map<Path, DataResult<Map<String, Integer>>> results = new YamlBatchLoader(parallelism).load(dir, CODEC);
+            Assertions.assertEquals(expectedOrder, new ArrayList<>(results.keySet()));
+            for (int i = 0; i < 50; i++) {
+                Path file = dir.resolve(i % 2 == 0 ? "sub" : ".").resolve(String.format("file-%02d.yml", i)).normalize();
+                Assertions.assertEquals(Map.of("value", i), results.get(file).getOrThrow());
+            }
+            Assertions.assertTrue(results.get(dir.resolve("broken.yml")).error().startsWith("Failed to load "));
+            Assertions.assertTrue(results.get(dir.resolve("wrong.yaml")).hasError());
+        }
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new YamlBatchLoader(0));
+    }
+
+    @Test
+    public void testThrowingCodec(@TempDir Path dir) throws Exception {
+        YamlCodec<Integer> codec = YamlCodec.of(v -> {
+            int i = v.asYamlMap().getOrThrow().get("value").asInt().getOrThrow();
+            if (i == 3) throw new IllegalStateException("codec bug");
+            return DataResult.success(i);
+        }, YamlValue::wrap);
+        for (int i = 0; i < 6; i++) {
+            Files.writeString(dir.resolve("file-" + i + ".yml"), "value: " + i + "\n");
+        }
+        for (int parallelism : new int[]{1, 4}) {
+            Map<Path, DataResult<Integer>> results = new YamlBatchLoader(parallelism).load(dir, codec);
+            Assertions.assertEquals(6, results.size());
+            Assertions.assertEquals(5, results.get(dir.resolve("file-5.yml")).getOrThrow());
+            DataResult<Integer> failed = results.get(dir.resolve("file-3.yml"));
+            Assertions.assertTrue(failed.error().startsWith("Failed to decode "), failed.error());
+            Assertions.assertTrue(failed.error().endsWith("codec bug"), failed.error());
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package dev.by1337.yaml;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+public class YamlDiffTest {
+
+    @Test
+    public void testOperations() {
+        YamlMap from = YamlMap.loadFromString("""
+                name: test
+                removed: 1
+                section:
+                  a: 1
+                  b: [1, 2]
+                  c: {x: 1}
+                """);
+        YamlMap to = YamlMap.loadFromString("""
+                name: test
+                section:
+                  a: 2
+                  b: [1, 2]
+                  c: 3
+                  'dotted.key': null
+                added: {y: true}
+                """);
+        YamlPatch patch = YamlDiff.compute(from, to);
+        Assertions.assertEquals(List.of(
+                YamlPatch.Operation.remove(YamlPath.of("removed")),
+                YamlPatch.Operation.replace(YamlPath.of("section.a"), 2),
+                YamlPatch.Operation.replace(YamlPath.of("section.c"), 3),
+                YamlPatch.Operation.add(YamlPath.ofSegments(new String[]{"section", "dotted.key"}), null),
+                YamlPatch.Operation.add(YamlPath.of("added"), Map.of("y", true))
+        ), patch.operations());
+
+        from.apply(patch);
+        Assertions.assertEquals(to, from);
+        Assertions.assertTrue(YamlDiff.compute(from, to).isEmpty());
+    }
+
+    @Test
+    public void testApplyCopiesValues() {
+        YamlMap to = YamlMap.loadFromString("list: [a]\nsection: {k: v}");
+        YamlPatch patch = YamlDiff.compute(new YamlMap(), to);
+        YamlMap first = new YamlMap();
+        YamlMap second = new YamlMap();
+        first.apply(patch);
+        second.apply(patch);
+        first.set("section.k", "changed");
+        Assertions.assertEquals(to, second);
+        Assertions.assertEquals("v", to.getRaw("section.k"));
+
+        YamlMap scalar = YamlMap.loadFromString("section: 1");
+        YamlPatch nested = new YamlPatch(List.of(YamlPatch.Operation.add(YamlPath.of("section.k"), "v")));
+        Assertions.assertThrows(IllegalStateException.class, () -> scalar.apply(nested));
+    }
+
+    @Test
+    public void testNonStringKeys() {
+        YamlMap from = YamlMap.loadFromString("1: a\n2: {x: 1}\ntrue: b\nsection: {3: c}");
+        YamlMap to = YamlMap.loadFromString("1: changed\n2: {x: 2}\nsection: {3: d}\n4: added");
+        YamlPatch patch = YamlDiff.compute(from, to);
+        Assertions.assertEquals(List.of(
+                new YamlPatch.Operation(YamlPatch.Type.REMOVE, YamlPath.of("true"), List.of(true), null),
+                new YamlPatch.Operation(YamlPatch.Type.REPLACE, YamlPath.of("1"), List.of(1), "changed"),
+                new YamlPatch.Operation(YamlPatch.Type.REPLACE, YamlPath.of("2.x"), List.of(2, "x"), 2),
+                YamlPatch.Operation.replace(YamlPath.of("section"), Map.of(3, "d")),
+                new YamlPatch.Operation(YamlPatch.Type.ADD, YamlPath.of("4"), List.of(4), "added")
+        ), patch.operations());
+
+        from.apply(patch);
+        Assertions.assertEquals(to, from);
+        Assertions.assertTrue(YamlDiff.compute(from, to).isEmpty());
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new YamlPatch.Operation(YamlPatch.Type.REMOVE, YamlPath.of("1"), List.of(2), null));
+    }
+
+    @Test
+    public void testRandomRoundTrip() {
+        Random random = new Random(7);
+        for (int i = 0; i < 500; i++) {
+            YamlMap from = new YamlMap(randomMap(random, 0));
+            YamlMap to = new YamlMap(mutate(random, from.getRaw(), 0));
+            YamlMap copy = new YamlMap(mutate(random, from.getRaw(), 100));
+            copy.apply(YamlDiff.compute(from, to));
+            Assertions.assertEquals(to, copy);
+        }
+    }
+
+    private static LinkedHashMap<String, Object> randomMap(Random random, int depth) {
+        LinkedHashMap<String, Object> map = new LinkedHashMap<>();
+        int size = random.nextInt(5);
+        for (int i = 0; i < size; i++) {
+            map.put("k" + random.nextInt(6), depth < 3 && random.nextBoolean() ? randomMap(random, depth + 1) : randomScalar(random));
+        }
+        return map;
+    }
+
+    private static Object randomScalar(Random random) {
+        return switch (random.nextInt(4)) {
+            case 0 -> random.nextInt(3);
+            case 1 -> "s" + random.nextInt(3);
+            case 2 -> List.of(random.nextInt(2));
+            default -> null;
+        };
+    }
+
+    /**
+     * Deep copy with random changes; {@code chance} of 100 or more gives an exact copy.
+     */
+    @SuppressWarnings("unchecked")
+    private static LinkedHashMap<String, Object> mutate(Random random, Map<String, Object> map, int chance) {
+        LinkedHashMap<String, Object> copy = new LinkedHashMap<>();
+        map.forEach((k, v) -> {
+            if (chance < 100 && random.nextInt(8) == 0) return;
+            if (v instanceof Map<?, ?> sub) v = mutate(random, (Map<String, Object>) sub, chance);
+            else if (chance < 100 && random.nextInt(6) == 0) v = randomScalar(random);
+            copy.put(k, v);
+        });
+        if (chance < 100 && random.nextInt(4) == 0) copy.put("n" + random.nextInt(3), randomMap(random, 2));
+        return copy;
+    }
+}
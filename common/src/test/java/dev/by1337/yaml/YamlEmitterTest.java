@@ -0,0 +1,138 @@
+package dev.by1337.yaml;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.yaml.snakeyaml.Yaml;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+public class YamlEmitterTest {
+    private static final String[] STRINGS = {
+            "plain", "two words", "", " lead", "trail ", "yes", "No", "null", "~", "12", "-1.5", "0x1F", ".inf",
+            "2001-12-14", "a: b", "a:b", "a #b", "a#b", "#c", "- x", "-x", "[x]", "{y}", "&a", "*b", "!t", "|", ">",
+            "'q'", "\"d\"", "%", "@", "`", "---", "...", "<<", "multi\nline", "tab\there", "\\", "é ☺ 😀",
+            "\u0085\u2028\u2029\uFEFF", "\u0001\u007F", "\uD800", "key:", "?", ":"
+    };
+
+    @Test
+    public void testLayout() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("name", "test");
+        map.put("count", 3);
+        map.put("list", List.of("a", Map.of("k", "v"), List.of(1, 2), List.of()));
+        map.put("nested", new LinkedHashMap<>(Map.of("x", true)));
+        map.put("empty", Map.of());
+        map.put("quoted", "yes");
+        Assertions.assertEquals("""
+                name: test
+                count: 3
+                list:
+                - a
+                - k: v
+                - - 1
+                  - 2
+                - []
+                nested:
+                  x: true
+                empty: {}
+                quoted: 'yes'
+                """, YamlEmitter.toString(map));
+        Assertions.assertEquals("{}\n", YamlEmitter.toString(Map.of()));
+    }
+
+    @Test
+    public void testRoundTrip() {
+        Random random = new Random(42);
+        for (int i = 0; i < 500; i++) {
+            Map<Object, Object> tree = randomMap(random, 0);
+            String text = YamlEmitter.toString(tree);
+            Object expected = tree.isEmpty() ? Map.of() : tree;
+            Assertions.assertEquals(expected, YamlEventReader.load(text), text);
+            Assertions.assertEquals(expected, new Yaml().load(text), text);
+        }
+    }
+
+    @Test
+    public void testScalars() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("nan", Double.NaN);
+        map.put("inf", Float.NEGATIVE_INFINITY);
+        map.put("long", Long.MAX_VALUE);
+        map.put("big", new java.math.BigInteger("123456789012345678901234567890"));
+        map.put("date", new Date(1_000_000_000_000L));
+        map.put("bytes", new byte[]{1, 2, 3});
+        map.put("array", new int[]{1, 2});
+        map.put("enum", Thread.State.NEW);
+        map.put("holder", YamlValue.wrap("wrapped"));
+        Map<String, Object> loaded = YamlEventReader.loadMap(YamlEmitter.toString(map));
+        Assertions.assertEquals(Double.NaN, loaded.get("nan"));
+        Assertions.assertEquals(Double.NEGATIVE_INFINITY, loaded.get("inf"));
+        Assertions.assertEquals(Long.MAX_VALUE, loaded.get("long"));
+        Assertions.assertEquals(map.get("big"), loaded.get("big"));
+        Assertions.assertEquals(map.get("date"), loaded.get("date"));
+        Assertions.assertArrayEquals(new byte[]{1, 2, 3}, (byte[]) loaded.get("bytes"));
+        Assertions.assertEquals(List.of(1, 2), loaded.get("array"));
+        Assertions.assertEquals("NEW", loaded.get("enum"));
+        Assertions.assertEquals("wrapped", loaded.get("holder"));
+
+        Map<String, Object> floatLike = new LinkedHashMap<>();
+        for (String s : List.of("._", "+._", "-._", "._e1")) floatLike.put(s, s);
+        String text = YamlEmitter.toString(floatLike);
+        Assertions.assertTrue(text.startsWith("'._': '._'\n"), text);
+        Assertions.assertEquals(floatLike, YamlEventReader.loadMap(text));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> YamlEmitter.toString(Map.of("x", new Object())));
+    }
+
+    @Test
+    public void testSavePath(@TempDir Path dir) throws Exception {
+        YamlMap map = new YamlMap();
+        map.set("a.b", "значение");
+        map.set("c", List.of(1, 2));
+        Path file = dir.resolve("config.yml");
+        map.save(file);
+        Assertions.assertEquals(map.getRaw(), new Yaml().load(Files.readString(file, StandardCharsets.UTF_8)));
+    }
+
+    private static Map<Object, Object> randomMap(Random random, int depth) {
+        Map<Object, Object> map = new LinkedHashMap<>();
+        int size = random.nextInt(depth == 0 ? 6 : 4);
+        for (int i = 0; i < size; i++) {
+            Object key = random.nextInt(5) == 0 ? (Object) random.nextInt(100) : STRINGS[random.nextInt(STRINGS.length)] + i;
+            map.put(key, randomValue(random, depth + 1));
+        }
+        return map;
+    }
+
+    private static Object randomValue(Random random, int depth) {
+        switch (random.nextInt(depth > 3 ? 6 : 9)) {
+            case 0, 1 -> {
+                return STRINGS[random.nextInt(STRINGS.length)];
+            }
+            case 2 -> {
+                return random.nextInt();
+            }
+            case 3 -> {
+                return random.nextDouble() * 1e6;
+            }
+            case 4 -> {
+                return random.nextBoolean();
+            }
+            case 5 -> {
+                return random.nextBoolean() ? null : random.nextLong();
+            }
+            case 6, 7 -> {
+                return randomMap(random, depth);
+            }
+            default -> {
+                List<Object> list = new ArrayList<>();
+                int size = random.nextInt(4);
+                for (int i = 0; i < size; i++) list.add(randomValue(random, depth + 1));
+                return list;
+            }
+        }
+    }
+}
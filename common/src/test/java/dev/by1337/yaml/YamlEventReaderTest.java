@@ -0,0 +1,146 @@
+package dev.by1337.yaml;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.yaml.snakeyaml.Yaml;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.stream.Stream;
+
+public class YamlEventReaderTest {
+
+    @Test
+    public void testConformance() throws Exception {
+        List<Path> files = corpus("valid");
+        Assertions.assertFalse(files.isEmpty());
+        for (Path file : files) {
+            String text = Files.readString(file, StandardCharsets.UTF_8);
+            Object expected = new Yaml().load(text);
+            Object actual = YamlEventReader.load(text);
+            assertDeepEquals(expected, actual, file.getFileName().toString());
+        }
+    }
+
+    @Test
+    public void testInvalid() throws Exception {
+        List<Path> files = corpus("invalid");
+        Assertions.assertFalse(files.isEmpty());
+        for (Path file : files) {
+            String text = Files.readString(file, StandardCharsets.UTF_8);
+            String name = file.getFileName().toString();
+            Assertions.assertThrows(Exception.class, () -> new Yaml().load(text), name);
+            Assertions.assertThrows(YamlParseException.class, () -> YamlEventReader.load(text), name);
+        }
+    }
+
+    @Test
+    public void testEvents() {
+        YamlEventReader reader = new YamlEventReader("""
+                a: 1
+                b:
+                  - x
+                  - &y {k: v}
+                c: *y
+                """);
+        List<String> events = new ArrayList<>();
+        YamlEventReader.Event event;
+        while ((event = reader.next()) != YamlEventReader.Event.END) {
+            switch (event) {
+                case SCALAR -> events.add(reader.scalar() + "@" + reader.line() + ":" + reader.column());
+                case ALIAS -> events.add("*" + reader.text());
+                default -> events.add(event + (reader.anchor() == null ? "" : " &" + reader.anchor()));
+            }
+        }
+        Assertions.assertEquals(List.of(
+                "MAPPING_START",
+                "a@1:1", "1@1:4",
+                "b@2:1", "SEQUENCE_START", "x@3:5", "MAPPING_START &y", "k@4:9", "v@4:12", "MAPPING_END", "SEQUENCE_END",
+                "c@5:1", "*y",
+                "MAPPING_END"
+        ), events);
+        Assertions.assertEquals(YamlEventReader.Event.END, reader.next());
+    }
+
+    @Test
+    public void testSkipValue() {
+        YamlEventReader reader = new YamlEventReader("skip: {a: [1, 2], b: {c: d}}\nkeep: 3\n");
+        Map<Object, Object> kept = new LinkedHashMap<>();
+        reader.next();
+        while (reader.next() != YamlEventReader.Event.MAPPING_END) {
+            String key = reader.text();
+            reader.next();
+            if (key.equals("skip")) {
+                reader.skipValue();
+            } else {
+                kept.put(key, reader.readValue());
+            }
+        }
+        Assertions.assertEquals(Map.of("keep", 3), kept);
+    }
+
+    @Test
+    public void testScalarKinds() {
+        YamlEventReader reader = new YamlEventReader("[plain, 'quoted', !!str 10, 10]");
+        reader.next();
+        reader.next();
+        Assertions.assertTrue(reader.isPlain());
+        reader.next();
+        Assertions.assertFalse(reader.isPlain());
+        Assertions.assertEquals("quoted", reader.scalar());
+        reader.next();
+        Assertions.assertEquals("tag:yaml.org,2002:str", reader.tag());
+        Assertions.assertEquals("10", reader.scalar());
+        reader.next();
+        Assertions.assertEquals(10, reader.scalar());
+    }
+
+    @Test
+    public void testErrorPosition() {
+        YamlParseException e = Assertions.assertThrows(YamlParseException.class,
+                () -> YamlEventReader.load("a:\n  b: 1\n c: 2\n"));
+        Assertions.assertEquals(3, e.line());
+        Assertions.assertEquals(2, e.column());
+        Assertions.assertTrue(e.getMessage().endsWith("(line 3, column 2)"), e.getMessage());
+    }
+
+    @Test
+    public void testLoadMap() {
+        Assertions.assertEquals(Map.of(), YamlEventReader.loadMap(""));
+        Assertions.assertEquals(Map.of(), YamlEventReader.loadMap("# only a comment\n"));
+        Assertions.assertEquals(Map.of("a", List.of(1, 2)), YamlEventReader.loadMap("a: [1, 2]"));
+        Assertions.assertThrows(YamlParseException.class, () -> YamlEventReader.loadMap("- a"));
+        Assertions.assertNull(YamlEventReader.load(""));
+    }
+
+    private static List<Path> corpus(String kind) throws IOException, URISyntaxException {
+        Path dir = Paths.get(Objects.requireNonNull(YamlEventReaderTest.class.getResource("/yaml-conformance/" + kind)).toURI());
+        try (Stream<Path> stream = Files.list(dir)) {
+            return stream.sorted().toList();
+        }
+    }
+
+    private static void assertDeepEquals(Object expected, Object actual, String path) {
+        if (expected instanceof Map<?, ?> e && actual instanceof Map<?, ?> a) {
+            Assertions.assertEquals(e.keySet(), a.keySet(), path);
+            for (Object key : e.keySet()) {
+                assertDeepEquals(e.get(key), a.get(key), path + "." + key);
+            }
+        } else if (expected instanceof List<?> e && actual instanceof List<?> a) {
+            Assertions.assertEquals(e.size(), a.size(), path);
+            for (int i = 0; i < e.size(); i++) {
+                assertDeepEquals(e.get(i), a.get(i), path + "[" + i + "]");
+            }
+        } else if (expected instanceof byte[] e && actual instanceof byte[] a) {
+            Assertions.assertArrayEquals(e, a, path);
+        } else {
+            Assertions.assertEquals(expected, actual, path);
+            if (expected != null) Assertions.assertEquals(expected.getClass(), actual.getClass(), path);
+        }
+    }
+}
@@ -7,11 +7,19 @@ import dev.by1337.yaml.codec.RecordYamlCodecBuilder;
 import dev.by1337.yaml.codec.YamlCodec;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
 public class YamlMapTest {
 
@@ -62,6 +70,46 @@ public class YamlMapTest {
         Assertions.assertEquals("string", yamlMap.get("subMap.a.test").decode(YamlCodec.STRING).getOrThrow());
     }
 
+    @Test
+    public void testYamlPath() {
+        YamlPath path = YamlPath.of("a.b.c");
+        YamlMap yamlMap = new YamlMap();
+        yamlMap.set(path, 15);
+        Assertions.assertEquals(15, yamlMap.getRaw("a.b.c"));
+        Assertions.assertEquals(15, yamlMap.get(path).asInt(0));
+        Assertions.assertTrue(yamlMap.has(path));
+        Assertions.assertFalse(yamlMap.has(YamlPath.of("a.b.d")));
+        yamlMap.set(path, null);
+        Assertions.assertNull(yamlMap.getRaw(path));
+        yamlMap.set("a.b", 1);
+        Assertions.assertThrows(IllegalStateException.class, () -> yamlMap.set("a.b.c", 1));
+    }
+
+    @Test
+    public void testYamlPathSplit() {
+        for (String s : List.of("", ".", "a", "a.", "a..b", ".a", "a.b..", "..")) {
+            Assertions.assertArrayEquals(s.split("\\."), YamlPath.of(s).segments(), s);
+        }
+    }
+
+    @Test
+    public void testPrimitiveGetters() {
+        List<Object> values = List.of(
+                1, 5L, Long.MAX_VALUE, (short) 3, (byte) 4, 1.5D, 2.0D, 0.1F, "12", "-7", "1.25", "abc", "true", true, false
+        );
+        YamlMap yamlMap = new YamlMap();
+        for (Object o : values) {
+            yamlMap.set("v", o);
+            YamlValue v = yamlMap.get("v");
+            Assertions.assertEquals((int) v.decode(YamlCodec.INT).orDefault(-1), yamlMap.getInt("v", -1), o::toString);
+            Assertions.assertEquals((long) v.decode(YamlCodec.LONG).orDefault(-1L), yamlMap.getLong("v", -1), o::toString);
+            Assertions.assertEquals(v.decode(YamlCodec.DOUBLE).orDefault(-1D), yamlMap.getDouble("v", -1), o::toString);
+            Assertions.assertEquals(v.decode(YamlCodec.BOOL).orDefault(false), yamlMap.getBoolean("v", false), o::toString);
+        }
+        Assertions.assertEquals(42, yamlMap.getInt(YamlPath.of("missing.path"), 42));
+        Assertions.assertTrue(yamlMap.getBoolean("missing", true));
+    }
+
     @Test
     public void test23() {
         Assertions.assertEquals(54, YamlValue.EMPTY.decode(YamlCodec.INT, 54).getOrThrow());
@@ -118,6 +166,41 @@ public class YamlMapTest {
         System.out.println(result.error());
     }*/
 
+    @Test
+    public void testLoadPath(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("config.yml");
+        byte[] bom = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+        byte[] text = "name: Игрок\r\nlist: [1, 2]\r\n".getBytes(StandardCharsets.UTF_8);
+        byte[] bytes = new byte[bom.length + text.length];
+        System.arraycopy(bom, 0, bytes, 0, bom.length);
+        System.arraycopy(text, 0, bytes, bom.length, text.length);
+        Files.write(file, bytes);
+
+        for (YamlMap map : List.of(YamlMap.load(file), YamlMap.load(file.toFile()), YamlMap.load(new ByteArrayInputStream(bytes)))) {
+            Assertions.assertEquals("Игрок", map.get("name").decode(YamlCodec.STRING).getOrThrow());
+            Assertions.assertEquals(List.of(1, 2), map.get("list").decode(YamlCodec.INT.listOf()).getOrThrow());
+        }
+        YamlMap fromReader = YamlMap.load(new StringReader("a:\n  b: 1\n"));
+        Assertions.assertEquals(1, fromReader.getInt("a.b", 0));
+    }
+
+    @Test
+    public void testAsync(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("async.yml");
+        YamlMap map = new YamlMap();
+        map.set("values", List.of(1, 2, 3));
+        map.saveAsync(file).get(10, TimeUnit.SECONDS);
+
+        YamlMap loaded = YamlMap.loadAsync(file).get(10, TimeUnit.SECONDS);
+        Assertions.assertEquals(map.getRaw(), loaded.getRaw());
+
+        var codec = YamlCodec.mapOf(YamlCodec.STRING, YamlCodec.INT.listOf());
+        Assertions.assertEquals(Map.of("values", List.of(1, 2, 3)), YamlMap.decodeAsync(file, codec).get(10, TimeUnit.SECONDS).getOrThrow());
+
+        var missing = YamlMap.loadAsync(dir.resolve("missing.yml"), Runnable::run);
+        Assertions.assertThrows(ExecutionException.class, missing::get);
+    }
+
     private static class CodecTest {
         private static final YamlCodec<Map<String, Map<String, List<Integer>>>> MAP_CODEC = YamlCodec.mapOf(YamlCodec.STRING, YamlCodec.mapOf(YamlCodec.STRING, YamlCodec.INT.listOf()));
         private static final YamlCodec<CodecTest> RECORD_CODEC = RecordYamlCodecBuilder.mapOf(
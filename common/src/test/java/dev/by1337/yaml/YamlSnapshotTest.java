@@ -0,0 +1,95 @@
+package dev.by1337.yaml;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+public class YamlSnapshotTest {
+
+    @Test
+    public void testRoundTrip() {
+        YamlMap map = YamlMap.loadFromString("""
+                string: text
+                unicode: "é ☺ 😀 \\ud800"
+                ints: [0, -1, 2147483647, -2147483648, 9223372036854775807, 123456789012345678901234567890]
+                doubles: [1.5, -0.0, .nan, -.inf]
+                bools: [yes, false]
+                empty: ~
+                binary: !!binary AQID
+                date: 2001-12-14t21:59:43.10-05:00
+                1: int key
+                nested: {a: {b: [1, {c: d}]}}
+                base: &base {x: 1}
+                merged:
+                  <<: *base
+                  y: 2
+                alias: *base
+                """);
+        map.set("float", 1.25f);
+        YamlMap copy = YamlSnapshot.read(YamlSnapshot.write(map));
+        Assertions.assertArrayEquals((byte[]) map.getRaw().remove("binary"), (byte[]) copy.getRaw().remove("binary"));
+        Assertions.assertEquals(map, copy);
+        Assertions.assertSame(copy.getRaw("base"), copy.getRaw("alias"));
+        Assertions.assertEquals(List.of("string", "unicode", "ints", "doubles", "bools", "empty", "date", 1, "nested",
+                "base", "merged", "alias", "float"), new ArrayList<>(copy.getRaw().keySet()));
+
+        Assertions.assertEquals(new YamlMap(), YamlSnapshot.read(YamlSnapshot.write(new YamlMap())));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> YamlSnapshot.write(new YamlMap(new LinkedHashMap<>(Map.of("x", new Object())))));
+    }
+
+    @Test
+    public void testCorrupted() {
+        YamlMap map = YamlMap.loadFromString("a: [1, two, {b: 3.0}]\nc: text");
+        byte[] bytes = YamlSnapshot.write(map);
+        Random random = new Random(1);
+        for (int i = 0; i < 2000; i++) {
+            byte[] broken = Arrays.copyOf(bytes, random.nextInt(bytes.length + 1));
+            if (broken.length > 0 && random.nextBoolean()) broken[random.nextInt(broken.length)] = (byte) random.nextInt();
+            try {
+                YamlSnapshot.read(broken);
+            } catch (IllegalArgumentException expected) {
+            }
+        }
+        Assertions.assertThrows(IllegalArgumentException.class, () -> YamlSnapshot.read(new byte[]{1, 2, 3}));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> YamlSnapshot.read(Arrays.copyOf(bytes, bytes.length - 1)));
+    }
+
+    @Test
+    public void testCache(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("config.yml");
+        Path cacheDir = dir.resolve("cache");
+        YamlSnapshotCache cache = new YamlSnapshotCache(cacheDir);
+        Files.writeString(file, "a: 1\nb: [x, y]\n");
+
+        YamlMap parsed = YamlMap.load(file, cache);
+        Assertions.assertEquals(YamlMap.load(file), parsed);
+        Path snapshot;
+        try (var files = Files.list(cacheDir)) {
+            snapshot = files.findFirst().orElseThrow();
+        }
+        Assertions.assertEquals(parsed, YamlMap.load(file, cache));
+
+        byte[] data = Files.readAllBytes(snapshot);
+        byte[] hash = Arrays.copyOf(data, 32);
+        byte[] replaced = YamlSnapshot.write(YamlMap.loadFromString("from: snapshot"));
+        byte[] forged = Arrays.copyOf(hash, 32 + replaced.length);
+        System.arraycopy(replaced, 0, forged, 32, replaced.length);
+        Files.write(snapshot, forged);
+        Assertions.assertEquals("snapshot", YamlMap.load(file, cache).getRaw("from"), "snapshot was not used");
+
+        Files.writeString(file, "a: 2\n");
+        Assertions.assertEquals(2, YamlMap.load(file, cache).getRaw("a"));
+        Assertions.assertEquals(2, YamlSnapshot.read(Arrays.copyOfRange(Files.readAllBytes(snapshot), 32, Files.readAllBytes(snapshot).length)).getRaw("a"));
+
+        Files.write(snapshot, new byte[]{1, 2, 3});
+        Assertions.assertEquals(2, YamlMap.load(file, cache).getRaw("a"));
+
+        cache.invalidate(file);
+        Assertions.assertFalse(Files.exists(snapshot));
+    }
+}
@@ -0,0 +1,113 @@
+package dev.by1337.yaml;
+
+import dev.by1337.yaml.codec.DataResult;
+import dev.by1337.yaml.codec.YamlCodec;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+public class YamlWatcherTest {
+
+    @Test
+    public void testReloadChangedSection(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("config.yml");
+        Files.writeString(file, "a: 1\nb:\n  name: first\n");
+        BlockingQueue<YamlWatcher.Update<?>> updates = new LinkedBlockingQueue<>();
+        try (YamlWatcher watcher = new YamlWatcher(Duration.ofMillis(50))) {
+            YamlWatcher.Binding<Integer> a = watcher.bind(file, "a", YamlCodec.INT, updates::add);
+            YamlWatcher.Binding<String> name = watcher.bind(file, "b.name", YamlCodec.STRING, updates::add);
+            Assertions.assertEquals(1, a.current().getOrThrow());
+            Assertions.assertEquals("first", name.current().getOrThrow());
+
+            Files.writeString(file, "a: 1\nb:\n  name: second\n");
+            YamlWatcher.Update<?> update = updates.poll(10, TimeUnit.SECONDS);
+            Assertions.assertNotNull(update);
+            Assertions.assertEquals("b.name", update.path());
+            Assertions.assertEquals("first", update.previous());
+            Assertions.assertEquals("second", update.result().getOrThrow());
+            Assertions.assertEquals("second", name.current().getOrThrow());
+            Assertions.assertNull(updates.poll(300, TimeUnit.MILLISECONDS), "unchanged section was decoded again");
+
+            Files.writeString(file, "a: [");
+            update = updates.poll(10, TimeUnit.SECONDS);
+            Assertions.assertNotNull(update);
+            Assertions.assertTrue(update.result().hasError());
+            Assertions.assertNotNull(updates.poll(10, TimeUnit.SECONDS));
+            Assertions.assertTrue(a.current().hasError());
+
+            // back to the last good content, both sections equal it but still hold the load error
+            Files.writeString(file, "a: 1\nb:\n  name: second\n");
+            Map<String, Object> recovered = new HashMap<>();
+            for (int i = 0; i < 2; i++) {
+                update = updates.poll(10, TimeUnit.SECONDS);
+                Assertions.assertNotNull(update);
+                recovered.put(update.path(), update.result().getOrThrow());
+            }
+            Assertions.assertEquals(Map.of("a", 1, "b.name", "second"), recovered);
+            Assertions.assertEquals(1, a.current().getOrThrow());
+            Assertions.assertEquals("second", name.current().getOrThrow());
+
+            name.close();
+            updates.clear();
+            Files.writeString(file, "a: 2\nb:\n  name: second\n");
+            update = updates.poll(10, TimeUnit.SECONDS);
+            Assertions.assertNotNull(update);
+            Assertions.assertEquals("a", update.path());
+            Assertions.assertEquals(2, update.result().getOrThrow());
+            Assertions.assertNull(updates.poll(300, TimeUnit.MILLISECONDS));
+        }
+    }
+
+    @Test
+    public void testMissingFile(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("later.yml");
+        BlockingQueue<YamlWatcher.Update<YamlMap>> updates = new LinkedBlockingQueue<>();
+        try (YamlWatcher watcher = new YamlWatcher(Duration.ofMillis(50))) {
+            YamlWatcher.Binding<YamlMap> binding = watcher.bind(file, YamlCodec.YAML_MAP, updates::add);
+            Assertions.assertTrue(binding.current().hasError());
+
+            Files.writeString(file, "key: value\n");
+            YamlWatcher.Update<YamlMap> update = updates.poll(10, TimeUnit.SECONDS);
+            Assertions.assertNotNull(update);
+            Assertions.assertNull(update.previous());
+            Assertions.assertEquals("value", update.result().getOrThrow().getRaw("key"));
+        }
+    }
+
+    @Test
+    public void testThrowingCodec(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("config.yml");
+        Files.writeString(file, "a: 1\n");
+        YamlCodec<Integer> codec = YamlCodec.of(v -> {
+            int i = v.asInt().getOrThrow();
+            if (i == 2) throw new IllegalStateException("codec bug");
+            return DataResult.success(i);
+        }, YamlValue::wrap);
+        BlockingQueue<YamlWatcher.Update<Integer>> updates = new LinkedBlockingQueue<>();
+        try (YamlWatcher watcher = new YamlWatcher(Duration.ofMillis(50))) {
+            YamlWatcher.Binding<Integer> a = watcher.bind(file, "a", codec, updates::add);
+            Assertions.assertEquals(1, a.current().getOrThrow());
+
+            Files.writeString(file, "a: 2\n");
+            YamlWatcher.Update<Integer> update = updates.poll(10, TimeUnit.SECONDS);
+            Assertions.assertNotNull(update);
+            Assertions.assertTrue(update.result().hasError());
+            Assertions.assertTrue(update.result().error().contains("codec bug"), update.result().error());
+
+            // the watcher thread survived
+            Files.writeString(file, "a: 3\n");
+            update = updates.poll(10, TimeUnit.SECONDS);
+            Assertions.assertNotNull(update);
+            Assertions.assertEquals(3, update.result().getOrThrow());
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package dev.by1337.yaml.codec;
+
+import dev.by1337.yaml.YamlMap;
+import dev.by1337.yaml.YamlValue;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+public class DecodeContextTest {
+    enum Kind {
+        SWORD, BOW
+    }
+
+    record Item(Kind kind, String name, int amount, List<Integer> slots) {
+        static final YamlCodec<Item> CODEC = RecordYamlCodecBuilder.mapOf(
+                Item::new,
+                YamlCodec.fromEnum(Kind.class).fieldOf("kind", Item::kind),
+                YamlCodec.STRING.map(s -> s.toUpperCase(Locale.ROOT), s -> s).fieldOf("name", Item::name),
+                YamlCodec.INT.fieldOf("amount", Item::amount, 1),
+                YamlCodec.INT.listOf().fieldOf("slots", Item::slots, List.of())
+        );
+    }
+
+    private static final YamlCodec<Map<String, Item>> ITEMS = YamlCodec.mapOf(YamlCodec.STRING, Item.CODEC);
+
+    private static Map<String, Object> item(Object kind, Object amount, Object slots) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("kind", kind);
+        map.put("name", "item");
+        map.put("amount", amount);
+        map.put("slots", slots);
+        return map;
+    }
+
+    private static Map<String, Object> items() {
+        Map<String, Object> raw = new LinkedHashMap<>();
+        raw.put("a", item("sword", 2, List.of(1, 2)));
+        raw.put("b", item("axe", "x", List.of(3, "y")));
+        raw.put("c", item("bow", 1, 4));
+        return raw;
+    }
+
+    @Test
+    public void sameAsDataResult() {
+        Map<String, Object> raw = items();
+        DataResult<Map<String, Item>> expected = YamlValue.wrap(raw).decode(ITEMS);
+
+        DecodeContext ctx = new DecodeContext();
+        Map<String, Item> value = ITEMS.decode(raw, ctx);
+        DataResult<?> error = ctx.takeError();
+
+        Assertions.assertEquals(expected.result(), value);
+        Assertions.assertNotNull(error);
+        Assertions.assertEquals(expected.error(), error.error());
+        Assertions.assertEquals(new Item(Kind.BOW, "ITEM", 1, List.of(4)), value.get("c"));
+        Assertions.assertEquals(new Item(null, "ITEM", 1, List.of(3)), value.get("b"));
+    }
+
+    @Test
+    public void reusableContext() {
+        DecodeContext ctx = new DecodeContext();
+        Assertions.assertNull(YamlCodec.INT.decode("q", ctx));
+        Assertions.assertEquals("For input string: \"q\"", ctx.takeError().error());
+        Assertions.assertFalse(ctx.hasError());
+
+        Assertions.assertEquals(5, YamlCodec.INT.decode("5", ctx));
+        Assertions.assertNull(ctx.takeError());
+
+        Map<String, Object> raw = items();
+        raw.remove("b");
+        Map<String, Item> value = ITEMS.decode(new YamlMap(raw), ctx);
+        Assertions.assertFalse(ctx.hasError());
+        Assertions.assertEquals(2, value.size());
+    }
+
+    @Test
+    public void adaptsCustomCodecs() {
+        YamlCodec<Integer> even = YamlCodec.of(v -> v.asInt().flatMap(i -> i % 2 == 0
+                ? DataResult.success(i)
+                : DataResult.error("odd: " + i).partial(i - 1)), YamlValue::wrap);
+        YamlCodec<List<Integer>> codec = even.listOf();
+
+        DecodeContext ctx = new DecodeContext();
+        Assertions.assertEquals(List.of(2, 2, 4), codec.decode(List.of(2, 3, 4), ctx));
+        Assertions.assertEquals("[1] odd: 3", ctx.takeError().error());
+
+        DataResult<List<Integer>> result = codec.decode(List.of(1));
+        Assertions.assertEquals(List.of(0), result.result());
+        Assertions.assertEquals("[0] odd: 1", result.error());
+    }
+
+    @Test
+    public void failFast() {
+        DecodeContext ctx = new DecodeContext(DecodeOptions.FAIL_FAST);
+        Assertions.assertNull(ITEMS.decode(items(), ctx));
+        Assertions.assertEquals("""
+                Errors in 'b':
+                  - Errors in 'kind':
+                      - Unknown value axe for Kind""", ctx.takeError().error());
+    }
+
+    @Test
+    public void keepsPendingErrors() {
+        for (DecodeOptions options : List.of(DecodeOptions.DEFAULT, DecodeOptions.FAIL_FAST)) {
+            DecodeContext ctx = new DecodeContext(options);
+            Assertions.assertNull(YamlCodec.INT.decode("oops", ctx));
+            Assertions.assertEquals(List.of(1, 2, 3), YamlCodec.INT.listOf().decode(List.of(1, 2, 3), ctx));
+            Assertions.assertEquals(Map.of("a", 1), YamlCodec.mapOf(YamlCodec.STRING, YamlCodec.INT).decode(Map.of("a", 1), ctx));
+            Assertions.assertEquals(new Item(Kind.BOW, "ITEM", 1, List.of(4)), Item.CODEC.decode(item("bow", 1, 4), ctx));
+            Assertions.assertEquals("For input string: \"oops\"", ctx.takeError().error());
+        }
+
+        DecodeContext ctx = new DecodeContext();
+        ctx.fail("earlier");
+        Assertions.assertEquals(List.of(1, 3), YamlCodec.INT.listOf().decode(List.of(1, "x", 3), ctx));
+        Assertions.assertEquals("earlier\n[1] For input string: \"x\"", ctx.takeError().error());
+    }
+}
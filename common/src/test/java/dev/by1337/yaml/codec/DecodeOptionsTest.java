@@ -0,0 +1,100 @@
+package dev.by1337.yaml.codec;
+
+import dev.by1337.yaml.YamlValue;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class DecodeOptionsTest {
+    static final AtomicInteger CREATED = new AtomicInteger();
+
+    record Item(String material, int amount, List<Integer> slots) {
+        Item {
+            CREATED.incrementAndGet();
+        }
+
+        static final YamlCodec<Item> CODEC = RecordYamlCodecBuilder.mapOf(
+                Item::new,
+                YamlCodec.STRING.fieldOf("material", Item::material),
+                YamlCodec.INT.fieldOf("amount", Item::amount, 1),
+                YamlCodec.INT.listOf().fieldOf("slots", Item::slots, List.of())
+        );
+    }
+
+    private static Map<String, Object> item(Object amount, Object... slots) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("material", "stone");
+        map.put("amount", amount);
+        map.put("slots", List.of(slots));
+        return map;
+    }
+
+    private static final YamlCodec<Map<String, List<Item>>> MENU = YamlCodec.mapOf(YamlCodec.STRING, Item.CODEC.listOf());
+
+    private static YamlValue menu() {
+        Map<String, Object> raw = new LinkedHashMap<>();
+        raw.put("a", List.of(item(1, 1, 2), item("x", "y", 3)));
+        raw.put("b", List.of(item("z")));
+        return YamlValue.wrap(raw);
+    }
+
+    @Test
+    public void defaultMatchesPlainDecode() {
+        Assertions.assertEquals(MENU.decode(menu()).error(), MENU.decode(menu(), DecodeOptions.DEFAULT).error());
+        Assertions.assertEquals(MENU.decode(menu()).result(), MENU.decode(menu(), DecodeOptions.DEFAULT).result());
+    }
+
+    @Test
+    public void failFastStopsAtFirstError() {
+        CREATED.set(0);
+        DataResult<Map<String, List<Item>>> result = MENU.decode(menu(), DecodeOptions.FAIL_FAST);
+        Assertions.assertEquals("""
+                Errors in 'a':
+                  - [1] Errors in 'amount':
+                      - For input string: "x\"""", result.error());
+        Assertions.assertNull(result.result());
+        Assertions.assertEquals(1, CREATED.get());
+    }
+
+    @Test
+    public void validateOnlyReportsEveryErrorWithoutBuilding() {
+        String expected = MENU.decode(menu()).error();
+        CREATED.set(0);
+        DataResult<Map<String, List<Item>>> result = MENU.decode(menu(), DecodeOptions.VALIDATE_ONLY);
+        Assertions.assertEquals(expected, result.error());
+        Assertions.assertNull(result.result());
+        Assertions.assertEquals(0, CREATED.get());
+
+        DataResult<Map<String, List<Item>>> valid = MENU.decode(YamlValue.wrap(Map.of("a", List.of(item(2)))), DecodeOptions.VALIDATE_ONLY);
+        Assertions.assertFalse(valid.hasError());
+        Assertions.assertEquals(0, CREATED.get());
+
+        Assertions.assertEquals("Expected a Map, but found String.", MENU.decode(YamlValue.wrap("x"), DecodeOptions.VALIDATE_ONLY).error());
+        Assertions.assertEquals("[0] For input string: \"q\"",
+                YamlCodec.INT.listOf().asSet().decode(YamlValue.wrap(List.of("q")), DecodeOptions.FAIL_FAST_VALIDATE).error());
+        Assertions.assertFalse(Item.CODEC.listOf().map(List::size, n -> List.<Item>of()).decode(YamlValue.wrap(List.of(item(2))), DecodeOptions.VALIDATE_ONLY).hasError());
+    }
+
+    @Test
+    public void pipelineHonoursOptions() {
+        class Settings {
+            int size;
+            String title;
+        }
+        YamlCodec<Settings> codec = PipelineYamlCodecBuilder.of(Settings::new)
+                .integer("size", s -> s.size, (s, v) -> s.size = v, 9)
+                .string("title", s -> s.title, (s, v) -> s.title = v, "")
+                .build();
+        Map<String, Object> raw = new LinkedHashMap<>();
+        raw.put("size", "big");
+        raw.put("title", "Shop");
+        Assertions.assertNull(codec.decode(YamlValue.wrap(raw), DecodeOptions.VALIDATE_ONLY).result());
+        Assertions.assertEquals("Errors in 'size':\n  - For input string: \"big\"",
+                codec.decode(YamlValue.wrap(raw), DecodeOptions.FAIL_FAST).error());
+        Assertions.assertEquals("Shop", codec.decode(YamlValue.wrap(raw)).result().title);
+    }
+}
@@ -0,0 +1,153 @@
+package dev.by1337.yaml.codec;
+
+import dev.by1337.yaml.YamlValue;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ErrorTreeTest {
+    record Inner(int amount, List<Integer> slots) {
+        Inner {
+            if (amount < 0) throw new IllegalArgumentException("negative amount");
+        }
+
+        static final YamlCodec<Inner> CODEC = RecordYamlCodecBuilder.mapOf(
+                Inner::new,
+                YamlCodec.INT.fieldOf("amount", Inner::amount, 1),
+                YamlCodec.INT.listOf().fieldOf("slots", Inner::slots, List.of())
+        );
+    }
+
+    record Outer(Map<String, Inner> byName, List<Inner> list, Inner single) {
+        static final YamlCodec<Outer> CODEC = RecordYamlCodecBuilder.mapOf(
+                Outer::new,
+                YamlCodec.mapOf(YamlCodec.STRING, Inner.CODEC).fieldOf("by-name", Outer::byName, Map.of()),
+                Inner.CODEC.listOf().fieldOf("list", Outer::list, List.of()),
+                Inner.CODEC.fieldOf("single", Outer::single)
+        );
+    }
+
+    private static Map<String, Object> inner(Object amount, Object slots) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("amount", amount);
+        map.put("slots", slots);
+        return map;
+    }
+
+    @Test
+    public void nestedFormat() {
+        Map<String, Object> byName = new LinkedHashMap<>();
+        byName.put("a", inner(1, List.of(1, 2)));
+        byName.put("b", inner("x", List.of(1, "y", "z")));
+        Map<String, Object> raw = new LinkedHashMap<>();
+        raw.put("by-name", byName);
+        raw.put("list", List.of(inner(2, List.of()), inner("q", List.of("w"))));
+        raw.put("single", inner(5, List.of("e")));
+
+        DataResult<Outer> result = YamlValue.wrap(raw).decode(Outer.CODEC);
+        Assertions.assertTrue(result.hasError());
+        Assertions.assertEquals("""
+                Errors in 'by-name':
+                  - Errors in 'b':
+                      - Errors in 'amount':
+                          - For input string: "x"
+                        Errors in 'slots':
+                          - [1] For input string: "y"
+                            [2] For input string: "z"
+                Errors in 'list':
+                  - [1] Errors in 'amount':
+                      - For input string: "q"
+                    Errors in 'slots':
+                      - [0] For input string: "w"
+                Errors in 'single':
+                  - Errors in 'slots':
+                      - [0] For input string: "e\"""", result.error());
+        Assertions.assertEquals(new Inner(5, List.of()), result.result().single());
+        Assertions.assertEquals(2, result.result().byName().size());
+    }
+
+    @Test
+    public void failedConstructor() {
+        Map<String, Object> raw = new LinkedHashMap<>();
+        raw.put("single", inner(-1, List.of("s")));
+        DataResult<Outer> result = YamlValue.wrap(raw).decode(Outer.CODEC);
+        String error = result.error();
+        Assertions.assertNotNull(error);
+        Assertions.assertTrue(error.startsWith("""
+                Errors in 'single':
+                  - Errors in 'slots':
+                      - [0] For input string: "s"
+                    java.lang.IllegalArgumentException: negative amount
+                    \tat"""), error);
+        Assertions.assertNull(result.result().single());
+    }
+
+    @Test
+    public void mapKeyAndValueErrors() {
+        Map<Object, Object> raw = new LinkedHashMap<>();
+        raw.put("one", 1);
+        raw.put("x", "y");
+        DataResult<Map<Integer, Integer>> result = YamlValue.wrap(raw).decode(YamlCodec.mapOf(YamlCodec.INT, YamlCodec.INT));
+        Assertions.assertEquals("""
+                Errors in 'one':
+                  - For input string: "one"
+                Errors in 'x':
+                  - For input string: "x"
+                  - For input string: "y\"""", result.error());
+        Assertions.assertNull(result.result());
+    }
+
+    @Test
+    public void errorsSurviveMapping() {
+        DataResult<List<Integer>> list = YamlValue.wrap(List.of(1, "b")).decode(YamlCodec.INT.listOf());
+        DataResult<Integer> size = list.map(List::size);
+        Assertions.assertEquals(1, size.result());
+        Assertions.assertEquals("[1] For input string: \"b\"", size.error());
+        DataResult<Integer> flat = list.flatMap(l -> DataResult.success(l.get(0)));
+        Assertions.assertEquals(1, flat.result());
+        Assertions.assertEquals(list.error(), flat.error());
+    }
+
+    @Test
+    public void rendersOnlyOnDemand() {
+        AtomicInteger rendered = new AtomicInteger();
+        YamlCodec<Integer> failing = new YamlCodec<>() {
+            @Override
+            public DataResult<Integer> decode(YamlValue value) {
+                return new DataResult<>() {
+                    @Override
+                    public Integer result() {
+                        return null;
+                    }
+
+                    @Override
+                    public String error() {
+                        rendered.incrementAndGet();
+                        return "bad\nvalue";
+                    }
+
+                    @Override
+                    public boolean hasError() {
+                        return true;
+                    }
+                };
+            }
+
+            @Override
+            public YamlValue encode(Integer value) {
+                return YamlValue.wrap(value);
+            }
+        };
+        DataResult<List<List<Integer>>> result = YamlValue.wrap(List.of(List.of(1, 2))).decode(failing.listOf().listOf());
+        Assertions.assertTrue(result.hasError());
+        Assertions.assertEquals(0, rendered.get());
+        Assertions.assertEquals("[0] [0] bad\nvalue\n[1] bad\nvalue", result.error());
+        Assertions.assertEquals(2, rendered.get());
+        result.error();
+        Assertions.assertEquals(2, rendered.get());
+    }
+}
@@ -3,9 +3,12 @@ package dev.by1337.yaml.codec;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import dev.by1337.yaml.YamlMap;
+import dev.by1337.yaml.YamlValue;
+import dev.by1337.yaml.util.Primitives;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.util.Arrays;
 import java.util.Objects;
 
 public class InlineYamlCodecBuilderTest {
@@ -64,4 +67,66 @@ public class InlineYamlCodecBuilderTest {
         System.out.println(gson.toJson(Vec3i.CODEC.schema().buildJson()));
         System.out.println();
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testSeparatorMatchesSplit() {
+        String[] inputs = {"", " ", "1 2 3", "1  2 3", " 1 2 3", "1 2 3 ", "1 2 3  ", "1 2 3 4", "1,2,3", "1, 2, 3",
+                ",,1,2,3", "1,2,3,,", "1,,2", "a.b.c", "a|b|c", "abc", "x1y2z", "1\t2\t3", "  ", "1 2  "};
+        String[] regexes = {" ", ",", "\\.", "\\|", "\\s+", ",\\s*", "\\d", "", "(?=b)", "x|y"};
+        for (String regex : regexes) {
+            InlineSeparator separator = InlineSeparator.of(regex);
+            for (String input : inputs) {
+                String[] expected = input.split(regex);
+                for (int count = 1; count <= 5; count++) {
+                    int[] bounds = separator.split(input, count);
+                    String message = "'" + input + "'.split('" + regex + "') with " + count + " tokens";
+                    if (expected.length != count) {
+                        Assertions.assertNull(bounds, message);
+                        continue;
+                    }
+                    Assertions.assertNotNull(bounds, message);
+                    String[] actual = new String[count];
+                    for (int i = 0; i < count; i++) {
+                        actual[i] = input.substring(bounds[i * 2], bounds[i * 2 + 1]);
+                    }
+                    Assertions.assertEquals(Arrays.asList(expected), Arrays.asList(actual), message);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testParseDecimal() {
+        String[] inputs = {"0", "-0", "1", "+1", "1.", ".5", "-.5", "0.1", "-12.75", "3.141592653589793", "123456789012345",
+                "1234567890123456", "0.0000000000000000000001", "0.00000000000000000000001", "1e5", "NaN", " 1", ".", "-", "1.2.3", ""};
+        for (String s : inputs) {
+            double fast = Primitives.parseDecimal("[" + s + "]", 1, s.length() + 1);
+            if (Double.isNaN(fast)) continue;
+            Assertions.assertEquals(Double.parseDouble(s), fast, s);
+        }
+        Assertions.assertTrue(Double.isNaN(Primitives.parseDecimal("1e5", 0, 3)));
+        Assertions.assertTrue(Double.isNaN(Primitives.parseDecimal(".", 0, 1)));
+        Assertions.assertTrue(Double.isNaN(Primitives.parseDecimal("1234567890123456", 0, 16)));
+    }
+
+    @Test
+    public void testInlineErrors() {
+        YamlCodec<Vec3i> codec = Vec3i.INLINE_CODEC;
+        Assertions.assertEquals(new Vec3i(-1, 2, 300), codec.decode(YamlValue.wrap("-1 2 300")).result());
+        Assertions.assertEquals("Expected ‘<x> <y> <z>’, but got ‘1 2’.", codec.decode(YamlValue.wrap("1 2")).error());
+        // the missing int then fails the constructor, which adds its stack trace in between
+        String error = codec.decode(YamlValue.wrap("1 a 3")).error();
+        Assertions.assertTrue(error.startsWith("For input string: \"a\"\n"), error);
+        Assertions.assertTrue(error.endsWith("\nExpected ‘<x> <y> <z>’, but got ‘1 a 3’."), error);
+        error = codec.decode(YamlValue.wrap("1 2 99999999999")).error();
+        Assertions.assertTrue(error.startsWith("For input string: \"99999999999\"\n"), error);
+
+        YamlCodec<double[]> doubles = InlineYamlCodecBuilder.inline(
+                ",\\s*", "<a>, <b>",
+                (Double a, Double b) -> new double[]{a, b},
+                YamlCodec.DOUBLE.withGetter(d -> d[0]),
+                YamlCodec.DOUBLE.withGetter(d -> d[1])
+        );
+        Assertions.assertArrayEquals(new double[]{0.1, -2.5E10}, doubles.decode(YamlValue.wrap("0.1,  -2.5E10")).result());
+    }
+}
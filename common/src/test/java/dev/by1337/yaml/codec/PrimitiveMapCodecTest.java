@@ -0,0 +1,126 @@
+package dev.by1337.yaml.codec;
+
+import dev.by1337.yaml.YamlMap;
+import dev.by1337.yaml.YamlValue;
+import dev.by1337.yaml.util.Int2ObjectMap;
+import dev.by1337.yaml.util.Object2IntMap;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class PrimitiveMapCodecTest {
+
+    private static <K, V> void assertSameMap(Map<K, V> expected, Int2ObjectMap<V> actual) {
+        Assertions.assertEquals(expected.size(), actual.size());
+        int i = 0;
+        for (Map.Entry<K, V> entry : expected.entrySet()) {
+            Assertions.assertEquals(entry.getKey(), actual.keyAt(i));
+            Assertions.assertEquals(entry.getValue(), actual.valueAt(i++));
+        }
+    }
+
+    @Test
+    public void int2ObjectMatchesMapOf() {
+        YamlMap yaml = YamlMap.loadFromString("""
+                rewards:
+                  1: [stone]
+                  '5': [diamond, gold]
+                  x: [apple]
+                  10: 7
+                """);
+        YamlValue rewards = yaml.get("rewards");
+        DataResult<Map<Integer, List<String>>> expected = rewards.decode(YamlCodec.mapOf(YamlCodec.INT, YamlCodec.STRINGS));
+        DataResult<Int2ObjectMap<List<String>>> actual = rewards.decode(YamlCodec.int2ObjectMapOf(YamlCodec.STRINGS));
+        Assertions.assertEquals(expected.error(), actual.error());
+        assertSameMap(expected.result(), actual.result());
+        Assertions.assertEquals(List.of("diamond", "gold"), actual.result().get(5));
+
+        Int2ObjectMapCodec<List<String>> codec = YamlCodec.int2ObjectMapOf(YamlCodec.STRINGS);
+        Assertions.assertEquals(YamlCodec.mapOf(YamlCodec.INT, YamlCodec.STRINGS).encode(expected.result()).getValue(),
+                codec.encode(actual.result()).getValue());
+    }
+
+    @Test
+    public void object2IntMatchesMapOf() {
+        Map<Object, Object> raw = new LinkedHashMap<>();
+        raw.put("stone", 1);
+        raw.put("diamond", "64");
+        raw.put("gold", "lots");
+        raw.put(3, 4L);
+        DataResult<Map<String, Integer>> expected = YamlValue.wrap(raw).decode(YamlCodec.STRING_TO_INT);
+        DataResult<Object2IntMap<String>> actual = YamlValue.wrap(raw).decode(YamlCodec.object2IntMapOf(YamlCodec.STRING));
+        Assertions.assertEquals(expected.error(), actual.error());
+        Object2IntMap<String> map = actual.result();
+        Assertions.assertEquals(expected.result().size(), map.size());
+        expected.result().forEach((k, v) -> Assertions.assertEquals(v, map.getInt(k)));
+        Assertions.assertEquals(64, map.getInt("diamond"));
+        Assertions.assertEquals(YamlCodec.STRING_TO_INT.encode(expected.result()).getValue(),
+                YamlCodec.object2IntMapOf(YamlCodec.STRING).encode(map).getValue());
+    }
+
+    /**
+     * Reads and writes ints as {@code 0x}-prefixed hex strings.
+     */
+    private static final class HexCodec extends DirectYamlCodec<Integer> implements IntYamlCodec {
+        @Override
+        public int decodeInt(@Nullable Object raw, DecodeContext ctx) {
+            if (raw instanceof String s && s.startsWith("0x")) return Integer.parseInt(s.substring(2), 16);
+            ctx.fail("Expected hex, but found " + raw);
+            return 0;
+        }
+
+        @Override
+        public @Nullable Integer decode(@Nullable Object raw, DecodeContext ctx) {
+            return decodeInt(raw, ctx);
+        }
+
+        @Override
+        public YamlValue encode(Integer value) {
+            return YamlValue.wrap("0x" + Integer.toHexString(value));
+        }
+    }
+
+    @Test
+    public void encodesThroughIntCodec() {
+        Map<Object, Object> raw = new LinkedHashMap<>();
+        raw.put("0x1f", "a");
+        raw.put("0x2", "b");
+        Int2ObjectMapCodec<String> keys = YamlCodec.int2ObjectMapOf(new HexCodec(), YamlCodec.STRING);
+        Int2ObjectMap<String> decoded = YamlValue.wrap(raw).decode(keys).getOrThrow();
+        Assertions.assertEquals("a", decoded.get(31));
+        Assertions.assertEquals(raw, keys.encode(decoded).getValue());
+
+        Map<Object, Object> inverted = new LinkedHashMap<>();
+        raw.forEach((k, v) -> inverted.put(v, k));
+        YamlCodec<Object2IntMap<String>> values = YamlCodec.object2IntMapOf(YamlCodec.STRING, new HexCodec());
+        Object2IntMap<String> map = YamlValue.wrap(inverted).decode(values).getOrThrow();
+        Assertions.assertEquals(2, map.getInt("b"));
+        Assertions.assertEquals(inverted, values.encode(map).getValue());
+    }
+
+    @Test
+    public void options() {
+        Map<Object, Object> raw = new LinkedHashMap<>();
+        raw.put("a", "x");
+        raw.put("b", "y");
+        YamlCodec<Object2IntMap<String>> codec = YamlCodec.object2IntMapOf(YamlCodec.STRING);
+        DataResult<Object2IntMap<String>> failFast = codec.decode(YamlValue.wrap(raw), DecodeOptions.FAIL_FAST);
+        Assertions.assertNull(failFast.result());
+        Assertions.assertEquals("Errors in 'a':\n  - For input string: \"x\"", failFast.error());
+
+        DataResult<Object2IntMap<String>> validated = codec.decode(YamlValue.wrap(Map.of("a", 1)), DecodeOptions.VALIDATE_ONLY);
+        Assertions.assertFalse(validated.hasError());
+        Assertions.assertNull(validated.result());
+        Assertions.assertEquals("Expected a Map, but found List.", codec.decode(List.of()).error());
+
+        DecodeContext ctx = new DecodeContext(DecodeOptions.FAIL_FAST);
+        ctx.fail("earlier");
+        Assertions.assertEquals(1, codec.decode(Map.of("a", 1), ctx).getInt("a"));
+        Assertions.assertEquals("a", YamlCodec.int2ObjectMapOf(YamlCodec.STRING).decode(Map.of(1, "a"), ctx).get(1));
+        Assertions.assertEquals("earlier", ctx.takeError().error());
+    }
+}
@@ -0,0 +1,152 @@
+package dev.by1337.yaml.codec;
+
+import dev.by1337.yaml.YamlValue;
+import dev.by1337.yaml.util.ArrayCodecUtil;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+public class PrimitiveYamlCodecTest {
+    // the codecs YamlCodec.INT, LONG, DOUBLE and BOOL used to be
+    private static final YamlCodec<Integer> BOXED_INT = new YamlCodec.PrimitiveMapper<>(Integer.class, o -> Integer.parseInt(o.toString()));
+    private static final YamlCodec<Long> BOXED_LONG = new YamlCodec.PrimitiveMapper<>(Long.class, o -> Long.parseLong(o.toString()));
+    private static final YamlCodec<Double> BOXED_DOUBLE = new YamlCodec.PrimitiveMapper<>(Double.class, o -> Double.parseDouble(o.toString()));
+    private static final YamlCodec<Boolean> BOXED_BOOL = new YamlCodec.PrimitiveMapper<>(Boolean.class, o -> Boolean.parseBoolean(o.toString()));
+
+    private static final List<Object> INPUTS = Arrays.asList(
+            0, -7, Integer.MAX_VALUE, 5L, 1L << 40, (short) 3, (byte) -2, 1.5, 0.1f, 2.0,
+            "12", " 12", "-0", "1e3", "0x10", "abc", "", "true", "TRUE", "no", true, null, List.of(1)
+    );
+
+    private static void assertSame(DataResult<?> expected, DataResult<?> actual, Object input) {
+        Assertions.assertEquals(expected.result(), actual.result(), () -> "result for " + input);
+        Assertions.assertEquals(expected.error(), actual.error(), () -> "error for " + input);
+    }
+
+    @Test
+    public void matchesBoxedCodecs() {
+        for (Object input : INPUTS) {
+            assertSame(BOXED_INT.decode(input), YamlCodec.INT.decode(input), input);
+            assertSame(BOXED_LONG.decode(input), YamlCodec.LONG.decode(input), input);
+            assertSame(BOXED_DOUBLE.decode(input), YamlCodec.DOUBLE.decode(input), input);
+            assertSame(BOXED_BOOL.decode(input), YamlCodec.BOOL.decode(input), input);
+        }
+    }
+
+    @Test
+    public void decodesWithoutBoxing() {
+        DecodeContext ctx = new DecodeContext();
+        Assertions.assertEquals(40, IntYamlCodec.INSTANCE.decodeInt(40L, ctx));
+        Assertions.assertEquals(1L << 40, LongYamlCodec.INSTANCE.decodeLong("1099511627776", ctx));
+        Assertions.assertEquals(0.25, DoubleYamlCodec.INSTANCE.decodeDouble("0.25", ctx));
+        Assertions.assertTrue(BoolYamlCodec.INSTANCE.decodeBool("true", ctx));
+        Assertions.assertFalse(ctx.hasError());
+
+        Assertions.assertEquals(0, IntYamlCodec.INSTANCE.decodeInt(1L << 40, ctx));
+        Assertions.assertEquals("For input string: \"1099511627776\"", ctx.takeError().error());
+        Assertions.assertEquals(0, IntYamlCodec.INSTANCE.decodeInt(null, ctx));
+        Assertions.assertEquals("value is null", ctx.takeError().error());
+    }
+
+    @Test
+    public void ignoresPendingErrors() {
+        DecodeContext ctx = new DecodeContext();
+        ctx.fail("earlier");
+        Assertions.assertEquals(7, YamlCodec.INT.decode(7, ctx));
+        Assertions.assertEquals(7L, YamlCodec.LONG.decode(7, ctx));
+        Assertions.assertEquals(0.5, YamlCodec.DOUBLE.decode("0.5", ctx));
+        Assertions.assertEquals(true, YamlCodec.BOOL.decode(true, ctx));
+        Assertions.assertArrayEquals(new int[]{7}, YamlCodec.INT_ARRAY.decode(7, ctx));
+        Assertions.assertArrayEquals(new int[]{1, 2}, YamlCodec.INT_ARRAY.decode(List.of(1, 2), ctx));
+        Assertions.assertNull(YamlCodec.INT.decode("x", ctx));
+        Assertions.assertNull(YamlCodec.INT_ARRAY.decode("x", ctx));
+        Assertions.assertTrue(ctx.takeError().error().startsWith("earlier"));
+    }
+
+    @Test
+    public void arraysMatchBoxedArrays() {
+        YamlCodec<int[]> boxedInts = ArrayCodecUtil.createCodec(BOXED_INT, int[]::new, Integer.class);
+        YamlCodec<double[]> boxedDoubles = ArrayCodecUtil.createCodec(BOXED_DOUBLE, double[]::new, Double.class);
+        List<Object> inputs = new ArrayList<>(List.of(
+                List.of(1, 2, 3), List.of(), List.of(1, "x", 3L, "y"), List.of("x"), 7, "z", List.of(1.5, "2")
+        ));
+        inputs.add(null);
+        for (Object input : inputs) {
+            DataResult<int[]> expected = boxedInts.decode(input);
+            DataResult<int[]> actual = YamlCodec.INT_ARRAY.decode(input);
+            Assertions.assertArrayEquals(expected.result(), actual.result(), () -> "ints for " + input);
+            Assertions.assertEquals(expected.error(), actual.error(), () -> "int error for " + input);
+
+            DataResult<double[]> expectedD = boxedDoubles.decode(input);
+            DataResult<double[]> actualD = YamlCodec.DOUBLE_ARRAY.decode(input);
+            Assertions.assertArrayEquals(expectedD.result(), actualD.result(), () -> "doubles for " + input);
+            Assertions.assertEquals(expectedD.error(), actualD.error(), () -> "double error for " + input);
+        }
+        Assertions.assertEquals(boxedInts.encode(new int[]{4, 5}).getValue(), YamlCodec.INT_ARRAY.encode(new int[]{4, 5}).getValue());
+        Assertions.assertArrayEquals(new boolean[]{true, false}, YamlCodec.BOOL_ARRAY.decode(List.of(true, "false")).result());
+        Assertions.assertArrayEquals(new long[]{1L << 40}, YamlCodec.LONG_ARRAY.decode(1L << 40).result());
+    }
+
+    @Test
+    public void arrayOptions() {
+        YamlValue value = YamlValue.wrap(List.of(1, "x", "y"));
+        DataResult<int[]> validated = YamlCodec.INT_ARRAY.decode(value, DecodeOptions.VALIDATE_ONLY);
+        Assertions.assertNull(validated.result());
+        Assertions.assertEquals(YamlCodec.INT_ARRAY.decode(value).error(), validated.error());
+        Assertions.assertFalse(YamlCodec.INT_ARRAY.decode(YamlValue.wrap(List.of(1, 2)), DecodeOptions.VALIDATE_ONLY).hasError());
+
+        DataResult<int[]> failFast = YamlCodec.INT_ARRAY.decode(value, DecodeOptions.FAIL_FAST);
+        Assertions.assertNull(failFast.result());
+        Assertions.assertEquals("[1] For input string: \"x\"", failFast.error());
+        Assertions.assertTrue(Objects.requireNonNull(YamlCodec.INT_ARRAY.decode(value).error()).contains("[2]"));
+    }
+
+    /**
+     * Loads this library's classes anew, so that the first class touched is the one initialized first.
+     */
+    private static ClassLoader freshLoader() {
+        URL classes = YamlCodec.class.getProtectionDomain().getCodeSource().getLocation();
+        return new URLClassLoader(new URL[]{classes}, PrimitiveYamlCodecTest.class.getClassLoader()) {
+            @Override
+            protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+                if (!name.startsWith("dev.by1337.yaml.")) return super.loadClass(name, resolve);
+                synchronized (getClassLoadingLock(name)) {
+                    Class<?> c = findLoadedClass(name);
+                    return c != null ? c : findClass(name);
+                }
+            }
+        };
+    }
+
+    @Test
+    public void initializesInAnyOrder() throws ReflectiveOperationException {
+        String[][] codecs = {{"Int", "INT"}, {"Long", "LONG"}, {"Double", "DOUBLE"}, {"Bool", "BOOL"}};
+        for (String[] codec : codecs) {
+            for (boolean instanceFirst : new boolean[]{true, false}) {
+                ClassLoader loader = freshLoader();
+                Class<?> primitive = Class.forName("dev.by1337.yaml.codec." + codec[0] + "YamlCodec", false, loader);
+                Class<?> yamlCodec = Class.forName("dev.by1337.yaml.codec.YamlCodec", false, loader);
+                Object instance;
+                Object constant;
+                if (instanceFirst) {
+                    instance = primitive.getField("INSTANCE").get(null);
+                    constant = yamlCodec.getField(codec[1]).get(null);
+                } else {
+                    constant = yamlCodec.getField(codec[1]).get(null);
+                    instance = primitive.getField("INSTANCE").get(null);
+                }
+                String order = codec[0] + (instanceFirst ? "YamlCodec.INSTANCE first" : " YamlCodec." + codec[1] + " first");
+                Assertions.assertNotNull(instance, order);
+                Assertions.assertSame(constant, instance, order);
+                Assertions.assertNotNull(yamlCodec.getField(codec[1] + "_ARRAY").get(null), order);
+                Assertions.assertNotNull(yamlCodec.getField("INT_LIST").get(null), order);
+            }
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package dev.by1337.yaml.codec;
+
+import dev.by1337.yaml.YamlValue;
+import dev.by1337.yaml.util.CompactMap;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class RecordYamlCodecBuilderTest {
+
+    public record Item(String material, int amount, List<String> lore) {
+        public static final YamlCodec<Item> CODEC = RecordYamlCodecBuilder.mapOf(
+                Item::new,
+                YamlCodec.STRING.fieldOf("material", Item::material),
+                YamlCodec.INT.fieldOf("amount", Item::amount, 1),
+                YamlCodec.STRINGS.fieldOf("lore", Item::lore, List.of())
+        );
+    }
+
+    @Test
+    public void testRoundTrip() {
+        Item item = new Item("stone", 5, List.of("a", "b"));
+        Assertions.assertEquals(item, Item.CODEC.encode(item).decode(Item.CODEC).getOrThrow());
+    }
+
+    @Test
+    public void testDefaults() {
+        Item item = YamlValue.wrap(Map.of("material", "stone")).decode(Item.CODEC).getOrThrow();
+        Assertions.assertEquals(new Item("stone", 1, List.of()), item);
+    }
+
+    @Test
+    public void testNonStringKeys() {
+        record Keys(String yes, int one) {
+        }
+        YamlCodec<Keys> codec = RecordYamlCodecBuilder.mapOf(
+                Keys::new,
+                YamlCodec.STRING.fieldOf("true", Keys::yes),
+                YamlCodec.INT.fieldOf("1", Keys::one)
+        );
+        Map<Object, Object> raw = new LinkedHashMap<>();
+        raw.put(true, "value");
+        raw.put(1, 2);
+        Assertions.assertEquals(new Keys("value", 2), YamlValue.wrap(raw).decode(codec).getOrThrow());
+
+        // loaded sections are CompactMaps, which only skip the key scan while all their keys are strings
+        CompactMap<Object, Object> compact = new CompactMap<>(raw);
+        Assertions.assertFalse(compact.hasOnlyStringKeys());
+        Assertions.assertEquals(new Keys("value", 2), YamlValue.wrap(compact).decode(codec).getOrThrow());
+        compact.clear();
+        compact.put("true", "value");
+        Assertions.assertTrue(compact.hasOnlyStringKeys());
+        Assertions.assertTrue(YamlValue.wrap(compact).decode(codec).hasError());
+        compact.put("1", 2);
+        Assertions.assertEquals(new Keys("value", 2), YamlValue.wrap(compact).decode(codec).getOrThrow());
+    }
+
+    @Test
+    public void testErrors() {
+        Map<String, Object> raw = new LinkedHashMap<>();
+        raw.put("material", "stone");
+        raw.put("amount", "many");
+        raw.put("lore", List.of("ok"));
+        DataResult<Item> result = YamlValue.wrap(raw).decode(Item.CODEC);
+        Assertions.assertEquals("Errors in 'amount':\n  - For input string: \"many\"", result.error());
+        Assertions.assertEquals(new Item("stone", 1, List.of("ok")), result.result());
+
+        Assertions.assertEquals("Expected a Map, but found String.", YamlValue.wrap("stone").decode(Item.CODEC).error());
+    }
+
+    public enum Rarity {
+        COMMON, RARE
+    }
+
+    public record Reward(String id, Rarity rarity, int[] slots, Map<String, Integer> limits, Set<String> tags,
+                         List<Item> items, Item icon, boolean glow, Reward fallback) {
+        public static final YamlCodec<Reward> CODEC = RecordYamlCodecBuilder.forRecord(Reward.class);
+    }
+
+    public record Wide(int f0, int f1, int f2, int f3, int f4, int f5, int f6, int f7, int f8, int f9, int f10,
+                       int f11, int f12, int f13, int f14, int f15, int f16, int f17, int f18, int f19, int f20,
+                       String f21, String f22, long f23, double f24) {
+    }
+
+    @Test
+    public void testForRecord() {
+        Item icon = new Item("chest", 1, List.of("lore"));
+        Reward fallback = new Reward("fallback", Rarity.COMMON, new int[0], Map.of(), Set.of(), List.of(), icon, false, null);
+        Reward reward = new Reward("daily", Rarity.RARE, new int[]{1, 2, 3}, Map.of("day", 1), Set.of("a", "b"),
+                List.of(icon, new Item("stone", 64, List.of())), icon, true, fallback);
+
+        Reward decoded = Reward.CODEC.encode(reward).decode(Reward.CODEC).getOrThrow();
+        Assertions.assertArrayEquals(reward.slots(), decoded.slots());
+        Assertions.assertEquals(reward.rarity(), decoded.rarity());
+        Assertions.assertEquals(reward.limits(), decoded.limits());
+        Assertions.assertEquals(reward.tags(), decoded.tags());
+        Assertions.assertEquals(reward.items(), decoded.items());
+        Assertions.assertEquals(reward.icon(), decoded.icon());
+        Assertions.assertTrue(decoded.glow());
+        Assertions.assertEquals("fallback", decoded.fallback().id());
+        Assertions.assertNull(decoded.fallback().fallback());
+    }
+
+    @Test
+    public void testForRecordWide() {
+        YamlCodec<Wide> codec = RecordYamlCodecBuilder.forRecord(Wide.class);
+        Wide wide = new Wide(0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18, 19, 20, "a", "b", 23L, 24.5);
+        Assertions.assertEquals(wide, codec.encode(wide).decode(codec).getOrThrow());
+
+        Wide missing = YamlValue.wrap(Map.of("f3", 3)).decode(codec).getOrThrow();
+        Assertions.assertEquals(3, missing.f3());
+        Assertions.assertEquals(0, missing.f4());
+        Assertions.assertNull(missing.f21());
+    }
+
+    @Test
+    public void testForRecordOverrides() {
+        record Named(String name, Object payload) {
+        }
+        YamlCodec<Named> codec = RecordYamlCodecBuilder.forRecord(Named.class, Map.of(
+                "name", YamlCodec.STRING.map(String::toUpperCase, s -> s)
+        ));
+        Named named = YamlValue.wrap(Map.of("name", "abc", "payload", 5)).decode(codec).getOrThrow();
+        Assertions.assertEquals(new Named("ABC", 5), named);
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> RecordYamlCodecBuilder.forRecord(Named.class, Map.of("nope", YamlCodec.INT)));
+
+        record Unsupported(Thread thread) {
+        }
+        Assertions.assertThrows(IllegalArgumentException.class, () -> RecordYamlCodecBuilder.forRecord(Unsupported.class));
+    }
+}
@@ -0,0 +1,87 @@
+package dev.by1337.yaml.codec.k2v;
+
+import dev.by1337.yaml.codec.DataResult;
+import dev.by1337.yaml.codec.YamlCodec;
+import dev.by1337.yaml.util.RegistrySet;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+public class EnumCollectionCodecTest {
+    enum Tool {
+        WOODEN_SWORD, DIAMOND_SWORD, DIAMOND_PICKAXE, BOW {
+            @Override
+            public String toString() {
+                return "bow";
+            }
+        }
+    }
+
+    record Sound(String key) {
+    }
+
+    private static final List<Sound> SOUNDS = List.of(new Sound("click"), new Sound("pling"), new Sound("levelup"));
+    private static final LookupCodec<Sound> SOUND = new LookupCodec<>(SOUNDS, Sound::key);
+
+    @Test
+    public void enumSet() {
+        YamlCodec<Set<Tool>> codec = YamlCodec.fromEnum(Tool.class).asEnumSet();
+        Set<Tool> set = codec.decode(List.of("bow", "diamond_sword")).result();
+        Assertions.assertInstanceOf(EnumSet.class, set);
+        Assertions.assertEquals(EnumSet.of(Tool.BOW, Tool.DIAMOND_SWORD), set);
+
+        DataResult<Set<Tool>> partial = codec.decode(List.of("bow", "axe"));
+        Assertions.assertEquals(EnumSet.of(Tool.BOW), partial.result());
+        Assertions.assertTrue(partial.hasError());
+
+        Assertions.assertEquals(Set.of(Tool.BOW), new HashSet<>(codec.decode(codec.encode(EnumSet.of(Tool.BOW))).result()));
+        Assertions.assertInstanceOf(EnumSet.class, LookupCodec.fromEnum(Tool.values()).asEnumSet().decode("bow").result());
+    }
+
+    @Test
+    public void registrySet() {
+        Set<Sound> set = SOUND.asEnumSet().decode(List.of("click", "LEVELUP")).result();
+        Assertions.assertInstanceOf(RegistrySet.class, set);
+        Assertions.assertEquals(Set.of(SOUNDS.get(0), SOUNDS.get(2)), set);
+        Assertions.assertTrue(set.contains(SOUNDS.get(2)));
+        Assertions.assertFalse(set.contains(SOUNDS.get(1)));
+    }
+
+    @Test
+    public void enumMap() {
+        YamlCodec<Map<Tool, Integer>> codec = YamlCodec.fromEnum(Tool.class).enumMapOf(YamlCodec.INT);
+        Map<String, Object> raw = new LinkedHashMap<>();
+        raw.put("bow", 2);
+        raw.put("wooden_sword", 1);
+        Map<Tool, Integer> map = codec.decode(raw).result();
+        Assertions.assertInstanceOf(EnumMap.class, map);
+        Assertions.assertEquals(Map.of(Tool.BOW, 2, Tool.WOODEN_SWORD, 1), map);
+        Assertions.assertEquals(map, codec.decode(codec.encode(map)).result());
+
+        Map<Sound, Integer> sounds = SOUND.enumMapOf(YamlCodec.INT).decode(Map.of("pling", 3)).result();
+        Assertions.assertInstanceOf(IdentityHashMap.class, sounds);
+        Assertions.assertEquals(3, sounds.get(SOUNDS.get(1)));
+    }
+
+    @Test
+    public void wildcards() {
+        WildcardLookupCodec<Tool> wildcard = LookupCodec.fromEnum(Tool.values()).wildcard();
+        Set<Tool> set = wildcard.asEnumSet().decode(List.of("*_sword", "bow")).result();
+        Assertions.assertInstanceOf(EnumSet.class, set);
+        Assertions.assertEquals(EnumSet.of(Tool.WOODEN_SWORD, Tool.DIAMOND_SWORD, Tool.BOW), set);
+
+        YamlCodec<Map<Tool, Integer>> codec = wildcard.enumMapOf(YamlCodec.INT);
+        Map<String, Object> raw = new LinkedHashMap<>();
+        raw.put("diamond_*", 1);
+        raw.put("diamond_sword", 5);
+        raw.put("axe", 2);
+        DataResult<Map<Tool, Integer>> result = codec.decode(raw);
+        Assertions.assertEquals(Map.of(Tool.DIAMOND_SWORD, 5, Tool.DIAMOND_PICKAXE, 1), result.result());
+        Assertions.assertTrue(Objects.requireNonNull(result.error()).contains("Unknown key: axe"));
+
+        Map<Tool, Integer> map = new EnumMap<>(Map.of(Tool.BOW, 4));
+        Assertions.assertEquals(map, codec.decode(codec.encode(map)).result());
+        Assertions.assertInstanceOf(RegistrySet.class, SOUND.wildcard().asEnumSet().decode("*l*").result());
+    }
+}
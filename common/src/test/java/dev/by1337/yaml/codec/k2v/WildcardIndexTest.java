@@ -0,0 +1,91 @@
+package dev.by1337.yaml.codec.k2v;
+
+import dev.by1337.yaml.util.Wildcard;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.regex.Pattern;
+
+public class WildcardIndexTest {
+    private static final String[] MATERIALS = {"stone", "granite", "polished_granite", "iron_ore", "deepslate_iron_ore",
+            "gold_ore", "nether_gold_ore", "diamond_ore", "diamond", "diamond_sword", "diamond_pickaxe", "wooden_sword",
+            "stone_sword", "oak_log", "oak_planks", "birch_log", "a", "aa", "aaa", "aab", "music_disc_11", "music_disc_13",
+            "light_blue_wool", "blue_wool", "minecraft:stone", "q.r+s(t)"};
+
+    private static final String[] PATTERNS = {"*", "**", "*_ore", "diamond_*", "diamond*", "*iron*", "?", "??", "a*",
+            "*a", "a*b", "*a*a*", "?a?", "*_?og", "music_disc_1?", "*disc*1*", "stone", "stone*", "*stone", "*_*_*",
+            "nothing*", "*nothing", "", "*:*", "minecraft:*", "q.r+s(t)", "q?r*(t)", "*wool", "*blue*wool", "o*k*s",
+            "d*d*d", "*o*o*o*", "a?", "?*?", "*?*", "gold_ore*", "*gold_ore", "*_ore_*"};
+
+    // what Wildcard.matches used to do
+    private static boolean regexMatches(String text, String pattern) {
+        StringBuilder sb = new StringBuilder();
+        for (char c : pattern.toCharArray()) {
+            switch (c) {
+                case '*' -> sb.append(".*");
+                case '?' -> sb.append('.');
+                default -> sb.append(Pattern.quote(String.valueOf(c)));
+            }
+        }
+        return text.matches(sb.toString());
+    }
+
+    private static List<String> expected(String pattern) {
+        List<String> result = new ArrayList<>();
+        for (String key : new TreeSet<>(Arrays.asList(MATERIALS))) {
+            if (regexMatches(key, pattern)) result.add(key);
+        }
+        return result;
+    }
+
+    @Test
+    public void globMatchesRegex() {
+        for (String pattern : PATTERNS) {
+            for (String key : MATERIALS) {
+                Assertions.assertEquals(regexMatches(key, pattern), Wildcard.matches(key, pattern), () -> key + " ~ " + pattern);
+            }
+        }
+    }
+
+    @Test
+    public void indexMatchesScan() {
+        Map<String, String> map = new HashMap<>();
+        for (String m : MATERIALS) map.put(m, m);
+        WildcardIndex<String> index = new WildcardIndex<>(map);
+        for (String pattern : PATTERNS) {
+            Assertions.assertEquals(expected(pattern), index.find(pattern), pattern);
+        }
+        String longPattern = "*" + "a".repeat(70);
+        Assertions.assertEquals(List.of(), index.find(longPattern));
+        Assertions.assertEquals(List.of("aa", "aaa", "aab"), index.find("a*a" + "*".repeat(70)));
+    }
+
+    @Test
+    public void randomPatterns() {
+        Random random = new Random(42);
+        String alphabet = "ado_?*";
+        Map<String, String> map = new HashMap<>();
+        for (String m : MATERIALS) map.put(m, m);
+        WildcardIndex<String> index = new WildcardIndex<>(map);
+        for (int i = 0; i < 2000; i++) {
+            StringBuilder sb = new StringBuilder();
+            int length = random.nextInt(8);
+            for (int j = 0; j < length; j++) sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            String pattern = sb.toString();
+            Assertions.assertEquals(expected(pattern), index.find(pattern), pattern);
+        }
+    }
+
+    @Test
+    public void codecCachesExpansions() {
+        WildcardLookupCodec<String> codec = new WildcardLookupCodec<>(Arrays.asList(MATERIALS), s -> s);
+        List<String> ores = codec.decode(List.of("*_ORE", "stone")).result();
+        Assertions.assertEquals(List.of("deepslate_iron_ore", "diamond_ore", "gold_ore", "iron_ore", "nether_gold_ore", "stone"), ores);
+        Assertions.assertEquals(ores, codec.decode(List.of("*_ore", "stone")).result());
+        ores.clear();
+        Assertions.assertEquals(5, codec.decode("*_ore").result().size());
+        Assertions.assertEquals("Unknown key: stone_x*", codec.decode("stone_x*").error());
+        Assertions.assertEquals("Unknown key: ston", codec.decode("ston").error());
+    }
+}
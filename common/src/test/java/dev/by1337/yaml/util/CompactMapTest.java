@@ -0,0 +1,80 @@
+package dev.by1337.yaml.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+public class CompactMapTest {
+
+    @Test
+    public void testAgainstLinkedHashMap() {
+        Random random = new Random(3);
+        for (int round = 0; round < 200; round++) {
+            Map<String, Integer> expected = new LinkedHashMap<>();
+            CompactMap<String, Integer> actual = new CompactMap<>();
+            int keys = 1 + random.nextInt(round % 2 == 0 ? 6 : 40);
+            for (int op = 0; op < 400; op++) {
+                String key = random.nextInt(keys + 1) == keys ? null : "k" + random.nextInt(keys);
+                switch (random.nextInt(7)) {
+                    case 0, 1, 2 -> {
+                        Integer value = random.nextInt(4) == 0 ? null : op;
+                        Assertions.assertEquals(expected.put(key, value), actual.put(key, value));
+                    }
+                    case 3 -> Assertions.assertEquals(expected.remove(key), actual.remove(key));
+                    case 4 -> {
+                        Iterator<Map.Entry<String, Integer>> e = expected.entrySet().iterator();
+                        Iterator<Map.Entry<String, Integer>> a = actual.entrySet().iterator();
+                        while (e.hasNext()) {
+                            Assertions.assertEquals(e.next(), a.next());
+                            if (random.nextInt(3) == 0) {
+                                e.remove();
+                                a.remove();
+                            }
+                        }
+                        Assertions.assertFalse(a.hasNext());
+                    }
+                    case 5 -> {
+                        if (random.nextInt(20) == 0) {
+                            expected.clear();
+                            actual.clear();
+                        } else {
+                            actual.trimToSize();
+                        }
+                    }
+                    default -> {
+                        Assertions.assertEquals(expected.get(key), actual.get(key));
+                        Assertions.assertEquals(expected.containsKey(key), actual.containsKey(key));
+                    }
+                }
+                Assertions.assertEquals(expected.size(), actual.size());
+            }
+            Assertions.assertEquals(expected, actual);
+            Assertions.assertEquals(actual, expected);
+            Assertions.assertEquals(expected.hashCode(), actual.hashCode());
+            Assertions.assertEquals(new ArrayList<>(expected.keySet()), new ArrayList<>(actual.keySet()));
+            Assertions.assertEquals(new ArrayList<>(expected.values()), new ArrayList<>(actual.values()));
+            Assertions.assertEquals(expected.toString(), actual.toString());
+        }
+    }
+
+    @Test
+    public void testViews() {
+        CompactMap<String, Integer> map = new CompactMap<>(Map.of("a", 1));
+        map.put("b", 2);
+        map.put("c", 3);
+        for (Map.Entry<String, Integer> entry : map.entrySet()) {
+            entry.setValue(entry.getValue() * 10);
+        }
+        Assertions.assertEquals(Map.of("a", 10, "b", 20, "c", 30), map);
+        Assertions.assertTrue(map.keySet().remove("b"));
+        Assertions.assertEquals(List.of("a", "c"), new ArrayList<>(map.keySet()));
+        map.values().removeIf(v -> v == 10);
+        Assertions.assertEquals(Map.of("c", 30), map);
+
+        Iterator<String> iterator = map.keySet().iterator();
+        map.put("d", 4);
+        Assertions.assertThrows(ConcurrentModificationException.class, iterator::next);
+        Assertions.assertThrows(ConcurrentModificationException.class, () -> map.forEach((k, v) -> map.remove(k)));
+    }
+}
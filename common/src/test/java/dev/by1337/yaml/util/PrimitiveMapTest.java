@@ -0,0 +1,87 @@
+package dev.by1337.yaml.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+public class PrimitiveMapTest {
+
+    @Test
+    public void int2ObjectMatchesLinkedHashMap() {
+        Random random = new Random(42);
+        Int2ObjectMap<String> map = new Int2ObjectMap<>();
+        Map<Integer, String> expected = new LinkedHashMap<>();
+        for (int i = 0; i < 2000; i++) {
+            // small, negative and colliding keys
+            int key = random.nextInt(4) == 0 ? random.nextInt() : random.nextInt(600) - 100;
+            String value = "v" + i;
+            Assertions.assertEquals(expected.put(key, value), map.put(key, value));
+            Assertions.assertEquals(expected.size(), map.size());
+        }
+        int i = 0;
+        for (Map.Entry<Integer, String> entry : expected.entrySet()) {
+            Assertions.assertEquals(entry.getKey(), map.keyAt(i));
+            Assertions.assertEquals(entry.getValue(), map.valueAt(i));
+            Assertions.assertEquals(entry.getValue(), map.get(entry.getKey()));
+            i++;
+        }
+        for (int key = -200; key < 700; key++) {
+            Assertions.assertEquals(expected.containsKey(key), map.containsKey(key));
+            Assertions.assertEquals(expected.getOrDefault(key, "none"), map.getOrDefault(key, "none"));
+        }
+        Assertions.assertEquals(expected.hashCode(), map.hashCode());
+        Assertions.assertEquals(expected.toString(), map.toString());
+        Assertions.assertArrayEquals(expected.keySet().stream().mapToInt(Integer::intValue).toArray(), map.keys());
+    }
+
+    @Test
+    public void object2IntMatchesLinkedHashMap() {
+        Random random = new Random(7);
+        Object2IntMap<String> map = new Object2IntMap<>(3);
+        Map<String, Integer> expected = new LinkedHashMap<>();
+        for (int i = 0; i < 2000; i++) {
+            String key = "key-" + random.nextInt(700);
+            int value = random.nextInt();
+            Assertions.assertEquals(Objects.requireNonNullElse(expected.put(key, value), 0), map.put(key, value));
+            Assertions.assertEquals(expected.size(), map.size());
+        }
+        int i = 0;
+        for (Map.Entry<String, Integer> entry : expected.entrySet()) {
+            Assertions.assertEquals(entry.getKey(), map.keyAt(i));
+            Assertions.assertEquals(entry.getValue(), map.valueAt(i));
+            // equal but not identical keys, as when looking up with literals
+            Assertions.assertEquals(entry.getValue(), map.getInt(new String(entry.getKey())));
+            i++;
+        }
+        Assertions.assertFalse(map.containsKey("missing"));
+        Assertions.assertFalse(map.containsKey(null));
+        Assertions.assertEquals(-1, map.getOrDefault("missing", -1));
+        Assertions.assertEquals(0, map.getInt("missing"));
+        Assertions.assertEquals(expected.hashCode(), map.hashCode());
+        Assertions.assertEquals(expected.toString(), map.toString());
+        Assertions.assertThrows(NullPointerException.class, () -> map.put(null, 1));
+    }
+
+    @Test
+    public void equality() {
+        Int2ObjectMap<String> a = new Int2ObjectMap<>();
+        Int2ObjectMap<String> b = new Int2ObjectMap<>(10);
+        a.put(1, "a");
+        a.put(2, null);
+        b.put(2, null);
+        b.put(1, "a");
+        Assertions.assertEquals(a, b);
+        b.put(1, "b");
+        Assertions.assertNotEquals(a, b);
+
+        Object2IntMap<String> c = new Object2IntMap<>();
+        Object2IntMap<String> d = new Object2IntMap<>();
+        c.put("x", 1);
+        d.put("x", 1);
+        Assertions.assertEquals(c, d);
+        d.put("y", 0);
+        Assertions.assertNotEquals(c, d);
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> c.keyAt(1));
+    }
+}
@@ -0,0 +1,78 @@
+package dev.by1337.yaml.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+public class RegistrySetTest {
+    record Key(String name) {
+    }
+
+    private static List<Key> keys(int count) {
+        List<Key> keys = new ArrayList<>();
+        for (int i = 0; i < count; i++) keys.add(new Key("k" + i));
+        return keys;
+    }
+
+    @Test
+    public void matchesHashSet() {
+        List<Key> keys = keys(150);
+        RegistrySet.Universe<Key> universe = new RegistrySet.Universe<>(keys);
+        Assertions.assertEquals(150, universe.size());
+        RegistrySet<Key> set = universe.newSet();
+        Set<Key> expected = new LinkedHashSet<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 500; i++) {
+            Key key = keys.get(random.nextInt(keys.size()));
+            if (random.nextBoolean()) {
+                Assertions.assertEquals(expected.add(key), set.add(key));
+            } else {
+                Assertions.assertEquals(expected.remove(key), set.remove(key));
+            }
+            Assertions.assertEquals(expected.size(), set.size());
+        }
+        for (Key key : keys) {
+            Assertions.assertEquals(expected.contains(key), set.contains(key));
+        }
+        Assertions.assertEquals(expected, set);
+        Assertions.assertEquals(expected.hashCode(), set.hashCode());
+
+        List<Key> order = new ArrayList<>(set);
+        List<Key> sorted = new ArrayList<>(order);
+        sorted.sort(Comparator.comparingInt(keys::indexOf));
+        Assertions.assertEquals(sorted, order);
+    }
+
+    @Test
+    public void identityAndUniverse() {
+        List<Key> keys = keys(3);
+        RegistrySet<Key> set = new RegistrySet.Universe<>(List.of(keys.get(0), keys.get(1), keys.get(0), keys.get(2))).newSet();
+        Assertions.assertEquals(3, set.universe().size());
+        set.add(keys.get(1));
+        Assertions.assertFalse(set.contains(new Key("k1")));
+        Assertions.assertFalse(set.contains(null));
+        Assertions.assertFalse(set.remove("k1"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> set.add(new Key("k1")));
+    }
+
+    @Test
+    public void iteratorRemove() {
+        List<Key> keys = keys(70);
+        RegistrySet<Key> set = new RegistrySet.Universe<>(keys).newSet();
+        set.addAll(keys);
+        set.removeIf(k -> Integer.parseInt(k.name().substring(1)) % 2 == 0);
+        Assertions.assertEquals(35, set.size());
+        Assertions.assertTrue(set.contains(keys.get(69)));
+        Assertions.assertFalse(set.contains(keys.get(68)));
+
+        Iterator<Key> it = set.iterator();
+        it.next();
+        set.add(keys.get(0));
+        Assertions.assertThrows(ConcurrentModificationException.class, it::next);
+
+        set.clear();
+        Assertions.assertTrue(set.isEmpty());
+        Assertions.assertFalse(set.iterator().hasNext());
+    }
+}
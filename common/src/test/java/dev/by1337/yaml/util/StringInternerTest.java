@@ -0,0 +1,60 @@
+package dev.by1337.yaml.util;
+
+import dev.by1337.yaml.YamlEventReader;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StringInternerTest {
+
+    @Test
+    public void returnsFirstInstance() {
+        StringInterner interner = new StringInterner(16, 8);
+        String first = new String("amount");
+        assertSame(first, interner.intern(first));
+        assertSame(first, interner.intern(new String("amount")));
+        assertNull(interner.intern(null));
+        assertEquals(16, interner.capacity());
+        assertEquals(32, new StringInterner(17, 8).capacity());
+    }
+
+    @Test
+    public void skipsLongStrings() {
+        StringInterner interner = new StringInterner(16, 4);
+        String first = new String("display-name");
+        interner.intern(first);
+        assertNotSame(first, interner.intern(new String("display-name")));
+    }
+
+    @Test
+    public void collisionReplacesSlot() {
+        StringInterner interner = new StringInterner(1, 64);
+        String a = interner.intern(new String("material"));
+        interner.intern(new String("lore"));
+        String again = new String("material");
+        assertNotSame(a, interner.intern(again));
+        assertSame(again, interner.intern(new String("material")));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void readerSharesKeysAndScalars() {
+        StringInterner interner = new StringInterner();
+        String yaml = "item:\n  material: STONE\n  amount: 1\n  lore: [ '&7Click', '&7Click' ]\n";
+        Map<String, Object> a = (Map<String, Object>) YamlEventReader.loadMap(yaml, interner).get("item");
+        Map<String, Object> b = (Map<String, Object>) YamlEventReader.loadMap(yaml, interner).get("item");
+
+        assertSame(a.keySet().iterator().next(), b.keySet().iterator().next());
+        assertSame(a.get("material"), b.get("material"));
+        assertEquals(1, b.get("amount"));
+        List<Object> lore = (List<Object>) b.get("lore");
+        assertSame(lore.get(0), lore.get(1));
+
+        Map<String, Object> plain = (Map<String, Object>) YamlEventReader.loadMap(yaml).get("item");
+        assertEquals(a, plain);
+        assertNotSame(a.get("material"), plain.get("material"));
+    }
+}